@@ -14,6 +14,7 @@ class Colors:
 __TORNADO_PROJECTS__ = [
 			"benchmarks",
 			"matrices",
+			"primitives",
 			"drivers/drivers-common"
 			"drivers/ptx"
 			"drivers/opencl",
@@ -0,0 +1,94 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework: 
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * GNU Classpath is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2, or (at your option)
+ * any later version.
+ * 
+ * GNU Classpath is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with GNU Classpath; see the file COPYING.  If not, write to the
+ * Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ *
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ * 
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ */
+package uk.ac.manchester.tornado.api;
+
+/**
+ * Task graph and buffers used by a {@link TornadoMicroBatcher}. The buffers
+ * have room for the maximum batch size, and the kernel processes one request
+ * per position of the batch, e.g. with the batch index as an extra
+ * {@link uk.ac.manchester.tornado.api.annotations.Parallel} dimension.
+ *
+ * @param <I>
+ *            type of the input of a request.
+ * @param <O>
+ *            type of the result of a request.
+ *
+ * @since TornadoVM-0.15
+ */
+public interface BatchDefinition<I, O> {
+
+    /**
+     * @return the task graph that processes a whole batch. It is called once,
+     *         when the batcher is created.
+     */
+    ImmutableTaskGraph getTaskGraph();
+
+    /**
+     * Copies the input of a request into a position of the batch buffers.
+     *
+     * @param position
+     *            position of the request in the batch.
+     * @param input
+     *            input of the request.
+     */
+    void pack(int position, I input);
+
+    /**
+     * Reads the result of a request from a position of the batch buffers.
+     *
+     * @param position
+     *            position of the request in the batch.
+     * @return result of the request.
+     */
+    O unpack(int position);
+
+    /**
+     * Called before each launch with the number of requests in the batch, e.g. to
+     * update the global work of a {@link WorkerGrid} or a size transferred to the
+     * device. By default, the whole batch is always processed.
+     *
+     * @param batchSize
+     *            number of requests packed in the batch.
+     */
+    default void setBatchSize(int batchSize) {
+    }
+}
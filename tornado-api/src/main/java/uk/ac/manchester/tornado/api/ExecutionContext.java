@@ -111,4 +111,120 @@ public interface ExecutionContext {
      * @return double[]
      */
     double[] allocateDoubleLocalArray(int size);
+
+    /**
+     * It returns the number of work-items of the sub-group (warp in CUDA
+     * terminology) the calling work-item belongs to.
+     *
+     * @return int
+     */
+    int getSubGroupSize();
+
+    /**
+     * It returns the identifier of the calling work-item within its sub-group.
+     *
+     * @return int
+     */
+    int getSubGroupLocalId();
+
+    /**
+     * It returns the identifier of the sub-group within the work-group.
+     *
+     * @return int
+     */
+    int getSubGroupId();
+
+    /**
+     * It returns the number of sub-groups of the work-group.
+     *
+     * @return int
+     */
+    int getNumSubGroups();
+
+    /**
+     * It returns the value of {@code value} for the work-item identified by
+     * {@code subGroupLocalId} within the sub-group.
+     *
+     * @param value
+     *            value to exchange.
+     * @param subGroupLocalId
+     *            identifier of the source work-item within the sub-group.
+     * @return int
+     */
+    int subGroupShuffle(int value, int subGroupLocalId);
+
+    float subGroupShuffle(float value, int subGroupLocalId);
+
+    /**
+     * It broadcasts the value of {@code value} of the work-item identified by
+     * {@code subGroupLocalId} to all work-items of the sub-group. The identifier
+     * must be the same for all work-items of the sub-group.
+     *
+     * @param value
+     *            value to broadcast.
+     * @param subGroupLocalId
+     *            identifier of the source work-item within the sub-group.
+     * @return int
+     */
+    int subGroupBroadcast(int value, int subGroupLocalId);
+
+    float subGroupBroadcast(float value, int subGroupLocalId);
+
+    /**
+     * Sum of {@code value} across all work-items of the sub-group.
+     *
+     * @param value
+     *            value to reduce.
+     * @return int
+     */
+    int subGroupReduceAdd(int value);
+
+    float subGroupReduceAdd(float value);
+
+    /**
+     * Minimum of {@code value} across all work-items of the sub-group.
+     *
+     * @param value
+     *            value to reduce.
+     * @return int
+     */
+    int subGroupReduceMin(int value);
+
+    float subGroupReduceMin(float value);
+
+    /**
+     * Maximum of {@code value} across all work-items of the sub-group.
+     *
+     * @param value
+     *            value to reduce.
+     * @return int
+     */
+    int subGroupReduceMax(int value);
+
+    float subGroupReduceMax(float value);
+
+    /**
+     * Inclusive prefix sum of {@code value} across the work-items of the
+     * sub-group, ordered by sub-group local identifier.
+     *
+     * @param value
+     *            value to scan.
+     * @return int
+     */
+    int subGroupScanInclusiveAdd(int value);
+
+    float subGroupScanInclusiveAdd(float value);
+
+    /**
+     * Exclusive prefix sum of {@code value} across the work-items of the
+     * sub-group, ordered by sub-group local identifier. The first work-item of
+     * the sub-group obtains zero.
+     *
+     * @param value
+     *            value to scan.
+     * @return int
+     */
+    int subGroupScanExclusiveAdd(int value);
+
+    float subGroupScanExclusiveAdd(float value);
 }
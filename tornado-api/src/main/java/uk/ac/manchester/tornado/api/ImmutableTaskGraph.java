@@ -42,6 +42,7 @@
 package uk.ac.manchester.tornado.api;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
 
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
@@ -77,6 +78,10 @@ public class ImmutableTaskGraph {
         taskGraph.execute(gridScheduler);
     }
 
+    void executeConcurrent(GridScheduler gridScheduler, Map<Object, Object> bindings) {
+        taskGraph.executeConcurrent(gridScheduler, bindings);
+    }
+
     void executeWithDynamicReconfiguration(Policy policy, DRMode mode) {
         if (Objects.requireNonNull(mode) == DRMode.SERIAL) {
             taskGraph.executeWithProfilerSequential(policy);
@@ -154,7 +159,7 @@ public class ImmutableTaskGraph {
     }
 
     void resetDevice() {
-        taskGraph.getDevice().reset();
+        taskGraph.resetDevice();
     }
 
     void clearProfiles() {
@@ -165,6 +170,10 @@ public class ImmutableTaskGraph {
         taskGraph.useDefaultThreadScheduler(useDefaultScheduler);
     }
 
+    void useGraphCapture(boolean useGraphCapture) {
+        taskGraph.useGraphCapture(useGraphCapture);
+    }
+
     void withBatch(String batchSize) {
         taskGraph.batch(batchSize);
     }
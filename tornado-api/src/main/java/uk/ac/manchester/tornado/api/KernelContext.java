@@ -205,4 +205,230 @@ public class KernelContext implements ExecutionContext {
     public double[] allocateDoubleLocalArray(int size) {
         return new double[size];
     }
-}
\ No newline at end of file
+
+    /**
+     * It returns the number of work-items of the sub-group (warp in CUDA
+     * terminology). When running on the JVM, each thread executes as its own
+     * sub-group.
+     * <p>
+     * OpenCL equivalent: get_sub_group_size();
+     * <p>
+     * PTX equivalent: WARP_SZ
+     */
+    @Override
+    public int getSubGroupSize() {
+        return 1;
+    }
+
+    /**
+     * It returns the identifier of the work-item within its sub-group.
+     * <p>
+     * OpenCL equivalent: get_sub_group_local_id();
+     * <p>
+     * PTX equivalent: %laneid
+     */
+    @Override
+    public int getSubGroupLocalId() {
+        return 0;
+    }
+
+    /**
+     * It returns the identifier of the sub-group within the work-group.
+     * <p>
+     * OpenCL equivalent: get_sub_group_id();
+     * <p>
+     * PTX equivalent: (threadIdx.x + threadIdx.y * blockDim.x + threadIdx.z *
+     * blockDim.x * blockDim.y) / WARP_SZ
+     */
+    @Override
+    public int getSubGroupId() {
+        return 0;
+    }
+
+    /**
+     * It returns the number of sub-groups of the work-group.
+     * <p>
+     * OpenCL equivalent: get_num_sub_groups();
+     * <p>
+     * PTX equivalent: (blockDim.x * blockDim.y * blockDim.z + WARP_SZ - 1) /
+     * WARP_SZ
+     */
+    @Override
+    public int getNumSubGroups() {
+        return 1;
+    }
+
+    /**
+     * It returns the value of the work-item identified by {@code subGroupLocalId}
+     * within the sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_shuffle(value, subGroupLocalId);
+     * <p>
+     * PTX equivalent: shfl.sync.idx.b32
+     */
+    @Override
+    public int subGroupShuffle(int value, int subGroupLocalId) {
+        return value;
+    }
+
+    /**
+     * It returns the value of the work-item identified by {@code subGroupLocalId}
+     * within the sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_shuffle(value, subGroupLocalId);
+     * <p>
+     * PTX equivalent: shfl.sync.idx.b32
+     */
+    @Override
+    public float subGroupShuffle(float value, int subGroupLocalId) {
+        return value;
+    }
+
+    /**
+     * It broadcasts the value of the work-item identified by
+     * {@code subGroupLocalId} to the whole sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_broadcast(value, subGroupLocalId);
+     * <p>
+     * PTX equivalent: shfl.sync.idx.b32
+     */
+    @Override
+    public int subGroupBroadcast(int value, int subGroupLocalId) {
+        return value;
+    }
+
+    /**
+     * It broadcasts the value of the work-item identified by
+     * {@code subGroupLocalId} to the whole sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_broadcast(value, subGroupLocalId);
+     * <p>
+     * PTX equivalent: shfl.sync.idx.b32
+     */
+    @Override
+    public float subGroupBroadcast(float value, int subGroupLocalId) {
+        return value;
+    }
+
+    /**
+     * Sum of the value across all work-items of the sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_reduce_add(value);
+     * <p>
+     * PTX equivalent: redux.sync.add.s32 (sm_80 and newer) or shfl.sync.bfly.b32 + add.s32
+     */
+    @Override
+    public int subGroupReduceAdd(int value) {
+        return value;
+    }
+
+    /**
+     * Sum of the value across all work-items of the sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_reduce_add(value);
+     * <p>
+     * PTX equivalent: shfl.sync.bfly.b32 + add.f32
+     */
+    @Override
+    public float subGroupReduceAdd(float value) {
+        return value;
+    }
+
+    /**
+     * Minimum of the value across all work-items of the sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_reduce_min(value);
+     * <p>
+     * PTX equivalent: redux.sync.min.s32 (sm_80 and newer) or shfl.sync.bfly.b32 + min.s32
+     */
+    @Override
+    public int subGroupReduceMin(int value) {
+        return value;
+    }
+
+    /**
+     * Minimum of the value across all work-items of the sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_reduce_min(value);
+     * <p>
+     * PTX equivalent: shfl.sync.bfly.b32 + min.f32
+     */
+    @Override
+    public float subGroupReduceMin(float value) {
+        return value;
+    }
+
+    /**
+     * Maximum of the value across all work-items of the sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_reduce_max(value);
+     * <p>
+     * PTX equivalent: redux.sync.max.s32 (sm_80 and newer) or shfl.sync.bfly.b32 + max.s32
+     */
+    @Override
+    public int subGroupReduceMax(int value) {
+        return value;
+    }
+
+    /**
+     * Maximum of the value across all work-items of the sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_reduce_max(value);
+     * <p>
+     * PTX equivalent: shfl.sync.bfly.b32 + max.f32
+     */
+    @Override
+    public float subGroupReduceMax(float value) {
+        return value;
+    }
+
+    /**
+     * Inclusive prefix sum of the value across the work-items of the sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_scan_inclusive_add(value);
+     * <p>
+     * PTX equivalent: shfl.sync.up.b32 + add
+     */
+    @Override
+    public int subGroupScanInclusiveAdd(int value) {
+        return value;
+    }
+
+    /**
+     * Inclusive prefix sum of the value across the work-items of the sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_scan_inclusive_add(value);
+     * <p>
+     * PTX equivalent: shfl.sync.up.b32 + add
+     */
+    @Override
+    public float subGroupScanInclusiveAdd(float value) {
+        return value;
+    }
+
+    /**
+     * Exclusive prefix sum of the value across the work-items of the sub-group.
+     * The first work-item of the sub-group obtains zero.
+     * <p>
+     * OpenCL equivalent: sub_group_scan_exclusive_add(value);
+     * <p>
+     * PTX equivalent: shfl.sync.up.b32 + add
+     */
+    @Override
+    public int subGroupScanExclusiveAdd(int value) {
+        return 0;
+    }
+
+    /**
+     * Exclusive prefix sum of the value across the work-items of the sub-group.
+     * The first work-item of the sub-group obtains zero.
+     * <p>
+     * OpenCL equivalent: sub_group_scan_exclusive_add(value);
+     * <p>
+     * PTX equivalent: shfl.sync.up.b32 + add
+     */
+    @Override
+    public float subGroupScanExclusiveAdd(float value) {
+        return 0.0f;
+    }
+}
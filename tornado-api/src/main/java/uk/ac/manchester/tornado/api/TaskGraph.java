@@ -43,6 +43,7 @@ package uk.ac.manchester.tornado.api;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import uk.ac.manchester.tornado.api.common.Access;
@@ -715,7 +716,12 @@ public class TaskGraph implements TaskGraphInterface {
      *            {@link uk.ac.manchester.tornado.api.enums.DataTransferMode}
      * @param objects
      *            List of Java objects (usually arrays) to be transferred to the
-     *            device.
+     *            device. For an
+     *            {@link uk.ac.manchester.tornado.api.common.ArraySlice}, only
+     *            the elements of the slice are transferred once the array is on
+     *            the device. A
+     *            {@link uk.ac.manchester.tornado.api.common.PackedIntArray} is
+     *            transferred compressed and decoded on the device.
      * @return {@link TaskGraph}
      */
     @Override
@@ -745,7 +751,10 @@ public class TaskGraph implements TaskGraphInterface {
      *            {@link uk.ac.manchester.tornado.api.enums.DataTransferMode}
      * @param objects
      *            List of Java objects (usually arrays) to be transferred to the
-     *            device.
+     *            device. For an
+     *            {@link uk.ac.manchester.tornado.api.common.ArraySlice}, only
+     *            the elements of the slice, e.g. the range written by the tasks,
+     *            are copied back into the array.
      * @return {@link TaskGraph}
      */
     @Override
@@ -786,6 +795,10 @@ public class TaskGraph implements TaskGraphInterface {
         taskGraphImpl.schedule(gridScheduler).waitOn();
     }
 
+    void executeConcurrent(GridScheduler gridScheduler, Map<Object, Object> bindings) {
+        taskGraphImpl.executeConcurrent(gridScheduler, bindings);
+    }
+
     void executeWithProfiler(Policy policy) {
         taskGraphImpl.scheduleWithProfile(policy).waitOn();
     }
@@ -814,6 +827,10 @@ public class TaskGraph implements TaskGraphInterface {
         taskGraphImpl.clearProfiles();
     }
 
+    void resetDevice() {
+        taskGraphImpl.resetDevice();
+    }
+
     TaskGraph freeDeviceMemory() {
         taskGraphImpl.freeDeviceMemory();
         return this;
@@ -832,6 +849,11 @@ public class TaskGraph implements TaskGraphInterface {
         return this;
     }
 
+    TaskGraph useGraphCapture(boolean use) {
+        taskGraphImpl.useGraphCapture(use);
+        return this;
+    }
+
     boolean isFinished() {
         return taskGraphImpl.isFinished();
     }
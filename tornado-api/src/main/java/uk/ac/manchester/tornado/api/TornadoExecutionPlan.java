@@ -44,6 +44,9 @@ package uk.ac.manchester.tornado.api;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
@@ -83,6 +86,39 @@ public class TornadoExecutionPlan {
         return TornadoRuntime.getTornadoRuntime().getDriver(driverIndex).getDevice(deviceIndex);
     }
 
+    /**
+     * Create a stream that processes items with several executions in flight. Each
+     * of the {@code numSlots} slots owns a task graph and its buffers; the stream
+     * creates one execution plan per slot.
+     *
+     * @param numSlots
+     *            maximum number of items in flight.
+     * @param slotFactory
+     *            function that creates the slot with the given index.
+     * @return {@link TornadoStream}
+     */
+    public static <I, O> TornadoStream<I, O> stream(int numSlots, IntFunction<StreamSlot<I, O>> slotFactory) {
+        return new TornadoStream<>(numSlots, slotFactory);
+    }
+
+    /**
+     * Create a micro-batcher that coalesces concurrent requests into one launch of
+     * the task graph of a {@link BatchDefinition}.
+     *
+     * @param definition
+     *            task graph and batch buffers.
+     * @param maxBatchSize
+     *            maximum number of requests per launch.
+     * @param maxDelay
+     *            maximum time a request waits for other requests before launching.
+     * @param unit
+     *            time unit of {@code maxDelay}.
+     * @return {@link TornadoMicroBatcher}
+     */
+    public static <I, O> TornadoMicroBatcher<I, O> microBatcher(BatchDefinition<I, O> definition, int maxBatchSize, long maxDelay, TimeUnit unit) {
+        return new TornadoMicroBatcher<>(definition, maxBatchSize, maxDelay, unit);
+    }
+
     private final TornadoExecutor tornadoExecutor;
 
     private GridScheduler gridScheduler;
@@ -92,6 +128,7 @@ public class TornadoExecutionPlan {
     private DRMode dynamicReconfigurationMode;
     private ProfilerMode profilerMode;
     private boolean disableProfiler;
+    private boolean concurrent;
 
     /**
      * Create an Execution Plan: Object to create and optimize an execution plan for
@@ -120,6 +157,8 @@ public class TornadoExecutionPlan {
 
         if (this.policy != null) {
             tornadoExecutor.executeWithDynamicReconfiguration(this.policy, this.dynamicReconfigurationMode);
+        } else if (concurrent) {
+            tornadoExecutor.executeConcurrent(gridScheduler, Collections.emptyMap());
         } else if (gridScheduler != null) {
             tornadoExecutor.execute(gridScheduler);
         } else {
@@ -128,6 +167,28 @@ public class TornadoExecutionPlan {
         return new TornadoExecutionResult(new TornadoProfilerResult(tornadoExecutor));
     }
 
+    /**
+     * Executes a plan configured with {@link #withConcurrentExecution()} with some
+     * of its objects replaced, for this invocation only, by objects of the same
+     * type and size. Each thread can bind its own inputs and outputs: the bound
+     * objects get their own device buffers, and the objects the task-graphs were
+     * built with are left untouched. The first execution of the plan compiles
+     * the task-graphs with their own objects.
+     *
+     * @param bindings
+     *            maps an object of the task-graphs to the object used in its
+     *            place. The map is looked up by identity.
+     * @return {@link TornadoExecutionResult}
+     */
+    public TornadoExecutionResult execute(Map<Object, Object> bindings) {
+        if (!concurrent) {
+            throw new TornadoRuntimeException("Bound objects require a plan with concurrent execution");
+        }
+        checkProfilerEnabled();
+        tornadoExecutor.executeConcurrent(gridScheduler, bindings);
+        return new TornadoExecutionResult(new TornadoProfilerResult(tornadoExecutor));
+    }
+
     private void checkProfilerEnabled() {
         if (this.profilerMode != null && !this.disableProfiler) {
             tornadoExecutor.enableProfiler(profilerMode);
@@ -205,6 +266,27 @@ public class TornadoExecutionPlan {
         return this;
     }
 
+    /**
+     * Allow {@link #execute()} to be called from several threads at the same time.
+     * All threads share the compiled kernels, the bytecode and the device buffers
+     * of the plan, while the state of each invocation is taken from a pool. The
+     * commands of concurrent invocations are serialized on each device.
+     *
+     * <p>
+     * The plan must be configured before the first execution: the device, the
+     * grid scheduler and the profiler are not updated by concurrent executions.
+     * Threads that execute the plan with {@link #execute()} share the same input
+     * and output objects; each thread can bind its own with
+     * {@link #execute(Map)}.
+     * </p>
+     *
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withConcurrentExecution() {
+        this.concurrent = true;
+        return this;
+    }
+
     /**
      * Notify the TornadoVM runtime that utilizes the default thread scheduler.
      *
@@ -215,6 +297,20 @@ public class TornadoExecutionPlan {
         return this;
     }
 
+    /**
+     * Capture the sequence of commands of each immutable task-graph after
+     * warm-up, and replay it in the following executions instead of interpreting
+     * the TornadoVM bytecode. The capture is discarded, and taken again, when the
+     * arguments, the device buffers, the compiled code or the sizes of the
+     * {@link GridScheduler} change.
+     *
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withGraphCapture() {
+        tornadoExecutor.useGraphCapture(true);
+        return this;
+    }
+
     /**
      * Use the TornadoVM dynamic reconfiguration (akka live task migration) across
      * visible devices.
@@ -311,6 +407,10 @@ public class TornadoExecutionPlan {
             immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.execute(gridScheduler));
         }
 
+        void executeConcurrent(GridScheduler gridScheduler, Map<Object, Object> bindings) {
+            immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.executeConcurrent(gridScheduler, bindings));
+        }
+
         void executeWithDynamicReconfiguration(Policy policy, DRMode mode) {
             immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.executeWithDynamicReconfiguration(policy, mode));
         }
@@ -409,6 +509,10 @@ public class TornadoExecutionPlan {
             immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.useDefaultScheduler(useDefaultScheduler));
         }
 
+        void useGraphCapture(boolean useGraphCapture) {
+            immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.useGraphCapture(useGraphCapture));
+        }
+
         TornadoDevice getDevice(int immutableTaskGraphIndex) {
             if (immutableTaskGraphList.size() < immutableTaskGraphIndex) {
                 throw new TornadoRuntimeException("TaskGraph index #" + immutableTaskGraphIndex + " does not exist in current executor");
@@ -0,0 +1,250 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework: 
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * GNU Classpath is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2, or (at your option)
+ * any later version.
+ * 
+ * GNU Classpath is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with GNU Classpath; see the file COPYING.  If not, write to the
+ * Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ *
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ * 
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ */
+package uk.ac.manchester.tornado.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+
+/**
+ * Coalesces small, independent requests into one launch of a task graph.
+ * Requests submitted from any thread are queued; a dispatcher thread takes the
+ * first pending request and waits for more until the batch is full or the
+ * latency budget of that first request has expired. The inputs of the batch are
+ * packed into the buffers of a {@link BatchDefinition}, the task graph runs
+ * once, and the result of each request is returned through its future.
+ *
+ * @param <I>
+ *            type of the input of a request.
+ * @param <O>
+ *            type of the result of a request.
+ *
+ * @since TornadoVM-0.15
+ */
+public class TornadoMicroBatcher<I, O> implements AutoCloseable {
+
+    private static final class Request<I, O> {
+        private final I input;
+        private final CompletableFuture<O> result;
+
+        private Request(I input) {
+            this.input = input;
+            this.result = new CompletableFuture<>();
+        }
+    }
+
+    private final BatchDefinition<I, O> definition;
+    private final TornadoExecutionPlan plan;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<Request<I, O>> pending;
+    private final Thread dispatcher;
+    private final AtomicLong numBatches;
+    private final AtomicLong numRequests;
+    private volatile boolean closed;
+
+    TornadoMicroBatcher(BatchDefinition<I, O> definition, int maxBatchSize, long maxDelay, TimeUnit unit) {
+        if (maxBatchSize <= 0) {
+            throw new TornadoRuntimeException("The maximum batch size must be positive: " + maxBatchSize);
+        }
+        this.definition = definition;
+        this.plan = new TornadoExecutionPlan(definition.getTaskGraph());
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+        this.pending = new LinkedBlockingQueue<>();
+        this.numBatches = new AtomicLong();
+        this.numRequests = new AtomicLong();
+        this.dispatcher = new Thread(this::dispatch, "tornado-micro-batcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * Applies a configuration (device, grid scheduler, profiler, etc.) to the
+     * execution plan of the batcher.
+     *
+     * @param configuration
+     *            action applied to the {@link TornadoExecutionPlan}.
+     * @return {@link TornadoMicroBatcher}
+     */
+    public TornadoMicroBatcher<I, O> withPlan(Consumer<TornadoExecutionPlan> configuration) {
+        synchronized (plan) {
+            configuration.accept(plan);
+        }
+        return this;
+    }
+
+    /**
+     * Submits a request. The request is launched with other requests received
+     * within the latency budget.
+     *
+     * @param input
+     *            input of the request.
+     * @return future completed with the result of the request.
+     */
+    public CompletableFuture<O> submit(I input) {
+        Request<I, O> request = new Request<>(input);
+        if (closed) {
+            cancel(request);
+            return request.result;
+        }
+        pending.add(request);
+        // close() may have drained the queue between the check and the add
+        if (closed && pending.remove(request)) {
+            cancel(request);
+        }
+        return request.result;
+    }
+
+    private static <I, O> void cancel(Request<I, O> request) {
+        request.result.completeExceptionally(new CancellationException("The micro-batcher is closed"));
+    }
+
+    private void cancelPending() {
+        Request<I, O> request;
+        while ((request = pending.poll()) != null) {
+            cancel(request);
+        }
+    }
+
+    /**
+     * @return the number of launches of the task graph.
+     */
+    public long getNumBatches() {
+        return numBatches.get();
+    }
+
+    /**
+     * @return the number of requests processed.
+     */
+    public long getNumRequests() {
+        return numRequests.get();
+    }
+
+    /**
+     * @return the average number of requests per launch.
+     */
+    public double getAverageBatchSize() {
+        long batches = numBatches.get();
+        return batches == 0 ? 0 : (double) numRequests.get() / batches;
+    }
+
+    private void dispatch() {
+        List<Request<I, O>> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (!closed) {
+                try {
+                    Request<I, O> first = pending.take();
+                    batch.add(first);
+                    long deadline = System.nanoTime() + maxDelayNanos;
+                    while (batch.size() < maxBatchSize) {
+                        long remaining = deadline - System.nanoTime();
+                        Request<I, O> next = remaining > 0 ? pending.poll(remaining, TimeUnit.NANOSECONDS) : pending.poll();
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                    launch(batch);
+                } catch (InterruptedException e) {
+                    // The requests taken for this batch are not launched
+                    batch.forEach(TornadoMicroBatcher::cancel);
+                    Thread.currentThread().interrupt();
+                    break;
+                } finally {
+                    batch.clear();
+                }
+            }
+        } finally {
+            // No request is launched once the dispatcher stops, including when
+            // it dies with an Error: cancel the requests queued meanwhile
+            closed = true;
+            cancelPending();
+        }
+    }
+
+    private void launch(List<Request<I, O>> batch) {
+        try {
+            List<O> results = new ArrayList<>(batch.size());
+            synchronized (plan) {
+                for (int i = 0; i < batch.size(); i++) {
+                    definition.pack(i, batch.get(i).input);
+                }
+                definition.setBatchSize(batch.size());
+                plan.execute();
+                for (int i = 0; i < batch.size(); i++) {
+                    results.add(definition.unpack(i));
+                }
+            }
+            numBatches.incrementAndGet();
+            numRequests.addAndGet(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(results.get(i));
+            }
+        } catch (Throwable t) {
+            // Fail every request of the batch, whatever went wrong. Errors are
+            // not recoverable and stop the dispatcher.
+            batch.forEach(request -> request.result.completeExceptionally(t));
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+        }
+    }
+
+    /**
+     * Stops the dispatcher. Requests that have not been launched are cancelled.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        dispatcher.interrupt();
+        cancelPending();
+    }
+}
@@ -0,0 +1,412 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework: 
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * GNU Classpath is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2, or (at your option)
+ * any later version.
+ * 
+ * GNU Classpath is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with GNU Classpath; see the file COPYING.  If not, write to the
+ * Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ *
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ * 
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ */
+package uk.ac.manchester.tornado.api;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+
+/**
+ * Processes a stream of items with a task graph, keeping several items in
+ * flight. The stream owns a fixed number of {@link StreamSlot}s, each one with
+ * its own host arrays, task graph and device buffers. For every item, a slot is
+ * loaded on the host, its task graph is executed, and the output is built on
+ * the host again. The host pre- and post-processing of some items overlap with
+ * the execution of the task graph of another one.
+ *
+ * <p>
+ * The stream is a {@link Flow.Processor}: it subscribes to a publisher of
+ * inputs and publishes the outputs, in the order of the inputs, to one
+ * subscriber. It requests a new input from the publisher only when an output
+ * has been delivered downstream, so no more than one item per slot is in
+ * flight. A {@link java.util.concurrent.SubmissionPublisher} can be used to
+ * feed the stream from a queue.
+ * </p>
+ *
+ * <p>
+ * Each slot submits the execution of its task graph from its own device
+ * thread, with {@link TornadoExecutionPlan#withConcurrentExecution()}, so the
+ * commands of one item are enqueued while another item waits for its results.
+ * The first execution of each slot compiles its task graph, and these are run
+ * one at a time.
+ * </p>
+ *
+ * <p>
+ * A completion or an error raised before a subscriber is attached is held and
+ * delivered right after {@link Flow.Subscriber#onSubscribe}.
+ * </p>
+ *
+ * @param <I>
+ *            type of the input items.
+ * @param <O>
+ *            type of the output items.
+ *
+ * @since TornadoVM-0.15
+ */
+public class TornadoStream<I, O> implements Flow.Processor<I, O>, AutoCloseable {
+
+    private static final class Output<O> {
+        private final int slot;
+        private final O item;
+
+        private Output(int slot, O item) {
+            this.slot = slot;
+            this.item = item;
+        }
+    }
+
+    private final List<StreamSlot<I, O>> slots;
+    private final List<TornadoExecutionPlan> plans;
+    private final ConcurrentLinkedQueue<Integer> freeSlots;
+    private final boolean[] compiled;
+    private final ExecutorService hostExecutor;
+    private final ExecutorService deviceExecutor;
+
+    private final Map<Long, Output<O>> outputs;
+    private Flow.Subscription upstream;
+    private Flow.Subscriber<? super O> downstream;
+    private long nextInput;
+    private long nextOutput;
+    private long demand;
+    private int inFlight;
+    private boolean upstreamCompleted;
+    private boolean terminated;
+    private boolean draining;
+    private boolean missed;
+    private boolean subscribed;
+    private boolean pendingComplete;
+    private Throwable pendingError;
+
+    TornadoStream(int numSlots, IntFunction<StreamSlot<I, O>> slotFactory) {
+        if (numSlots <= 0) {
+            throw new TornadoRuntimeException("The number of slots of a stream must be positive: " + numSlots);
+        }
+        slots = new ArrayList<>();
+        plans = new ArrayList<>();
+        freeSlots = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < numSlots; i++) {
+            StreamSlot<I, O> slot = slotFactory.apply(i);
+            slots.add(slot);
+            plans.add(new TornadoExecutionPlan(slot.getTaskGraph()).withConcurrentExecution());
+            freeSlots.add(i);
+        }
+        compiled = new boolean[numSlots];
+        outputs = new HashMap<>();
+        hostExecutor = Executors.newFixedThreadPool(numSlots, daemonThreads("tornado-stream-host"));
+        deviceExecutor = Executors.newFixedThreadPool(numSlots, daemonThreads("tornado-stream-device"));
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Applies the same configuration (device, grid scheduler, profiler, etc.) to
+     * the execution plan of every slot. It must be called before the stream
+     * subscribes to a publisher.
+     *
+     * @param configuration
+     *            action applied to each {@link TornadoExecutionPlan}.
+     * @return {@link TornadoStream}
+     */
+    public TornadoStream<I, O> withPlans(Consumer<TornadoExecutionPlan> configuration) {
+        plans.forEach(configuration);
+        return this;
+    }
+
+    /**
+     * @return the number of items that can be in flight at the same time.
+     */
+    public int getNumSlots() {
+        return slots.size();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super O> subscriber) {
+        synchronized (this) {
+            if (downstream != null) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+                subscriber.onError(new IllegalStateException("A TornadoStream supports a single subscriber"));
+                return;
+            }
+            downstream = subscriber;
+        }
+        subscriber.onSubscribe(createSubscription());
+
+        // Deliver a completion or an error raised before the subscriber was attached
+        boolean complete;
+        Throwable error;
+        synchronized (this) {
+            subscribed = true;
+            complete = pendingComplete;
+            error = pendingError;
+            pendingComplete = false;
+            pendingError = null;
+        }
+        if (error != null) {
+            subscriber.onError(error);
+        } else if (complete) {
+            subscriber.onComplete();
+        }
+    }
+
+    private Flow.Subscription createSubscription() {
+        return new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    fail(new IllegalArgumentException("The number of requested items must be positive: " + n));
+                    return;
+                }
+                synchronized (TornadoStream.this) {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                close();
+            }
+        };
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        synchronized (this) {
+            if (upstream != null || terminated) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+        }
+        subscription.request(slots.size());
+    }
+
+    @Override
+    public void onNext(I item) {
+        final long sequence;
+        final Integer slot = freeSlots.poll();
+        synchronized (this) {
+            if (terminated) {
+                return;
+            }
+            sequence = nextInput++;
+            inFlight++;
+        }
+        if (slot == null) {
+            fail(new IllegalStateException("The publisher sent more items than requested"));
+            return;
+        }
+        hostExecutor.execute(() -> run(() -> {
+            slots.get(slot).load(item);
+            deviceExecutor.execute(() -> run(() -> {
+                execute(slot);
+                hostExecutor.execute(() -> run(() -> complete(sequence, slot, slots.get(slot).store())));
+            }));
+        }));
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        fail(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (this) {
+            upstreamCompleted = true;
+        }
+        drain();
+    }
+
+    /**
+     * Cancels the subscription to the publisher and stops the threads of the
+     * stream. Items in flight are discarded.
+     */
+    @Override
+    public void close() {
+        Flow.Subscription subscription;
+        synchronized (this) {
+            terminated = true;
+            subscription = upstream;
+        }
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        shutdown();
+    }
+
+    private void execute(int slot) {
+        synchronized (compiled) {
+            if (!compiled[slot]) {
+                // The first execution compiles the task graph of the slot
+                plans.get(slot).execute();
+                compiled[slot] = true;
+                return;
+            }
+        }
+        plans.get(slot).execute();
+    }
+
+    private void run(Runnable stage) {
+        try {
+            stage.run();
+        } catch (Throwable throwable) {
+            fail(throwable);
+        }
+    }
+
+    private void complete(long sequence, int slot, O item) {
+        synchronized (this) {
+            outputs.put(sequence, new Output<>(slot, item));
+        }
+        drain();
+    }
+
+    /**
+     * Delivers the outputs that are ready, in order, while the subscriber has
+     * demand. Only one thread delivers at a time; other threads flag that there is
+     * more work for it.
+     */
+    private void drain() {
+        synchronized (this) {
+            if (draining) {
+                missed = true;
+                return;
+            }
+            draining = true;
+        }
+        while (true) {
+            Output<O> output;
+            boolean finished = false;
+            boolean completed = false;
+            Flow.Subscriber<? super O> subscriber;
+            synchronized (this) {
+                subscriber = downstream;
+                output = !terminated && demand > 0 ? outputs.remove(nextOutput) : null;
+                if (output == null) {
+                    if (missed) {
+                        missed = false;
+                        continue;
+                    }
+                    draining = false;
+                    if (upstreamCompleted && inFlight == 0 && !terminated) {
+                        terminated = true;
+                        finished = true;
+                        if (subscribed) {
+                            completed = true;
+                        } else {
+                            pendingComplete = true;
+                        }
+                    }
+                } else {
+                    nextOutput++;
+                    demand--;
+                    inFlight--;
+                }
+            }
+            if (output == null) {
+                if (completed) {
+                    subscriber.onComplete();
+                }
+                if (finished) {
+                    shutdown();
+                }
+                return;
+            }
+            subscriber.onNext(output.item);
+            freeSlots.add(output.slot);
+            upstream.request(1);
+        }
+    }
+
+    private void fail(Throwable throwable) {
+        Flow.Subscription subscription;
+        Flow.Subscriber<? super O> subscriber;
+        synchronized (this) {
+            if (terminated) {
+                return;
+            }
+            terminated = true;
+            subscription = upstream;
+            subscriber = subscribed ? downstream : null;
+            if (!subscribed) {
+                pendingError = throwable;
+            }
+        }
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        if (subscriber != null) {
+            subscriber.onError(throwable);
+        }
+        shutdown();
+    }
+
+    private void shutdown() {
+        hostExecutor.shutdown();
+        deviceExecutor.shutdown();
+    }
+}
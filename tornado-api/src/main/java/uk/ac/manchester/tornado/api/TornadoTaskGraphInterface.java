@@ -42,6 +42,7 @@
 package uk.ac.manchester.tornado.api;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -83,6 +84,8 @@ public interface TornadoTaskGraphInterface extends ProfileInterface {
 
     void clearProfiles();
 
+    void resetDevice();
+
     void waitOn();
 
     void transferToDevice(final int mode, Object... objects);
@@ -105,6 +108,21 @@ public interface TornadoTaskGraphInterface extends ProfileInterface {
 
     TornadoTaskGraphInterface schedule(GridScheduler gridScheduler);
 
+    /**
+     * Executes the task-graph and waits for its completion. It can be called from
+     * several threads at the same time: the compiled code and the bytecode are
+     * shared, and each invocation uses its own execution state. The first call
+     * compiles the task-graph.
+     *
+     * @param gridScheduler
+     *            {@link GridScheduler} used to compile the task-graph, or null.
+     * @param bindings
+     *            objects of the task-graph replaced, for this invocation only, by
+     *            objects of the same type and size. The map is looked up by
+     *            identity.
+     */
+    void executeConcurrent(GridScheduler gridScheduler, Map<Object, Object> bindings);
+
     TornadoTaskGraphInterface scheduleWithProfile(Policy policy);
 
     TornadoTaskGraphInterface scheduleWithProfileSequential(Policy policy);
@@ -123,6 +141,8 @@ public interface TornadoTaskGraphInterface extends ProfileInterface {
 
     void useDefaultThreadScheduler(boolean use);
 
+    void useGraphCapture(boolean use);
+
     boolean isFinished();
 
     Set<Object> getArgumentsLookup();
@@ -0,0 +1,372 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework: 
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * GNU Classpath is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2, or (at your option)
+ * any later version.
+ * 
+ * GNU Classpath is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with GNU Classpath; see the file COPYING.  If not, write to the
+ * Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ *
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ * 
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ */
+package uk.ac.manchester.tornado.api.collections.layout;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+
+/**
+ * Structure-of-arrays view of an array of value-like objects.
+ *
+ * <p>
+ * A value class is a class whose instance fields are all primitives, for
+ * example a particle with {@code float x, y, z, mass}. An array of such objects
+ * cannot be passed to a task directly, and even if it could, each work-item
+ * reading the same field of consecutive objects would access strided memory.
+ * This class transposes the array into one primitive array (column) per field,
+ * so that the {@code x} of object {@code i} is {@code getFloatColumn("x")[i]}.
+ * The columns are regular arrays: they can be passed as task parameters and
+ * transferred with {@code transferToDevice}/{@code transferToHost}.
+ * </p>
+ *
+ * <pre>
+ * StructOfArrays&lt;Particle&gt; soa = StructOfArrays.fromArray(Particle.class, particles);
+ * taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, soa.getColumns()) //
+ *         .task("t0", Kernels::move, soa.getFloatColumn("x"), soa.getFloatColumn("vx"), dt) //
+ *         .transferToHost(DataTransferMode.EVERY_EXECUTION, soa.getFloatColumn("x"));
+ * ...
+ * soa.pack(particles); // before each execution, if the objects changed
+ * executionPlan.execute();
+ * soa.unpack(particles); // copy the results back into the objects
+ * </pre>
+ *
+ * <p>
+ * A structure-of-arrays created with {@link #bind(Class, Object[])} keeps a
+ * reference to its objects and can be passed as a whole to
+ * {@code transferToDevice}/{@code transferToHost}. The task-graph then packs
+ * the objects before each host to device transfer of the columns, and unpacks
+ * the columns into the objects once they have been copied back:
+ * </p>
+ *
+ * <pre>
+ * StructOfArrays&lt;Particle&gt; soa = StructOfArrays.bind(Particle.class, particles);
+ * taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, soa) //
+ *         .task("t0", Kernels::move, soa.getFloatColumn("x"), soa.getFloatColumn("vx"), dt) //
+ *         .transferToHost(DataTransferMode.EVERY_EXECUTION, soa);
+ * </pre>
+ *
+ * @param <T>
+ *            value class
+ */
+public final class StructOfArrays<T> {
+
+    private final Class<T> type;
+    private final int length;
+    private final Field[] fields;
+    private final Object[] columns;
+    private T[] source;
+
+    private StructOfArrays(Class<T> type, int length) {
+        this.type = type;
+        this.length = length;
+        this.fields = valueFields(type);
+        this.columns = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            columns[i] = Array.newInstance(fields[i].getType(), length);
+        }
+    }
+
+    /**
+     * Creates empty columns for {@code length} objects of class {@code type}.
+     *
+     * @throws TornadoRuntimeException
+     *             if {@code type} has non-primitive instance fields.
+     */
+    public static <T> StructOfArrays<T> create(Class<T> type, int length) {
+        return new StructOfArrays<>(type, length);
+    }
+
+    /**
+     * Creates the columns for {@code objects} and copies the objects into them.
+     */
+    public static <T> StructOfArrays<T> fromArray(Class<T> type, T[] objects) {
+        StructOfArrays<T> soa = new StructOfArrays<>(type, objects.length);
+        soa.pack(objects);
+        return soa;
+    }
+
+    /**
+     * Creates the columns for {@code objects}, copies the objects into them and
+     * keeps {@code objects} as the source used by {@link #packSource()} and
+     * {@link #unpackSource()}.
+     */
+    public static <T> StructOfArrays<T> bind(Class<T> type, T[] objects) {
+        StructOfArrays<T> soa = fromArray(type, objects);
+        soa.source = objects;
+        return soa;
+    }
+
+    private static Field[] valueFields(Class<?> type) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.add(0, current);
+        }
+        List<Field> result = new ArrayList<>();
+        for (Class<?> current : hierarchy) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                if (!field.getType().isPrimitive()) {
+                    throw new TornadoRuntimeException(
+                            String.format("[ERROR] %s is not a value class: field %s has non-primitive type %s", type.getName(), field.getName(), field.getType().getName()));
+                }
+                field.setAccessible(true);
+                result.add(field);
+            }
+        }
+        if (result.isEmpty()) {
+            throw new TornadoRuntimeException("[ERROR] " + type.getName() + " has no instance fields");
+        }
+        return result.toArray(new Field[0]);
+    }
+
+    /**
+     * Copies the fields of {@code objects} into the columns (AoS to SoA).
+     */
+    public void pack(T[] objects) {
+        checkLength(objects);
+        try {
+            for (int f = 0; f < fields.length; f++) {
+                packColumn(fields[f], columns[f], objects);
+            }
+        } catch (IllegalAccessException e) {
+            throw new TornadoRuntimeException(e);
+        }
+    }
+
+    /**
+     * Copies the columns back into the fields of {@code objects} (SoA to AoS).
+     */
+    public void unpack(T[] objects) {
+        checkLength(objects);
+        try {
+            for (int f = 0; f < fields.length; f++) {
+                unpackColumn(fields[f], columns[f], objects);
+            }
+        } catch (IllegalAccessException e) {
+            throw new TornadoRuntimeException(e);
+        }
+    }
+
+    /**
+     * Copies the bound objects into the columns. Does nothing if this
+     * structure-of-arrays was not created with {@link #bind(Class, Object[])}.
+     */
+    public void packSource() {
+        if (source != null) {
+            pack(source);
+        }
+    }
+
+    /**
+     * Copies the columns back into the bound objects. Does nothing if this
+     * structure-of-arrays was not created with {@link #bind(Class, Object[])}.
+     */
+    public void unpackSource() {
+        if (source != null) {
+            unpack(source);
+        }
+    }
+
+    private void checkLength(T[] objects) {
+        if (objects.length != length) {
+            throw new TornadoRuntimeException(String.format("[ERROR] expected %d objects of type %s, got %d", length, type.getName(), objects.length));
+        }
+    }
+
+    private static void packColumn(Field field, Object column, Object[] objects) throws IllegalAccessException {
+        Class<?> fieldType = field.getType();
+        if (fieldType == float.class) {
+            float[] values = (float[]) column;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = field.getFloat(objects[i]);
+            }
+        } else if (fieldType == double.class) {
+            double[] values = (double[]) column;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = field.getDouble(objects[i]);
+            }
+        } else if (fieldType == int.class) {
+            int[] values = (int[]) column;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = field.getInt(objects[i]);
+            }
+        } else if (fieldType == long.class) {
+            long[] values = (long[]) column;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = field.getLong(objects[i]);
+            }
+        } else if (fieldType == short.class) {
+            short[] values = (short[]) column;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = field.getShort(objects[i]);
+            }
+        } else if (fieldType == char.class) {
+            char[] values = (char[]) column;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = field.getChar(objects[i]);
+            }
+        } else if (fieldType == byte.class) {
+            byte[] values = (byte[]) column;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = field.getByte(objects[i]);
+            }
+        } else {
+            boolean[] values = (boolean[]) column;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = field.getBoolean(objects[i]);
+            }
+        }
+    }
+
+    private static void unpackColumn(Field field, Object column, Object[] objects) throws IllegalAccessException {
+        Class<?> fieldType = field.getType();
+        if (fieldType == float.class) {
+            float[] values = (float[]) column;
+            for (int i = 0; i < values.length; i++) {
+                field.setFloat(objects[i], values[i]);
+            }
+        } else if (fieldType == double.class) {
+            double[] values = (double[]) column;
+            for (int i = 0; i < values.length; i++) {
+                field.setDouble(objects[i], values[i]);
+            }
+        } else if (fieldType == int.class) {
+            int[] values = (int[]) column;
+            for (int i = 0; i < values.length; i++) {
+                field.setInt(objects[i], values[i]);
+            }
+        } else if (fieldType == long.class) {
+            long[] values = (long[]) column;
+            for (int i = 0; i < values.length; i++) {
+                field.setLong(objects[i], values[i]);
+            }
+        } else if (fieldType == short.class) {
+            short[] values = (short[]) column;
+            for (int i = 0; i < values.length; i++) {
+                field.setShort(objects[i], values[i]);
+            }
+        } else if (fieldType == char.class) {
+            char[] values = (char[]) column;
+            for (int i = 0; i < values.length; i++) {
+                field.setChar(objects[i], values[i]);
+            }
+        } else if (fieldType == byte.class) {
+            byte[] values = (byte[]) column;
+            for (int i = 0; i < values.length; i++) {
+                field.setByte(objects[i], values[i]);
+            }
+        } else {
+            boolean[] values = (boolean[]) column;
+            for (int i = 0; i < values.length; i++) {
+                field.setBoolean(objects[i], values[i]);
+            }
+        }
+    }
+
+    private int indexOf(String fieldName) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].getName().equals(fieldName)) {
+                return i;
+            }
+        }
+        throw new TornadoRuntimeException("[ERROR] " + type.getName() + " has no field " + fieldName);
+    }
+
+    private Object column(String fieldName, Class<?> expectedType) {
+        int index = indexOf(fieldName);
+        if (fields[index].getType() != expectedType) {
+            throw new TornadoRuntimeException(String.format("[ERROR] field %s of %s has type %s, not %s", fieldName, type.getName(), fields[index].getType().getName(), expectedType.getName()));
+        }
+        return columns[index];
+    }
+
+    /**
+     * @return all the columns, in field declaration order (super-class fields
+     *         first). Useful to pass to {@code transferToDevice}.
+     */
+    public Object[] getColumns() {
+        return columns.clone();
+    }
+
+    public Object getColumn(String fieldName) {
+        return columns[indexOf(fieldName)];
+    }
+
+    public float[] getFloatColumn(String fieldName) {
+        return (float[]) column(fieldName, float.class);
+    }
+
+    public double[] getDoubleColumn(String fieldName) {
+        return (double[]) column(fieldName, double.class);
+    }
+
+    public int[] getIntColumn(String fieldName) {
+        return (int[]) column(fieldName, int.class);
+    }
+
+    public long[] getLongColumn(String fieldName) {
+        return (long[]) column(fieldName, long.class);
+    }
+
+    public String[] getFieldNames() {
+        String[] names = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            names[i] = fields[i].getName();
+        }
+        return names;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public int getLength() {
+        return length;
+    }
+}
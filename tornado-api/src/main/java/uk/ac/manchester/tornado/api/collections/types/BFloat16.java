@@ -0,0 +1,92 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework: 
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2013-2022, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * GNU Classpath is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2, or (at your option)
+ * any later version.
+ * 
+ * GNU Classpath is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with GNU Classpath; see the file COPYING.  If not, write to the
+ * Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ *
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ * 
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ */
+package uk.ac.manchester.tornado.api.collections.types;
+
+/**
+ * Brain floating point (bfloat16) storage format.
+ *
+ * <p>
+ * A bfloat16 keeps the sign, the 8-bit exponent and the 7 most significant
+ * mantissa bits of a float, so it has the range of a float with reduced
+ * precision. Conversions are plain bit manipulations and therefore run on
+ * every backend without dedicated hardware support.
+ * </p>
+ */
+public final class BFloat16 {
+
+    /**
+     * Number of bytes used to store a bfloat16.
+     */
+    public static final int BYTES = 2;
+
+    private static final short CANONICAL_NAN = 0x7FC0;
+
+    private BFloat16() {
+    }
+
+    /**
+     * Converts a bfloat16, stored in the 16 bits of a short, to a float.
+     *
+     * @param value
+     *            bfloat16 value
+     * @return float
+     */
+    public static float toFloat(short value) {
+        return Float.intBitsToFloat((value & 0xFFFF) << 16);
+    }
+
+    /**
+     * Converts a float to bfloat16 using round-to-nearest-even.
+     *
+     * @param value
+     *            float value
+     * @return bfloat16 value
+     */
+    public static short toBFloat16(float value) {
+        if (value != value) {
+            return CANONICAL_NAN;
+        }
+        int bits = Float.floatToRawIntBits(value);
+        int rounding = 0x7FFF + ((bits >>> 16) & 1);
+        return (short) ((bits + rounding) >>> 16);
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework: 
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2013-2022, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * GNU Classpath is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2, or (at your option)
+ * any later version.
+ * 
+ * GNU Classpath is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with GNU Classpath; see the file COPYING.  If not, write to the
+ * Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ *
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ * 
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ */
+package uk.ac.manchester.tornado.api.collections.types;
+
+/**
+ * IEEE 754 binary16 (half-precision) floating point value.
+ *
+ * <p>
+ * Half floats are a storage format: values are kept in 16 bits and promoted
+ * to 32-bit floats for arithmetic. The static conversion methods
+ * {@link #toFloat(short)} and {@link #toHalf(float)} are intrinsified by the
+ * TornadoVM backends:
+ * </p>
+ *
+ * <ul>
+ * <li>OpenCL equivalent: vload_half / vstore_half_rte</li>
+ * <li>PTX equivalent: cvt.f32.f16 / cvt.rn.f16.f32</li>
+ * <li>SPIR-V equivalent: OpFConvert from/to OpTypeFloat 16</li>
+ * </ul>
+ */
+public final class HalfFloat {
+
+    public static final Class<HalfFloat> TYPE = HalfFloat.class;
+
+    /**
+     * Number of bytes used to store a half float.
+     */
+    public static final int BYTES = 2;
+
+    private static final int SIGN_MASK = 0x8000;
+    private static final int EXPONENT_MASK = 0x1F;
+    private static final int MANTISSA_MASK = 0x3FF;
+
+    private final short halfFloatValue;
+
+    public HalfFloat(float value) {
+        this.halfFloatValue = toHalf(value);
+    }
+
+    public HalfFloat(short halfFloatValue) {
+        this.halfFloatValue = halfFloatValue;
+    }
+
+    /**
+     * Returns the raw 16-bit representation of this half float.
+     *
+     * @return short
+     */
+    public short getHalfFloatValue() {
+        return halfFloatValue;
+    }
+
+    /**
+     * Returns this half float promoted to a 32-bit float.
+     *
+     * @return float
+     */
+    public float getFloat32() {
+        return toFloat(halfFloatValue);
+    }
+
+    public static HalfFloat add(HalfFloat a, HalfFloat b) {
+        return new HalfFloat(a.getFloat32() + b.getFloat32());
+    }
+
+    public static HalfFloat sub(HalfFloat a, HalfFloat b) {
+        return new HalfFloat(a.getFloat32() - b.getFloat32());
+    }
+
+    public static HalfFloat mult(HalfFloat a, HalfFloat b) {
+        return new HalfFloat(a.getFloat32() * b.getFloat32());
+    }
+
+    public static HalfFloat div(HalfFloat a, HalfFloat b) {
+        return new HalfFloat(a.getFloat32() / b.getFloat32());
+    }
+
+    /**
+     * Converts a half float, stored in the 16 bits of a short, to a float.
+     *
+     * @param half
+     *            binary16 value
+     * @return float
+     */
+    public static float toFloat(short half) {
+        int bits = half & 0xFFFF;
+        int sign = (bits & SIGN_MASK) << 16;
+        int exponent = (bits >>> 10) & EXPONENT_MASK;
+        int mantissa = bits & MANTISSA_MASK;
+
+        if (exponent == EXPONENT_MASK) {
+            // Infinity or NaN
+            return Float.intBitsToFloat(sign | 0x7F800000 | (mantissa << 13));
+        } else if (exponent == 0) {
+            if (mantissa == 0) {
+                return Float.intBitsToFloat(sign);
+            }
+            // Sub-normal half: mantissa * 2^-24
+            float value = mantissa * 0x1p-24f;
+            return (sign == 0) ? value : -value;
+        }
+        return Float.intBitsToFloat(sign | ((exponent + 112) << 23) | (mantissa << 13));
+    }
+
+    /**
+     * Converts a float to a half float using round-to-nearest-even. The result is
+     * returned in the 16 bits of a short.
+     *
+     * @param value
+     *            float value
+     * @return binary16 value
+     */
+    public static short toHalf(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        int sign = (bits >>> 16) & SIGN_MASK;
+        int exponent = (bits >>> 23) & 0xFF;
+        int mantissa = bits & 0x7FFFFF;
+
+        if (exponent == 0xFF) {
+            // Infinity or NaN. NaNs keep a quiet bit so they never become infinity.
+            return (short) (sign | 0x7C00 | ((mantissa != 0) ? (0x200 | (mantissa >>> 13)) : 0));
+        }
+
+        int halfExponent = exponent - 127 + 15;
+        if (halfExponent >= EXPONENT_MASK) {
+            // Overflow
+            return (short) (sign | 0x7C00);
+        } else if (halfExponent <= 0) {
+            if (halfExponent < -10) {
+                // Too small even for a sub-normal half
+                return (short) sign;
+            }
+            mantissa |= 0x800000;
+            int shift = 14 - halfExponent;
+            int halfMantissa = mantissa >>> shift;
+            int roundBit = 1 << (shift - 1);
+            int remainder = mantissa & ((roundBit << 1) - 1);
+            if (remainder > roundBit || (remainder == roundBit && (halfMantissa & 1) != 0)) {
+                halfMantissa++;
+            }
+            return (short) (sign | halfMantissa);
+        }
+
+        int half = sign | (halfExponent << 10) | (mantissa >>> 13);
+        int remainder = mantissa & 0x1FFF;
+        if (remainder > 0x1000 || (remainder == 0x1000 && (half & 1) != 0)) {
+            // A carry out of the mantissa correctly bumps the exponent
+            half++;
+        }
+        return (short) half;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof HalfFloat)) {
+            return false;
+        }
+        return halfFloatValue == ((HalfFloat) obj).halfFloatValue;
+    }
+
+    @Override
+    public int hashCode() {
+        return Short.hashCode(halfFloatValue);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(FloatOps.FMT, getFloat32());
+    }
+}
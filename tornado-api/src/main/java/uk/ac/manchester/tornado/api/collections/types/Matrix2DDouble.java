@@ -96,6 +96,10 @@ public class Matrix2DDouble extends Matrix2DType implements PrimitiveStorage<Dou
         storage[StorageFormats.toRowMajor(i, j, COLUMNS)] = value;
     }
 
+    public double[] getArray() {
+        return storage;
+    }
+
     public VectorDouble row(int row) {
         int index = StorageFormats.toRowMajor(row, 0, COLUMNS);
         return new VectorDouble(COLUMNS, Arrays.copyOfRange(storage, index, getFinalIndexOfRange(index)));
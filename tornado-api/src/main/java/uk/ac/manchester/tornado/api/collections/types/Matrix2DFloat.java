@@ -102,6 +102,10 @@ public class Matrix2DFloat extends Matrix2DType implements PrimitiveStorage<Floa
         storage[toRowMajor(i, j, COLUMNS)] = value;
     }
 
+    public float[] getArray() {
+        return storage;
+    }
+
     public VectorFloat row(int row) {
         int index = toRowMajor(row, 0, COLUMNS);
         return new VectorFloat(COLUMNS, Arrays.copyOfRange(storage, index, getFinalIndexOfRange(index)));
@@ -257,4 +257,144 @@ public final class StorageFormats {
         }
         return matrixRM;
     }
+
+    /**
+     * Converts the index of component {@code component} of element
+     * {@code element} to its position in a structure-of-arrays layout, where
+     * all the components with the same index are stored contiguously.
+     *
+     * @param element
+     *            element index
+     * @param component
+     *            component index within the element
+     * @param numElements
+     *            number of elements
+     * @return int
+     */
+    public static int toStructOfArrays(int element, int component, int numElements) {
+        return (component * numElements) + element;
+    }
+
+    /**
+     * Transposes an array-of-structures storage, with {@code width}
+     * consecutive components per element, into a structure-of-arrays storage.
+     *
+     * @param aos
+     *            array-of-structures storage
+     * @param width
+     *            number of components per element
+     * @return float[]
+     */
+    public static float[] toStructOfArrays(float[] aos, int width) {
+        final int numElements = aos.length / width;
+        float[] soa = new float[aos.length];
+        for (int i = 0; i < numElements; i++) {
+            for (int c = 0; c < width; c++) {
+                soa[toStructOfArrays(i, c, numElements)] = aos[i * width + c];
+            }
+        }
+        return soa;
+    }
+
+    /**
+     * Transposes a structure-of-arrays storage back into the
+     * array-of-structures storage {@code aos}.
+     *
+     * @param soa
+     *            structure-of-arrays storage
+     * @param width
+     *            number of components per element
+     * @param aos
+     *            destination array-of-structures storage
+     */
+    public static void fromStructOfArrays(float[] soa, int width, float[] aos) {
+        final int numElements = aos.length / width;
+        for (int i = 0; i < numElements; i++) {
+            for (int c = 0; c < width; c++) {
+                aos[i * width + c] = soa[toStructOfArrays(i, c, numElements)];
+            }
+        }
+    }
+
+    /**
+     * Transposes an array-of-structures storage, with {@code width}
+     * consecutive components per element, into a structure-of-arrays storage.
+     *
+     * @param aos
+     *            array-of-structures storage
+     * @param width
+     *            number of components per element
+     * @return double[]
+     */
+    public static double[] toStructOfArrays(double[] aos, int width) {
+        final int numElements = aos.length / width;
+        double[] soa = new double[aos.length];
+        for (int i = 0; i < numElements; i++) {
+            for (int c = 0; c < width; c++) {
+                soa[toStructOfArrays(i, c, numElements)] = aos[i * width + c];
+            }
+        }
+        return soa;
+    }
+
+    /**
+     * Transposes a structure-of-arrays storage back into the
+     * array-of-structures storage {@code aos}.
+     *
+     * @param soa
+     *            structure-of-arrays storage
+     * @param width
+     *            number of components per element
+     * @param aos
+     *            destination array-of-structures storage
+     */
+    public static void fromStructOfArrays(double[] soa, int width, double[] aos) {
+        final int numElements = aos.length / width;
+        for (int i = 0; i < numElements; i++) {
+            for (int c = 0; c < width; c++) {
+                aos[i * width + c] = soa[toStructOfArrays(i, c, numElements)];
+            }
+        }
+    }
+
+    /**
+     * Transposes an array-of-structures storage, with {@code width}
+     * consecutive components per element, into a structure-of-arrays storage.
+     *
+     * @param aos
+     *            array-of-structures storage
+     * @param width
+     *            number of components per element
+     * @return int[]
+     */
+    public static int[] toStructOfArrays(int[] aos, int width) {
+        final int numElements = aos.length / width;
+        int[] soa = new int[aos.length];
+        for (int i = 0; i < numElements; i++) {
+            for (int c = 0; c < width; c++) {
+                soa[toStructOfArrays(i, c, numElements)] = aos[i * width + c];
+            }
+        }
+        return soa;
+    }
+
+    /**
+     * Transposes a structure-of-arrays storage back into the
+     * array-of-structures storage {@code aos}.
+     *
+     * @param soa
+     *            structure-of-arrays storage
+     * @param width
+     *            number of components per element
+     * @param aos
+     *            destination array-of-structures storage
+     */
+    public static void fromStructOfArrays(int[] soa, int width, int[] aos) {
+        final int numElements = aos.length / width;
+        for (int i = 0; i < numElements; i++) {
+            for (int c = 0; c < width; c++) {
+                aos[i * width + c] = soa[toStructOfArrays(i, c, numElements)];
+            }
+        }
+    }
 }
@@ -210,4 +210,28 @@ public class VectorDouble8 implements PrimitiveStorage<DoubleBuffer> {
         return storage;
     }
 
+    /**
+     * Returns a copy of this vector in structure-of-arrays layout: component
+     * {@code c} of element {@code i} is stored at {@code c * getLength() + i}
+     * (see {@link StorageFormats#toStructOfArrays(int, int, int)}). Kernels
+     * that read one component of consecutive elements then access contiguous
+     * memory.
+     *
+     * @return double[]
+     */
+    public double[] toStructOfArrays() {
+        return StorageFormats.toStructOfArrays(storage, 8);
+    }
+
+    /**
+     * Sets the elements of this vector from an array in the layout produced by
+     * {@link #toStructOfArrays()}.
+     *
+     * @param values
+     *            structure-of-arrays storage
+     */
+    public void loadFromStructOfArrays(double[] values) {
+        StorageFormats.fromStructOfArrays(values, 8, storage);
+    }
+
 }
@@ -0,0 +1,164 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework: 
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * GNU Classpath is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2, or (at your option)
+ * any later version.
+ * 
+ * GNU Classpath is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with GNU Classpath; see the file COPYING.  If not, write to the
+ * Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ *
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ * 
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ */
+package uk.ac.manchester.tornado.api.common;
+
+import java.lang.reflect.Array;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+
+/**
+ * A window [fromIndex, fromIndex + length) of a primitive array.
+ *
+ * <p>
+ * Passing a slice to
+ * {@link uk.ac.manchester.tornado.api.TaskGraph#transferToDevice(int, Object...)}
+ * registers the whole array in the task-graph, so tasks still receive the full
+ * array, but only the elements of the slice are copied to the device once the
+ * array is resident there. The first copy, and any copy after the device
+ * buffer has been released, transfers the whole array.
+ * </p>
+ *
+ * <p>
+ * Passing a slice to
+ * {@link uk.ac.manchester.tornado.api.TaskGraph#transferToHost(int, Object...)}
+ * declares the range written by the tasks: only the elements of the slice are
+ * copied back into the array, and the rest of the host array is left
+ * untouched.
+ * </p>
+ *
+ * <p>
+ * The range can be moved between executions with
+ * {@link #setRange(int, int)}, e.g. to implement sliding-window pipelines in
+ * which only the new elements are updated in each iteration.
+ * </p>
+ */
+public final class ArraySlice {
+
+    private final Object array;
+    private final int arrayLength;
+    private final int elementSize;
+    private int fromIndex;
+    private int length;
+
+    private ArraySlice(Object array, int fromIndex, int length) {
+        this.array = array;
+        this.arrayLength = Array.getLength(array);
+        this.elementSize = elementSizeOf(array.getClass().getComponentType());
+        setRange(fromIndex, length);
+    }
+
+    /**
+     * @param array
+     *            a primitive array.
+     * @param fromIndex
+     *            first element of the slice.
+     * @param length
+     *            number of elements of the slice.
+     */
+    public static ArraySlice of(Object array, int fromIndex, int length) {
+        if (array == null || !array.getClass().isArray() || !array.getClass().getComponentType().isPrimitive()) {
+            throw new TornadoRuntimeException("[ERROR] Array slices are only supported for primitive arrays: " + array);
+        }
+        return new ArraySlice(array, fromIndex, length);
+    }
+
+    private static int elementSizeOf(Class<?> type) {
+        if (type == byte.class || type == boolean.class) {
+            return Byte.BYTES;
+        } else if (type == char.class) {
+            return Character.BYTES;
+        } else if (type == short.class) {
+            return Short.BYTES;
+        } else if (type == int.class) {
+            return Integer.BYTES;
+        } else if (type == float.class) {
+            return Float.BYTES;
+        } else if (type == long.class) {
+            return Long.BYTES;
+        } else {
+            return Double.BYTES;
+        }
+    }
+
+    /**
+     * Moves the slice to [fromIndex, fromIndex + length).
+     */
+    public void setRange(int fromIndex, int length) {
+        if (fromIndex < 0 || length < 0 || fromIndex > arrayLength - length) {
+            throw new TornadoRuntimeException(String.format("[ERROR] Slice [%d, %d) out of bounds for an array of length %d", fromIndex, fromIndex + length, arrayLength));
+        }
+        this.fromIndex = fromIndex;
+        this.length = length;
+    }
+
+    public Object getArray() {
+        return array;
+    }
+
+    public int getFromIndex() {
+        return fromIndex;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @return offset of the slice in bytes, from the first element of the
+     *         array.
+     */
+    public long getOffset() {
+        return (long) fromIndex * elementSize;
+    }
+
+    /**
+     * @return size of the slice in bytes.
+     */
+    public long getSize() {
+        return (long) length * elementSize;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%d:%d]", array.getClass().getComponentType().getName(), fromIndex, fromIndex + length);
+    }
+}
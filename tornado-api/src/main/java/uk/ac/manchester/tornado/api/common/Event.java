@@ -52,4 +52,17 @@ public interface Event extends ProfiledAction {
      * Call to native wait depending on internal state.
      */
     void waitOn();
+
+    /**
+     * Keeps the event alive in the event pool of its device until
+     * {@link #release()}, so it can still be read after the pool wraps around.
+     */
+    default void retain() {
+    }
+
+    /**
+     * Drops a reference taken with {@link #retain()}.
+     */
+    default void release() {
+    }
 }
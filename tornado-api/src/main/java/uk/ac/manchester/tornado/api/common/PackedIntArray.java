@@ -0,0 +1,221 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework: 
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * GNU Classpath is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2, or (at your option)
+ * any later version.
+ * 
+ * GNU Classpath is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with GNU Classpath; see the file COPYING.  If not, write to the
+ * Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ *
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ * 
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ */
+package uk.ac.manchester.tornado.api.common;
+
+import java.util.stream.IntStream;
+
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+
+/**
+ * An int array transferred to the device in a compressed form.
+ *
+ * <p>
+ * Passing a packed array to
+ * {@link uk.ac.manchester.tornado.api.TaskGraph#transferToDevice(int, Object...)}
+ * registers the array in the task-graph as usual, but before each transfer the
+ * values are bit-packed on the host as offsets from the minimum value
+ * (frame-of-reference coding), and only the packed words are copied. A decode
+ * task, {@link #unpack(int[], int[])}, is added to the task-graph and expands
+ * the values into the array on the device before the tasks that follow it.
+ * </p>
+ *
+ * <p>
+ * This suits integer data with a small range, such as masks, small
+ * identifiers or labels. When the range of the values needs more than
+ * {@link #MAX_PACKED_BITS} bits, packing is skipped and the values are copied
+ * unchanged.
+ * </p>
+ */
+public final class PackedIntArray {
+
+    /**
+     * Widest packed value. Wider values are copied unchanged, as the transfer
+     * saving would not pay for the encoding.
+     */
+    public static final int MAX_PACKED_BITS = 24;
+
+    /**
+     * Words before the packed data: bit-width and minimum value.
+     */
+    private static final int HEADER_WORDS = 2;
+
+    /**
+     * Values encoded per block. A multiple of 32, so each block starts at a word
+     * boundary and blocks can be encoded in parallel.
+     */
+    private static final int BLOCK_SIZE = 32 * 1024;
+
+    private final int[] array;
+    private final int[] packed;
+    private final ArraySlice packedSlice;
+    private boolean isPacked;
+
+    private PackedIntArray(int[] array) {
+        this.array = array;
+        this.packed = new int[HEADER_WORDS + array.length];
+        this.packedSlice = ArraySlice.of(packed, 0, packed.length);
+    }
+
+    public static PackedIntArray of(int[] array) {
+        if (array == null) {
+            throw new TornadoRuntimeException("[ERROR] null array passed to PackedIntArray");
+        }
+        return new PackedIntArray(array);
+    }
+
+    /**
+     * Encodes the current values of the array. Large arrays are encoded in
+     * parallel.
+     */
+    public void pack() {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int value : array) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        long range = (array.length == 0) ? 0 : (long) max - min;
+        int bits = 64 - Long.numberOfLeadingZeros(range);
+
+        if (bits > MAX_PACKED_BITS) {
+            packed[0] = Integer.SIZE;
+            packed[1] = 0;
+            System.arraycopy(array, 0, packed, HEADER_WORDS, array.length);
+        } else {
+            final int base = min;
+            packed[0] = bits;
+            packed[1] = base;
+            int numBlocks = (array.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            IntStream blocks = IntStream.range(0, numBlocks);
+            if (numBlocks > 1) {
+                blocks = blocks.parallel();
+            }
+            blocks.forEach(block -> packBlock(block * BLOCK_SIZE, Math.min(array.length, (block + 1) * BLOCK_SIZE), bits, base));
+        }
+        packedSlice.setRange(0, packedLength(packed[0]));
+        isPacked = true;
+    }
+
+    private void packBlock(int from, int to, int bits, int base) {
+        int word = HEADER_WORDS + (int) (((long) from * bits) >>> 5);
+        long buffer = 0;
+        int bufferedBits = 0;
+        for (int i = from; i < to; i++) {
+            buffer |= (((long) array[i] - base) & 0xFFFFFFFFL) << bufferedBits;
+            bufferedBits += bits;
+            if (bufferedBits >= Integer.SIZE) {
+                packed[word++] = (int) buffer;
+                buffer >>>= Integer.SIZE;
+                bufferedBits -= Integer.SIZE;
+            }
+        }
+        if (bufferedBits > 0) {
+            packed[word] = (int) buffer;
+        }
+    }
+
+    private int packedLength(int bits) {
+        return HEADER_WORDS + (int) (((long) array.length * bits + Integer.SIZE - 1) >>> 5);
+    }
+
+    /**
+     * Decode task. It expands the packed words into the output array.
+     */
+    public static void unpack(int[] packed, int[] output) {
+        for (@Parallel int i = 0; i < output.length; i++) {
+            int bits = packed[0];
+            long bitIndex = (long) i * bits;
+            int word = HEADER_WORDS + (int) (bitIndex >>> 5);
+            int shift = (int) (bitIndex & 31);
+            long value = packed[word] & 0xFFFFFFFFL;
+            if (shift + bits > Integer.SIZE) {
+                value |= (packed[word + 1] & 0xFFFFFFFFL) << Integer.SIZE;
+            }
+            long mask = (1L << bits) - 1;
+            output[i] = packed[1] + (int) ((value >>> shift) & mask);
+        }
+    }
+
+    public int[] getArray() {
+        return array;
+    }
+
+    /**
+     * @return the buffer with the packed words, which is the one copied to the
+     *         device.
+     */
+    public int[] getPackedBuffer() {
+        return packed;
+    }
+
+    /**
+     * @return the range of the packed buffer used by the last encoding.
+     */
+    public ArraySlice getPackedSlice() {
+        return packedSlice;
+    }
+
+    public boolean isPacked() {
+        return isPacked;
+    }
+
+    /**
+     * @return bit-width of the last encoding.
+     */
+    public int getBits() {
+        return packed[0];
+    }
+
+    /**
+     * @return ratio between the size of the array and the size of the data
+     *         transferred by the last encoding.
+     */
+    public double getCompressionRatio() {
+        return (double) array.length / packedSlice.getLength();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PackedIntArray[length=%d, bits=%d]", array.length, getBits());
+    }
+}
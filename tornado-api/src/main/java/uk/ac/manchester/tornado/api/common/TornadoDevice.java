@@ -114,6 +114,28 @@ public interface TornadoDevice {
      */
     List<Integer> streamIn(Object object, long batchSize, long hostOffset, TornadoDeviceObjectState objectState, int[] events);
 
+    /**
+     * It copies a range of an object that is already present on the target
+     * device, e.g. the elements of an
+     * {@link uk.ac.manchester.tornado.api.common.ArraySlice}.
+     *
+     * @param object
+     *            to be copied
+     * @param offset
+     *            offset in bytes of the range within the data of the object
+     * @param numBytes
+     *            size in bytes of the range
+     * @param objectState
+     *            state of the object in the target device
+     *            {@link TornadoDeviceObjectState}
+     * @param events
+     *            list of previous events
+     * @return and event ID
+     */
+    default List<Integer> streamInRange(Object object, long offset, long numBytes, TornadoDeviceObjectState objectState, int[] events) {
+        return objectState.getObjectBuffer().enqueueWriteRange(object, offset, numBytes, events, events == null);
+    }
+
     /**
      * It copies a device buffer from the target device to the host. Copies are
      * non-blocking
@@ -150,6 +172,29 @@ public interface TornadoDevice {
      */
     int streamOutBlocking(Object object, long hostOffset, TornadoDeviceObjectState objectState, int[] events);
 
+    /**
+     * It copies a range of a device buffer to the same range of the host object,
+     * e.g. the elements of an
+     * {@link uk.ac.manchester.tornado.api.common.ArraySlice}. Copies are
+     * blocking between the device and the host.
+     *
+     * @param object
+     *            to be copied.
+     * @param offset
+     *            offset in bytes of the range within the data of the object
+     * @param numBytes
+     *            size in bytes of the range
+     * @param objectState
+     *            state of the object in the target device
+     *            {@link TornadoDeviceObjectState}
+     * @param events
+     *            of pending events
+     * @return and event ID
+     */
+    default int streamOutRange(Object object, long offset, long numBytes, TornadoDeviceObjectState objectState, int[] events) {
+        return objectState.getObjectBuffer().readRange(object, offset, numBytes, events, events == null);
+    }
+
     /**
      * It resolves an pending event.
      *
@@ -68,12 +68,32 @@ public interface ObjectBuffer {
 
     int read(Object reference, long hostOffset, int[] events, boolean useDeps);
 
+    /**
+     * Copies {@code numBytes} of the device buffer, starting at {@code offset}
+     * bytes of the object data, into the same range of {@code reference}. It
+     * blocks until the copy completes. Buffers that cannot copy a range read the
+     * whole object.
+     */
+    default int readRange(Object reference, long offset, long numBytes, int[] events, boolean useDeps) {
+        return read(reference, 0, events, useDeps);
+    }
+
     void write(Object reference);
 
     int enqueueRead(Object reference, long hostOffset, int[] events, boolean useDeps);
 
     List<Integer> enqueueWrite(Object reference, long batchSize, long hostOffset, int[] events, boolean useDeps);
 
+    /**
+     * Copies {@code numBytes} of the data of {@code reference}, starting at
+     * {@code offset} bytes, into the same range of the device buffer. The rest
+     * of the device buffer must already be up to date. Buffers that cannot copy
+     * a range transfer the whole object.
+     */
+    default List<Integer> enqueueWriteRange(Object reference, long offset, long numBytes, int[] events, boolean useDeps) {
+        return enqueueWrite(reference, 0, 0, events, useDeps);
+    }
+
     void allocate(Object reference, long batchSize) throws TornadoOutOfMemoryException, TornadoMemoryException;
 
     void deallocate() throws TornadoMemoryException;
@@ -45,4 +45,21 @@ public interface TornadoMemoryProvider {
 
     long getHeapSize();
 
+    /**
+     * Device buffers are shared allocations when the shared-memory mode is
+     * enabled ({@code -Dtornado.memory.shared=True}) and the device supports it:
+     * OpenCL buffers backed by host memory on devices with unified memory, CUDA
+     * managed memory, and Level Zero shared allocations. This is not a zero-copy
+     * mode: Java objects live on the managed heap, so the transfers of a
+     * task-graph still copy them to and from the shared allocation. On devices
+     * with unified memory these copies stay in host memory instead of crossing a
+     * bus, and data that stays resident on the device is not copied again.
+     *
+     * @return true if the device buffers are allocated in memory shared between
+     *         the host and the device.
+     */
+    default boolean isSharedMemory() {
+        return false;
+    }
+
 }
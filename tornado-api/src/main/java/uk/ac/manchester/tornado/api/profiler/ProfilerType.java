@@ -41,6 +41,8 @@ public enum ProfilerType {
     DEVICE("Device"),
     TOTAL_COPY_IN_SIZE_BYTES("CopyIn-Size-(Bytes)"),
     TOTAL_COPY_OUT_SIZE_BYTES("CopyOut-Size-(Bytes)"),
+    COPY_IN_BANDWIDTH("CopyIn-Bandwidth-(MB/s)"),
+    COPY_OUT_BANDWIDTH("CopyOut-Bandwidth-(MB/s)"),
     TASK_COMPILE_DRIVER_TIME("Task-Compile-Driver"),
     TASK_COMPILE_GRAAL_TIME("Task-Compile-Graal"),
 
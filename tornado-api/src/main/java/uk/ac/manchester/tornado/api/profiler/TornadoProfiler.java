@@ -23,6 +23,10 @@
  */
 package uk.ac.manchester.tornado.api.profiler;
 
+import java.util.function.Consumer;
+
+import uk.ac.manchester.tornado.api.common.Event;
+
 public interface TornadoProfiler {
 
     void addValueToMetric(ProfilerType type, String taskName, long value);
@@ -60,4 +64,31 @@ public interface TornadoProfiler {
     void setTaskTimer(ProfilerType totalKernelTime, String taskId, long timer);
 
     void sum(ProfilerType type, long timer);
+
+    /**
+     * Defers the profiling of an enqueued command, so the host does not wait for
+     * it while the task-graph executes. The update reads the timestamps of the
+     * event once it is harvested with {@link #harvestEvents()}. The event is
+     * retained until it is harvested or discarded, so the device does not reuse
+     * it in the meantime.
+     *
+     * @param event
+     *            event of the enqueued command.
+     * @param update
+     *            profiler update for the completed event.
+     */
+    void deferEvent(Event event, Consumer<Event> update);
+
+    /**
+     * Waits for the deferred events and applies their updates, in the order in
+     * which they were deferred.
+     */
+    void harvestEvents();
+
+    /**
+     * Drops the deferred events without applying their updates, e.g. the events
+     * of a warm-up execution that must not be accounted to the next execution, or
+     * of an execution that bailed out.
+     */
+    void discardEvents();
 }
@@ -72,6 +72,7 @@ __ENABLE_SPIRV_OPTIMIZER__      = " -Dtornado.spirv.loadstore=True "
 ## ========================================================================================
 __BENCHMARKS__ = [
 	"saxpy",
+	"saxpyhalf",
 	"addImage",
 	"stencil",
 	"convolvearray",
@@ -100,6 +101,7 @@ allSizes = {
 	"montecarlo": [[512, 1024, 2048, 4096, 8192, 16384, 32798, 65536, 1048576], [__MAX_ITERATIONS__]],
 	"nbody": [[512, 1024, 2048, 4096, 16384, 327684], [__MAX_ITERATIONS__]],
 	"saxpy": [[512, 1024, 2048, 4096, 8192, 16384, 32798, 65536, 131072, 262144, 524288, 1048576, 2097152, 4194304], [__MAX_ITERATIONS__]],
+	"saxpyhalf": [[512, 1024, 2048, 4096, 8192, 16384, 32798, 65536, 131072, 262144, 524288, 1048576, 2097152, 4194304], [__MAX_ITERATIONS__]],
 	"sgemm": [[128, 256, 512, 1024, 2048], [__MAX_ITERATIONS__]],
 	"blackscholes": [[512, 1024, 2048, 4096, 8192, 16384, 32798, 65536, 1048576, 4194304], [__MAX_ITERATIONS__]],
 	"dft": [[256, 512, 1024, 2048, 4096, 8192], [__MAX_ITERATIONS__]],
@@ -112,6 +114,7 @@ mediumSizes = {
 	"montecarlo": [[512, 1024, 2048, 4096, 8192], ["getSize()"]],
 	"nbody": [[512, 1024, 2048, 4096], ["getSize()"]],
 	"saxpy": [[512, 1024, 2048, 4096, 8192, 16384, 32798, 65536, 131072, 262144, 524288, 1048576, 2097152], ["getSize()"]],
+	"saxpyhalf": [[512, 1024, 2048, 4096, 8192, 16384, 32798, 65536, 131072, 262144, 524288, 1048576, 2097152], ["getSize()"]],
 	"sgemm": [[128, 256, 512, 1024, 2048], ["getSize()"]],
 	"blackscholes": [[512, 1024, 2048, 4096, 8192, 16384, 32798, 65536], ["getSize()"]],
 	"dft": [[256, 512, 1024, 2048, 4096], ["getSize()"]],
@@ -55,10 +55,13 @@ __TEST_THE_WORLD__ = [
     ## TornadoVM standard test-suite
     TestEntry("uk.ac.manchester.tornado.unittests.TestHello"),
     TestEntry("uk.ac.manchester.tornado.unittests.arrays.TestArrays"),
+    TestEntry("uk.ac.manchester.tornado.unittests.arrays.TestArraySlices"),
+    TestEntry("uk.ac.manchester.tornado.unittests.arrays.TestPackedArrays"),
     TestEntry("uk.ac.manchester.tornado.unittests.functional.TestLambdas"),
     TestEntry("uk.ac.manchester.tornado.unittests.vectortypes.TestFloats"),
     TestEntry("uk.ac.manchester.tornado.unittests.vectortypes.TestDoubles"),
     TestEntry("uk.ac.manchester.tornado.unittests.vectortypes.TestInts"),
+    TestEntry("uk.ac.manchester.tornado.unittests.vectortypes.TestHalfFloats"),
     TestEntry("uk.ac.manchester.tornado.unittests.vectortypes.TestVectorAllocation"),
     TestEntry("uk.ac.manchester.tornado.unittests.prebuilt.PrebuiltTest"), 
     TestEntry("uk.ac.manchester.tornado.unittests.virtualization.TestsVirtualLayer"),   
@@ -77,21 +80,34 @@ __TEST_THE_WORLD__ = [
     TestEntry("uk.ac.manchester.tornado.unittests.reductions.InstanceReduction"),
     TestEntry("uk.ac.manchester.tornado.unittests.reductions.MultipleReductions"),
     TestEntry("uk.ac.manchester.tornado.unittests.reductions.TestReductionsAutomatic"),
+    TestEntry("uk.ac.manchester.tornado.unittests.reductions.TestReductionsSubGroups"),
     TestEntry("uk.ac.manchester.tornado.unittests.instances.TestInstances"),  
     TestEntry("uk.ac.manchester.tornado.unittests.matrices.TestMatrixTypes"),
     TestEntry("uk.ac.manchester.tornado.unittests.api.TestAPI"), 
     TestEntry("uk.ac.manchester.tornado.unittests.api.TestIO"),  
     TestEntry("uk.ac.manchester.tornado.unittests.executor.TestExecutor"),
+    TestEntry("uk.ac.manchester.tornado.unittests.executor.TestStreams"),
+    TestEntry("uk.ac.manchester.tornado.unittests.executor.TestMicroBatcher"),
+    TestEntry("uk.ac.manchester.tornado.unittests.executor.TestConcurrentExecution"),
+    TestEntry("uk.ac.manchester.tornado.unittests.executor.TestGraphCapture"),
+    TestEntry(testName="uk.ac.manchester.tornado.unittests.executor.TestExecutionReplay",
+              testParameters=["-Dtornado.replay.record=recordReplay"]),
     TestEntry("uk.ac.manchester.tornado.unittests.grid.TestGrid"),         
     TestEntry("uk.ac.manchester.tornado.unittests.grid.TestGridScheduler"), 
     TestEntry("uk.ac.manchester.tornado.unittests.kernelcontext.api.TestCombinedTaskGraph"),  
     TestEntry("uk.ac.manchester.tornado.unittests.kernelcontext.api.TestVectorAdditionKernelContext"),
     TestEntry("uk.ac.manchester.tornado.unittests.kernelcontext.api.KernelContextWorkGroupTests"),
+    TestEntry(testName="uk.ac.manchester.tornado.unittests.kernelcontext.api.TestSubGroupsKernelContext",
+              testParameters=["-Dtornado.recover.bailout=False"]),
     TestEntry("uk.ac.manchester.tornado.unittests.kernelcontext.matrices.TestMatrixMultiplicationKernelContext"), 
     TestEntry("uk.ac.manchester.tornado.unittests.kernelcontext.reductions.TestReductionsIntegersKernelContext"), 
     TestEntry("uk.ac.manchester.tornado.unittests.kernelcontext.reductions.TestReductionsFloatsKernelContext"),
     TestEntry("uk.ac.manchester.tornado.unittests.kernelcontext.reductions.TestReductionsDoublesKernelContext"),
     TestEntry("uk.ac.manchester.tornado.unittests.kernelcontext.reductions.TestReductionsLongKernelContext"),
+    TestEntry("uk.ac.manchester.tornado.unittests.primitives.TestPrimitives"),
+    TestEntry("uk.ac.manchester.tornado.unittests.sparse.TestSparseMatrices"),
+    TestEntry("uk.ac.manchester.tornado.unittests.blas.TestBlas"),
+    TestEntry("uk.ac.manchester.tornado.unittests.layout.TestStructOfArrays"),
     TestEntry("uk.ac.manchester.tornado.unittests.math.TestMath"),        
     TestEntry("uk.ac.manchester.tornado.unittests.batches.TestBatches"),  
     TestEntry("uk.ac.manchester.tornado.unittests.lambdas.TestLambdas"), 
@@ -99,6 +115,12 @@ __TEST_THE_WORLD__ = [
     TestEntry("uk.ac.manchester.tornado.unittests.logic.TestLogic"),     
     TestEntry("uk.ac.manchester.tornado.unittests.fields.TestFields"),   
     TestEntry("uk.ac.manchester.tornado.unittests.profiler.TestProfiler"), 
+    TestEntry(testName="uk.ac.manchester.tornado.unittests.profiler.TestHardwareCounters",
+              testParameters=["-Dtornado.counters=simulated"]),
+    TestEntry("uk.ac.manchester.tornado.unittests.metrics.TestLatencyHistogram"),
+    TestEntry("uk.ac.manchester.tornado.unittests.metrics.TestPrometheusExporter"),
+    TestEntry("uk.ac.manchester.tornado.unittests.drivers.TestStagingBufferPool"),
+    TestEntry("uk.ac.manchester.tornado.unittests.drivers.TestEventRegistry"),
     TestEntry("uk.ac.manchester.tornado.unittests.bitsets.BitSetTests"),   
     TestEntry("uk.ac.manchester.tornado.unittests.fails.TestFails"),       
     TestEntry("uk.ac.manchester.tornado.unittests.fails.RuntimeFail"),     
@@ -122,6 +144,14 @@ __TEST_THE_WORLD__ = [
               testParameters=[
                   "-XX:CompileCommand=dontinline,uk/ac/manchester/tornado/unittests/tasks/TestMultipleFunctions.*"]),
 
+    ## Eviction of device buffers needs a memory budget smaller than the buffers of both task-graphs
+    TestEntry(testName="uk.ac.manchester.tornado.unittests.api.TestDeviceMemoryEviction",
+              testParameters=["-Dtornado.device.memory=48MB"]),
+
+    ## Device buffers in memory shared between the host and the device
+    TestEntry(testName="uk.ac.manchester.tornado.unittests.api.TestSharedMemory",
+              testParameters=["-Dtornado.memory.shared=True"]),
+
     ## Tests for Virtual Devices
     TestEntry(testName="uk.ac.manchester.tornado.unittests.virtual.TestVirtualDeviceKernel",
               testMethods=["testVirtualDeviceKernelGPU"],
@@ -8,6 +8,7 @@ module tornado.benchmarks {
     requires transitive lucene.core;
     requires transitive tornado.api;
     requires transitive tornado.matrices;
+    requires transitive tornado.primitives;
 
     exports uk.ac.manchester.tornado.benchmarks;
     exports uk.ac.manchester.tornado.benchmarks.addImage;
@@ -23,12 +24,15 @@ module tornado.benchmarks {
     exports uk.ac.manchester.tornado.benchmarks.hilbert;
     exports uk.ac.manchester.tornado.benchmarks.mandelbrot;
     exports uk.ac.manchester.tornado.benchmarks.montecarlo;
+    exports uk.ac.manchester.tornado.benchmarks.primitives;
     exports uk.ac.manchester.tornado.benchmarks.nbody;
     exports uk.ac.manchester.tornado.benchmarks.rotateimage;
     exports uk.ac.manchester.tornado.benchmarks.rotatevector;
     exports uk.ac.manchester.tornado.benchmarks.saxpy;
+    exports uk.ac.manchester.tornado.benchmarks.saxpyhalf;
     exports uk.ac.manchester.tornado.benchmarks.sgemm;
     exports uk.ac.manchester.tornado.benchmarks.sgemv;
+    exports uk.ac.manchester.tornado.benchmarks.sgemvhalf;
     exports uk.ac.manchester.tornado.benchmarks.spmv;
     exports uk.ac.manchester.tornado.benchmarks.stencil;
 }
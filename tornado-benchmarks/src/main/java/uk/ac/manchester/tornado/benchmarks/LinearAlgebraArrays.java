@@ -18,6 +18,7 @@
 package uk.ac.manchester.tornado.benchmarks;
 
 import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.collections.types.HalfFloat;
 
 public class LinearAlgebraArrays {
 
@@ -27,6 +28,16 @@ public class LinearAlgebraArrays {
         }
     }
 
+    /**
+     * SAXPY over half-precision storage. Elements are promoted to float for the
+     * arithmetic and rounded back to half when stored.
+     */
+    public static void saxpyHalf(float alpha, short[] x, short[] y) {
+        for (@Parallel int i = 0; i < y.length; i++) {
+            y[i] = HalfFloat.toHalf(HalfFloat.toFloat(y[i]) + alpha * HalfFloat.toFloat(x[i]));
+        }
+    }
+
     public static void sgemv(int M, int N, float[] A, float[] X, float[] Y) {
         for (@Parallel int i = 0; i < M; i++) {
             float y0 = 0f;
@@ -37,6 +48,20 @@ public class LinearAlgebraArrays {
         }
     }
 
+    /**
+     * SGEMV with the matrix and the input vector in half-precision storage. The
+     * dot products are accumulated in float.
+     */
+    public static void sgemvHalf(int M, int N, short[] A, short[] X, float[] Y) {
+        for (@Parallel int i = 0; i < M; i++) {
+            float y0 = 0f;
+            for (int j = 0; j < N; j++) {
+                y0 += HalfFloat.toFloat(A[j + (i * N)]) * HalfFloat.toFloat(X[j]);
+            }
+            Y[i] = y0;
+        }
+    }
+
     public static void sgemm(final int M, final int N, final int K, final float A[], final float B[], final float C[]) {
         for (@Parallel int i = 0; i < N; i++) {
             for (@Parallel int j = 0; j < N; j++) {
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.primitives;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import uk.ac.manchester.tornado.primitives.RadixSort;
+
+/**
+ * Compares the device-wide {@link RadixSort} against
+ * {@link Arrays#parallelSort(int[])}. Both versions restore the unsorted keys
+ * before every invocation.
+ * <p>
+ * How to run in isolation?
+ * </p>
+ * <code>
+ *    tornado -jar tornado-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.primitives.JMHRadixSort
+ * </code>
+ */
+public class JMHRadixSort {
+    @State(Scope.Thread)
+    public static class BenchmarkSetup {
+
+        private int numElements = Integer.parseInt(System.getProperty("x", "16777216"));
+        private int[] unsorted;
+        private int[] keys;
+
+        private RadixSort radixSort;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            unsorted = new int[numElements];
+            keys = new int[numElements];
+
+            Random random = new Random(42);
+            for (int i = 0; i < numElements; i++) {
+                unsorted[i] = random.nextInt();
+            }
+            System.arraycopy(unsorted, 0, keys, 0, numElements);
+
+            radixSort = RadixSort.sort(keys);
+            radixSort.getExecutionPlan().withWarmUp();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void sortJava(BenchmarkSetup state, Blackhole blackhole) {
+        System.arraycopy(state.unsorted, 0, state.keys, 0, state.numElements);
+        Arrays.parallelSort(state.keys);
+        blackhole.consume(state.keys);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void sortTornado(BenchmarkSetup state, Blackhole blackhole) {
+        System.arraycopy(state.unsorted, 0, state.keys, 0, state.numElements);
+        state.radixSort.execute();
+        blackhole.consume(state.keys);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder() //
+                .include(JMHRadixSort.class.getName() + ".*") //
+                .mode(Mode.AverageTime) //
+                .timeUnit(TimeUnit.NANOSECONDS) //
+                .warmupTime(TimeValue.seconds(30)) //
+                .warmupIterations(2) //
+                .measurementTime(TimeValue.seconds(30)) //
+                .measurementIterations(5) //
+                .forks(1) //
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.saxpyhalf;
+
+import static uk.ac.manchester.tornado.benchmarks.LinearAlgebraArrays.saxpyHalf;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.collections.types.HalfFloat;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+import uk.ac.manchester.tornado.benchmarks.LinearAlgebraArrays;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado -m tornado.benchmarks/uk.ac.manchester.tornado.benchmarks.BenchmarkRunner saxpyhalf
+ * </code>
+ */
+public class SaxpyHalfTornado extends BenchmarkDriver {
+
+    private final int numElements;
+
+    private short[] x;
+    private short[] y;
+    private final float alpha = 2f;
+
+    public SaxpyHalfTornado(int iterations, int numElements) {
+        super(iterations);
+        this.numElements = numElements;
+    }
+
+    @Override
+    public void setUp() {
+        x = new short[numElements];
+        y = new short[numElements];
+
+        for (int i = 0; i < numElements; i++) {
+            x[i] = HalfFloat.toHalf((i % 1024) / 1024f);
+        }
+
+        taskGraph = new TaskGraph("benchmark");
+        taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, x, y);
+        taskGraph.task("saxpyHalf", LinearAlgebraArrays::saxpyHalf, alpha, x, y);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+
+        immutableTaskGraph = taskGraph.snapshot();
+        executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.withWarmUp();
+    }
+
+    @Override
+    public void tearDown() {
+        executionResult.getProfilerResult().dumpProfiles();
+
+        x = null;
+        y = null;
+
+        executionPlan.resetDevice();
+        super.tearDown();
+    }
+
+    @Override
+    public void benchmarkMethod(TornadoDevice device) {
+        executionResult = executionPlan.withDevice(device).execute();
+    }
+
+    @Override
+    public boolean validate(TornadoDevice device) {
+
+        final short[] result = new short[numElements];
+
+        // Reset the output: saxpy accumulates into y
+        for (int i = 0; i < numElements; i++) {
+            y[i] = 0;
+        }
+        benchmarkMethod(device);
+        executionResult.transferToHost(y);
+        executionPlan.clearProfiles();
+
+        saxpyHalf(alpha, x, result);
+
+        for (int i = 0; i < numElements; i++) {
+            float expected = HalfFloat.toFloat(result[i]);
+            // Allow one half-precision ulp of difference (contracted FMA)
+            if (Math.abs(HalfFloat.toFloat(y[i]) - expected) > Math.max(Math.ulp(expected) * 8192, 1e-7f)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void printSummary() {
+        if (isValid()) {
+            System.out.printf("id=%s, elapsed=%f, per iteration=%f\n", TornadoRuntime.getProperty("benchmark.device"), getElapsed(), getElapsedPerIteration());
+        } else {
+            System.out.printf("id=%s produced invalid result\n", TornadoRuntime.getProperty("benchmark.device"));
+        }
+    }
+}
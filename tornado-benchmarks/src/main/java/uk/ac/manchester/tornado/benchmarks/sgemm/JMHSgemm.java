@@ -43,8 +43,11 @@ import org.openjdk.jmh.runner.options.TimeValue;
 import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
 import uk.ac.manchester.tornado.api.TaskGraph;
 import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.collections.types.Matrix2DFloat;
 import uk.ac.manchester.tornado.api.enums.DataTransferMode;
 import uk.ac.manchester.tornado.benchmarks.LinearAlgebraArrays;
+import uk.ac.manchester.tornado.matrix.blas.Blas;
+import uk.ac.manchester.tornado.matrix.blas.BlasProfile;
 
 /**
  * <p>
@@ -64,6 +67,7 @@ public class JMHSgemm {
         private float[] b;
         private float[] c;
         TornadoExecutionPlan executor;
+        TornadoExecutionPlan tiledExecutor;
 
         @Setup(Level.Trial)
         public void doSetup() {
@@ -91,6 +95,11 @@ public class JMHSgemm {
             executor = new TornadoExecutionPlan(immutableTaskGraph);
             executor.withWarmUp();
 
+            Matrix2DFloat matrixA = new Matrix2DFloat(m, n, a);
+            Matrix2DFloat matrixB = new Matrix2DFloat(n, m, b);
+            Matrix2DFloat matrixC = new Matrix2DFloat(m, m);
+            tiledExecutor = Blas.gemm(BlasProfile.GPU, false, false, 1.0f, matrixA, matrixB, 0.0f, matrixC).getExecutionPlan();
+            tiledExecutor.withWarmUp();
         }
     }
 
@@ -116,6 +125,18 @@ public class JMHSgemm {
         blackhole.consume(executor);
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void sgemmTiledTornado(BenchmarkSetup state, Blackhole blackhole) {
+        TornadoExecutionPlan executor = state.tiledExecutor;
+        executor.execute();
+        blackhole.consume(executor);
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder() //
                 .include(JMHSgemm.class.getName() + ".*") //
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.sgemvhalf;
+
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkRunner;
+
+/**
+ * SGEMV with the matrix and the input vector in half-precision (FP16)
+ * storage. Compared to the sgemv benchmark, the matrix moves half of the bytes
+ * between host and device.
+ */
+public class Benchmark extends BenchmarkRunner {
+
+    private int width;
+    private int height;
+
+    @Override
+    public void parseArgs(String[] args) {
+        if (args.length == 3) {
+            iterations = Integer.parseInt(args[0]);
+            width = Integer.parseInt(args[1]);
+            height = Integer.parseInt(args[2]);
+
+        } else {
+            iterations = 20;
+            width = 4096;
+            height = 4096;
+        }
+    }
+
+    @Override
+    protected String getName() {
+        return "sgemvhalf";
+    }
+
+    @Override
+    protected String getIdString() {
+        return String.format("%s-%d-%d-%d", getName(), iterations, width, height);
+    }
+
+    @Override
+    protected String getConfigString() {
+        return String.format("width=%d, height=%d", width, height);
+    }
+
+    @Override
+    protected BenchmarkDriver getJavaDriver() {
+        return new SgemvHalfJava(iterations, width, height);
+    }
+
+    @Override
+    protected BenchmarkDriver getTornadoDriver() {
+        return new SgemvHalfTornado(iterations, width, height);
+    }
+
+}
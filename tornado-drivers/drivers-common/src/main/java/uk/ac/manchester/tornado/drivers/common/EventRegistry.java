@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+
+/**
+ * Registry of the low-level events of a device, shared by the event pools of
+ * the backends.
+ *
+ * <p>
+ * Events are identified by a local integer id. Every slot has a reference
+ * count: a registered event starts unreferenced and consumers that need it to
+ * outlive the ring (e.g. the profiler, or a task graph that waits on it later)
+ * call {@link #retain(int)} and {@link #release(int)}. Registration takes the
+ * next unreferenced slot in ring order, releasing the native event it held. If
+ * every slot is referenced, the registry grows by one segment instead of
+ * failing. When circular reuse is disabled, the registry grows as soon as the
+ * ring is exhausted and events live until {@link #reset()}.
+ * </p>
+ *
+ * <p>
+ * Slots are claimed with a compare-and-set on their reference count and
+ * segments are appended without copying, so several threads can register,
+ * retain and resolve events concurrently without locking.
+ * </p>
+ *
+ * @param <E>
+ *            backend event type
+ */
+public class EventRegistry<E> {
+
+    private static final int MAX_SEGMENTS = 4096;
+    private static final int CLAIMED = -1;
+
+    private static final class Slot<E> {
+        private final AtomicInteger references = new AtomicInteger();
+        private volatile E event;
+    }
+
+    private final int segmentSize;
+    private final boolean circular;
+    private final BiConsumer<Integer, E> releaser;
+    private final AtomicReferenceArray<Slot<E>[]> segments;
+    private final AtomicInteger numSegments;
+    private final AtomicLong cursor;
+
+    /**
+     * @param segmentSize
+     *            Initial capacity, and the number of slots added each time the
+     *            registry grows.
+     * @param circular
+     *            Whether unreferenced slots are reused once the ring wraps
+     *            around.
+     * @param releaser
+     *            Frees the native resources of an event that is overwritten or
+     *            reset. It receives the local id and the event.
+     */
+    public EventRegistry(int segmentSize, boolean circular, BiConsumer<Integer, E> releaser) {
+        this.segmentSize = Math.max(1, segmentSize);
+        this.circular = circular;
+        this.releaser = releaser;
+        this.segments = new AtomicReferenceArray<>(MAX_SEGMENTS);
+        this.numSegments = new AtomicInteger(0);
+        this.cursor = new AtomicLong(0);
+        grow(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void grow(int expectedSegments) {
+        if (expectedSegments >= MAX_SEGMENTS) {
+            throw new TornadoBailoutRuntimeException(String.format("[ERROR] event registry is full: %d events are retained", capacity()));
+        }
+        Slot<E>[] segment = new Slot[segmentSize];
+        for (int i = 0; i < segmentSize; i++) {
+            segment[i] = new Slot<>();
+        }
+        // Only the thread that fills the next segment publishes it
+        if (segments.compareAndSet(expectedSegments, null, segment)) {
+            numSegments.compareAndSet(expectedSegments, expectedSegments + 1);
+        } else {
+            while (numSegments.get() == expectedSegments) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public int capacity() {
+        return numSegments.get() * segmentSize;
+    }
+
+    private Slot<E> slot(int localId) {
+        return segments.get(localId / segmentSize)[localId % segmentSize];
+    }
+
+    /**
+     * Stores {@code event} in the next unreferenced slot. The event can be
+     * overwritten once the ring wraps around, unless it is retained.
+     *
+     * @return the local id of the event.
+     */
+    public int register(E event) {
+        return register(event, false);
+    }
+
+    /**
+     * Stores {@code event} in the next unreferenced slot.
+     *
+     * @param retain
+     *            Registers the event with one reference already held, so no
+     *            other thread can overwrite it before the caller releases it.
+     * @return the local id of the event.
+     */
+    public int register(E event, boolean retain) {
+        while (true) {
+            final int currentSegments = numSegments.get();
+            final int currentCapacity = currentSegments * segmentSize;
+            for (int attempt = 0; attempt < currentCapacity; attempt++) {
+                final long ticket = circular ? cursor.getAndIncrement() : nextTicket(currentCapacity);
+                if (ticket < 0) {
+                    break;
+                }
+                final int localId = (int) (ticket % currentCapacity);
+                final Slot<E> slot = slot(localId);
+                if (slot.references.compareAndSet(0, CLAIMED)) {
+                    E previous = slot.event;
+                    if (previous != null) {
+                        releaser.accept(localId, previous);
+                    }
+                    slot.event = event;
+                    slot.references.set(retain ? 1 : 0);
+                    return localId;
+                }
+            }
+            grow(currentSegments);
+        }
+    }
+
+    /**
+     * Takes the next ticket without moving the cursor past {@code limit}, so
+     * that no slot is skipped when the registry grows.
+     *
+     * @return the ticket, or -1 if the ring is exhausted.
+     */
+    private long nextTicket(long limit) {
+        long ticket;
+        do {
+            ticket = cursor.get();
+            if (ticket >= limit) {
+                return -1;
+            }
+        } while (!cursor.compareAndSet(ticket, ticket + 1));
+        return ticket;
+    }
+
+    /**
+     * Prevents the event from being overwritten until a matching
+     * {@link #release(int)}.
+     */
+    public void retain(int localId) {
+        AtomicInteger references = slot(localId).references;
+        int current;
+        do {
+            current = references.get();
+            while (current == CLAIMED) {
+                Thread.onSpinWait();
+                current = references.get();
+            }
+        } while (!references.compareAndSet(current, current + 1));
+    }
+
+    /**
+     * Drops one reference to the event. Once every consumer has released it,
+     * its slot can be reused.
+     */
+    public void release(int localId) {
+        AtomicInteger references = slot(localId).references;
+        int current;
+        do {
+            current = references.get();
+            if (current <= 0) {
+                return;
+            }
+        } while (!references.compareAndSet(current, current - 1));
+    }
+
+    public boolean isRetained(int localId) {
+        return slot(localId).references.get() > 0;
+    }
+
+    public E get(int localId) {
+        return slot(localId).event;
+    }
+
+    public int getNumRetained() {
+        int count = 0;
+        for (int i = 0; i < capacity(); i++) {
+            if (isRetained(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the events currently held, in local id order.
+     */
+    public List<E> getEvents() {
+        List<E> result = new ArrayList<>();
+        for (int i = 0; i < capacity(); i++) {
+            E event = get(i);
+            if (event != null) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Releases every event and clears all references. It must not run
+     * concurrently with {@link #register(Object)}.
+     */
+    public void reset() {
+        for (int i = 0; i < capacity(); i++) {
+            Slot<E> slot = slot(i);
+            E event = slot.event;
+            if (event != null) {
+                releaser.accept(i, event);
+            }
+            slot.event = null;
+            slot.references.set(0);
+        }
+        cursor.set(0);
+    }
+}
@@ -23,6 +23,7 @@
 package uk.ac.manchester.tornado.drivers.common;
 
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.DEVICE_AVAILABLE_MEMORY;
+import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.DEVICE_MEMORY_EVICTION;
 
 import java.util.ArrayList;
 
@@ -30,6 +31,7 @@ import uk.ac.manchester.tornado.api.TornadoDeviceContext;
 import uk.ac.manchester.tornado.api.TornadoTargetDevice;
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoOutOfMemoryException;
+import uk.ac.manchester.tornado.runtime.common.DeviceMemoryManager;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 
 /**
@@ -71,17 +73,27 @@ public abstract class TornadoBufferProvider {
     protected final ArrayList<BufferInfo> freeBuffers;
     protected final ArrayList<BufferInfo> usedBuffers;
     protected long currentMemoryAvailable;
+    private boolean isMemoryBudgetCapped;
 
     protected TornadoBufferProvider(TornadoDeviceContext deviceContext) {
         this.deviceContext = deviceContext;
         this.usedBuffers = new ArrayList<>();
         this.freeBuffers = new ArrayList<>();
 
-        // There is no way of querying the available memory on the device.
-        // Instead, use a flag similar to -Xmx.
+        // The budget is set with a flag similar to -Xmx. It is capped by the
+        // global memory of the device on the first allocation, when the device
+        // has been fully initialised.
         currentMemoryAvailable = TornadoOptions.DEVICE_AVAILABLE_MEMORY;
     }
 
+    private void capMemoryBudget() {
+        isMemoryBudgetCapped = true;
+        long globalMemorySize = deviceContext.getDevice().getDeviceGlobalMemorySize();
+        if (globalMemorySize > 0 && globalMemorySize < DEVICE_AVAILABLE_MEMORY) {
+            currentMemoryAvailable -= (DEVICE_AVAILABLE_MEMORY - globalMemorySize);
+        }
+    }
+
     protected abstract long allocateBuffer(long size);
 
     protected abstract void releaseBuffer(long buffer);
@@ -145,6 +157,11 @@ public abstract class TornadoBufferProvider {
      */
     private long freeUnusedNativeBufferAndAssignRegion(long sizeInBytes) {
         freeBuffers(sizeInBytes);
+        if (sizeInBytes > currentMemoryAvailable && DEVICE_MEMORY_EVICTION) {
+            // Spill buffers of idle task graphs to the host and release them
+            DeviceMemoryManager.getInstance().evict(deviceContext, sizeInBytes - currentMemoryAvailable);
+            freeBuffers(sizeInBytes);
+        }
         if (sizeInBytes <= currentMemoryAvailable) {
             return allocate(sizeInBytes);
         } else {
@@ -165,6 +182,9 @@ public abstract class TornadoBufferProvider {
      *             TornadoOutOfMemoryException}
      */
     public long getBufferWithSize(long sizeInBytes) {
+        if (!isMemoryBudgetCapped) {
+            capMemoryBudget();
+        }
         TornadoTargetDevice targetDevice = deviceContext.getDevice();
         if (sizeInBytes <= currentMemoryAvailable && sizeInBytes < targetDevice.getDeviceMaxAllocationSize()) {
             // Allocate if there is enough device memory.
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.common.counters;
+
+import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.runtime.profiler.HardwareCounterSnapshot;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Source of hardware counters for a kernel execution. A backend implements
+ * this interface on top of the profiling API of the vendor, and
+ * {@link SimulatedCounterProvider} implements it in pure Java for machines
+ * without a GPU.
+ */
+public interface HardwareCounterProvider {
+
+    String getName();
+
+    /**
+     * Samples the counters of a kernel. It is called once the kernel event has
+     * completed.
+     *
+     * @param meta
+     *            meta-data of the task that launched the kernel.
+     * @param kernelEvent
+     *            completed event of the kernel, or {@code null} if the backend
+     *            does not expose the kernel as an event.
+     * @return the counters, each labelled with the source of its value, or
+     *         {@code null} if none could be sampled.
+     */
+    HardwareCounterSnapshot collect(TaskMetaData meta, Event kernelEvent);
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.common.counters;
+
+import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.profiler.HardwareCounterSnapshot;
+import uk.ac.manchester.tornado.runtime.profiler.TimeProfiler;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Entry point used by the backends to sample the hardware counters of a
+ * kernel. The provider is selected with {@code -Dtornado.counters}:
+ *
+ * <ul>
+ * <li>{@code native}: the provider of the backend, if it has one.</li>
+ * <li>{@code simulated}: the {@link SimulatedCounterProvider}, whose ratios are
+ * synthetic.</li>
+ * </ul>
+ *
+ * The snapshot is attached to the task in the {@link TimeProfiler}, and it is
+ * reported with the rest of the profiler output. No provider reads the
+ * performance counters of the device yet: the native PTX provider reports
+ * theoretical occupancy. The {@link HardwareCounterSnapshot.Source} of every
+ * counter is reported under {@code SOURCES} so that such values are not read
+ * as measurements.
+ */
+public final class HardwareCounters {
+
+    public static final String NATIVE = "native";
+    public static final String SIMULATED = "simulated";
+
+    private static final HardwareCounterProvider SIMULATED_PROVIDER = new SimulatedCounterProvider();
+
+    private HardwareCounters() {
+    }
+
+    public static boolean isEnabled() {
+        return TornadoOptions.isProfilerEnabled() && (isNative() || SIMULATED.equalsIgnoreCase(TornadoOptions.HARDWARE_COUNTERS));
+    }
+
+    public static boolean isNative() {
+        return NATIVE.equalsIgnoreCase(TornadoOptions.HARDWARE_COUNTERS);
+    }
+
+    /**
+     * Samples the counters of a completed kernel and attaches them to the task.
+     *
+     * @param profiler
+     *            profiler of the task graph.
+     * @param meta
+     *            meta-data of the task that launched the kernel.
+     * @param kernelEvent
+     *            completed event of the kernel.
+     * @param nativeProvider
+     *            provider of the backend, or {@code null} if the backend does not
+     *            expose hardware counters.
+     */
+    public static void sample(TornadoProfiler profiler, TaskMetaData meta, Event kernelEvent, HardwareCounterProvider nativeProvider) {
+        if (!isEnabled() || !(profiler instanceof TimeProfiler)) {
+            return;
+        }
+        HardwareCounterProvider provider = isNative() ? nativeProvider : SIMULATED_PROVIDER;
+        if (provider == null) {
+            return;
+        }
+        HardwareCounterSnapshot snapshot = provider.collect(meta, kernelEvent);
+        if (snapshot != null && !snapshot.isEmpty()) {
+            ((TimeProfiler) profiler).setTaskCounters(meta.getId(), snapshot);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.common.counters;
+
+import java.util.Random;
+
+import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.profiler.ProfilerType;
+import uk.ac.manchester.tornado.runtime.profiler.HardwareCounterSnapshot;
+import uk.ac.manchester.tornado.runtime.profiler.HardwareCounterSnapshot.Source;
+import uk.ac.manchester.tornado.runtime.profiler.KernelWorkEstimate;
+import uk.ac.manchester.tornado.runtime.profiler.RooflineReport;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Pure-Java counter provider. It lets the sampling pipeline and the report
+ * format run on machines without a GPU; it does not read any counter of the
+ * device. Each value is labelled with its {@link Source}:
+ *
+ * <ul>
+ * <li>The occupancy and the cache hit rates are {@link Source#SIMULATED}: they
+ * are drawn from a generator seeded with the task name, so the same task
+ * always reports the same values, but they say nothing about the kernel.</li>
+ * <li>The kernel time is {@link Source#MEASURED} from the kernel event.</li>
+ * <li>The DRAM throughput is {@link Source#THEORETICAL}: it divides the bytes
+ * of the {@link KernelWorkEstimate} produced by the compiler by the measured
+ * kernel time, and ignores caching.</li>
+ * </ul>
+ */
+public class SimulatedCounterProvider implements HardwareCounterProvider {
+
+    public static final String ACHIEVED_OCCUPANCY = "ACHIEVED_OCCUPANCY";
+    public static final String L1_HIT_RATE = "L1_HIT_RATE";
+    public static final String L2_HIT_RATE = "L2_HIT_RATE";
+    public static final String DRAM_READ_THROUGHPUT = "DRAM_READ_GBS";
+    public static final String DRAM_WRITE_THROUGHPUT = "DRAM_WRITE_GBS";
+    public static final String KERNEL_TIME = "KERNEL_TIME_NS";
+
+    @Override
+    public String getName() {
+        return "simulated";
+    }
+
+    @Override
+    public HardwareCounterSnapshot collect(TaskMetaData meta, Event kernelEvent) {
+        Random random = new Random(meta.getId().hashCode());
+        HardwareCounterSnapshot snapshot = new HardwareCounterSnapshot(getName());
+        snapshot.put(ACHIEVED_OCCUPANCY, uniform(random, 0.25, 1.0), Source.SIMULATED);
+        snapshot.put(L1_HIT_RATE, uniform(random, 0.10, 0.95), Source.SIMULATED);
+        snapshot.put(L2_HIT_RATE, uniform(random, 0.30, 0.99), Source.SIMULATED);
+
+        long kernelTime = kernelEvent != null ? kernelEvent.getElapsedTime() : meta.getProfiler().getTaskTimer(ProfilerType.TASK_KERNEL_TIME, meta.getId());
+        snapshot.put(KERNEL_TIME, kernelTime, Source.MEASURED);
+        KernelWorkEstimate estimate = meta.getWorkEstimate();
+        if (estimate != null && kernelTime > 0) {
+            long threads = RooflineReport.getNumThreads(meta);
+            // bytes per nanosecond = GB/s
+            snapshot.put(DRAM_READ_THROUGHPUT, (double) estimate.getBytesLoadedPerThread() * threads / kernelTime, Source.THEORETICAL);
+            snapshot.put(DRAM_WRITE_THROUGHPUT, (double) estimate.getBytesStoredPerThread() * threads / kernelTime, Source.THEORETICAL);
+        }
+        return snapshot;
+    }
+
+    private static double uniform(Random random, double min, double max) {
+        return min + (max - min) * random.nextDouble();
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.common.mm;
+
+import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shouldNotReachHere;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jdk.vm.ci.meta.ResolvedJavaField;
+
+/**
+ * Copies the primitive fields of an object to and from the {@link ByteBuffer}
+ * that mirrors the object on the device. One serialiser is built per class,
+ * the first time an object of that class is wrapped, and shared by the
+ * object wrappers of all backends.
+ *
+ * <p>
+ * Each field is accessed through a direct getter/setter {@link MethodHandle}
+ * adapted to its exact primitive type, and written at its absolute offset in
+ * the buffer. Transfers therefore neither box the values nor look up fields
+ * reflectively. Setters are used instead of {@code VarHandle}s because kernels
+ * may update final fields of the objects they receive.
+ * </p>
+ */
+public final class ObjectSerialiser {
+
+    private static final ConcurrentHashMap<Class<?>, ObjectSerialiser> SERIALISERS = new ConcurrentHashMap<>();
+
+    private final Class<?> type;
+    private final FieldAccessor[] accessors;
+
+    private ObjectSerialiser(Class<?> type, ResolvedJavaField[] fields) {
+        this.type = type;
+        List<FieldAccessor> primitiveFields = new ArrayList<>();
+        for (ResolvedJavaField field : fields) {
+            if (field.getJavaKind().isPrimitive()) {
+                primitiveFields.add(createAccessor(findField(type, field.getName()), field.getOffset()));
+            }
+        }
+        this.accessors = primitiveFields.toArray(new FieldAccessor[0]);
+    }
+
+    /**
+     * Returns the serialiser of {@code type}, building it on first use.
+     *
+     * @param fields
+     *            Instance fields of {@code type}, as resolved by JVMCI.
+     */
+    public static ObjectSerialiser forClass(Class<?> type, ResolvedJavaField[] fields) {
+        return SERIALISERS.computeIfAbsent(type, key -> new ObjectSerialiser(key, fields));
+    }
+
+    public static void sortFieldsByOffset(ResolvedJavaField[] fields) {
+        Arrays.sort(fields, Comparator.comparingInt(ResolvedJavaField::getOffset));
+    }
+
+    /**
+     * Looks up a field declared by {@code type} or by any of its super-classes
+     * and makes it accessible.
+     */
+    public static Field findField(Class<?> type, String name) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                Field field = current.getDeclaredField(name);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException | SecurityException e) {
+                // keep looking in the super-class
+            }
+        }
+        throw shouldNotReachHere("unable to get field: class=%s, field=%s", type.getName(), name);
+    }
+
+    private static FieldAccessor createAccessor(Field field, int offset) {
+        MethodHandle getter;
+        MethodHandle setter;
+        Class<?> fieldType = field.getType();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            getter = lookup.unreflectGetter(field).asType(MethodType.methodType(fieldType, Object.class));
+            setter = lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, fieldType));
+        } catch (IllegalAccessException e) {
+            throw shouldNotReachHere("unable to access field %s: %s", field.getName(), e.getMessage());
+        }
+        if (fieldType == int.class) {
+            return new IntAccessor(offset, getter, setter);
+        } else if (fieldType == long.class) {
+            return new LongAccessor(offset, getter, setter);
+        } else if (fieldType == float.class) {
+            return new FloatAccessor(offset, getter, setter);
+        } else if (fieldType == double.class) {
+            return new DoubleAccessor(offset, getter, setter);
+        } else if (fieldType == short.class) {
+            return new ShortAccessor(offset, getter, setter);
+        } else if (fieldType == char.class) {
+            return new CharAccessor(offset, getter, setter);
+        } else if (fieldType == byte.class) {
+            return new ByteAccessor(offset, getter, setter);
+        } else {
+            return new BooleanAccessor(offset, getter, setter);
+        }
+    }
+
+    /**
+     * Writes the primitive fields of {@code object} at their offsets in
+     * {@code buffer}. The position of the buffer is not modified.
+     */
+    public void serialise(ByteBuffer buffer, Object object) {
+        try {
+            for (FieldAccessor accessor : accessors) {
+                accessor.write(buffer, object);
+            }
+        } catch (Throwable e) {
+            throw shouldNotReachHere("unable to serialise object of class %s: %s", type.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Updates the primitive fields of {@code object} from their offsets in
+     * {@code buffer}. The position of the buffer is not modified.
+     */
+    public void deserialise(ByteBuffer buffer, Object object) {
+        try {
+            for (FieldAccessor accessor : accessors) {
+                accessor.read(buffer, object);
+            }
+        } catch (Throwable e) {
+            throw shouldNotReachHere("unable to deserialise object of class %s: %s", type.getName(), e.getMessage());
+        }
+    }
+
+    private abstract static class FieldAccessor {
+
+        final int offset;
+        final MethodHandle getter;
+        final MethodHandle setter;
+
+        FieldAccessor(int offset, MethodHandle getter, MethodHandle setter) {
+            this.offset = offset;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        abstract void write(ByteBuffer buffer, Object object) throws Throwable;
+
+        abstract void read(ByteBuffer buffer, Object object) throws Throwable;
+    }
+
+    private static final class IntAccessor extends FieldAccessor {
+
+        IntAccessor(int offset, MethodHandle getter, MethodHandle setter) {
+            super(offset, getter, setter);
+        }
+
+        @Override
+        void write(ByteBuffer buffer, Object object) throws Throwable {
+            buffer.putInt(offset, (int) getter.invokeExact(object));
+        }
+
+        @Override
+        void read(ByteBuffer buffer, Object object) throws Throwable {
+            setter.invokeExact(object, buffer.getInt(offset));
+        }
+    }
+
+    private static final class LongAccessor extends FieldAccessor {
+
+        LongAccessor(int offset, MethodHandle getter, MethodHandle setter) {
+            super(offset, getter, setter);
+        }
+
+        @Override
+        void write(ByteBuffer buffer, Object object) throws Throwable {
+            buffer.putLong(offset, (long) getter.invokeExact(object));
+        }
+
+        @Override
+        void read(ByteBuffer buffer, Object object) throws Throwable {
+            setter.invokeExact(object, buffer.getLong(offset));
+        }
+    }
+
+    private static final class FloatAccessor extends FieldAccessor {
+
+        FloatAccessor(int offset, MethodHandle getter, MethodHandle setter) {
+            super(offset, getter, setter);
+        }
+
+        @Override
+        void write(ByteBuffer buffer, Object object) throws Throwable {
+            buffer.putFloat(offset, (float) getter.invokeExact(object));
+        }
+
+        @Override
+        void read(ByteBuffer buffer, Object object) throws Throwable {
+            setter.invokeExact(object, buffer.getFloat(offset));
+        }
+    }
+
+    private static final class DoubleAccessor extends FieldAccessor {
+
+        DoubleAccessor(int offset, MethodHandle getter, MethodHandle setter) {
+            super(offset, getter, setter);
+        }
+
+        @Override
+        void write(ByteBuffer buffer, Object object) throws Throwable {
+            buffer.putDouble(offset, (double) getter.invokeExact(object));
+        }
+
+        @Override
+        void read(ByteBuffer buffer, Object object) throws Throwable {
+            setter.invokeExact(object, buffer.getDouble(offset));
+        }
+    }
+
+    private static final class ShortAccessor extends FieldAccessor {
+
+        ShortAccessor(int offset, MethodHandle getter, MethodHandle setter) {
+            super(offset, getter, setter);
+        }
+
+        @Override
+        void write(ByteBuffer buffer, Object object) throws Throwable {
+            buffer.putShort(offset, (short) getter.invokeExact(object));
+        }
+
+        @Override
+        void read(ByteBuffer buffer, Object object) throws Throwable {
+            setter.invokeExact(object, buffer.getShort(offset));
+        }
+    }
+
+    private static final class CharAccessor extends FieldAccessor {
+
+        CharAccessor(int offset, MethodHandle getter, MethodHandle setter) {
+            super(offset, getter, setter);
+        }
+
+        @Override
+        void write(ByteBuffer buffer, Object object) throws Throwable {
+            buffer.putChar(offset, (char) getter.invokeExact(object));
+        }
+
+        @Override
+        void read(ByteBuffer buffer, Object object) throws Throwable {
+            setter.invokeExact(object, buffer.getChar(offset));
+        }
+    }
+
+    private static final class ByteAccessor extends FieldAccessor {
+
+        ByteAccessor(int offset, MethodHandle getter, MethodHandle setter) {
+            super(offset, getter, setter);
+        }
+
+        @Override
+        void write(ByteBuffer buffer, Object object) throws Throwable {
+            buffer.put(offset, (byte) getter.invokeExact(object));
+        }
+
+        @Override
+        void read(ByteBuffer buffer, Object object) throws Throwable {
+            setter.invokeExact(object, buffer.get(offset));
+        }
+    }
+
+    private static final class BooleanAccessor extends FieldAccessor {
+
+        BooleanAccessor(int offset, MethodHandle getter, MethodHandle setter) {
+            super(offset, getter, setter);
+        }
+
+        @Override
+        void write(ByteBuffer buffer, Object object) throws Throwable {
+            buffer.put(offset, (boolean) getter.invokeExact(object) ? (byte) 1 : (byte) 0);
+        }
+
+        @Override
+        void read(ByteBuffer buffer, Object object) throws Throwable {
+            setter.invokeExact(object, buffer.get(offset) != 0);
+        }
+    }
+}
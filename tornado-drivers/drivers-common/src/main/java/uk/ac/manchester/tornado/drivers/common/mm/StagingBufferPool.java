@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.common.mm;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Pool of page-locked host buffers used to stage transfers of on-heap arrays.
+ *
+ * <p>
+ * Copying a Java array to the device through JNI either pins the Java heap
+ * for the duration of the copy or lets the driver stage the data through its
+ * own pinned memory, and forces the copy to be synchronous. Instead, arrays
+ * are copied in bulk into a pinned staging buffer and the device reads from
+ * it with an asynchronous DMA transfer.
+ * </p>
+ *
+ * <p>
+ * Buffers are grouped in power-of-two size classes and reused. A buffer
+ * handed out by {@link #acquire(long)} must be given back with
+ * {@link #retire(StagingBuffer, int)} together with the event of the transfer
+ * that reads from it; it becomes available again once that event completes.
+ * </p>
+ */
+public class StagingBufferPool {
+
+    /**
+     * Allocates pinned host memory and tracks transfer events of a backend.
+     */
+    public interface PinnedMemoryProvider {
+
+        /**
+         * @return a pinned buffer of {@code bytes} bytes, or null if the
+         *         allocation failed.
+         */
+        StagingBuffer allocate(long bytes);
+
+        void free(StagingBuffer buffer);
+
+        /**
+         * Keeps the event alive until {@link #releaseEvent(int)} is called.
+         */
+        void retainEvent(int event);
+
+        void releaseEvent(int event);
+
+        boolean isEventComplete(int event);
+    }
+
+    public static final class StagingBuffer {
+
+        private final long handle;
+        private final long address;
+        private final long capacity;
+        private final ByteBuffer buffer;
+
+        /**
+         * @param handle
+         *            backend handle of the allocation (e.g. the OpenCL buffer).
+         * @param address
+         *            host address of the pinned memory.
+         * @param buffer
+         *            direct view of the pinned memory.
+         */
+        public StagingBuffer(long handle, long address, ByteBuffer buffer) {
+            this.handle = handle;
+            this.address = address;
+            this.capacity = buffer.capacity();
+            // Device buffers store arrays in the layout of the host
+            this.buffer = buffer.order(ByteOrder.nativeOrder());
+        }
+
+        public long getHandle() {
+            return handle;
+        }
+
+        public long getAddress() {
+            return address;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        /*
+         * The host offsets are expressed in bytes, as in the JNI transfer
+         * functions.
+         */
+
+        public void put(byte[] array, long hostOffset, long bytes) {
+            buffer.clear();
+            buffer.put(array, (int) hostOffset, (int) bytes);
+        }
+
+        public void put(char[] array, long hostOffset, long bytes) {
+            buffer.clear();
+            buffer.asCharBuffer().put(array, (int) (hostOffset / Character.BYTES), (int) (bytes / Character.BYTES));
+        }
+
+        public void put(short[] array, long hostOffset, long bytes) {
+            buffer.clear();
+            buffer.asShortBuffer().put(array, (int) (hostOffset / Short.BYTES), (int) (bytes / Short.BYTES));
+        }
+
+        public void put(int[] array, long hostOffset, long bytes) {
+            buffer.clear();
+            buffer.asIntBuffer().put(array, (int) (hostOffset / Integer.BYTES), (int) (bytes / Integer.BYTES));
+        }
+
+        public void put(long[] array, long hostOffset, long bytes) {
+            buffer.clear();
+            buffer.asLongBuffer().put(array, (int) (hostOffset / Long.BYTES), (int) (bytes / Long.BYTES));
+        }
+
+        public void put(float[] array, long hostOffset, long bytes) {
+            buffer.clear();
+            buffer.asFloatBuffer().put(array, (int) (hostOffset / Float.BYTES), (int) (bytes / Float.BYTES));
+        }
+
+        public void put(double[] array, long hostOffset, long bytes) {
+            buffer.clear();
+            buffer.asDoubleBuffer().put(array, (int) (hostOffset / Double.BYTES), (int) (bytes / Double.BYTES));
+        }
+    }
+
+    private static final class PendingTransfer {
+        private final StagingBuffer buffer;
+        private final int event;
+
+        private PendingTransfer(StagingBuffer buffer, int event) {
+            this.buffer = buffer;
+            this.event = event;
+        }
+    }
+
+    private final PinnedMemoryProvider provider;
+    private final long minTransferSize;
+    private final long maxPooledBytes;
+    private final TreeMap<Long, ArrayDeque<StagingBuffer>> freeBuffers;
+    private final List<PendingTransfer> pendingTransfers;
+    private long pooledBytes;
+
+    /**
+     * @param provider
+     *            backend that allocates the pinned memory.
+     * @param minTransferSize
+     *            transfers smaller than this are not staged.
+     * @param maxPooledBytes
+     *            upper bound of pinned memory held by the pool.
+     */
+    public StagingBufferPool(PinnedMemoryProvider provider, long minTransferSize, long maxPooledBytes) {
+        this.provider = provider;
+        this.minTransferSize = minTransferSize;
+        this.maxPooledBytes = maxPooledBytes;
+        this.freeBuffers = new TreeMap<>();
+        this.pendingTransfers = new ArrayList<>();
+    }
+
+    /**
+     * @return the smallest power of two that holds {@code bytes} bytes.
+     */
+    public static long sizeClassOf(long bytes) {
+        long sizeClass = Long.highestOneBit(bytes);
+        return (sizeClass == bytes) ? sizeClass : sizeClass << 1;
+    }
+
+    /**
+     * @return a staging buffer of at least {@code bytes} bytes, or null if the
+     *         transfer should not be staged or the pool is exhausted.
+     */
+    public synchronized StagingBuffer acquire(long bytes) {
+        if (bytes < minTransferSize || bytes > maxPooledBytes) {
+            return null;
+        }
+        reclaimCompletedTransfers();
+        final long sizeClass = sizeClassOf(bytes);
+        ArrayDeque<StagingBuffer> candidates = freeBuffers.get(sizeClass);
+        if (candidates != null && !candidates.isEmpty()) {
+            return candidates.pop();
+        }
+        if (pooledBytes + sizeClass > maxPooledBytes && !shrink(pooledBytes + sizeClass - maxPooledBytes)) {
+            return null;
+        }
+        StagingBuffer buffer = provider.allocate(sizeClass);
+        if (buffer != null) {
+            pooledBytes += buffer.getCapacity();
+        }
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool once the transfer identified by
+     * {@code event} has completed.
+     */
+    public synchronized void retire(StagingBuffer buffer, int event) {
+        if (event == -1) {
+            release(buffer);
+            return;
+        }
+        provider.retainEvent(event);
+        pendingTransfers.add(new PendingTransfer(buffer, event));
+    }
+
+    private void release(StagingBuffer buffer) {
+        freeBuffers.computeIfAbsent(buffer.getCapacity(), size -> new ArrayDeque<>()).push(buffer);
+    }
+
+    private void reclaimCompletedTransfers() {
+        Iterator<PendingTransfer> iterator = pendingTransfers.iterator();
+        while (iterator.hasNext()) {
+            PendingTransfer transfer = iterator.next();
+            if (provider.isEventComplete(transfer.event)) {
+                provider.releaseEvent(transfer.event);
+                release(transfer.buffer);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Frees idle buffers, largest first, until {@code bytes} have been
+     * released.
+     */
+    private boolean shrink(long bytes) {
+        long released = 0;
+        for (Map.Entry<Long, ArrayDeque<StagingBuffer>> entry : freeBuffers.descendingMap().entrySet()) {
+            ArrayDeque<StagingBuffer> buffers = entry.getValue();
+            while (released < bytes && !buffers.isEmpty()) {
+                StagingBuffer buffer = buffers.pop();
+                provider.free(buffer);
+                pooledBytes -= buffer.getCapacity();
+                released += buffer.getCapacity();
+            }
+        }
+        return released >= bytes;
+    }
+
+    /**
+     * Makes all buffers available again. Only call it when every transfer
+     * submitted to the device has completed.
+     */
+    public synchronized void recycle() {
+        for (PendingTransfer transfer : pendingTransfers) {
+            provider.releaseEvent(transfer.event);
+            release(transfer.buffer);
+        }
+        pendingTransfers.clear();
+    }
+
+    /**
+     * Frees the pinned memory of the pool. Pending transfers must have
+     * completed.
+     */
+    public synchronized void reset() {
+        recycle();
+        for (ArrayDeque<StagingBuffer> buffers : freeBuffers.values()) {
+            for (StagingBuffer buffer : buffers) {
+                provider.free(buffer);
+            }
+        }
+        freeBuffers.clear();
+        pooledBytes = 0;
+    }
+
+    public synchronized long getPooledBytes() {
+        return pooledBytes;
+    }
+}
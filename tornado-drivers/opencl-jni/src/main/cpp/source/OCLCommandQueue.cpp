@@ -193,6 +193,54 @@ JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQ
     return (jlong) event;
 }
 
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
+ * Method:    clEnqueueMapBuffer
+ * Signature: (JJZJJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue_clEnqueueMapBuffer
+(JNIEnv *env, jclass clazz, jlong commandQueue, jlong devicePtr, jboolean blocking, jlong flags, jlong offset, jlong numBytes) {
+    cl_int status;
+    void *hostPointer = clEnqueueMapBuffer((cl_command_queue) commandQueue, (cl_mem) devicePtr, blocking ? CL_TRUE : CL_FALSE, (cl_map_flags) flags,
+                                           (size_t) offset, (size_t) numBytes, 0, NULL, NULL, &status);
+    LOG_OCL_AND_VALIDATE("clEnqueueMapBuffer", status);
+    return (status == CL_SUCCESS) ? (jlong) hostPointer : 0;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
+ * Method:    clEnqueueUnmapMemObject
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue_clEnqueueUnmapMemObject
+(JNIEnv *env, jclass clazz, jlong commandQueue, jlong devicePtr, jlong hostPointer) {
+    cl_int status = clEnqueueUnmapMemObject((cl_command_queue) commandQueue, (cl_mem) devicePtr, (void *) hostPointer, 0, NULL, NULL);
+    LOG_OCL_AND_VALIDATE("clEnqueueUnmapMemObject", status);
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
+ * Method:    clEnqueueWriteBuffer
+ * Signature: (JJZJJJ[J)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue_clEnqueueWriteBuffer
+(JNIEnv *env, jclass clazz, jlong commandQueue, jlong devicePtr, jboolean blocking, jlong deviceOffset, jlong numBytes, jlong hostPointer, jlongArray javaArrayEvents) {
+    jlong *arrayEvents = static_cast<jlong *>((javaArrayEvents != NULL) ? env->GetPrimitiveArrayCritical(javaArrayEvents, NULL) : NULL);
+    jlong *events = (javaArrayEvents != NULL) ? &arrayEvents[1] : NULL;
+    jsize numberOfEvents = (javaArrayEvents != NULL) ? arrayEvents[0] : 0;
+
+    cl_event event;
+    /* the host pointer is pinned memory outside of the Java heap, so the write can be asynchronous */
+    cl_int status = clEnqueueWriteBuffer((cl_command_queue) commandQueue, (cl_mem) devicePtr, blocking ? CL_TRUE : CL_FALSE,
+                                         (size_t) deviceOffset, (size_t) numBytes, (void *) hostPointer, (cl_uint) numberOfEvents,
+                                         (cl_event *) events, &event);
+    LOG_OCL_AND_VALIDATE("clEnqueueWriteBuffer", status);
+    if (javaArrayEvents != NULL) {
+        env->ReleasePrimitiveArrayCritical(javaArrayEvents, arrayEvents, JNI_ABORT);
+    }
+    return (jlong) event;
+}
+
 jlong transferFromHostToDevice(JNIEnv * env, jclass javaClass,
                                jlong commandQueue,          // Pointer to the OpenCL Command Queue
                                jbyteArray hostArray,        // Host Array
@@ -75,10 +75,10 @@ JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQ
 /*
  * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
  * Method:    clEnqueueMapBuffer
- * Signature: (JJJZIJJ[J)J
+ * Signature: (JJZJJJ)J
  */
 JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue_clEnqueueMapBuffer
-        (JNIEnv *, jclass, jlong, jlong, jlong, jboolean, jint, jlong, jlong, jlongArray);
+        (JNIEnv *, jclass, jlong, jlong, jboolean, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
@@ -91,10 +91,10 @@ JNIEXPORT jobject JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLComman
 /*
  * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
  * Method:    clEnqueueUnmapMemObject
- * Signature: (JJLjava/nio/ByteBuffer;[J)J
+ * Signature: (JJJ)V
  */
-JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue_clEnqueueUnmapMemObject
-        (JNIEnv *, jclass, jlong, jlong, jobject, jlongArray);
+JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue_clEnqueueUnmapMemObject
+        (JNIEnv *, jclass, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
@@ -110,6 +110,12 @@ public class OCLCommandQueue extends TornadoLogger {
 
     static native long readArrayFromDevice(long queueId, double[] buffer, long hostOffset, boolean blocking, long offset, long bytes, long ptr, long[] events) throws OCLException;
 
+    static native long clEnqueueWriteBuffer(long queueId, long buffer, boolean blocking, long offset, long bytes, long hostPointer, long[] events) throws OCLException;
+
+    static native long clEnqueueMapBuffer(long queueId, long buffer, boolean blocking, long flags, long offset, long bytes) throws OCLException;
+
+    static native void clEnqueueUnmapMemObject(long queueId, long buffer, long hostPointer) throws OCLException;
+
     static native void clEnqueueWaitForEvents(long queueId, long[] events) throws OCLException;
 
     /*
@@ -269,6 +275,44 @@ public class OCLCommandQueue extends TornadoLogger {
         return -1;
     }
 
+    /**
+     * Writes from host memory outside the Java heap, e.g. a pinned staging
+     * buffer. The caller must keep {@code hostPointer} alive until the returned
+     * event completes.
+     */
+    public long enqueueWrite(long devicePtr, boolean blocking, long offset, long bytes, long hostPointer, long[] waitEvents) {
+        guarantee(hostPointer != 0, "null host pointer");
+        try {
+            return clEnqueueWriteBuffer(commandQueue, devicePtr, blocking, offset, bytes, hostPointer, waitEvents);
+        } catch (OCLException e) {
+            error(e.getMessage());
+        }
+        return -1;
+    }
+
+    /**
+     * Maps {@code bytes} of a buffer into the host address space and waits
+     * until the mapping is available.
+     *
+     * @return the host address of the mapping, or 0 if it failed.
+     */
+    public long mapBuffer(long devicePtr, long flags, long offset, long bytes) {
+        try {
+            return clEnqueueMapBuffer(commandQueue, devicePtr, OpenCLBlocking.TRUE, flags, offset, bytes);
+        } catch (OCLException e) {
+            error(e.getMessage());
+        }
+        return 0;
+    }
+
+    public void unmapBuffer(long devicePtr, long hostPointer) {
+        try {
+            clEnqueueUnmapMemObject(commandQueue, devicePtr, hostPointer);
+        } catch (OCLException e) {
+            error(e.getMessage());
+        }
+    }
+
     public long enqueueRead(long devicePtr, boolean blocking, long offset, long bytes, byte[] array, long hostOffset, long[] waitEvents) {
         guarantee(array != null, "null array");
         try {
@@ -397,6 +397,7 @@ public class OCLDevice implements OCLTargetDevice {
         return deviceAddressBits;
     }
 
+    @Override
     public boolean hasDeviceUnifiedMemory() {
         queryOpenCLAPI(OCLDeviceInfo.CL_DEVICE_HOST_UNIFIED_MEMORY.getValue());
         return buffer.getInt() == OpenCL.CL_TRUE;
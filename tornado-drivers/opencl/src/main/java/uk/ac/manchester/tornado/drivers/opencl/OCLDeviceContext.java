@@ -29,6 +29,9 @@ import static uk.ac.manchester.tornado.drivers.opencl.OCLCommandQueue.EMPTY_EVEN
 import static uk.ac.manchester.tornado.runtime.common.Tornado.EVENT_WINDOW;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.USE_SYNC_FLUSH;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.getProperty;
+import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.PINNED_STAGING_BUFFERS;
+import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.PINNED_STAGING_POOL_SIZE;
+import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.PINNED_STAGING_THRESHOLD;
 
 import java.nio.ByteOrder;
 import java.util.Comparator;
@@ -39,6 +42,8 @@ import uk.ac.manchester.tornado.api.common.SchedulableTask;
 import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
 import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
 import uk.ac.manchester.tornado.drivers.common.EventDescriptor;
+import uk.ac.manchester.tornado.drivers.common.mm.StagingBufferPool;
+import uk.ac.manchester.tornado.drivers.common.mm.StagingBufferPool.StagingBuffer;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLDeviceType;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLMemFlags;
 import uk.ac.manchester.tornado.drivers.opencl.graal.OCLInstalledCode;
@@ -62,6 +67,7 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
     private final long bumpBuffer;
     private final OCLCodeCache codeCache;
     private final OCLEventPool oclEventPool;
+    private final StagingBufferPool stagingBuffers;
     private boolean needsBump;
     private boolean wasReset;
     private boolean printOnce = true;
@@ -76,6 +82,8 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
         this.codeCache = new OCLCodeCache(this);
 
         this.oclEventPool = new OCLEventPool(EVENT_WINDOW);
+        // Shared buffers are already in host memory: no staging is needed
+        this.stagingBuffers = (PINNED_STAGING_BUFFERS && !memoryManager.isSharedMemory()) ? new StagingBufferPool(new OCLPinnedMemoryProvider(this, context, queue), PINNED_STAGING_THRESHOLD, PINNED_STAGING_POOL_SIZE) : null;
 
         needsBump = false;
         for (String bumpDevice : BUMP_DEVICES) {
@@ -148,6 +156,9 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
             queue.flush();
         }
         queue.finish();
+        if (stagingBuffers != null) {
+            stagingBuffers.recycle();
+        }
     }
 
     @Override
@@ -184,7 +195,7 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
 
     public int enqueueNDRangeKernel(OCLKernel kernel, int dim, long[] globalWorkOffset, long[] globalWorkSize, long[] localWorkSize, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueNDRangeKernel(kernel, dim, globalWorkOffset, globalWorkSize, localWorkSize, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueNDRangeKernel(kernel, dim, globalWorkOffset, globalWorkSize, localWorkSize, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_PARALLEL_KERNEL, queue);
     }
 
@@ -195,45 +206,92 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
     /*
      * Asynchronous writes to device
      */
+    private StagingBuffer acquireStagingBuffer(long bytes) {
+        return (stagingBuffers != null) ? stagingBuffers.acquire(bytes) : null;
+    }
+
+    private int enqueueStagedWrite(long bufferId, long offset, long bytes, StagingBuffer stagingBuffer, int[] waitEvents, EventDescriptor descriptor) {
+        final int event = oclEventPool.registerEvent(
+                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, stagingBuffer.getAddress(), oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
+                descriptor, queue);
+        stagingBuffers.retire(stagingBuffer, event);
+        return event;
+    }
+
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, byte[] array, long hostOffset, int[] waitEvents) {
+        StagingBuffer stagingBuffer = acquireStagingBuffer(bytes);
+        if (stagingBuffer != null) {
+            stagingBuffer.put(array, hostOffset, bytes);
+            return enqueueStagedWrite(bufferId, offset, bytes, stagingBuffer, waitEvents, EventDescriptor.DESC_WRITE_BYTE);
+        }
         return oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_WRITE_BYTE, queue);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, char[] array, long hostOffset, int[] waitEvents) {
+        StagingBuffer stagingBuffer = acquireStagingBuffer(bytes);
+        if (stagingBuffer != null) {
+            stagingBuffer.put(array, hostOffset, bytes);
+            return enqueueStagedWrite(bufferId, offset, bytes, stagingBuffer, waitEvents, EventDescriptor.DESC_WRITE_BYTE);
+        }
         return oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_WRITE_BYTE, queue);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, int[] array, long hostOffset, int[] waitEvents) {
+        StagingBuffer stagingBuffer = acquireStagingBuffer(bytes);
+        if (stagingBuffer != null) {
+            stagingBuffer.put(array, hostOffset, bytes);
+            return enqueueStagedWrite(bufferId, offset, bytes, stagingBuffer, waitEvents, EventDescriptor.DESC_WRITE_INT);
+        }
         return oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_WRITE_INT, queue);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, long[] array, long hostOffset, int[] waitEvents) {
+        StagingBuffer stagingBuffer = acquireStagingBuffer(bytes);
+        if (stagingBuffer != null) {
+            stagingBuffer.put(array, hostOffset, bytes);
+            return enqueueStagedWrite(bufferId, offset, bytes, stagingBuffer, waitEvents, EventDescriptor.DESC_WRITE_LONG);
+        }
         return oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_WRITE_LONG, queue);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, short[] array, long hostOffset, int[] waitEvents) {
+        StagingBuffer stagingBuffer = acquireStagingBuffer(bytes);
+        if (stagingBuffer != null) {
+            stagingBuffer.put(array, hostOffset, bytes);
+            return enqueueStagedWrite(bufferId, offset, bytes, stagingBuffer, waitEvents, EventDescriptor.DESC_WRITE_SHORT);
+        }
         return oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_WRITE_SHORT, queue);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, float[] array, long hostOffset, int[] waitEvents) {
+        StagingBuffer stagingBuffer = acquireStagingBuffer(bytes);
+        if (stagingBuffer != null) {
+            stagingBuffer.put(array, hostOffset, bytes);
+            return enqueueStagedWrite(bufferId, offset, bytes, stagingBuffer, waitEvents, EventDescriptor.DESC_WRITE_FLOAT);
+        }
         return oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_WRITE_FLOAT, queue);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, double[] array, long hostOffset, int[] waitEvents) {
+        StagingBuffer stagingBuffer = acquireStagingBuffer(bytes);
+        if (stagingBuffer != null) {
+            stagingBuffer.put(array, hostOffset, bytes);
+            return enqueueStagedWrite(bufferId, offset, bytes, stagingBuffer, waitEvents, EventDescriptor.DESC_WRITE_DOUBLE);
+        }
         return oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_WRITE_DOUBLE, queue);
     }
 
@@ -243,43 +301,43 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
      */
     public int enqueueReadBuffer(long bufferId, long offset, long bytes, byte[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_READ_BYTE, queue);
     }
 
     public int enqueueReadBuffer(long bufferId, long offset, long bytes, char[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_READ_BYTE, queue);
     }
 
     public int enqueueReadBuffer(long bufferId, long offset, long bytes, int[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_READ_INT, queue);
     }
 
     public int enqueueReadBuffer(long bufferId, long offset, long bytes, long[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_READ_LONG, queue);
     }
 
     public int enqueueReadBuffer(long bufferId, long offset, long bytes, float[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_READ_FLOAT, queue);
     }
 
     public int enqueueReadBuffer(long bufferId, long offset, long bytes, double[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_READ_DOUBLE, queue);
     }
 
     public int enqueueReadBuffer(long bufferId, long offset, long bytes, short[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_READ_SHORT, queue);
     }
 
@@ -288,43 +346,43 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
      */
     public void writeBuffer(long bufferId, long offset, long bytes, byte[] array, long hostOffset, int[] waitEvents) {
         oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_WRITE_BYTE, queue);
     }
 
     public void writeBuffer(long bufferId, long offset, long bytes, char[] array, long hostOffset, int[] waitEvents) {
         oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_WRITE_BYTE, queue);
     }
 
     public void writeBuffer(long bufferId, long offset, long bytes, int[] array, long hostOffset, int[] waitEvents) {
         oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_WRITE_INT, queue);
     }
 
     public void writeBuffer(long bufferId, long offset, long bytes, long[] array, long hostOffset, int[] waitEvents) {
         oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_WRITE_LONG, queue);
     }
 
     public void writeBuffer(long bufferId, long offset, long bytes, short[] array, long hostOffset, int[] waitEvents) {
         oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_WRITE_SHORT, queue);
     }
 
     public void writeBuffer(long bufferId, long offset, long bytes, float[] array, long hostOffset, int[] waitEvents) {
         oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_WRITE_FLOAT, queue);
     }
 
     public void writeBuffer(long bufferId, long offset, long bytes, double[] array, long hostOffset, int[] waitEvents) {
         oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_WRITE_DOUBLE, queue);
     }
 
@@ -333,58 +391,62 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
      */
     public int readBuffer(long bufferId, long offset, long bytes, byte[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_READ_BYTE, queue);
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, char[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_READ_BYTE, queue);
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, int[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_READ_INT, queue);
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, long[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_READ_LONG, queue);
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, float[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_READ_FLOAT, queue);
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, double[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_READ_DOUBLE, queue);
 
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, short[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.getWaitEventsBuffer() : null),
                 EventDescriptor.DESC_READ_SHORT, queue);
     }
 
     public int enqueueBarrier(int[] events) {
-        long oclEvent = queue.enqueueBarrier(oclEventPool.serialiseEvents(events, queue) ? oclEventPool.waitEventsBuffer : null);
+        long oclEvent = queue.enqueueBarrier(oclEventPool.serialiseEvents(events, queue) ? oclEventPool.getWaitEventsBuffer() : null);
         return queue.getOpenclVersion() < 120 ? -1 : oclEventPool.registerEvent(oclEvent, EventDescriptor.DESC_SYNC_BARRIER, queue);
     }
 
     public int enqueueMarker(int[] events) {
-        long oclEvent = queue.enqueueMarker(oclEventPool.serialiseEvents(events, queue) ? oclEventPool.waitEventsBuffer : null);
+        long oclEvent = queue.enqueueMarker(oclEventPool.serialiseEvents(events, queue) ? oclEventPool.getWaitEventsBuffer() : null);
         return queue.getOpenclVersion() < 120 ? -1 : oclEventPool.registerEvent(oclEvent, EventDescriptor.DESC_SYNC_MARKER, queue);
     }
 
     public void reset() {
+        if (stagingBuffers != null) {
+            queue.finish();
+            stagingBuffers.reset();
+        }
         oclEventPool.reset();
         codeCache.reset();
         wasReset = true;
@@ -463,11 +525,15 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
         oclEventPool.retainEvent(localEventId);
     }
 
+    public void releaseEvent(int localEventId) {
+        oclEventPool.releaseEvent(localEventId);
+    }
+
     public Event resolveEvent(int event) {
         if (event == -1) {
             return EMPTY_EVENT;
         }
-        return new OCLEvent(oclEventPool.getDescriptor(event).getNameDescription(), queue, event, oclEventPool.getOCLEvent(event));
+        return new OCLEvent(oclEventPool.getDescriptor(event).getNameDescription(), queue, oclEventPool, event, oclEventPool.getOCLEvent(event));
     }
 
     public void flush() {
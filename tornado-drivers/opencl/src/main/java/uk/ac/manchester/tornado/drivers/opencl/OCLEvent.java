@@ -49,6 +49,7 @@ public class OCLEvent implements Event {
     private final long[] internalBuffer = new long[2];
 
     private OCLCommandQueue queue;
+    private OCLEventPool pool;
     private int localId;
     private long oclEventID;
     private final ByteBuffer buffer = ByteBuffer.allocate(8);
@@ -59,9 +60,10 @@ public class OCLEvent implements Event {
         buffer.order(OpenCL.BYTE_ORDER);
     }
 
-    OCLEvent(String eventNameDescription, final OCLCommandQueue queue, final int event, final long oclEventID) {
+    OCLEvent(String eventNameDescription, final OCLCommandQueue queue, final OCLEventPool pool, final int event, final long oclEventID) {
         this();
         this.queue = queue;
+        this.pool = pool;
         this.localId = event;
         this.oclEventID = oclEventID;
         this.name = String.format("%s: 0x", eventNameDescription);
@@ -224,11 +226,13 @@ public class OCLEvent implements Event {
         return getCLEndTime();
     }
 
-    void release() {
-        try {
-            clReleaseEvent(oclEventID);
-        } catch (OCLException e) {
-            TornadoLogger.error(e.getMessage());
-        }
+    @Override
+    public void retain() {
+        pool.retainEvent(localId);
+    }
+
+    @Override
+    public void release() {
+        pool.releaseEvent(localId);
     }
 }
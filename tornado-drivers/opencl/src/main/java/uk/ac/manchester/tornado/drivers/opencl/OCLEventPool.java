@@ -23,7 +23,6 @@
 
 package uk.ac.manchester.tornado.drivers.opencl;
 
-import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.guarantee;
 import static uk.ac.manchester.tornado.drivers.opencl.enums.OCLCommandQueueProperties.CL_QUEUE_OUT_OF_ORDER_EXEC_MODE_ENABLE;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.MAX_WAIT_EVENTS;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.debug;
@@ -32,10 +31,13 @@ import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.CIRCULAR_EV
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.BitSet;
 import java.util.List;
 
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.drivers.common.EventDescriptor;
+import uk.ac.manchester.tornado.drivers.common.EventRegistry;
+import uk.ac.manchester.tornado.drivers.opencl.exceptions.OCLException;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 
 /**
  * Class which holds mapping between OpenCL events and TornadoVM local events
@@ -43,71 +45,58 @@ import uk.ac.manchester.tornado.drivers.common.EventDescriptor;
  * information such as events description and tag.
  * 
  * Each device holds an event pool. Only one instance of the pool per device.
+ * The events are kept in an {@link EventRegistry}, so the pool grows when all
+ * its events are retained and it can be used from several threads.
  */
 class OCLEventPool {
 
-    private final long[] events;
-    private final EventDescriptor[] descriptors;
-    private final BitSet retain;
-    private final OCLCommandQueue[] eventQueues;
-    private int eventIndex;
+    private static final class OCLEventEntry {
+        private final long oclEventId;
+        private final EventDescriptor descriptor;
+        private final OCLCommandQueue queue;
 
-    private final OCLEvent internalEvent;
-    protected final long[] waitEventsBuffer;
+        private OCLEventEntry(long oclEventId, EventDescriptor descriptor, OCLCommandQueue queue) {
+            this.oclEventId = oclEventId;
+            this.descriptor = descriptor;
+            this.queue = queue;
+        }
+    }
+
+    private final EventRegistry<OCLEventEntry> events;
 
-    private int eventPoolSize;
+    /**
+     * Wait-list buffer of each thread, filled by
+     * {@link #serialiseEvents(int[], OCLCommandQueue)}.
+     */
+    private final ThreadLocal<long[]> waitEventsBuffer;
 
     protected OCLEventPool(int poolSize) {
-        this.eventPoolSize = poolSize;
-        this.retain = new BitSet(eventPoolSize);
-        this.retain.clear();
-        this.events = new long[eventPoolSize];
-        this.descriptors = new EventDescriptor[eventPoolSize];
-        this.eventQueues = new OCLCommandQueue[eventPoolSize];
-        this.eventIndex = 0;
-        this.waitEventsBuffer = new long[MAX_WAIT_EVENTS];
-        this.internalEvent = new OCLEvent();
+        this.events = new EventRegistry<>(poolSize, CIRCULAR_EVENTS, (localId, entry) -> releaseOCLEvent(entry.oclEventId));
+        this.waitEventsBuffer = ThreadLocal.withInitial(() -> new long[MAX_WAIT_EVENTS]);
     }
 
-    protected int registerEvent(long oclEventId, EventDescriptor descriptorId, OCLCommandQueue queue) {
-        if (retain.get(eventIndex)) {
-            findNextEventSlot();
+    private static void releaseOCLEvent(long oclEventId) {
+        if (oclEventId <= 0) {
+            return;
+        }
+        try {
+            OCLEvent.clReleaseEvent(oclEventId);
+        } catch (OCLException e) {
+            TornadoLogger.error(e.getMessage());
         }
-        final int currentEvent = eventIndex;
-        guarantee(!retain.get(currentEvent), "overwriting retained event");
+    }
 
+    protected int registerEvent(long oclEventId, EventDescriptor descriptorId, OCLCommandQueue queue) {
         /*
          * OpenCL can produce an out of resources error which results in an invalid
-         * event (-1). If this happens, then we log a fatal exception and gracefully
-         * exit.
+         * event (-1). If this happens, then we log the event and bail out.
          */
         if (oclEventId == -1) {
-            fatal("invalid event: event=0x%x, description=%s, tag=0x%x\n", oclEventId, descriptorId.getNameDescription());
-            fatal("terminating application as system integrity has been compromised.");
-            System.exit(-1);
-        }
-
-        if (events[currentEvent] > 0 && !retain.get(currentEvent)) {
-            internalEvent.setEventId(currentEvent, events[currentEvent]);
-            releaseEvent(currentEvent);
-            internalEvent.release();
-        }
-        events[currentEvent] = oclEventId;
-        descriptors[currentEvent] = descriptorId;
-        eventQueues[currentEvent] = queue;
-
-        findNextEventSlot();
-        return currentEvent;
-    }
-
-    private void findNextEventSlot() {
-        eventIndex = retain.nextClearBit(eventIndex + 1);
-
-        if (CIRCULAR_EVENTS && (eventIndex >= events.length)) {
-            eventIndex = 0;
+            fatal("invalid event: event=0x%x, description=%s\n", oclEventId, descriptorId.getNameDescription());
+            fatal("aborting the execution of the task-graph.");
+            throw new TornadoBailoutRuntimeException("[ERROR] invalid event received from the OpenCL driver");
         }
-
-        guarantee(eventIndex != -1, "event window is full (retained=%d, capacity=%d)", retain.cardinality(), eventPoolSize);
+        return events.register(new OCLEventEntry(oclEventId, descriptorId, queue));
     }
 
     protected boolean serialiseEvents(int[] dependencies, OCLCommandQueue queue) {
@@ -116,59 +105,61 @@ class OCLEventPool {
             return false;
         }
 
-        Arrays.fill(waitEventsBuffer, 0);
+        final long[] buffer = waitEventsBuffer.get();
+        Arrays.fill(buffer, 0);
 
         int index = 0;
         for (final int value : dependencies) {
-            if (value != -1) {
+            final OCLEventEntry entry = (value != -1) ? events.get(value) : null;
+            if (entry != null) {
                 index++;
-                waitEventsBuffer[index] = events[value];
-                debug("[%d] 0x%x - %s\n", index, events[value], descriptors[value].getNameDescription());
-
+                buffer[index] = entry.oclEventId;
+                debug("[%d] 0x%x - %s\n", index, entry.oclEventId, entry.descriptor.getNameDescription());
             }
         }
-        waitEventsBuffer[0] = index;
+        buffer[0] = index;
         return (index > 0);
     }
 
+    /**
+     * @return the wait list built by the last call to
+     *         {@link #serialiseEvents(int[], OCLCommandQueue)} from the current
+     *         thread.
+     */
+    protected long[] getWaitEventsBuffer() {
+        return waitEventsBuffer.get();
+    }
+
     public List<OCLEvent> getEvents() {
         List<OCLEvent> result = new ArrayList<>();
-        for (int i = 0; i < eventIndex; i++) {
-            final long eventId = events[i];
-            if (eventId <= 0) {
+        for (int i = 0; i < events.capacity(); i++) {
+            final OCLEventEntry entry = events.get(i);
+            if (entry == null || entry.oclEventId <= 0) {
                 continue;
             }
-            result.add(new OCLEvent(getDescriptor(i).getNameDescription(), eventQueues[i], i, eventId));
+            result.add(new OCLEvent(entry.descriptor.getNameDescription(), entry.queue, this, i, entry.oclEventId));
         }
         return result;
     }
 
     protected void reset() {
-        for (int index = 0; index < events.length; index++) {
-            if (events[index] > 0) {
-                internalEvent.setEventId(index, events[index]);
-                releaseEvent(index);
-                internalEvent.release();
-            }
-        }
-        Arrays.fill(events, 0);
-        eventIndex = 0;
+        events.reset();
     }
 
     protected void retainEvent(int localEventID) {
-        retain.set(localEventID);
+        events.retain(localEventID);
     }
 
     protected void releaseEvent(int localEventID) {
-        retain.clear(localEventID);
+        events.release(localEventID);
     }
 
     protected long getOCLEvent(int localEventID) {
-        return events[localEventID];
+        return events.get(localEventID).oclEventId;
     }
 
     protected EventDescriptor getDescriptor(int localEventID) {
-        return descriptors[localEventID];
+        return events.get(localEventID).descriptor;
     }
 
 }
@@ -42,12 +42,23 @@ public class OCLKernel extends TornadoLogger {
     private final ByteBuffer buffer;
     private String kernelName;
 
+    /**
+     * Last value bound to each argument slot. OpenCL keeps kernel arguments
+     * until they are set again, so re-binding an unchanged value is skipped.
+     * A {@code null} value with a non-negative size records a local region or
+     * an unused (null pointer) argument.
+     */
+    private long[] boundSizes;
+    private byte[][] boundValues;
+
     public OCLKernel(long id, OCLDeviceContext deviceContext) {
         this.oclKernelID = id;
         this.deviceContext = deviceContext;
         this.buffer = ByteBuffer.allocate(1024);
         this.buffer.order(OpenCL.BYTE_ORDER);
         this.kernelName = "unknown";
+        this.boundSizes = new long[0];
+        this.boundValues = new byte[0][];
 
         queryName();
 
@@ -62,9 +73,15 @@ public class OCLKernel extends TornadoLogger {
     native static void clGetKernelInfo(long kernelId, int info, byte[] buffer) throws OCLException;
 
     public void setArg(int index, ByteBuffer buffer) {
+        final int size = buffer.position();
+        if (isBound(index, size, buffer.array())) {
+            return;
+        }
         try {
-            clSetKernelArg(oclKernelID, index, buffer.position(), buffer.array());
+            clSetKernelArg(oclKernelID, index, size, buffer.array());
+            recordBinding(index, size, buffer.array());
         } catch (OCLException e) {
+            invalidateBinding(index);
             error(e.getMessage());
         }
     }
@@ -79,9 +96,14 @@ public class OCLKernel extends TornadoLogger {
     }
 
     public void setArgUnused(int index) {
+        if (isBound(index, 8, null)) {
+            return;
+        }
         try {
             clSetKernelArg(oclKernelID, index, 8, null);
+            recordBinding(index, 8, null);
         } catch (OCLException e) {
+            invalidateBinding(index);
             error(e.getMessage());
         }
     }
@@ -95,13 +117,47 @@ public class OCLKernel extends TornadoLogger {
     public void setLocalRegion(int index, long size) {
         long maxSize = deviceContext.getDevice().getDeviceLocalMemorySize();
         guarantee(size <= maxSize, "local allocation is too large for device");
+        if (isBound(index, size, null)) {
+            return;
+        }
         try {
             clSetKernelArg(oclKernelID, index, size, null);
+            recordBinding(index, size, null);
         } catch (OCLException e) {
+            invalidateBinding(index);
             error(e.getMessage());
         }
     }
 
+    private boolean isBound(int index, long size, byte[] value) {
+        if (index >= boundSizes.length || boundSizes[index] != size) {
+            return false;
+        }
+        byte[] bound = boundValues[index];
+        if (value == null || bound == null) {
+            return value == bound;
+        }
+        return Arrays.equals(bound, 0, (int) size, value, 0, (int) size);
+    }
+
+    private void recordBinding(int index, long size, byte[] value) {
+        if (index >= boundSizes.length) {
+            int oldLength = boundSizes.length;
+            boundSizes = Arrays.copyOf(boundSizes, Math.max(index + 1, oldLength * 2));
+            Arrays.fill(boundSizes, oldLength, boundSizes.length, -1);
+            boundValues = Arrays.copyOf(boundValues, boundSizes.length);
+        }
+        boundSizes[index] = size;
+        boundValues[index] = (value == null) ? null : Arrays.copyOf(value, (int) size);
+    }
+
+    private void invalidateBinding(int index) {
+        if (index < boundSizes.length) {
+            boundSizes[index] = -1;
+            boundValues[index] = null;
+        }
+    }
+
     public void cleanup() {
         try {
             clReleaseKernel(oclKernelID);
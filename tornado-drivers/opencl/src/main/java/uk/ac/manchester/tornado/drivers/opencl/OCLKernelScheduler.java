@@ -27,8 +27,9 @@ package uk.ac.manchester.tornado.drivers.opencl;
 import java.util.Arrays;
 
 import uk.ac.manchester.tornado.api.WorkerGrid;
-import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
+import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.drivers.common.counters.HardwareCounters;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
@@ -58,17 +59,19 @@ public abstract class OCLKernelScheduler {
 
     private void updateProfiler(final int taskEvent, final TaskMetaData meta) {
         if (TornadoOptions.isProfilerEnabled()) {
-            Event tornadoKernelEvent = deviceContext.resolveEvent(taskEvent);
-            tornadoKernelEvent.waitForEvents();
-            long timer = meta.getProfiler().getTimer(ProfilerType.TOTAL_KERNEL_TIME);
-            // Register globalTime
-            meta.getProfiler().setTimer(ProfilerType.TOTAL_KERNEL_TIME, timer + tornadoKernelEvent.getElapsedTime());
-            // Register the time for the task
-            meta.getProfiler().setTaskTimer(ProfilerType.TASK_KERNEL_TIME, meta.getId(), tornadoKernelEvent.getElapsedTime());
-            // Register the dispatch time of the kernel
-            long dispatchValue = meta.getProfiler().getTimer(ProfilerType.TOTAL_DISPATCH_KERNEL_TIME);
-            dispatchValue += tornadoKernelEvent.getDriverDispatchTime();
-            meta.getProfiler().setTimer(ProfilerType.TOTAL_DISPATCH_KERNEL_TIME, dispatchValue);
+            TornadoProfiler profiler = meta.getProfiler();
+            profiler.deferEvent(deviceContext.resolveEvent(taskEvent), tornadoKernelEvent -> {
+                long timer = profiler.getTimer(ProfilerType.TOTAL_KERNEL_TIME);
+                // Register globalTime
+                profiler.setTimer(ProfilerType.TOTAL_KERNEL_TIME, timer + tornadoKernelEvent.getElapsedTime());
+                // Register the time for the task
+                profiler.setTaskTimer(ProfilerType.TASK_KERNEL_TIME, meta.getId(), tornadoKernelEvent.getElapsedTime());
+                // Register the dispatch time of the kernel
+                long dispatchValue = profiler.getTimer(ProfilerType.TOTAL_DISPATCH_KERNEL_TIME);
+                dispatchValue += tornadoKernelEvent.getDriverDispatchTime();
+                profiler.setTimer(ProfilerType.TOTAL_DISPATCH_KERNEL_TIME, dispatchValue);
+                HardwareCounters.sample(profiler, meta, tornadoKernelEvent, null);
+            });
         }
     }
 
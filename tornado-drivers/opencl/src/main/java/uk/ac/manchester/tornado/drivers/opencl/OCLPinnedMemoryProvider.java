@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl;
+
+import static uk.ac.manchester.tornado.drivers.opencl.enums.OCLMapFlags.CL_MAP_WRITE;
+import static uk.ac.manchester.tornado.drivers.opencl.enums.OCLMemFlags.CL_MEM_ALLOC_HOST_PTR;
+import static uk.ac.manchester.tornado.drivers.opencl.enums.OCLMemFlags.CL_MEM_READ_ONLY;
+
+import uk.ac.manchester.tornado.api.enums.TornadoExecutionStatus;
+import uk.ac.manchester.tornado.drivers.common.mm.StagingBufferPool.PinnedMemoryProvider;
+import uk.ac.manchester.tornado.drivers.common.mm.StagingBufferPool.StagingBuffer;
+import uk.ac.manchester.tornado.drivers.opencl.OCLContext.OCLBufferResult;
+
+/**
+ * Pinned host memory for OpenCL: a buffer created with
+ * {@code CL_MEM_ALLOC_HOST_PTR} and mapped once into the host address space.
+ * Writes from the mapped pointer are DMA transfers from page-locked memory.
+ */
+class OCLPinnedMemoryProvider implements PinnedMemoryProvider {
+
+    private static final int CL_SUCCESS = 0;
+
+    private final OCLDeviceContext deviceContext;
+    private final OCLContext context;
+    private final OCLCommandQueue queue;
+
+    OCLPinnedMemoryProvider(OCLDeviceContext deviceContext, OCLContext context, OCLCommandQueue queue) {
+        this.deviceContext = deviceContext;
+        this.context = context;
+        this.queue = queue;
+    }
+
+    @Override
+    public StagingBuffer allocate(long bytes) {
+        final OCLBufferResult result = context.createBuffer(CL_MEM_READ_ONLY | CL_MEM_ALLOC_HOST_PTR, bytes);
+        if (result == null || result.getResult() != CL_SUCCESS) {
+            return null;
+        }
+        final long address = queue.mapBuffer(result.getBuffer(), CL_MAP_WRITE, 0, bytes);
+        if (address == 0) {
+            context.releaseBuffer(result.getBuffer());
+            return null;
+        }
+        return new StagingBuffer(result.getBuffer(), address, context.toByteBuffer(address, bytes));
+    }
+
+    @Override
+    public void free(StagingBuffer buffer) {
+        queue.unmapBuffer(buffer.getHandle(), buffer.getAddress());
+        context.releaseBuffer(buffer.getHandle());
+    }
+
+    @Override
+    public void retainEvent(int event) {
+        deviceContext.retainEvent(event);
+    }
+
+    @Override
+    public void releaseEvent(int event) {
+        deviceContext.releaseEvent(event);
+    }
+
+    @Override
+    public boolean isEventComplete(int event) {
+        return deviceContext.resolveEvent(event).getStatus() == TornadoExecutionStatus.COMPLETE;
+    }
+}
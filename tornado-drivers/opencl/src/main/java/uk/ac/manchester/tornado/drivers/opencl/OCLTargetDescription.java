@@ -55,6 +55,8 @@ public class OCLTargetDescription extends TargetDescription {
     private final boolean supportsFP64;
     private final String extensions;
     private final boolean supportsInt64Atomics;
+    private final boolean supportsKhrSubGroups;
+    private final boolean supportsSubGroups;
 
     public OCLTargetDescription(Architecture arch, boolean supportsFP64, String extensions) {
         this(arch, false, STACK_ALIGNMENT, IMPLICIT_NULL_CHECK_LIMIT, INLINE_OBJECTS, supportsFP64, extensions);
@@ -65,6 +67,8 @@ public class OCLTargetDescription extends TargetDescription {
         this.supportsFP64 = supportsFP64;
         this.extensions = extensions;
         supportsInt64Atomics = extensions.contains("cl_khr_int64_base_atomics");
+        supportsKhrSubGroups = extensions.contains("cl_khr_subgroups");
+        supportsSubGroups = supportsKhrSubGroups || extensions.contains("cl_intel_subgroups");
     }
     //@formatter:on
 
@@ -98,6 +102,19 @@ public class OCLTargetDescription extends TargetDescription {
         return supportsInt64Atomics;
     }
 
+    public boolean supportsKhrSubGroups() {
+        return supportsKhrSubGroups;
+    }
+
+    /**
+     * Sub-group built-ins (sub_group_reduce_*, sub_group_scan_*,
+     * sub_group_broadcast) are available through either the Khronos or the
+     * Intel sub-group extension.
+     */
+    public boolean supportsSubGroups() {
+        return supportsSubGroups;
+    }
+
     public String getExtensions() {
         return extensions;
     }
@@ -63,6 +63,31 @@ public class OpenCLIntrinsics {
      */
     public static native void globalBarrier();
 
+    public static native int get_sub_group_id();
+
+    public static native int get_sub_group_local_id();
+
+    public static native int get_num_sub_groups();
+
+    /**
+     * <p>
+     * <code>
+     *  sub_group_reduce_add(value);
+     * </code>
+     * </p>
+     */
+    public static native int sub_group_reduce_add(int value);
+
+    public static native float sub_group_reduce_add(float value);
+
+    public static native int sub_group_reduce_min(int value);
+
+    public static native float sub_group_reduce_min(float value);
+
+    public static native int sub_group_reduce_max(int value);
+
+    public static native float sub_group_reduce_max(float value);
+
     public static native void printf();
 
     public static native void printEmpty();
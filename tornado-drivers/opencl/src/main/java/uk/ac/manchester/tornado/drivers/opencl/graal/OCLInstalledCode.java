@@ -39,6 +39,7 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.memory.ObjectBuffer;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.drivers.common.counters.HardwareCounters;
 import uk.ac.manchester.tornado.drivers.common.mm.PrimitiveSerialiser;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
 import uk.ac.manchester.tornado.drivers.opencl.OCLGPUScheduler;
@@ -53,6 +54,7 @@ import uk.ac.manchester.tornado.runtime.common.KernelArgs;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.TornadoFlightRecorder;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
 public class OCLInstalledCode extends InstalledCode implements TornadoInstalledCode {
@@ -276,6 +278,10 @@ public class OCLInstalledCode extends InstalledCode implements TornadoInstalledC
                 meta.addProfile(task);
             }
 
+            if (TornadoFlightRecorder.isKernelEnabled()) {
+                TornadoFlightRecorder.deferKernel(deviceContext.resolveEvent(task), meta.getId(), meta.getLogicDevice());
+            }
+
             if (meta.enableExceptions()) {
                 internalEvents[0] = task;
                 task = kernelArgs.enqueueRead(internalEvents);
@@ -311,17 +317,19 @@ public class OCLInstalledCode extends InstalledCode implements TornadoInstalledC
             task = deviceContext.enqueueNDRangeKernel(kernel, 1, null, meta.getGlobalWork(), meta.getLocalWork(), null);
         }
         if (TornadoOptions.isProfilerEnabled()) {
-            Event tornadoKernelEvent = deviceContext.resolveEvent(task);
-            tornadoKernelEvent.waitForEvents();
-            long timer = meta.getProfiler().getTimer(ProfilerType.TOTAL_KERNEL_TIME);
-            // Register globalTime
-            meta.getProfiler().setTimer(ProfilerType.TOTAL_KERNEL_TIME, timer + tornadoKernelEvent.getElapsedTime());
-            // Register the time for the task
-            meta.getProfiler().setTaskTimer(ProfilerType.TASK_KERNEL_TIME, meta.getId(), tornadoKernelEvent.getElapsedTime());
-            // Register the dispatch time of the kernel
-            long dispatchValue = meta.getProfiler().getTimer(ProfilerType.TOTAL_DISPATCH_KERNEL_TIME);
-            dispatchValue += tornadoKernelEvent.getDriverDispatchTime();
-            meta.getProfiler().setTimer(ProfilerType.TOTAL_DISPATCH_KERNEL_TIME, dispatchValue);
+            TornadoProfiler profiler = meta.getProfiler();
+            profiler.deferEvent(deviceContext.resolveEvent(task), tornadoKernelEvent -> {
+                long timer = profiler.getTimer(ProfilerType.TOTAL_KERNEL_TIME);
+                // Register globalTime
+                profiler.setTimer(ProfilerType.TOTAL_KERNEL_TIME, timer + tornadoKernelEvent.getElapsedTime());
+                // Register the time for the task
+                profiler.setTaskTimer(ProfilerType.TASK_KERNEL_TIME, meta.getId(), tornadoKernelEvent.getElapsedTime());
+                // Register the dispatch time of the kernel
+                long dispatchValue = profiler.getTimer(ProfilerType.TOTAL_DISPATCH_KERNEL_TIME);
+                dispatchValue += tornadoKernelEvent.getDriverDispatchTime();
+                profiler.setTimer(ProfilerType.TOTAL_DISPATCH_KERNEL_TIME, dispatchValue);
+                HardwareCounters.sample(profiler, meta, tornadoKernelEvent, null);
+            });
         }
         return task;
     }
@@ -349,6 +357,10 @@ public class OCLInstalledCode extends InstalledCode implements TornadoInstalledC
             meta.addProfile(task);
         }
 
+        if (TornadoFlightRecorder.isKernelEnabled()) {
+            TornadoFlightRecorder.deferKernel(deviceContext.resolveEvent(task), meta.getId(), meta.getLogicDevice());
+        }
+
         // read the stack
         if (meta.enableExceptions()) {
             callWrapper.enqueueRead(null);
@@ -383,16 +395,17 @@ public class OCLInstalledCode extends InstalledCode implements TornadoInstalledC
     private void updateProfilerKernelContextWrite(int kernelContextWriteEventId, TaskMetaData meta, OCLKernelArgs callWrapper) {
         if (TornadoOptions.isProfilerEnabled()) {
             TornadoProfiler profiler = meta.getProfiler();
-            Event event = deviceContext.resolveEvent(kernelContextWriteEventId);
-            event.waitForEvents();
-            long copyInTimer = meta.getProfiler().getTimer(ProfilerType.COPY_IN_TIME);
-            copyInTimer += event.getElapsedTime();
-            profiler.setTimer(ProfilerType.COPY_IN_TIME, copyInTimer);
-            profiler.addValueToMetric(ProfilerType.TOTAL_COPY_IN_SIZE_BYTES, meta.getId(), callWrapper.getSize());
-
-            long dispatchValue = profiler.getTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME);
-            dispatchValue += event.getDriverDispatchTime();
-            profiler.setTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME, dispatchValue);
+            final long numBytes = callWrapper.getSize();
+            profiler.deferEvent(deviceContext.resolveEvent(kernelContextWriteEventId), event -> {
+                long copyInTimer = profiler.getTimer(ProfilerType.COPY_IN_TIME);
+                copyInTimer += event.getElapsedTime();
+                profiler.setTimer(ProfilerType.COPY_IN_TIME, copyInTimer);
+                profiler.addValueToMetric(ProfilerType.TOTAL_COPY_IN_SIZE_BYTES, meta.getId(), numBytes);
+
+                long dispatchValue = profiler.getTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME);
+                dispatchValue += event.getDriverDispatchTime();
+                profiler.setTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME, dispatchValue);
+            });
         }
     }
 
@@ -109,6 +109,7 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.calc.DivNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.snippets.ReduceCPUSnippets;
 import uk.ac.manchester.tornado.drivers.opencl.graal.snippets.ReduceGPUSnippets;
 import uk.ac.manchester.tornado.runtime.TornadoVMConfig;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graal.nodes.GetGroupIdFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.GlobalGroupSizeFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.LocalGroupSizeFixedWithNextNode;
@@ -161,7 +162,8 @@ public class OCLLoweringProvider extends DefaultJavaLoweringProvider {
 
     private void initializeSnippets(OptionValues options, SnippetCounter.Group.Factory factory, Providers providers) {
         this.cpuReduceSnippets = new ReduceCPUSnippets.Templates(options, providers);
-        this.gpuReduceSnippets = new ReduceGPUSnippets.Templates(options, providers);
+        boolean useSubGroups = TornadoOptions.SUBGROUP_REDUCTIONS && ((OCLTargetDescription) target).supportsSubGroups();
+        this.gpuReduceSnippets = new ReduceGPUSnippets.Templates(options, providers, useSubGroups);
     }
 
     @Override
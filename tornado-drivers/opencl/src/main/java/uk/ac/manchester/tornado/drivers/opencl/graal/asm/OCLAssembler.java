@@ -78,6 +78,10 @@ public final class OCLAssembler extends Assembler {
             emitLine("#pragma OPENCL EXTENSION cl_khr_int64_base_atomics : enable  ");
         }
 
+        if (((OCLTargetDescription) target).supportsKhrSubGroups()) {
+            emitLine("#pragma OPENCL EXTENSION cl_khr_subgroups : enable  ");
+        }
+
         if (EMIT_INTRINSICS) {
             emitAtomicIntrinsics();
         }
@@ -536,6 +540,11 @@ public final class OCLAssembler extends Assembler {
     public static class OCLNullaryIntrinsic extends OCLNullaryOp {
         // @formatter:off
 
+        public static final OCLNullaryIntrinsic SUB_GROUP_SIZE = new OCLNullaryIntrinsic("get_sub_group_size");
+        public static final OCLNullaryIntrinsic SUB_GROUP_LOCAL_ID = new OCLNullaryIntrinsic("get_sub_group_local_id");
+        public static final OCLNullaryIntrinsic SUB_GROUP_ID = new OCLNullaryIntrinsic("get_sub_group_id");
+        public static final OCLNullaryIntrinsic NUM_SUB_GROUPS = new OCLNullaryIntrinsic("get_num_sub_groups");
+
         // @formatter:on
         protected OCLNullaryIntrinsic(String opcode) {
             super(opcode);
@@ -681,11 +690,19 @@ public final class OCLAssembler extends Assembler {
 
         public static final OCLUnaryIntrinsic AS_FLOAT = new OCLUnaryIntrinsic("as_float");
         public static final OCLUnaryIntrinsic AS_INT = new OCLUnaryIntrinsic("as_int");
+        public static final OCLUnaryIntrinsic AS_LONG = new OCLUnaryIntrinsic("as_long");
+        public static final OCLUnaryIntrinsic AS_DOUBLE = new OCLUnaryIntrinsic("as_double");
 
         public static final OCLUnaryIntrinsic IS_FINITE = new OCLUnaryIntrinsic("isfinite");
         public static final OCLUnaryIntrinsic IS_INF = new OCLUnaryIntrinsic("isinf");
         public static final OCLUnaryIntrinsic IS_NAN = new OCLUnaryIntrinsic("isnan");
         public static final OCLUnaryIntrinsic IS_NORMAL = new OCLUnaryIntrinsic("isnormal");
+
+        public static final OCLUnaryIntrinsic SUB_GROUP_REDUCE_ADD = new OCLUnaryIntrinsic("sub_group_reduce_add");
+        public static final OCLUnaryIntrinsic SUB_GROUP_REDUCE_MIN = new OCLUnaryIntrinsic("sub_group_reduce_min");
+        public static final OCLUnaryIntrinsic SUB_GROUP_REDUCE_MAX = new OCLUnaryIntrinsic("sub_group_reduce_max");
+        public static final OCLUnaryIntrinsic SUB_GROUP_SCAN_INCLUSIVE_ADD = new OCLUnaryIntrinsic("sub_group_scan_inclusive_add");
+        public static final OCLUnaryIntrinsic SUB_GROUP_SCAN_EXCLUSIVE_ADD = new OCLUnaryIntrinsic("sub_group_scan_exclusive_add");
         // @formatter:on
 
         protected OCLUnaryIntrinsic(String opcode) {
@@ -719,6 +736,8 @@ public final class OCLAssembler extends Assembler {
         public static final OCLUnaryTemplate NEW_CHAR_ARRAY = new OCLUnaryTemplate("char[]", "char[%s]");
         public static final OCLUnaryTemplate NEW_SHORT_ARRAY = new OCLUnaryTemplate("short[]", "short[%s]");
 
+        public static final OCLUnaryTemplate VLOAD_HALF_PRIVATE = new OCLUnaryTemplate("vload_half", "vload_half(0, (__private half *) &%s)");
+
         // @formatter:on
         private final String template;
 
@@ -818,6 +837,9 @@ public final class OCLAssembler extends Assembler {
 
         public static final OCLBinaryIntrinsic DOT = new OCLBinaryIntrinsic("dot");
         public static final OCLBinaryIntrinsic CROSS = new OCLBinaryIntrinsic("cross");
+
+        public static final OCLBinaryIntrinsic SUB_GROUP_SHUFFLE = new OCLBinaryIntrinsic("sub_group_shuffle");
+        public static final OCLBinaryIntrinsic SUB_GROUP_BROADCAST = new OCLBinaryIntrinsic("sub_group_broadcast");
         // @formatter:on
 
         protected OCLBinaryIntrinsic(String opcode) {
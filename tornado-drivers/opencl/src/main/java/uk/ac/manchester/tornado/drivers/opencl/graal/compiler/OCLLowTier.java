@@ -53,6 +53,7 @@ import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoLowTier;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoFeatureExtraction;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoLoopCanonicalization;
+import uk.ac.manchester.tornado.runtime.graal.phases.TornadoWorkEstimation;
 
 public class OCLLowTier extends TornadoLowTier {
 
@@ -108,6 +109,10 @@ public class OCLLowTier extends TornadoLowTier {
 
         appendPhase(new SchedulePhase(SchedulePhase.SchedulingStrategy.LATEST_OUT_OF_LOOPS));
 
+        if (TornadoOptions.ROOFLINE_REPORT) {
+            appendPhase(new TornadoWorkEstimation());
+        }
+
         if (TornadoOptions.FEATURE_EXTRACTION) {
             appendPhase(new TornadoFeatureExtraction(tornadoDeviceContext));
         }
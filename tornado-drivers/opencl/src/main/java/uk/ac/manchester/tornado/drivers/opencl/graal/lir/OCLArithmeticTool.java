@@ -52,6 +52,7 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLBinaryO
 import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLTernaryIntrinsic;
 import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryIntrinsic;
 import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryOp;
+import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryTemplate;
 import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssemblerConstants;
 import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLLIRGenerator;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.AssignStmt;
@@ -185,8 +186,25 @@ public class OCLArithmeticTool extends ArithmeticLIRGenerator {
 
     @Override
     public Value emitReinterpret(LIRKind lirKind, Value x) {
-        unimplemented();
-        return null;
+        Logger.traceBuildLIR(Logger.BACKEND.OpenCL, "emitReinterpret: %s -> %s", x, lirKind);
+        OCLUnaryOp op;
+        switch ((OCLKind) lirKind.getPlatformKind()) {
+            case FLOAT:
+                op = OCLUnaryIntrinsic.AS_FLOAT;
+                break;
+            case INT:
+                op = OCLUnaryIntrinsic.AS_INT;
+                break;
+            case DOUBLE:
+                op = OCLUnaryIntrinsic.AS_DOUBLE;
+                break;
+            case LONG:
+                op = OCLUnaryIntrinsic.AS_LONG;
+                break;
+            default:
+                throw unimplemented("reinterpret to %s", lirKind);
+        }
+        return emitUnaryAssign(op, lirKind, x);
     }
 
     @Override
@@ -509,6 +527,25 @@ public class OCLArithmeticTool extends ArithmeticLIRGenerator {
         return result;
     }
 
+    public Value emitHalfToFloat(LIRKind resultKind, Value op) {
+        Logger.traceBuildLIR(Logger.BACKEND.OpenCL, "emitHalfToFloat: %s", op);
+        // vload_half needs an addressable 16-bit location
+        Variable halfValue = getGen().newVariable(LIRKind.value(OCLKind.SHORT));
+        getGen().append(new AssignStmt(halfValue, op));
+        Variable result = getGen().newVariable(resultKind);
+        getGen().append(new AssignStmt(result, new OCLUnary.Expr(OCLUnaryTemplate.VLOAD_HALF_PRIVATE, resultKind, halfValue)));
+        return result;
+    }
+
+    public Value emitFloatToHalf(LIRKind resultKind, Value op) {
+        Logger.traceBuildLIR(Logger.BACKEND.OpenCL, "emitFloatToHalf: %s", op);
+        Variable halfValue = getGen().newVariable(LIRKind.value(OCLKind.SHORT));
+        getGen().append(new OCLLIRStmt.FloatToHalfStmt(halfValue, op));
+        Variable result = getGen().newVariable(resultKind);
+        getGen().append(new AssignStmt(result, halfValue));
+        return result;
+    }
+
     public Value emitRSQRT(Value op) {
         LIRKind resultKind = LIRKind.value(op.getPlatformKind());
         Variable result = getGen().newVariable(resultKind);
@@ -873,6 +873,48 @@ public class OCLLIRStmt {
         }
     }
 
+    @Opcode("VSTORE_HALF")
+    public static class FloatToHalfStmt extends AbstractInstruction {
+
+        public static final LIRInstructionClass<FloatToHalfStmt> TYPE = LIRInstructionClass.create(FloatToHalfStmt.class);
+
+        @Def
+        protected AllocatableValue lhs;
+        @Use
+        protected Value rhs;
+
+        /**
+         * Converts a float into a half float that is stored in the 16 bits of a
+         * private short variable. vstore_half does not require the cl_khr_fp16
+         * extension, as half is only used as a storage format.
+         */
+        public FloatToHalfStmt(AllocatableValue lhs, Value rhs) {
+            super(TYPE);
+            this.lhs = lhs;
+            this.rhs = rhs;
+        }
+
+        @Override
+        public void emitCode(OCLCompilationResultBuilder crb, OCLAssembler asm) {
+            asm.indent();
+            asm.emit("vstore_half_rte(");
+            asm.emitValue(crb, rhs);
+            asm.emit(", 0, (__private half *) &");
+            asm.emitValue(crb, lhs);
+            asm.emit(")");
+            asm.delimiter();
+            asm.eol();
+        }
+
+        public AllocatableValue getResult() {
+            return lhs;
+        }
+
+        public Value getExpr() {
+            return rhs;
+        }
+    }
+
     @Opcode("EXPR")
     public static class ExprStmt extends AbstractInstruction {
 
@@ -35,9 +35,10 @@ import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
 import jdk.vm.ci.meta.Value;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLArithmeticTool;
 import uk.ac.manchester.tornado.runtime.graal.phases.MarkFloatingPointIntrinsicsNode;
+import uk.ac.manchester.tornado.runtime.graal.phases.MarkFusedMultiplyAdd;
 
 @NodeInfo(shortName = "OCL-FMA")
-public class OCLFMANode extends FloatingNode implements ArithmeticLIRLowerable, MarkFloatingPointIntrinsicsNode {
+public class OCLFMANode extends FloatingNode implements ArithmeticLIRLowerable, MarkFloatingPointIntrinsicsNode, MarkFusedMultiplyAdd {
 
     public static final NodeClass<OCLFMANode> TYPE = NodeClass.create(OCLFMANode.class);
 
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.graal.nodes;
+
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.lir.gen.LIRGeneratorTool;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+
+import jdk.vm.ci.meta.JavaKind;
+import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLBinaryIntrinsic;
+import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLNullaryIntrinsic;
+import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryIntrinsic;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLBinary;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLNullary;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLUnary;
+
+/**
+ * Sub-group built-ins (cl_khr_subgroups / cl_intel_subgroups). The node is
+ * fixed because collective operations must be executed by all work-items of
+ * the sub-group and therefore cannot be scheduled into divergent control flow.
+ */
+@NodeInfo
+public class OCLSubGroupNode extends FixedWithNextNode implements LIRLowerable {
+
+    public static final NodeClass<OCLSubGroupNode> TYPE = NodeClass.create(OCLSubGroupNode.class);
+
+    @OptionalInput
+    protected ValueNode value;
+
+    @OptionalInput
+    protected ValueNode subGroupLocalId;
+
+    private final SubGroupOperation operation;
+
+    public OCLSubGroupNode(SubGroupOperation operation) {
+        super(TYPE, StampFactory.forKind(JavaKind.Int));
+        this.operation = operation;
+    }
+
+    public OCLSubGroupNode(SubGroupOperation operation, ValueNode value) {
+        super(TYPE, StampFactory.forKind(value.getStackKind()));
+        this.operation = operation;
+        this.value = value;
+    }
+
+    public OCLSubGroupNode(SubGroupOperation operation, ValueNode value, ValueNode subGroupLocalId) {
+        this(operation, value);
+        this.subGroupLocalId = subGroupLocalId;
+    }
+
+    public SubGroupOperation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool gen) {
+        LIRGeneratorTool tool = gen.getLIRGeneratorTool();
+        LIRKind lirKind = tool.getLIRKind(stamp);
+        Variable result = tool.newVariable(lirKind);
+        switch (operation) {
+            case SIZE:
+                tool.append(new OCLLIRStmt.AssignStmt(result, new OCLNullary.Intrinsic(OCLNullaryIntrinsic.SUB_GROUP_SIZE, lirKind)));
+                break;
+            case LOCAL_ID:
+                tool.append(new OCLLIRStmt.AssignStmt(result, new OCLNullary.Intrinsic(OCLNullaryIntrinsic.SUB_GROUP_LOCAL_ID, lirKind)));
+                break;
+            case ID:
+                tool.append(new OCLLIRStmt.AssignStmt(result, new OCLNullary.Intrinsic(OCLNullaryIntrinsic.SUB_GROUP_ID, lirKind)));
+                break;
+            case NUM_SUB_GROUPS:
+                tool.append(new OCLLIRStmt.AssignStmt(result, new OCLNullary.Intrinsic(OCLNullaryIntrinsic.NUM_SUB_GROUPS, lirKind)));
+                break;
+            case SHUFFLE:
+                tool.append(new OCLLIRStmt.AssignStmt(result, new OCLBinary.Intrinsic(OCLBinaryIntrinsic.SUB_GROUP_SHUFFLE, lirKind, gen.operand(value), gen.operand(subGroupLocalId))));
+                break;
+            case BROADCAST:
+                tool.append(new OCLLIRStmt.AssignStmt(result, new OCLBinary.Intrinsic(OCLBinaryIntrinsic.SUB_GROUP_BROADCAST, lirKind, gen.operand(value), gen.operand(subGroupLocalId))));
+                break;
+            case REDUCE_ADD:
+                tool.append(new OCLLIRStmt.AssignStmt(result, new OCLUnary.Intrinsic(OCLUnaryIntrinsic.SUB_GROUP_REDUCE_ADD, lirKind, gen.operand(value))));
+                break;
+            case REDUCE_MIN:
+                tool.append(new OCLLIRStmt.AssignStmt(result, new OCLUnary.Intrinsic(OCLUnaryIntrinsic.SUB_GROUP_REDUCE_MIN, lirKind, gen.operand(value))));
+                break;
+            case REDUCE_MAX:
+                tool.append(new OCLLIRStmt.AssignStmt(result, new OCLUnary.Intrinsic(OCLUnaryIntrinsic.SUB_GROUP_REDUCE_MAX, lirKind, gen.operand(value))));
+                break;
+            case SCAN_INCLUSIVE_ADD:
+                tool.append(new OCLLIRStmt.AssignStmt(result, new OCLUnary.Intrinsic(OCLUnaryIntrinsic.SUB_GROUP_SCAN_INCLUSIVE_ADD, lirKind, gen.operand(value))));
+                break;
+            case SCAN_EXCLUSIVE_ADD:
+                tool.append(new OCLLIRStmt.AssignStmt(result, new OCLUnary.Intrinsic(OCLUnaryIntrinsic.SUB_GROUP_SCAN_EXCLUSIVE_ADD, lirKind, gen.operand(value))));
+                break;
+            default:
+                throw new RuntimeException("Sub-group operation not supported: " + operation);
+        }
+        gen.setResult(this, result);
+    }
+
+    public enum SubGroupOperation {
+        SIZE, //
+        LOCAL_ID, //
+        ID, //
+        NUM_SUB_GROUPS, //
+        SHUFFLE, //
+        BROADCAST, //
+        REDUCE_ADD, //
+        REDUCE_MIN, //
+        REDUCE_MAX, //
+        SCAN_INCLUSIVE_ADD, //
+        SCAN_EXCLUSIVE_ADD
+    }
+}
@@ -52,6 +52,8 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalArrayNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalGroupSizeNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalThreadIDFixedNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLBarrierNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLSubGroupNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLSubGroupNode.SubGroupOperation;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OpenCLPrintf;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoHighTierContext;
 
@@ -121,6 +123,30 @@ public class TornadoOpenCLIntrinsicsReplacements extends BasePhase<TornadoHighTi
                     graph.replaceFixed(invoke, groupIdNode);
                     break;
                 }
+                case "Direct#OpenCLIntrinsics.get_sub_group_id": {
+                    replaceSubGroupQuery(graph, invoke, SubGroupOperation.ID);
+                    break;
+                }
+                case "Direct#OpenCLIntrinsics.get_sub_group_local_id": {
+                    replaceSubGroupQuery(graph, invoke, SubGroupOperation.LOCAL_ID);
+                    break;
+                }
+                case "Direct#OpenCLIntrinsics.get_num_sub_groups": {
+                    replaceSubGroupQuery(graph, invoke, SubGroupOperation.NUM_SUB_GROUPS);
+                    break;
+                }
+                case "Direct#OpenCLIntrinsics.sub_group_reduce_add": {
+                    replaceSubGroupReduction(graph, invoke, SubGroupOperation.REDUCE_ADD);
+                    break;
+                }
+                case "Direct#OpenCLIntrinsics.sub_group_reduce_min": {
+                    replaceSubGroupReduction(graph, invoke, SubGroupOperation.REDUCE_MIN);
+                    break;
+                }
+                case "Direct#OpenCLIntrinsics.sub_group_reduce_max": {
+                    replaceSubGroupReduction(graph, invoke, SubGroupOperation.REDUCE_MAX);
+                    break;
+                }
                 case "Direct#OpenCLIntrinsics.printEmpty":
                     OpenCLPrintf printfNode = graph.addOrUnique(new OpenCLPrintf("\"\""));
                     graph.replaceFixed(invoke, printfNode);
@@ -129,6 +155,17 @@ public class TornadoOpenCLIntrinsicsReplacements extends BasePhase<TornadoHighTi
         }
     }
 
+    private void replaceSubGroupQuery(StructuredGraph graph, InvokeNode invoke, SubGroupOperation operation) {
+        OCLSubGroupNode subGroupNode = graph.add(new OCLSubGroupNode(operation));
+        graph.replaceFixed(invoke, subGroupNode);
+    }
+
+    private void replaceSubGroupReduction(StructuredGraph graph, InvokeNode invoke, SubGroupOperation operation) {
+        ValueNode value = invoke.callTarget().arguments().get(0);
+        OCLSubGroupNode subGroupNode = graph.add(new OCLSubGroupNode(operation, value));
+        graph.replaceFixed(invoke, subGroupNode);
+    }
+
     private void lowerLocalInvokeNodeNewArray(StructuredGraph graph, int length, JavaKind elementKind, InvokeNode newArray) {
         LocalArrayNode localArrayNode;
         ConstantNode newLengthNode = ConstantNode.forInt(length, graph);
@@ -802,6 +802,288 @@ public class ReduceGPUSnippets implements Snippets {
         }
     }
 
+    /*
+     * Sub-group variants: each sub-group reduces its values with a single
+     * collective and only one partial per sub-group goes through local memory.
+     * This replaces the log2(localGroupSize) barriers of the tree reductions above
+     * with a single barrier.
+     */
+    @Snippet
+    public static void partialReduceIntAddSubGroup(int[] inputArray, int[] outputArray, int gidx) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        int partial = OpenCLIntrinsics.sub_group_reduce_add(inputArray[gidx]);
+        if (OpenCLIntrinsics.get_sub_group_local_id() == 0) {
+            localArray[OpenCLIntrinsics.get_sub_group_id()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = OpenCLIntrinsics.get_num_sub_groups();
+            int result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result += localArray[i];
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntAddSubGroupCarrierValue(int[] inputArray, int[] outputArray, int gidx, int value) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        int partial = OpenCLIntrinsics.sub_group_reduce_add(value);
+        if (OpenCLIntrinsics.get_sub_group_local_id() == 0) {
+            localArray[OpenCLIntrinsics.get_sub_group_id()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = OpenCLIntrinsics.get_num_sub_groups();
+            int result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result += localArray[i];
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatAddSubGroup(float[] inputArray, float[] outputArray, int gidx) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        float partial = OpenCLIntrinsics.sub_group_reduce_add(inputArray[gidx]);
+        if (OpenCLIntrinsics.get_sub_group_local_id() == 0) {
+            localArray[OpenCLIntrinsics.get_sub_group_id()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = OpenCLIntrinsics.get_num_sub_groups();
+            float result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result += localArray[i];
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatAddSubGroupCarrierValue(float[] inputArray, float[] outputArray, int gidx, float value) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        float partial = OpenCLIntrinsics.sub_group_reduce_add(value);
+        if (OpenCLIntrinsics.get_sub_group_local_id() == 0) {
+            localArray[OpenCLIntrinsics.get_sub_group_id()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = OpenCLIntrinsics.get_num_sub_groups();
+            float result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result += localArray[i];
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntMaxSubGroup(int[] inputArray, int[] outputArray, int gidx) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        int partial = OpenCLIntrinsics.sub_group_reduce_max(inputArray[gidx]);
+        if (OpenCLIntrinsics.get_sub_group_local_id() == 0) {
+            localArray[OpenCLIntrinsics.get_sub_group_id()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = OpenCLIntrinsics.get_num_sub_groups();
+            int result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result = TornadoMath.max(result, localArray[i]);
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntMaxSubGroupCarrierValue(int[] inputArray, int[] outputArray, int gidx, int value) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        int partial = OpenCLIntrinsics.sub_group_reduce_max(value);
+        if (OpenCLIntrinsics.get_sub_group_local_id() == 0) {
+            localArray[OpenCLIntrinsics.get_sub_group_id()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = OpenCLIntrinsics.get_num_sub_groups();
+            int result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result = TornadoMath.max(result, localArray[i]);
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatMaxSubGroup(float[] inputArray, float[] outputArray, int gidx) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        float partial = OpenCLIntrinsics.sub_group_reduce_max(inputArray[gidx]);
+        if (OpenCLIntrinsics.get_sub_group_local_id() == 0) {
+            localArray[OpenCLIntrinsics.get_sub_group_id()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = OpenCLIntrinsics.get_num_sub_groups();
+            float result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result = TornadoMath.max(result, localArray[i]);
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatMaxSubGroupCarrierValue(float[] inputArray, float[] outputArray, int gidx, float value) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        float partial = OpenCLIntrinsics.sub_group_reduce_max(value);
+        if (OpenCLIntrinsics.get_sub_group_local_id() == 0) {
+            localArray[OpenCLIntrinsics.get_sub_group_id()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = OpenCLIntrinsics.get_num_sub_groups();
+            float result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result = TornadoMath.max(result, localArray[i]);
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntMinSubGroup(int[] inputArray, int[] outputArray, int gidx) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        int partial = OpenCLIntrinsics.sub_group_reduce_min(inputArray[gidx]);
+        if (OpenCLIntrinsics.get_sub_group_local_id() == 0) {
+            localArray[OpenCLIntrinsics.get_sub_group_id()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = OpenCLIntrinsics.get_num_sub_groups();
+            int result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result = TornadoMath.min(result, localArray[i]);
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntMinSubGroupCarrierValue(int[] inputArray, int[] outputArray, int gidx, int value) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        int partial = OpenCLIntrinsics.sub_group_reduce_min(value);
+        if (OpenCLIntrinsics.get_sub_group_local_id() == 0) {
+            localArray[OpenCLIntrinsics.get_sub_group_id()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = OpenCLIntrinsics.get_num_sub_groups();
+            int result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result = TornadoMath.min(result, localArray[i]);
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatMinSubGroup(float[] inputArray, float[] outputArray, int gidx) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        float partial = OpenCLIntrinsics.sub_group_reduce_min(inputArray[gidx]);
+        if (OpenCLIntrinsics.get_sub_group_local_id() == 0) {
+            localArray[OpenCLIntrinsics.get_sub_group_id()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = OpenCLIntrinsics.get_num_sub_groups();
+            float result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result = TornadoMath.min(result, localArray[i]);
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatMinSubGroupCarrierValue(float[] inputArray, float[] outputArray, int gidx, float value) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        float partial = OpenCLIntrinsics.sub_group_reduce_min(value);
+        if (OpenCLIntrinsics.get_sub_group_local_id() == 0) {
+            localArray[OpenCLIntrinsics.get_sub_group_id()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = OpenCLIntrinsics.get_num_sub_groups();
+            float result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result = TornadoMath.min(result, localArray[i]);
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
     public static class Templates extends AbstractTemplates implements TornadoSnippetTypeInference {
 
         // Add
@@ -844,8 +1126,57 @@ public class ReduceGPUSnippets implements Snippets {
         private final SnippetInfo partialReduceMinDoubleSnippet = snippet(ReduceGPUSnippets.class, "partialReduceDoubleMin");
         private final SnippetInfo partialReduceMinDoubleSnippetCarrierValue = snippet(ReduceGPUSnippets.class, "partialReduceDoubleMinCarrierValue");
 
-        public Templates(OptionValues options, Providers providers) {
+        // Sub-group Add, Max and Min
+        private final SnippetInfo partialReduceIntAddSubGroupSnippet = snippet(ReduceGPUSnippets.class, "partialReduceIntAddSubGroup");
+        private final SnippetInfo partialReduceIntAddSubGroupSnippetCarrierValue = snippet(ReduceGPUSnippets.class, "partialReduceIntAddSubGroupCarrierValue");
+        private final SnippetInfo partialReduceFloatAddSubGroupSnippet = snippet(ReduceGPUSnippets.class, "partialReduceFloatAddSubGroup");
+        private final SnippetInfo partialReduceFloatAddSubGroupSnippetCarrierValue = snippet(ReduceGPUSnippets.class, "partialReduceFloatAddSubGroupCarrierValue");
+        private final SnippetInfo partialReduceIntMaxSubGroupSnippet = snippet(ReduceGPUSnippets.class, "partialReduceIntMaxSubGroup");
+        private final SnippetInfo partialReduceIntMaxSubGroupSnippetCarrierValue = snippet(ReduceGPUSnippets.class, "partialReduceIntMaxSubGroupCarrierValue");
+        private final SnippetInfo partialReduceFloatMaxSubGroupSnippet = snippet(ReduceGPUSnippets.class, "partialReduceFloatMaxSubGroup");
+        private final SnippetInfo partialReduceFloatMaxSubGroupSnippetCarrierValue = snippet(ReduceGPUSnippets.class, "partialReduceFloatMaxSubGroupCarrierValue");
+        private final SnippetInfo partialReduceIntMinSubGroupSnippet = snippet(ReduceGPUSnippets.class, "partialReduceIntMinSubGroup");
+        private final SnippetInfo partialReduceIntMinSubGroupSnippetCarrierValue = snippet(ReduceGPUSnippets.class, "partialReduceIntMinSubGroupCarrierValue");
+        private final SnippetInfo partialReduceFloatMinSubGroupSnippet = snippet(ReduceGPUSnippets.class, "partialReduceFloatMinSubGroup");
+        private final SnippetInfo partialReduceFloatMinSubGroupSnippetCarrierValue = snippet(ReduceGPUSnippets.class, "partialReduceFloatMinSubGroupCarrierValue");
+
+        private final boolean useSubGroups;
+
+        public Templates(OptionValues options, Providers providers, boolean useSubGroups) {
             super(options, providers);
+            this.useSubGroups = useSubGroups;
+        }
+
+        private SnippetInfo inferSubGroupIntSnippet(ValueNode value, ValueNode extra) {
+            if (value instanceof TornadoReduceAddNode) {
+                return (extra == null) ? partialReduceIntAddSubGroupSnippet : partialReduceIntAddSubGroupSnippetCarrierValue;
+            } else if (value instanceof OCLIntBinaryIntrinsicNode) {
+                switch (((OCLIntBinaryIntrinsicNode) value).operation()) {
+                    case MAX:
+                        return (extra == null) ? partialReduceIntMaxSubGroupSnippet : partialReduceIntMaxSubGroupSnippetCarrierValue;
+                    case MIN:
+                        return (extra == null) ? partialReduceIntMinSubGroupSnippet : partialReduceIntMinSubGroupSnippetCarrierValue;
+                    default:
+                        return null;
+                }
+            }
+            return null;
+        }
+
+        private SnippetInfo inferSubGroupFloatSnippet(ValueNode value, ValueNode extra) {
+            if (value instanceof TornadoReduceAddNode) {
+                return (extra == null) ? partialReduceFloatAddSubGroupSnippet : partialReduceFloatAddSubGroupSnippetCarrierValue;
+            } else if (value instanceof OCLFPBinaryIntrinsicNode) {
+                switch (((OCLFPBinaryIntrinsicNode) value).operation()) {
+                    case FMAX:
+                        return (extra == null) ? partialReduceFloatMaxSubGroupSnippet : partialReduceFloatMaxSubGroupSnippetCarrierValue;
+                    case FMIN:
+                        return (extra == null) ? partialReduceFloatMinSubGroupSnippet : partialReduceFloatMinSubGroupSnippetCarrierValue;
+                    default:
+                        return null;
+                }
+            }
+            return null;
         }
 
         private SnippetInfo getSnippetFromOCLBinaryNodeInteger(OCLIntBinaryIntrinsicNode value, ValueNode extra) {
@@ -958,6 +1289,16 @@ public class ReduceGPUSnippets implements Snippets {
         @Override
         public SnippetInfo getSnippetInstance(JavaKind elementKind, ValueNode value, ValueNode extra) {
             SnippetInfo snippet = null;
+            if (useSubGroups) {
+                if (elementKind == JavaKind.Int) {
+                    snippet = inferSubGroupIntSnippet(value, extra);
+                } else if (elementKind == JavaKind.Float) {
+                    snippet = inferSubGroupFloatSnippet(value, extra);
+                }
+                if (snippet != null) {
+                    return snippet;
+                }
+            }
             if (elementKind == JavaKind.Int) {
                 snippet = inferIntSnippet(value, extra);
             } else if (elementKind == JavaKind.Long) {
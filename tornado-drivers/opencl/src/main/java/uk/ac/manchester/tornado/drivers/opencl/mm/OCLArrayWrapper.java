@@ -34,6 +34,7 @@ import static uk.ac.manchester.tornado.runtime.common.Tornado.info;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import jdk.vm.ci.meta.JavaKind;
@@ -212,6 +213,17 @@ public abstract class OCLArrayWrapper<T> implements ObjectBuffer {
         return useDeps ? listEvents : null;
     }
 
+    @Override
+    public List<Integer> enqueueWriteRange(final Object value, long offset, long numBytes, final int[] events, boolean useDeps) {
+        final T array = cast(value);
+        if (array == null) {
+            throw new TornadoRuntimeException("ERROR] Data to be copied is NULL");
+        }
+        // The header is already on the device, only the range is written
+        final int returnEvent = enqueueWriteArrayData(toBuffer(), arrayHeaderSize + bufferOffset + offset, numBytes, array, offset, (useDeps) ? events : null);
+        return useDeps ? Collections.singletonList(returnEvent) : null;
+    }
+
     /**
      * Copy data that resides in the host to the target device.
      *
@@ -286,6 +298,15 @@ public abstract class OCLArrayWrapper<T> implements ObjectBuffer {
         return -1;
     }
 
+    @Override
+    public int readRange(final Object value, long offset, long numBytes, int[] events, boolean useDeps) {
+        final T array = cast(value);
+        if (array == null) {
+            throw new TornadoRuntimeException("[ERROR] output data is NULL");
+        }
+        return readArrayData(toBuffer(), arrayHeaderSize + bufferOffset + offset, numBytes, array, offset, (useDeps) ? events : null);
+    }
+
     protected abstract int readArrayData(long bufferId, long offset, long bytes, T value, long hostOffset, int[] waitEvents);
 
     public long sizeOf(final T array) {
@@ -25,6 +25,7 @@ package uk.ac.manchester.tornado.drivers.opencl.mm;
 
 import static uk.ac.manchester.tornado.drivers.opencl.mm.OCLKernelArgs.RESERVED_SLOTS;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.DEVICE_AVAILABLE_MEMORY;
+import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.SHARED_MEMORY;
 
 import uk.ac.manchester.tornado.api.memory.ObjectBuffer;
 import uk.ac.manchester.tornado.api.memory.TornadoMemoryProvider;
@@ -38,6 +39,7 @@ public class OCLMemoryManager extends TornadoLogger implements TornadoMemoryProv
     private final OCLDeviceContext deviceContext;
     private long constantPointer;
     private long atomicsRegion = -1;
+    private Boolean sharedMemory;
 
     private static final int MAX_NUMBER_OF_ATOMICS_PER_KERNEL = 128;
     private static final int INTEGER_BYTES_SIZE = 4;
@@ -53,6 +55,26 @@ public class OCLMemoryManager extends TornadoLogger implements TornadoMemoryProv
         return DEVICE_AVAILABLE_MEMORY;
     }
 
+    /**
+     * Only devices with memory unified with the host, such as integrated GPUs and
+     * CPU runtimes, use shared buffers. On discrete devices every kernel access
+     * would cross the bus.
+     */
+    @Override
+    public boolean isSharedMemory() {
+        if (sharedMemory == null) {
+            sharedMemory = SHARED_MEMORY && deviceContext.getDevice().hasDeviceUnifiedMemory();
+        }
+        return sharedMemory;
+    }
+
+    /**
+     * @return the flags of the buffers that hold the task-graph data.
+     */
+    public long getDataBufferFlags() {
+        return isSharedMemory() ? OCLMemFlags.CL_MEM_READ_WRITE | OCLMemFlags.CL_MEM_ALLOC_HOST_PTR : OCLMemFlags.CL_MEM_READ_WRITE;
+    }
+
     private static long align(final long address, final long alignment) {
         return (address % alignment == 0) ? address : address + (alignment - address % alignment);
     }
@@ -25,7 +25,7 @@ package uk.ac.manchester.tornado.drivers.opencl.runtime;
 
 import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
-import uk.ac.manchester.tornado.drivers.opencl.enums.OCLMemFlags;
+import uk.ac.manchester.tornado.drivers.opencl.mm.OCLMemoryManager;
 
 public class OCLBufferProvider extends TornadoBufferProvider {
 
@@ -35,7 +35,8 @@ public class OCLBufferProvider extends TornadoBufferProvider {
 
     @Override
     public long allocateBuffer(long size) {
-        return ((OCLDeviceContext) deviceContext).getMemoryManager().createBuffer(size, OCLMemFlags.CL_MEM_READ_WRITE).getBuffer();
+        OCLMemoryManager memoryManager = ((OCLDeviceContext) deviceContext).getMemoryManager();
+        return memoryManager.createBuffer(size, memoryManager.getDataBufferFlags()).getBuffer();
     }
 
     @Override
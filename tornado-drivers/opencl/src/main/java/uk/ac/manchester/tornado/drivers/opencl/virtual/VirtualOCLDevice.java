@@ -179,6 +179,7 @@ public class VirtualOCLDevice extends TornadoLogger implements OCLTargetDevice {
         return deviceAddressBits;
     }
 
+    @Override
     public boolean hasDeviceUnifiedMemory() {
         return false;
     }
@@ -71,7 +71,30 @@ JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXContext_cuM
     CUdeviceptr dev_ptr;
     result = cuMemAlloc(&dev_ptr, (size_t) num_bytes);
     LOG_PTX_AND_VALIDATE("cuMemAlloc", result);
+    if (result != CUDA_SUCCESS) return (jlong) 0;
+    return (jlong) dev_ptr;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXContext
+ * Method:    cuMemAllocManaged
+ * Signature: (JJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXContext_cuMemAllocManaged
+  (JNIEnv *env, jclass clazz, jlong cuContext, jlong cuDevice, jlong num_bytes) {
+    CUcontext* ctx = (CUcontext*) cuContext;
+    CUdevice* dev = (CUdevice*) cuDevice;
+    CUresult result = cuCtxSetCurrent(*ctx);
+    LOG_PTX_AND_VALIDATE("cuCtxSetCurrent", result);
+
+    CUdeviceptr dev_ptr;
+    result = cuMemAllocManaged(&dev_ptr, (size_t) num_bytes, CU_MEM_ATTACH_GLOBAL);
+    LOG_PTX_AND_VALIDATE("cuMemAllocManaged", result);
     if (result != CUDA_SUCCESS) return (jlong) result;
+
+    // Keep the pages on the device, so copies from the host migrate them ahead of the kernels
+    result = cuMemAdvise(dev_ptr, (size_t) num_bytes, CU_MEM_ADVISE_SET_PREFERRED_LOCATION, *dev);
+    LOG_PTX_AND_VALIDATE("cuMemAdvise", result);
     return (jlong) dev_ptr;
 }
 
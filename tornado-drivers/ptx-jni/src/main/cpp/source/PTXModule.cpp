@@ -106,4 +106,27 @@ JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule_cuOcc
     result = cuOccupancyMaxPotentialBlockSize(&min_grid_size, &block_size, kernel, 0, 0, 0);
     LOG_PTX_AND_VALIDATE("cuOccupancyMaxPotentialBlockSize", result);
     return block_size;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXModule
+ * Method:    cuOccupancyMaxActiveBlocksPerMultiprocessor
+ * Signature: ([BLjava/lang/String;I)I
+ */
+JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule_cuOccupancyMaxActiveBlocksPerMultiprocessor
+  (JNIEnv *env, jclass clazz, jbyteArray module_wrapper, jstring func_name, jint block_size) {
+    CUresult result;
+    CUmodule module;
+    array_to_module(env, &module, module_wrapper);
+
+    const char *native_function_name = env->GetStringUTFChars(func_name, 0);
+    CUfunction kernel;
+    result = cuModuleGetFunction(&kernel, module, native_function_name);
+    LOG_PTX_AND_VALIDATE("cuModuleGetFunction", result);
+    env->ReleaseStringUTFChars(func_name, native_function_name);
+
+    int num_blocks;
+    result = cuOccupancyMaxActiveBlocksPerMultiprocessor(&num_blocks, kernel, block_size, 0);
+    LOG_PTX_AND_VALIDATE("cuOccupancyMaxActiveBlocksPerMultiprocessor", result);
+    return num_blocks;
 }
\ No newline at end of file
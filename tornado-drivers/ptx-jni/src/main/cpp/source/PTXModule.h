@@ -59,6 +59,14 @@ JNIEXPORT jbyteArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule
 JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule_cuOccupancyMaxPotentialBlockSize
         (JNIEnv *, jclass, jbyteArray, jstring);
 
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXModule
+ * Method:    cuOccupancyMaxActiveBlocksPerMultiprocessor
+ * Signature: ([BLjava/lang/String;I)I
+ */
+JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule_cuOccupancyMaxActiveBlocksPerMultiprocessor
+        (JNIEnv *, jclass, jbyteArray, jstring, jint);
+
 #ifdef __cplusplus
 }
 #endif
@@ -655,6 +655,21 @@ JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuSt
     return (jlong) result;
 }
 
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuMemPrefetchAsync
+ * Signature: (JJJ[B)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuMemPrefetchAsync
+  (JNIEnv *env, jclass clazz, jlong dev_ptr, jlong num_bytes, jlong cuDevice, jbyteArray stream_wrapper) {
+    CUdevice* dev = (CUdevice*) cuDevice;
+    CUstream stream;
+    stream_from_array(env, &stream, stream_wrapper);
+    CUresult result = cuMemPrefetchAsync((CUdeviceptr) dev_ptr, (size_t) num_bytes, *dev, stream);
+    LOG_PTX_AND_VALIDATE("cuMemPrefetchAsync", result);
+    return (jlong) result;
+}
+
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    cuEventCreateAndRecord
@@ -672,4 +687,132 @@ JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStre
     record_event(&afterEvent, &stream);
 
     return wrapper_from_events(env, &beforeEvent, &afterEvent);
-}
\ No newline at end of file
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuGraphCreate
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuGraphCreate
+  (JNIEnv *env, jclass clazz) {
+    CUgraph graph;
+    CUresult result = cuGraphCreate(&graph, 0);
+    LOG_PTX_AND_VALIDATE("cuGraphCreate", result);
+    return (result == CUDA_SUCCESS) ? (jlong) graph : 0;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuGraphAddKernelNode
+ * Signature: (JJ[BLjava/lang/String;IIIIIIJ[B)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuGraphAddKernelNode
+  (JNIEnv *env, jclass clazz, jlong graph, jlong dependency, jbyteArray module, jstring function_name,
+        jint gridDimX, jint gridDimY, jint gridDimZ,
+        jint blockDimX, jint blockDimY, jint blockDimZ,
+        jlong sharedMemBytes,
+        jbyteArray args) {
+
+    CUmodule native_module;
+    array_to_module(env, &native_module, module);
+
+    const char *native_function_name = env->GetStringUTFChars(function_name, 0);
+    CUfunction kernel;
+    CUresult result = cuModuleGetFunction(&kernel, native_module, native_function_name);
+    LOG_PTX_AND_VALIDATE("cuModuleGetFunction", result);
+    env->ReleaseStringUTFChars(function_name, native_function_name);
+    if (result != CUDA_SUCCESS) {
+        return 0;
+    }
+
+    // The parameters are copied into the node when it is added
+    size_t arg_buffer_size = env->GetArrayLength(args);
+    char arg_buffer[arg_buffer_size];
+    env->GetByteArrayRegion(args, 0, arg_buffer_size, reinterpret_cast<jbyte *>(arg_buffer));
+
+    void *arg_config[] = {
+        CU_LAUNCH_PARAM_BUFFER_POINTER, arg_buffer,
+        CU_LAUNCH_PARAM_BUFFER_SIZE,    &arg_buffer_size,
+        CU_LAUNCH_PARAM_END
+    };
+
+    CUDA_KERNEL_NODE_PARAMS params = {};
+    params.func = kernel;
+    params.gridDimX = (unsigned int) gridDimX;
+    params.gridDimY = (unsigned int) gridDimY;
+    params.gridDimZ = (unsigned int) gridDimZ;
+    params.blockDimX = (unsigned int) blockDimX;
+    params.blockDimY = (unsigned int) blockDimY;
+    params.blockDimZ = (unsigned int) blockDimZ;
+    params.sharedMemBytes = (unsigned int) sharedMemBytes;
+    params.kernelParams = NULL;
+    params.extra = arg_config;
+
+    CUgraphNode node;
+    CUgraphNode dependency_node = (CUgraphNode) dependency;
+    result = cuGraphAddKernelNode(&node, (CUgraph) graph, (dependency != 0) ? &dependency_node : NULL, (dependency != 0) ? 1 : 0, &params);
+    LOG_PTX_AND_VALIDATE("cuGraphAddKernelNode", result);
+    return (result == CUDA_SUCCESS) ? (jlong) node : 0;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuGraphInstantiate
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuGraphInstantiate
+  (JNIEnv *env, jclass clazz, jlong graph) {
+    CUgraphExec graph_exec;
+    CUresult result = cuGraphInstantiateWithFlags(&graph_exec, (CUgraph) graph, 0);
+    LOG_PTX_AND_VALIDATE("cuGraphInstantiateWithFlags", result);
+
+    CUresult destroyResult = cuGraphDestroy((CUgraph) graph);
+    LOG_PTX_AND_VALIDATE("cuGraphDestroy", destroyResult);
+    return (result == CUDA_SUCCESS) ? (jlong) graph_exec : 0;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuGraphLaunch
+ * Signature: (J[B)[[B
+ */
+JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuGraphLaunch
+  (JNIEnv *env, jclass clazz, jlong graph_exec, jbyteArray stream_wrapper) {
+    CUevent beforeEvent;
+    CUevent afterEvent;
+    CUstream stream;
+    stream_from_array(env, &stream, stream_wrapper);
+
+    record_events_create(&beforeEvent, &afterEvent);
+    record_event(&beforeEvent, &stream);
+    CUresult result = cuGraphLaunch((CUgraphExec) graph_exec, stream);
+    LOG_PTX_AND_VALIDATE("cuGraphLaunch", result);
+    record_event(&afterEvent, &stream);
+
+    return wrapper_from_events(env, &beforeEvent, &afterEvent);
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuGraphDestroy
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuGraphDestroy
+  (JNIEnv *env, jclass clazz, jlong graph) {
+    CUresult result = cuGraphDestroy((CUgraph) graph);
+    LOG_PTX_AND_VALIDATE("cuGraphDestroy", result);
+    return (jlong) result;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuGraphExecDestroy
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuGraphExecDestroy
+  (JNIEnv *env, jclass clazz, jlong graph_exec) {
+    CUresult result = cuGraphExecDestroy((CUgraphExec) graph_exec);
+    LOG_PTX_AND_VALIDATE("cuGraphExecDestroy", result);
+    return (jlong) result;
+}
@@ -51,6 +51,8 @@ public class PTXContext {
 
     private native static long cuMemAlloc(long cuContext, long numBytes);
 
+    private native static long cuMemAllocManaged(long cuContext, long cuDevice, long numBytes);
+
     private native static long cuMemFree(long cuContext, long devicePtr);
 
     private native static long cuCtxSetCurrent(long cuContext);
@@ -80,6 +82,24 @@ public class PTXContext {
         }
     }
 
+    /**
+     * Allocates managed memory, accessible from the host and the device, with the
+     * device as its preferred location. Copies from the host then place the pages
+     * on the device, ahead of the kernels that read them.
+     */
+    public long allocateManagedMemory(long numBytes) {
+        long address;
+        try {
+            address = cuMemAllocManaged(ptxContext, device.getCuDevice(), numBytes);
+        } catch (Exception e) {
+            throw new TornadoBailoutRuntimeException("[Error during memory allocation] ", e);
+        }
+        if (address == 0) {
+            throw new TornadoBailoutRuntimeException("[Error during memory allocation] cuMemAllocManaged failed for " + numBytes + " bytes");
+        }
+        return address;
+    }
+
     public void freeMemory(long address) {
         cuMemFree(ptxContext, address);
     }
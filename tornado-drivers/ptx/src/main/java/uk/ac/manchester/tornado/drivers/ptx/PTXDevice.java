@@ -191,4 +191,32 @@ public class PTXDevice implements TornadoTargetDevice {
     public long getCuDevice() {
         return cuDevice;
     }
+
+    public int getMaxThreadsPerMultiprocessor() {
+        return cuDeviceGetAttribute(cuDevice, PTXDeviceAttribute.MAX_THREADS_PER_MULTIPROCESSOR.value());
+    }
+
+    /**
+     * @return true if the device can allocate managed memory with
+     *         {@code cuMemAllocManaged}.
+     */
+    public boolean hasManagedMemory() {
+        return cuDeviceGetAttribute(cuDevice, PTXDeviceAttribute.MANAGED_MEMORY.value()) == 1;
+    }
+
+    /**
+     * @return true if the device can access managed memory concurrently with the
+     *         host, and so migrates pages on demand and accepts prefetches.
+     */
+    public boolean hasConcurrentManagedAccess() {
+        return cuDeviceGetAttribute(cuDevice, PTXDeviceAttribute.CONCURRENT_MANAGED_ACCESS.value()) == 1;
+    }
+
+    /**
+     * @return true if the device is integrated with the host and shares its
+     *         physical memory.
+     */
+    public boolean isIntegrated() {
+        return cuDeviceGetAttribute(cuDevice, PTXDeviceAttribute.INTEGRATED.value()) == 1;
+    }
 }
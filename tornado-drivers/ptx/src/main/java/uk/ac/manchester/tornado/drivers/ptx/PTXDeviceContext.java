@@ -40,6 +40,7 @@ import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
 import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
+import uk.ac.manchester.tornado.drivers.common.counters.HardwareCounters;
 import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXCompilationResult;
 import uk.ac.manchester.tornado.drivers.ptx.mm.PTXKernelArgs;
 import uk.ac.manchester.tornado.drivers.ptx.mm.PTXMemoryManager;
@@ -192,6 +193,10 @@ public class PTXDeviceContext extends TornadoLogger implements TornadoDeviceCont
         stream.sync();
     }
 
+    public void enqueuePrefetch(long address, long length) {
+        stream.enqueuePrefetch(address, length, device.getCuDevice());
+    }
+
     public void flush() {
         // I don't think there is anything like this in CUDA so I am calling sync
         sync();
@@ -204,6 +209,31 @@ public class PTXDeviceContext extends TornadoLogger implements TornadoDeviceCont
     }
 
     public int enqueueKernelLaunch(PTXModule module, KernelArgs kernelArgs, TaskMetaData taskMeta, long batchThreads) {
+        int[][] dimensions = calculateLaunchDimensions(module, taskMeta, batchThreads);
+        int[] gridDimension = dimensions[0];
+        int[] blockDimension = dimensions[1];
+        int kernelLaunchEvent = stream.enqueueKernelLaunch(module, taskMeta, writePTXKernelContextOnDevice((PTXKernelArgs) kernelArgs, taskMeta), gridDimension, blockDimension);
+        updateProfiler(kernelLaunchEvent, taskMeta, HardwareCounters.isEnabled() && HardwareCounters.isNative() ? module.getOccupancyCounters(device, blockDimension) : null);
+        return kernelLaunchEvent;
+    }
+
+    /**
+     * Adds a kernel launch to a CUDA graph, after the node {@code dependency}. The
+     * kernel context is written to the device now, and the parameters are copied
+     * into the graph node.
+     *
+     * @return the node added, or 0 if the driver rejects it.
+     */
+    long addKernelLaunchToGraph(long graph, long dependency, PTXModule module, KernelArgs kernelArgs, TaskMetaData taskMeta, long batchThreads) {
+        int[][] dimensions = calculateLaunchDimensions(module, taskMeta, batchThreads);
+        return stream.addKernelNode(graph, dependency, module, taskMeta, writePTXKernelContextOnDevice((PTXKernelArgs) kernelArgs, taskMeta), dimensions[0], dimensions[1]);
+    }
+
+    public PTXGraph createGraph() {
+        return new PTXGraph(this, stream);
+    }
+
+    private int[][] calculateLaunchDimensions(PTXModule module, TaskMetaData taskMeta, long batchThreads) {
         int[] blockDimension = { 1, 1, 1 };
         int[] gridDimension = { 1, 1, 1 };
         if (taskMeta.isWorkerGridAvailable()) {
@@ -228,10 +258,7 @@ public class PTXDeviceContext extends TornadoLogger implements TornadoDeviceCont
             blockDimension = scheduler.calculateBlockDimension(module, taskMeta);
             gridDimension = scheduler.calculateGridDimension(module, taskMeta, blockDimension);
         }
-
-        int kernelLaunchEvent = stream.enqueueKernelLaunch(module, taskMeta, writePTXKernelContextOnDevice((PTXKernelArgs) kernelArgs, taskMeta), gridDimension, blockDimension);
-        updateProfiler(kernelLaunchEvent, taskMeta);
-        return kernelLaunchEvent;
+        return new int[][] { gridDimension, blockDimension };
     }
 
     private byte[] writePTXKernelContextOnDevice(PTXKernelArgs ptxKernelArgs, TaskMetaData meta) {
@@ -264,32 +291,35 @@ public class PTXDeviceContext extends TornadoLogger implements TornadoDeviceCont
     private void updateProfilerKernelContextWrite(int kernelContextWriteEventId, TaskMetaData meta, PTXKernelArgs callWrapper) {
         if (TornadoOptions.isProfilerEnabled()) {
             TornadoProfiler profiler = meta.getProfiler();
-            Event event = resolveEvent(kernelContextWriteEventId);
-            event.waitForEvents();
-            long copyInTimer = meta.getProfiler().getTimer(ProfilerType.COPY_IN_TIME);
-            copyInTimer += event.getElapsedTime();
-            profiler.setTimer(ProfilerType.COPY_IN_TIME, copyInTimer);
-            profiler.addValueToMetric(ProfilerType.TOTAL_COPY_IN_SIZE_BYTES, meta.getId(), callWrapper.getSize());
-
-            long dispatchValue = profiler.getTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME);
-            dispatchValue += event.getDriverDispatchTime();
-            profiler.setTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME, dispatchValue);
+            final long numBytes = callWrapper.getSize();
+            profiler.deferEvent(resolveEvent(kernelContextWriteEventId), event -> {
+                long copyInTimer = profiler.getTimer(ProfilerType.COPY_IN_TIME);
+                copyInTimer += event.getElapsedTime();
+                profiler.setTimer(ProfilerType.COPY_IN_TIME, copyInTimer);
+                profiler.addValueToMetric(ProfilerType.TOTAL_COPY_IN_SIZE_BYTES, meta.getId(), numBytes);
+
+                long dispatchValue = profiler.getTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME);
+                dispatchValue += event.getDriverDispatchTime();
+                profiler.setTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME, dispatchValue);
+            });
         }
     }
 
-    private void updateProfiler(final int taskEvent, final TaskMetaData meta) {
+    private void updateProfiler(final int taskEvent, final TaskMetaData meta, final PTXOccupancyCounters occupancy) {
         if (TornadoOptions.isProfilerEnabled()) {
-            Event tornadoKernelEvent = resolveEvent(taskEvent);
-            tornadoKernelEvent.waitForEvents();
-            long timer = meta.getProfiler().getTimer(ProfilerType.TOTAL_KERNEL_TIME);
-            // Register globalTime
-            meta.getProfiler().setTimer(ProfilerType.TOTAL_KERNEL_TIME, timer + tornadoKernelEvent.getElapsedTime());
-            // Register the time for the task
-            meta.getProfiler().setTaskTimer(ProfilerType.TASK_KERNEL_TIME, meta.getId(), tornadoKernelEvent.getElapsedTime());
-            // Register the dispatch time of the kernel
-            long dispatchValue = meta.getProfiler().getTimer(ProfilerType.TOTAL_DISPATCH_KERNEL_TIME);
-            dispatchValue += tornadoKernelEvent.getDriverDispatchTime();
-            meta.getProfiler().setTimer(ProfilerType.TOTAL_DISPATCH_KERNEL_TIME, dispatchValue);
+            TornadoProfiler profiler = meta.getProfiler();
+            profiler.deferEvent(resolveEvent(taskEvent), tornadoKernelEvent -> {
+                long timer = profiler.getTimer(ProfilerType.TOTAL_KERNEL_TIME);
+                // Register globalTime
+                profiler.setTimer(ProfilerType.TOTAL_KERNEL_TIME, timer + tornadoKernelEvent.getElapsedTime());
+                // Register the time for the task
+                profiler.setTaskTimer(ProfilerType.TASK_KERNEL_TIME, meta.getId(), tornadoKernelEvent.getElapsedTime());
+                // Register the dispatch time of the kernel
+                long dispatchValue = profiler.getTimer(ProfilerType.TOTAL_DISPATCH_KERNEL_TIME);
+                dispatchValue += tornadoKernelEvent.getDriverDispatchTime();
+                profiler.setTimer(ProfilerType.TOTAL_DISPATCH_KERNEL_TIME, dispatchValue);
+                HardwareCounters.sample(profiler, meta, tornadoKernelEvent, occupancy);
+            });
         }
     }
 
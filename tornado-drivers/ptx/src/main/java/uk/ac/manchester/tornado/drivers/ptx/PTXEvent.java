@@ -47,6 +47,8 @@ public class PTXEvent implements Event {
     private boolean isCompleted;
     private final String description;
     private final String name;
+    private PTXEventPool pool;
+    private int localId;
 
     public PTXEvent(byte[][] bytes, EventDescriptor descriptorId) {
         eventWrapper = bytes;
@@ -163,4 +165,19 @@ public class PTXEvent implements Event {
         cuEventDestroy(eventWrapper[0]);
         cuEventDestroy(eventWrapper[1]);
     }
+
+    void setLocalId(PTXEventPool pool, int localId) {
+        this.pool = pool;
+        this.localId = localId;
+    }
+
+    @Override
+    public void retain() {
+        pool.retainEvent(localId);
+    }
+
+    @Override
+    public void release() {
+        pool.releaseEvent(localId);
+    }
 }
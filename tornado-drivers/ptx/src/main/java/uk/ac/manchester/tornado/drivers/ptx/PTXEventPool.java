@@ -23,98 +23,56 @@
  */
 package uk.ac.manchester.tornado.drivers.ptx;
 
-import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.guarantee;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.fatal;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.CIRCULAR_EVENTS;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.BitSet;
 import java.util.List;
 
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.drivers.common.EventDescriptor;
+import uk.ac.manchester.tornado.drivers.common.EventRegistry;
 
 public class PTXEventPool {
 
-    private final PTXEvent[] events;
-    private final BitSet retain;
-    private int eventIndex;
-    private int eventPoolSize;
+    private final EventRegistry<PTXEvent> events;
 
     protected PTXEventPool(int poolSize) {
-        this.eventPoolSize = poolSize;
-        this.retain = new BitSet(poolSize);
-        this.retain.clear();
-        this.events = new PTXEvent[poolSize];
-        this.eventIndex = 0;
+        this.events = new EventRegistry<>(poolSize, CIRCULAR_EVENTS, (localId, event) -> {
+            event.waitForEvents();
+            event.destroy();
+        });
     }
 
     protected int registerEvent(byte[][] eventWrapper, EventDescriptor descriptorId) {
-        if (retain.get(eventIndex)) {
-            findNextEventSlot();
-        }
-        final int currentEvent = eventIndex;
-        guarantee(!retain.get(currentEvent), "overwriting retained event");
-
         if (eventWrapper == null) {
             fatal("invalid event: description=%s\n", descriptorId.getNameDescription());
-            fatal("terminating application as system integrity has been compromised.");
+            fatal("aborting the execution of the task-graph.");
             throw new TornadoBailoutRuntimeException("[ERROR] NULL event received from the CUDA driver !");
         }
-
-        if (events[currentEvent] != null && !retain.get(currentEvent)) {
-            events[currentEvent].waitForEvents();
-            events[currentEvent].destroy();
-            events[currentEvent] = null;
-        }
-        events[currentEvent] = new PTXEvent(eventWrapper, descriptorId);
-
-        findNextEventSlot();
-        return currentEvent;
-    }
-
-    private void findNextEventSlot() {
-        eventIndex = retain.nextClearBit(eventIndex + 1);
-
-        if (CIRCULAR_EVENTS && (eventIndex >= events.length)) {
-            eventIndex = 0;
-        }
-
-        guarantee(eventIndex != -1, "event window is full (retained=%d, capacity=%d)", retain.cardinality(), eventPoolSize);
+        PTXEvent event = new PTXEvent(eventWrapper, descriptorId);
+        int localId = events.register(event);
+        event.setLocalId(this, localId);
+        return localId;
     }
 
     protected void reset() {
-        for (PTXEvent event : events) {
-            if (event != null) {
-                event.destroy();
-            }
-        }
-        Arrays.fill(events, null);
-        eventIndex = 0;
+        events.reset();
     }
 
-    private void releaseEvent(int localEventID) {
-        retain.clear(localEventID);
+    protected void releaseEvent(int localEventID) {
+        events.release(localEventID);
     }
 
-    private void retainEvent(int localEventID) {
-        retain.set(localEventID);
+    protected void retainEvent(int localEventID) {
+        events.retain(localEventID);
     }
 
     protected PTXEvent getEvent(int localEventID) {
-        return events[localEventID];
+        return events.get(localEventID);
     }
 
     public List<PTXEvent> getEvents() {
-        List<PTXEvent> result = new ArrayList<>();
-        for (int i = 0; i < eventIndex; i++) {
-            if (events[i] == null) {
-                continue;
-            }
-            result.add(events[i]);
-        }
-        return result;
+        return events.getEvents();
     }
 
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.ptx;
+
+import uk.ac.manchester.tornado.drivers.ptx.graal.PTXInstalledCode;
+import uk.ac.manchester.tornado.runtime.common.KernelArgs;
+import uk.ac.manchester.tornado.runtime.common.TornadoCommandGraph;
+import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * CUDA graph of kernel launches. Each launch is a kernel node that depends on
+ * the previous one, so the launches keep the order of the stream. Once
+ * instantiated, the graph is submitted to the stream with a single
+ * {@code cuGraphLaunch}.
+ */
+public class PTXGraph implements TornadoCommandGraph {
+
+    private final PTXDeviceContext deviceContext;
+    private final PTXStream stream;
+    private long graph;
+    private long graphExec;
+    private long lastNode;
+
+    PTXGraph(PTXDeviceContext deviceContext, PTXStream stream) {
+        this.deviceContext = deviceContext;
+        this.stream = stream;
+    }
+
+    @Override
+    public boolean addLaunch(TornadoInstalledCode installedCode, KernelArgs callWrapper, TaskMetaData meta, long batchThreads) {
+        if (!(installedCode instanceof PTXInstalledCode) || graphExec != 0) {
+            return false;
+        }
+        if (graph == 0) {
+            graph = stream.createGraph();
+            if (graph == 0) {
+                return false;
+            }
+        }
+        long node = deviceContext.addKernelLaunchToGraph(graph, lastNode, ((PTXInstalledCode) installedCode).getModule(), callWrapper, meta, batchThreads);
+        if (node == 0) {
+            return false;
+        }
+        lastNode = node;
+        return true;
+    }
+
+    @Override
+    public boolean instantiate() {
+        if (graph == 0) {
+            return false;
+        }
+        graphExec = stream.instantiateGraph(graph);
+        // The graph is destroyed by the instantiation
+        graph = 0;
+        return graphExec != 0;
+    }
+
+    @Override
+    public int launch() {
+        return stream.enqueueGraphLaunch(graphExec);
+    }
+
+    @Override
+    public void destroy() {
+        if (graph != 0) {
+            stream.destroyGraph(graph);
+            graph = 0;
+        }
+        if (graphExec != 0) {
+            stream.destroyGraphExec(graphExec);
+            graphExec = 0;
+        }
+        lastNode = 0;
+    }
+}
@@ -23,12 +23,16 @@
  */
 package uk.ac.manchester.tornado.drivers.ptx;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class PTXModule {
     public final byte[] moduleWrapper;
     public final String kernelFunctionName;
     private int maxBlockSize;
     public final String javaName;
     private final byte[] source;
+    private final Map<Integer, PTXOccupancyCounters> occupancyCounters = new ConcurrentHashMap<>();
 
     public PTXModule(String name, byte[] source, String kernelFunctionName) {
         moduleWrapper = cuModuleLoadData(source);
@@ -44,6 +48,8 @@ public class PTXModule {
 
     private static native int cuOccupancyMaxPotentialBlockSize(byte[] module, String funcName);
 
+    private static native int cuOccupancyMaxActiveBlocksPerMultiprocessor(byte[] module, String funcName, int blockSize);
+
     public int getPotentialBlockSizeMaxOccupancy() {
         if (maxBlockSize < 0) {
             maxBlockSize = cuOccupancyMaxPotentialBlockSize(moduleWrapper, kernelFunctionName);
@@ -51,6 +57,26 @@ public class PTXModule {
         return maxBlockSize;
     }
 
+    /**
+     * @return the number of blocks of the given size that can be resident at the
+     *         same time on one multiprocessor.
+     */
+    public int getMaxActiveBlocksPerMultiprocessor(int blockSize) {
+        return cuOccupancyMaxActiveBlocksPerMultiprocessor(moduleWrapper, kernelFunctionName, blockSize);
+    }
+
+    /**
+     * @return the occupancy counters of a launch with the given block, computed
+     *         once per block size.
+     */
+    public PTXOccupancyCounters getOccupancyCounters(PTXDevice device, int[] blockDimension) {
+        int blockSize = 1;
+        for (int dimension : blockDimension) {
+            blockSize *= dimension;
+        }
+        return occupancyCounters.computeIfAbsent(blockSize, size -> new PTXOccupancyCounters(this, device, size));
+    }
+
     public byte[] getSource() {
         return source;
     }
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.ptx;
+
+import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.drivers.common.counters.HardwareCounterProvider;
+import uk.ac.manchester.tornado.runtime.profiler.HardwareCounterSnapshot;
+import uk.ac.manchester.tornado.runtime.profiler.HardwareCounterSnapshot.Source;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Occupancy counters of a PTX kernel launch, computed with the occupancy API of
+ * the CUDA driver. The values are queried at the first launch of a module with
+ * a given block size, while the CUDA context is current, and cached by the
+ * {@link PTXModule}. They are reported once the event of each launch completes.
+ *
+ * <p>
+ * The occupancy API models the resources of the kernel; it does not sample the
+ * device. The active blocks and the occupancy are therefore reported as
+ * {@link Source#THEORETICAL}, and the block size as {@link Source#CONFIGURED}.
+ * Measured occupancy would need CUPTI, which this backend does not link
+ * against.
+ * </p>
+ */
+public class PTXOccupancyCounters implements HardwareCounterProvider {
+
+    public static final String BLOCK_SIZE = "BLOCK_SIZE";
+    public static final String ACTIVE_BLOCKS_PER_SM = "ACTIVE_BLOCKS_PER_SM";
+    public static final String THEORETICAL_OCCUPANCY = "THEORETICAL_OCCUPANCY";
+
+    private final int blockSize;
+    private final int activeBlocksPerMultiprocessor;
+    private final int maxThreadsPerMultiprocessor;
+
+    PTXOccupancyCounters(PTXModule module, PTXDevice device, int blockSize) {
+        this.blockSize = blockSize;
+        this.activeBlocksPerMultiprocessor = module.getMaxActiveBlocksPerMultiprocessor(blockSize);
+        this.maxThreadsPerMultiprocessor = device.getMaxThreadsPerMultiprocessor();
+    }
+
+    @Override
+    public String getName() {
+        return "cuda-occupancy";
+    }
+
+    @Override
+    public HardwareCounterSnapshot collect(TaskMetaData meta, Event kernelEvent) {
+        HardwareCounterSnapshot snapshot = new HardwareCounterSnapshot(getName());
+        snapshot.put(BLOCK_SIZE, blockSize, Source.CONFIGURED);
+        snapshot.put(ACTIVE_BLOCKS_PER_SM, activeBlocksPerMultiprocessor, Source.THEORETICAL);
+        if (maxThreadsPerMultiprocessor > 0) {
+            snapshot.put(THEORETICAL_OCCUPANCY, Math.min(1.0, (double) activeBlocksPerMultiprocessor * blockSize / maxThreadsPerMultiprocessor), Source.THEORETICAL);
+        }
+        return snapshot;
+    }
+}
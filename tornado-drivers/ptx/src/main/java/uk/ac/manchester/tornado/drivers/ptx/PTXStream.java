@@ -122,8 +122,27 @@ public class PTXStream extends TornadoLogger {
 
     private static native long cuStreamSynchronize(byte[] streamWrapper);
 
+    private static native long cuMemPrefetchAsync(long address, long length, long cuDevice, byte[] streamWrapper);
+
     private static native byte[][] cuEventCreateAndRecord(boolean isProfilingEnabled, byte[] streamWrapper);
 
+    private static native long cuGraphCreate();
+
+    private static native long cuGraphAddKernelNode(long graph, long dependency, byte[] module, String name, int gridDimX, int gridDimY, int gridDimZ, int blockDimX, int blockDimY, int blockDimZ,
+            long sharedMemBytes, byte[] args);
+
+    /**
+     * This JNI call instantiates the graph and destroys it: the executable graph
+     * does not depend on it.
+     */
+    private static native long cuGraphInstantiate(long graph);
+
+    private static native byte[][] cuGraphLaunch(long graphExec, byte[] streamWrapper);
+
+    private static native long cuGraphDestroy(long graph);
+
+    private static native long cuGraphExecDestroy(long graphExec);
+
     private int registerEvent(EventDescriptor descriptorId) {
         return ptxEventPool.registerEvent(cuEventCreateAndRecord(TornadoOptions.isProfilerEnabled(), streamPool), descriptorId);
     }
@@ -140,6 +159,14 @@ public class PTXStream extends TornadoLogger {
         cuStreamSynchronize(streamPool);
     }
 
+    /**
+     * Migrates the pages of a managed buffer to the device, ordered after the
+     * work already enqueued in this stream.
+     */
+    public void enqueuePrefetch(long address, long length, long cuDevice) {
+        cuMemPrefetchAsync(address, length, cuDevice, streamPool);
+    }
+
     public void cleanup() {
         cuDestroyStream(streamPool);
     }
@@ -182,6 +209,36 @@ public class PTXStream extends TornadoLogger {
                 streamPool, kernelParams), EventDescriptor.DESC_PARALLEL_KERNEL);
     }
 
+    long createGraph() {
+        return cuGraphCreate();
+    }
+
+    long addKernelNode(long graph, long dependency, PTXModule module, TaskMetaData taskMeta, byte[] kernelParams, int[] gridDim, int[] blockDim) {
+        if (taskMeta.isThreadInfoEnabled()) {
+            taskMeta.setPtxBlockDim(Arrays.stream(blockDim).mapToLong(i -> i).toArray());
+            taskMeta.setPtxGridDim(Arrays.stream(gridDim).mapToLong(i -> i).toArray());
+            taskMeta.printThreadDims();
+        }
+        return cuGraphAddKernelNode(graph, dependency, module.moduleWrapper, module.kernelFunctionName, gridDim[0], gridDim[1], gridDim[2], blockDim[0], blockDim[1], blockDim[2],
+                DYNAMIC_SHARED_MEMORY_BYTES, kernelParams);
+    }
+
+    long instantiateGraph(long graph) {
+        return cuGraphInstantiate(graph);
+    }
+
+    public int enqueueGraphLaunch(long graphExec) {
+        return registerEvent(cuGraphLaunch(graphExec, streamPool), EventDescriptor.DESC_PARALLEL_KERNEL);
+    }
+
+    void destroyGraph(long graph) {
+        cuGraphDestroy(graph);
+    }
+
+    void destroyGraphExec(long graphExec) {
+        cuGraphExecDestroy(graphExec);
+    }
+
     public int enqueueBarrier() {
         cuStreamSynchronize(streamPool);
         return registerEvent(EventDescriptor.DESC_SYNC_BARRIER);
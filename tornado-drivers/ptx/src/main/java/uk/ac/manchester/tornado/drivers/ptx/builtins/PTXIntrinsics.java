@@ -58,6 +58,31 @@ public class PTXIntrinsics {
      */
     public static native void globalBarrier();
 
+    public static native int get_sub_group_id();
+
+    public static native int get_sub_group_local_id();
+
+    public static native int get_num_sub_groups();
+
+    /**
+     * <p>
+     * <code>
+     *  redux.sync.add.s32 (sm_80+) or shfl.sync.bfly.b32 + add
+     * </code>
+     * </p>
+     */
+    public static native int sub_group_reduce_add(int value);
+
+    public static native float sub_group_reduce_add(float value);
+
+    public static native int sub_group_reduce_min(int value);
+
+    public static native float sub_group_reduce_min(float value);
+
+    public static native int sub_group_reduce_max(int value);
+
+    public static native float sub_group_reduce_max(float value);
+
     public static native void printf();
 
     public static native void printEmpty();
@@ -42,8 +42,12 @@ public enum PTXDeviceAttribute {
     MAX_REGISTERS_PER_BLOCK(12), //
     CLOCK_RATE(13), //
     MULTIPROCESSOR_COUNT(16), //
+    INTEGRATED(18), //
+    MAX_THREADS_PER_MULTIPROCESSOR(39), //
     COMPUTE_CAPABILITY_MAJOR(75), //
-    COMPUTE_CAPABILITY_MINOR(76); //
+    COMPUTE_CAPABILITY_MINOR(76), //
+    MANAGED_MEMORY(83), //
+    CONCURRENT_MANAGED_ACCESS(89); //
 
     private final int value;
 
@@ -29,6 +29,7 @@ import uk.ac.manchester.tornado.drivers.ptx.PTXDeviceContext;
 import uk.ac.manchester.tornado.drivers.ptx.PTXModule;
 import uk.ac.manchester.tornado.runtime.common.KernelArgs;
 import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.TornadoFlightRecorder;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
 public class PTXInstalledCode extends InstalledCode implements TornadoInstalledCode {
@@ -51,7 +52,15 @@ public class PTXInstalledCode extends InstalledCode implements TornadoInstalledC
 
     @Override
     public int launchWithoutDependencies(KernelArgs callWrapper, ObjectBuffer atomicSpace, TaskMetaData meta, long batchThreads) {
-        return deviceContext.enqueueKernelLaunch(module, callWrapper, meta, batchThreads);
+        int kernelEvent = deviceContext.enqueueKernelLaunch(module, callWrapper, meta, batchThreads);
+        if (TornadoFlightRecorder.isKernelEnabled()) {
+            TornadoFlightRecorder.deferKernel(deviceContext.resolveEvent(kernelEvent), meta.getId(), meta.getLogicDevice());
+        }
+        return kernelEvent;
+    }
+
+    public PTXModule getModule() {
+        return module;
     }
 
     public String getGeneratedSourceCode() {
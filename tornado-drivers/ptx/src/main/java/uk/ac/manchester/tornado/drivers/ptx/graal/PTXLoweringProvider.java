@@ -97,6 +97,7 @@ import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.calc.DivNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.vector.LoadIndexedVectorNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.snippets.PTXGPUReduceSnippets;
 import uk.ac.manchester.tornado.runtime.TornadoVMConfig;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graal.nodes.GetGroupIdFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.GlobalGroupSizeFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.LocalGroupSizeFixedWithNextNode;
@@ -144,7 +145,7 @@ public class PTXLoweringProvider extends DefaultJavaLoweringProvider {
     }
 
     private void initializeSnippets(OptionValues options, Providers providers) {
-        this.gpuReduceSnippets = new PTXGPUReduceSnippets.Templates(options, providers);
+        this.gpuReduceSnippets = new PTXGPUReduceSnippets.Templates(options, providers, TornadoOptions.SUBGROUP_REDUCTIONS);
     }
 
     @Override
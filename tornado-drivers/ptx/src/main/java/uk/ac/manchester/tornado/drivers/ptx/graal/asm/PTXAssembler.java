@@ -417,6 +417,8 @@ public class PTXAssembler extends Assembler {
         public static final PTXUnaryOp TESTP_NOTANUMBER = new PTXUnaryOp(TEST_NOTANUMBER, false, null);
         public static final PTXUnaryOp TESTP_NORMAL = new PTXUnaryOp(TEST_NORMAL, false, null);
         public static final PTXUnaryOp TESTP_SUBNORMAL = new PTXUnaryOp(TEST_SUBNORMAL, false, null);
+        public static final PTXUnaryOp CVT_HALF_TO_FLOAT = new PTXUnaryOp("cvt.f32.f16", null, false, false);
+        public static final PTXUnaryOp CVT_FLOAT_TO_HALF = new PTXUnaryOp("cvt.rn.f16.f32", null, false, false);
 
         private final String roundingMode;
 
@@ -59,15 +59,20 @@ import jdk.vm.ci.meta.JavaConstant;
 import jdk.vm.ci.meta.JavaKind;
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.collections.types.HalfFloat;
 import uk.ac.manchester.tornado.api.exceptions.Debug;
 import uk.ac.manchester.tornado.drivers.ptx.graal.PTXArchitecture;
 import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXKind;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.FloatToHalfNode;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.HalfToFloatNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.LocalArrayNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXBarrierNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXFPBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXFPUnaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXIntBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXIntUnaryIntrinsicNode;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXSubGroupNode;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXSubGroupNode.SubGroupOperation;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PrintfNode;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 
@@ -84,6 +89,35 @@ public class PTXGraphBuilderPlugins {
         PTXVectorPlugins.registerPlugins(ps, plugins);
 
         registerKernelContextPlugins(plugins);
+        registerHalfFloatPlugins(plugins);
+    }
+
+    private static void registerHalfFloatPlugins(InvocationPlugins plugins) {
+        Registration r = new Registration(plugins, HalfFloat.class);
+
+        r.register(new InvocationPlugin("toFloat", short.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value) {
+                if (value.isConstant()) {
+                    b.push(JavaKind.Float, b.append(ConstantNode.forFloat(HalfFloat.toFloat((short) value.asJavaConstant().asInt()))));
+                } else {
+                    b.push(JavaKind.Float, b.append(new HalfToFloatNode(value)));
+                }
+                return true;
+            }
+        });
+
+        r.register(new InvocationPlugin("toHalf", float.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value) {
+                if (value.isConstant()) {
+                    b.push(JavaKind.Short, b.append(ConstantNode.forInt(HalfFloat.toHalf(value.asJavaConstant().asFloat()))));
+                } else {
+                    b.push(JavaKind.Short, b.append(new FloatToHalfNode(value)));
+                }
+                return true;
+            }
+        });
     }
 
     private static void registerTornadoInstrinsicsPlugins(InvocationPlugins plugins) {
@@ -265,6 +299,57 @@ public class PTXGraphBuilderPlugins {
         registerLocalBarrier(r);
         registerGlobalBarrier(r);
         localArraysPlugins(r);
+        registerSubGroupPlugins(r);
+    }
+
+    private static void registerSubGroupQuery(Registration r, String methodName, SubGroupOperation operation) {
+        r.register(new InvocationPlugin(methodName, InvocationPlugin.Receiver.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver) {
+                b.addPush(JavaKind.Int, new PTXSubGroupNode(operation));
+                return true;
+            }
+        });
+    }
+
+    private static void registerSubGroupExchange(Registration r, String methodName, SubGroupOperation operation, Class<?> type, JavaKind kind) {
+        r.register(new InvocationPlugin(methodName, InvocationPlugin.Receiver.class, type, int.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value, ValueNode subGroupLocalId) {
+                b.addPush(kind, new PTXSubGroupNode(operation, value, subGroupLocalId));
+                return true;
+            }
+        });
+    }
+
+    private static void registerSubGroupCollective(Registration r, String methodName, SubGroupOperation operation, Class<?> type, JavaKind kind) {
+        r.register(new InvocationPlugin(methodName, InvocationPlugin.Receiver.class, type) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value) {
+                b.addPush(kind, new PTXSubGroupNode(operation, value));
+                return true;
+            }
+        });
+    }
+
+    private static void registerSubGroupPlugins(Registration r) {
+        registerSubGroupQuery(r, "getSubGroupSize", SubGroupOperation.SIZE);
+        registerSubGroupQuery(r, "getSubGroupLocalId", SubGroupOperation.LOCAL_ID);
+        registerSubGroupQuery(r, "getSubGroupId", SubGroupOperation.ID);
+        registerSubGroupQuery(r, "getNumSubGroups", SubGroupOperation.NUM_SUB_GROUPS);
+
+        registerSubGroupOperations(r, int.class, JavaKind.Int);
+        registerSubGroupOperations(r, float.class, JavaKind.Float);
+    }
+
+    private static void registerSubGroupOperations(Registration r, Class<?> type, JavaKind kind) {
+        registerSubGroupExchange(r, "subGroupShuffle", SubGroupOperation.SHUFFLE, type, kind);
+        registerSubGroupExchange(r, "subGroupBroadcast", SubGroupOperation.BROADCAST, type, kind);
+        registerSubGroupCollective(r, "subGroupReduceAdd", SubGroupOperation.REDUCE_ADD, type, kind);
+        registerSubGroupCollective(r, "subGroupReduceMin", SubGroupOperation.REDUCE_MIN, type, kind);
+        registerSubGroupCollective(r, "subGroupReduceMax", SubGroupOperation.REDUCE_MAX, type, kind);
+        registerSubGroupCollective(r, "subGroupScanInclusiveAdd", SubGroupOperation.SCAN_INCLUSIVE_ADD, type, kind);
+        registerSubGroupCollective(r, "subGroupScanExclusiveAdd", SubGroupOperation.SCAN_EXCLUSIVE_ADD, type, kind);
     }
 
     private static void registerFPIntrinsics(Registration r, Class<?> type, JavaKind kind) {
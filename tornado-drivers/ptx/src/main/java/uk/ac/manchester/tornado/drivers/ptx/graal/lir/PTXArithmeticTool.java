@@ -43,6 +43,7 @@ import uk.ac.manchester.tornado.drivers.ptx.graal.PTXLIRKindTool;
 import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler;
 import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXBinaryOp;
 import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXTernaryOp;
+import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXUnaryOp;
 import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXLIRGenerator;
 
 public class PTXArithmeticTool extends ArithmeticLIRGenerator {
@@ -171,8 +172,12 @@ public class PTXArithmeticTool extends ArithmeticLIRGenerator {
 
     @Override
     public Value emitReinterpret(LIRKind to, Value inputVal) {
-        unimplemented();
-        return null;
+        Logger.traceBuildLIR(Logger.BACKEND.PTX, "emitReinterpret to=%s inputVal=%s", to, inputVal);
+        Variable result = getGen().newVariable(to);
+        // A move on the untyped kind copies the bits unchanged
+        PTXKind untypedKind = ((PTXKind) to.getPlatformKind()).toUntyped();
+        getGen().append(new PTXLIRStmt.AssignStmt(result, untypedKind, inputVal, untypedKind));
+        return result;
     }
 
     @Override
@@ -345,6 +350,25 @@ public class PTXArithmeticTool extends ArithmeticLIRGenerator {
         return result;
     }
 
+    public Value emitHalfToFloat(LIRKind resultKind, Value operand) {
+        Logger.traceBuildLIR(Logger.BACKEND.PTX, "emit half to float op1=%s ", operand);
+        // Half floats are held in untyped 16-bit registers, as required by cvt
+        Variable halfValue = getGen().newVariable(LIRKind.value(PTXKind.B16));
+        getGen().append(new PTXLIRStmt.AssignStmt(halfValue, operand));
+        Variable result = getGen().newVariable(resultKind);
+        getGen().append(new PTXLIRStmt.AssignStmt(result, new PTXUnary.Expr(PTXUnaryOp.CVT_HALF_TO_FLOAT, resultKind, halfValue)));
+        return result;
+    }
+
+    public Value emitFloatToHalf(LIRKind resultKind, Value operand) {
+        Logger.traceBuildLIR(Logger.BACKEND.PTX, "emit float to half op1=%s ", operand);
+        Variable halfValue = getGen().newVariable(LIRKind.value(PTXKind.B16));
+        getGen().append(new PTXLIRStmt.AssignStmt(halfValue, new PTXUnary.Expr(PTXUnaryOp.CVT_FLOAT_TO_HALF, LIRKind.value(PTXKind.B16), operand)));
+        Variable result = getGen().newVariable(resultKind);
+        getGen().append(new PTXLIRStmt.AssignStmt(result, halfValue));
+        return result;
+    }
+
     public Value emitRSQRT(Value operand) {
         Logger.traceBuildLIR(Logger.BACKEND.PTX, "emit rsqrt op1=%s ", operand);
         LIRKind resultKind = LIRKind.value(operand.getPlatformKind());
@@ -35,6 +35,7 @@ import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler;
 import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXNullaryOp;
 import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXCompilationResultBuilder;
 import uk.ac.manchester.tornado.drivers.ptx.graal.meta.PTXMemorySpace;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXSubGroupNode.SubGroupOperation;
 
 import java.nio.charset.StandardCharsets;
 
@@ -452,4 +453,165 @@ public class PTXLIRStmt {
             asm.eol();
         }
     }
+
+    /**
+     * Shuffle within a warp. The value of the lane {@code subGroupLocalId} is
+     * copied into {@code result}.
+     *
+     * <code>
+     *     shfl.sync.idx.b32 result, value, subGroupLocalId, 0x1f, 0xffffffff;
+     * </code>
+     */
+    @Opcode("WARP_SHUFFLE")
+    public static class WarpShuffleStmt extends AbstractInstruction {
+
+        public static final LIRInstructionClass<WarpShuffleStmt> TYPE = LIRInstructionClass.create(WarpShuffleStmt.class);
+
+        @Def
+        protected Value result;
+        @Use
+        protected Value value;
+        @Use
+        protected Value subGroupLocalId;
+
+        public WarpShuffleStmt(Value result, Value value, Value subGroupLocalId) {
+            super(TYPE);
+            this.result = result;
+            this.value = value;
+            this.subGroupLocalId = subGroupLocalId;
+        }
+
+        @Override
+        public void emitCode(PTXCompilationResultBuilder crb, PTXAssembler asm) {
+            openWarpBlock(asm);
+            emitWarpStatement(asm, "shfl.sync.idx.b32 %s, %s, %s, 0x1f, %s", PTXAssembler.toString(result), PTXAssembler.toString(value), PTXAssembler.toString(subGroupLocalId), WARP_MASK);
+            closeWarpBlock(asm);
+        }
+    }
+
+    /**
+     * Reductions and prefix sums within a warp. Integer reductions use
+     * {@code redux.sync} on devices with compute capability 8.0 or newer. The
+     * rest of the operations are expanded into a sequence of
+     * {@code shfl.sync.bfly} (reductions) or {@code shfl.sync.up} (scans)
+     * instructions inside a scoped block that declares its own temporaries.
+     *
+     * <p>
+     * The member mask is taken from {@code activemask} so that warps with exited
+     * lanes (e.g. the tail of the last block) do not wait for them. Butterfly
+     * steps only combine values from lanes that are in the mask, which leaves the
+     * full result in lane 0 when the active lanes are a prefix of the warp.
+     * </p>
+     */
+    @Opcode("WARP_COLLECTIVE")
+    public static class WarpCollectiveStmt extends AbstractInstruction {
+
+        public static final LIRInstructionClass<WarpCollectiveStmt> TYPE = LIRInstructionClass.create(WarpCollectiveStmt.class);
+
+        private static final int REDUX_SYNC_MIN_MAJOR_VERSION = 8;
+
+        @Def
+        protected Value result;
+        @Use
+        protected Value value;
+
+        private final SubGroupOperation operation;
+
+        public WarpCollectiveStmt(Value result, Value value, SubGroupOperation operation) {
+            super(TYPE);
+            this.result = result;
+            this.value = value;
+            this.operation = operation;
+        }
+
+        private static String combineOpcode(SubGroupOperation operation, PTXKind kind) {
+            switch (operation) {
+                case REDUCE_MIN:
+                    return "min." + kind;
+                case REDUCE_MAX:
+                    return "max." + kind;
+                default:
+                    return "add." + kind;
+            }
+        }
+
+        private static boolean isReduxSyncSupported(PTXCompilationResultBuilder crb) {
+            return crb.getDeviceContext().getDevice().getTargetArchitecture().getMajor() >= REDUX_SYNC_MIN_MAJOR_VERSION;
+        }
+
+        @Override
+        public void emitCode(PTXCompilationResultBuilder crb, PTXAssembler asm) {
+            PTXKind kind = (PTXKind) result.getPlatformKind();
+            String dest = PTXAssembler.toString(result);
+            String src = PTXAssembler.toString(value);
+            String combine = combineOpcode(operation, kind);
+
+            boolean isReduction = operation == SubGroupOperation.REDUCE_ADD || operation == SubGroupOperation.REDUCE_MIN || operation == SubGroupOperation.REDUCE_MAX;
+            if (isReduction && !kind.isFloating() && isReduxSyncSupported(crb)) {
+                openWarpBlock(asm);
+                emitWarpStatement(asm, "redux.sync.%s %s, %s, %s", combine, dest, src, WARP_MASK);
+                closeWarpBlock(asm);
+                return;
+            }
+
+            openWarpBlock(asm);
+            emitWarpStatement(asm, ".reg .%s %s", kind, WARP_TMP);
+            emitWarpStatement(asm, ".reg .pred %s", WARP_PRED);
+            emitWarpStatement(asm, "mov.%s %s, %s", kind, dest, src);
+            if (isReduction) {
+                emitWarpStatement(asm, ".reg .b32 %s", WARP_LANE);
+                emitWarpStatement(asm, ".reg .b32 %s", WARP_SOURCE);
+                emitWarpStatement(asm, "mov.u32 %s, %%laneid", WARP_LANE);
+                for (int offset = WARP_SIZE / 2; offset > 0; offset /= 2) {
+                    emitWarpStatement(asm, "shfl.sync.bfly.b32 %s, %s, %d, 0x1f, %s", WARP_TMP, dest, offset, WARP_MASK);
+                    emitWarpStatement(asm, "xor.b32 %s, %s, %d", WARP_SOURCE, WARP_LANE, offset);
+                    emitWarpStatement(asm, "shr.b32 %s, %s, %s", WARP_SOURCE, WARP_MASK, WARP_SOURCE);
+                    emitWarpStatement(asm, "and.b32 %s, %s, 1", WARP_SOURCE, WARP_SOURCE);
+                    emitWarpStatement(asm, "setp.ne.u32 %s, %s, 0", WARP_PRED, WARP_SOURCE);
+                    emitWarpStatement(asm, "@%s %s %s, %s, %s", WARP_PRED, combine, dest, dest, WARP_TMP);
+                }
+            } else {
+                for (int offset = 1; offset < WARP_SIZE; offset *= 2) {
+                    emitWarpStatement(asm, "shfl.sync.up.b32 %s|%s, %s, %d, 0, %s", WARP_TMP, WARP_PRED, dest, offset, WARP_MASK);
+                    emitWarpStatement(asm, "@%s %s %s, %s, %s", WARP_PRED, combine, dest, dest, WARP_TMP);
+                }
+                if (operation == SubGroupOperation.SCAN_EXCLUSIVE_ADD) {
+                    String zero = kind.isFloating() ? "0F00000000" : "0";
+                    emitWarpStatement(asm, "shfl.sync.up.b32 %s|%s, %s, 1, 0, %s", WARP_TMP, WARP_PRED, dest, WARP_MASK);
+                    emitWarpStatement(asm, "selp.%s %s, %s, %s, %s", kind, dest, WARP_TMP, zero, WARP_PRED);
+                }
+            }
+            closeWarpBlock(asm);
+        }
+    }
+
+    private static final int WARP_SIZE = 32;
+    private static final String WARP_MASK = "%sg_mask";
+    private static final String WARP_TMP = "%sg_tmp";
+    private static final String WARP_PRED = "%sg_pred";
+    private static final String WARP_LANE = "%sg_lane";
+    private static final String WARP_SOURCE = "%sg_src";
+
+    /**
+     * Opens a scoped block and loads the mask of the lanes that are currently
+     * active. Requires PTX ISA 6.2.
+     */
+    private static void openWarpBlock(PTXAssembler asm) {
+        asm.emitSymbol(TAB);
+        asm.emitLine("{");
+        emitWarpStatement(asm, ".reg .b32 %s", WARP_MASK);
+        emitWarpStatement(asm, "activemask.b32 %s", WARP_MASK);
+    }
+
+    private static void closeWarpBlock(PTXAssembler asm) {
+        asm.emitSymbol(TAB);
+        asm.emitLine("}");
+    }
+
+    private static void emitWarpStatement(PTXAssembler asm, String format, Object... args) {
+        asm.emitSymbol(TAB);
+        asm.emit(format, args);
+        asm.delimiter();
+        asm.eol();
+    }
 }
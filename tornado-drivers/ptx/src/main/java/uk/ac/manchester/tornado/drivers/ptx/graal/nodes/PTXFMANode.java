@@ -32,9 +32,10 @@ import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
 
 import jdk.vm.ci.meta.Value;
 import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXArithmeticTool;
+import uk.ac.manchester.tornado.runtime.graal.phases.MarkFusedMultiplyAdd;
 
 @NodeInfo(shortName = "PTX-FMA")
-public class PTXFMANode extends FloatingNode implements ArithmeticLIRLowerable {
+public class PTXFMANode extends FloatingNode implements ArithmeticLIRLowerable, MarkFusedMultiplyAdd {
     public static final NodeClass<PTXFMANode> TYPE = NodeClass.create(PTXFMANode.class);
 
     @Input
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.ptx.graal.nodes;
+
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.ConstantValue;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.lir.gen.LIRGeneratorTool;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+
+import jdk.vm.ci.meta.JavaConstant;
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.tornado.drivers.common.logging.Logger;
+import uk.ac.manchester.tornado.drivers.ptx.graal.PTXArchitecture;
+import uk.ac.manchester.tornado.drivers.ptx.graal.PTXArchitecture.PTXBuiltInRegister;
+import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXNodeLIRBuilder;
+import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXLIRStmt;
+
+/**
+ * Warp-level built-ins. In PTX a sub-group is a warp of 32 threads and the
+ * sub-group of a thread is given by its linear index within the CTA. The node
+ * is fixed because collective operations must be executed by all threads of
+ * the warp and therefore cannot be scheduled into divergent control flow.
+ */
+@NodeInfo
+public class PTXSubGroupNode extends FixedWithNextNode implements LIRLowerable {
+
+    public static final NodeClass<PTXSubGroupNode> TYPE = NodeClass.create(PTXSubGroupNode.class);
+
+    public static final int WARP_SIZE = 32;
+    private static final int LOG2_WARP_SIZE = 5;
+
+    @OptionalInput
+    protected ValueNode value;
+
+    @OptionalInput
+    protected ValueNode subGroupLocalId;
+
+    private final SubGroupOperation operation;
+
+    public PTXSubGroupNode(SubGroupOperation operation) {
+        super(TYPE, StampFactory.forKind(JavaKind.Int));
+        this.operation = operation;
+    }
+
+    public PTXSubGroupNode(SubGroupOperation operation, ValueNode value) {
+        super(TYPE, StampFactory.forKind(value.getStackKind()));
+        this.operation = operation;
+        this.value = value;
+    }
+
+    public PTXSubGroupNode(SubGroupOperation operation, ValueNode value, ValueNode subGroupLocalId) {
+        this(operation, value);
+        this.subGroupLocalId = subGroupLocalId;
+    }
+
+    public SubGroupOperation getOperation() {
+        return operation;
+    }
+
+    private static Value intConstant(LIRKind kind, int value) {
+        return new ConstantValue(kind, JavaConstant.forInt(value));
+    }
+
+    private static Variable readBuiltIn(NodeLIRBuilderTool gen, LIRKind kind, PTXBuiltInRegister builtIn) {
+        LIRGeneratorTool tool = gen.getLIRGeneratorTool();
+        Variable register = tool.newVariable(kind);
+        tool.append(new PTXLIRStmt.AssignStmt(register, ((PTXNodeLIRBuilder) gen).getBuiltInAllocation(builtIn)));
+        return register;
+    }
+
+    /**
+     * Linear thread index within the CTA: tid.x + ntid.x * (tid.y + ntid.y *
+     * tid.z).
+     */
+    private static Value emitLinearThreadId(NodeLIRBuilderTool gen, LIRKind kind) {
+        LIRGeneratorTool tool = gen.getLIRGeneratorTool();
+        Value tidY = readBuiltIn(gen, kind, PTXArchitecture.ThreadIDY);
+        Value tidZ = readBuiltIn(gen, kind, PTXArchitecture.ThreadIDZ);
+        Value dimY = readBuiltIn(gen, kind, PTXArchitecture.BlockDimY);
+        Value planeIndex = tool.getArithmetic().emitAdd(tool.getArithmetic().emitMul(tidZ, dimY, false), tidY, false);
+        Value tidX = readBuiltIn(gen, kind, PTXArchitecture.ThreadIDX);
+        Value dimX = readBuiltIn(gen, kind, PTXArchitecture.BlockDimX);
+        return tool.getArithmetic().emitAdd(tool.getArithmetic().emitMul(planeIndex, dimX, false), tidX, false);
+    }
+
+    private static Value emitNumberOfThreads(NodeLIRBuilderTool gen, LIRKind kind) {
+        LIRGeneratorTool tool = gen.getLIRGeneratorTool();
+        Value dimX = readBuiltIn(gen, kind, PTXArchitecture.BlockDimX);
+        Value dimY = readBuiltIn(gen, kind, PTXArchitecture.BlockDimY);
+        Value dimZ = readBuiltIn(gen, kind, PTXArchitecture.BlockDimZ);
+        Value plane = tool.getArithmetic().emitMul(dimX, dimY, false);
+        return tool.getArithmetic().emitMul(plane, dimZ, false);
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool gen) {
+        Logger.traceBuildLIR(Logger.BACKEND.PTX, "emitSubGroupOperation: op=%s", operation);
+        LIRGeneratorTool tool = gen.getLIRGeneratorTool();
+        LIRKind kind = tool.getLIRKind(stamp);
+        Variable result = tool.newVariable(kind);
+        switch (operation) {
+            case SIZE:
+                tool.append(new PTXLIRStmt.AssignStmt(result, intConstant(kind, WARP_SIZE)));
+                break;
+            case LOCAL_ID:
+                tool.append(new PTXLIRStmt.AssignStmt(result, ((PTXNodeLIRBuilder) gen).getBuiltInAllocation(PTXArchitecture.LaneID)));
+                break;
+            case ID: {
+                Value linearId = emitLinearThreadId(gen, kind);
+                tool.append(new PTXLIRStmt.AssignStmt(result, tool.getArithmetic().emitShr(linearId, intConstant(kind, LOG2_WARP_SIZE))));
+                break;
+            }
+            case NUM_SUB_GROUPS: {
+                Value threads = tool.getArithmetic().emitAdd(emitNumberOfThreads(gen, kind), intConstant(kind, WARP_SIZE - 1), false);
+                tool.append(new PTXLIRStmt.AssignStmt(result, tool.getArithmetic().emitShr(threads, intConstant(kind, LOG2_WARP_SIZE))));
+                break;
+            }
+            case SHUFFLE:
+            case BROADCAST:
+                tool.append(new PTXLIRStmt.WarpShuffleStmt(result, loadToRegister(tool, kind, gen.operand(value)), gen.operand(subGroupLocalId)));
+                break;
+            default:
+                tool.append(new PTXLIRStmt.WarpCollectiveStmt(result, gen.operand(value), operation));
+                break;
+        }
+        gen.setResult(this, result);
+    }
+
+    private static Value loadToRegister(LIRGeneratorTool tool, LIRKind kind, Value operand) {
+        if (operand instanceof Variable) {
+            return operand;
+        }
+        Variable register = tool.newVariable(kind);
+        tool.append(new PTXLIRStmt.AssignStmt(register, operand));
+        return register;
+    }
+
+    public enum SubGroupOperation {
+        SIZE, //
+        LOCAL_ID, //
+        ID, //
+        NUM_SUB_GROUPS, //
+        SHUFFLE, //
+        BROADCAST, //
+        REDUCE_ADD, //
+        REDUCE_MIN, //
+        REDUCE_MAX, //
+        SCAN_INCLUSIVE_ADD, //
+        SCAN_EXCLUSIVE_ADD
+    }
+}
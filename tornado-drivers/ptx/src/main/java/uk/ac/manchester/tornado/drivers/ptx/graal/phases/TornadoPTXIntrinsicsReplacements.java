@@ -44,6 +44,8 @@ import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.LocalArrayNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.LocalGroupSizeNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.LocalThreadIDFixedNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXBarrierNode;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXSubGroupNode;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXSubGroupNode.SubGroupOperation;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoHighTierContext;
 
 import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shouldNotReachHere;
@@ -115,6 +117,30 @@ public class TornadoPTXIntrinsicsReplacements extends BasePhase<TornadoHighTierC
                     graph.replaceFixed(invoke, groupIdNode);
                     break;
                 }
+                case "Direct#PTXIntrinsics.get_sub_group_id": {
+                    replaceSubGroupQuery(graph, invoke, SubGroupOperation.ID);
+                    break;
+                }
+                case "Direct#PTXIntrinsics.get_sub_group_local_id": {
+                    replaceSubGroupQuery(graph, invoke, SubGroupOperation.LOCAL_ID);
+                    break;
+                }
+                case "Direct#PTXIntrinsics.get_num_sub_groups": {
+                    replaceSubGroupQuery(graph, invoke, SubGroupOperation.NUM_SUB_GROUPS);
+                    break;
+                }
+                case "Direct#PTXIntrinsics.sub_group_reduce_add": {
+                    replaceSubGroupReduction(graph, invoke, SubGroupOperation.REDUCE_ADD);
+                    break;
+                }
+                case "Direct#PTXIntrinsics.sub_group_reduce_min": {
+                    replaceSubGroupReduction(graph, invoke, SubGroupOperation.REDUCE_MIN);
+                    break;
+                }
+                case "Direct#PTXIntrinsics.sub_group_reduce_max": {
+                    replaceSubGroupReduction(graph, invoke, SubGroupOperation.REDUCE_MAX);
+                    break;
+                }
                 case "Direct#PTXIntrinsics.printEmpty":
                     unimplemented();
                     break;
@@ -122,6 +148,17 @@ public class TornadoPTXIntrinsicsReplacements extends BasePhase<TornadoHighTierC
         }
     }
 
+    private void replaceSubGroupQuery(StructuredGraph graph, InvokeNode invoke, SubGroupOperation operation) {
+        PTXSubGroupNode subGroupNode = graph.add(new PTXSubGroupNode(operation));
+        graph.replaceFixed(invoke, subGroupNode);
+    }
+
+    private void replaceSubGroupReduction(StructuredGraph graph, InvokeNode invoke, SubGroupOperation operation) {
+        ValueNode value = invoke.callTarget().arguments().get(0);
+        PTXSubGroupNode subGroupNode = graph.add(new PTXSubGroupNode(operation, value));
+        graph.replaceFixed(invoke, subGroupNode);
+    }
+
     private void lowerLocalInvokeNodeNewArray(StructuredGraph graph, int length, JavaKind elementKind, InvokeNode newArray) {
         LocalArrayNode localArrayNode;
         ConstantNode newLengthNode = ConstantNode.forInt(length, graph);
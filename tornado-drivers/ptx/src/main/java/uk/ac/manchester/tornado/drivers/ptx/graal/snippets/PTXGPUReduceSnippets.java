@@ -54,6 +54,8 @@ public class PTXGPUReduceSnippets implements Snippets {
      */
     private static int LOCAL_WORK_GROUP_SIZE = 223;
 
+    private static final int WARP_SIZE_MASK = 31;
+
     @Snippet
     public static void partialReduceIntAdd(int[] inputArray, int[] outputArray, int gidx) {
         int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
@@ -796,6 +798,507 @@ public class PTXGPUReduceSnippets implements Snippets {
         }
     }
 
+    /*
+     * Warp variants: when the block is made of complete warps, each warp reduces
+     * its values with a single collective and only one partial per warp goes
+     * through shared memory. Blocks with a partial warp fall back to the tree
+     * reduction. Lanes past the end of the range in the last block may have
+     * exited, so the collectives only synchronise the active lanes and the slot
+     * of every warp is first set to the identity of the operation: warps with
+     * no active lanes then leave a neutral value behind.
+     */
+    @Snippet
+    public static void partialReduceIntAddSubGroup(int[] inputArray, int[] outputArray, int gidx) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+            if (localIdx < PTXIntrinsics.get_num_sub_groups()) {
+                localArray[localIdx] = 0;
+            }
+            PTXIntrinsics.localBarrier();
+            int partial = PTXIntrinsics.sub_group_reduce_add(inputArray[gidx]);
+            if (PTXIntrinsics.get_sub_group_local_id() == 0) {
+                localArray[PTXIntrinsics.get_sub_group_id()] = partial;
+            }
+            PTXIntrinsics.localBarrier();
+        } else {
+            localArray[localIdx] = inputArray[gidx];
+            for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+                PTXIntrinsics.localBarrier();
+                if (localIdx < stride) {
+                    localArray[localIdx] += localArray[localIdx + stride];
+                }
+            }
+            PTXIntrinsics.localBarrier();
+        }
+
+        if (localIdx == 0) {
+            int result = localArray[0];
+            if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+                int numSubGroups = PTXIntrinsics.get_num_sub_groups();
+                for (int i = 1; i < numSubGroups; i++) {
+                    result += localArray[i];
+                }
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntAddSubGroupCarrierValue(int[] inputArray, int[] outputArray, int gidx, int value) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+            if (localIdx < PTXIntrinsics.get_num_sub_groups()) {
+                localArray[localIdx] = 0;
+            }
+            PTXIntrinsics.localBarrier();
+            int partial = PTXIntrinsics.sub_group_reduce_add(value);
+            if (PTXIntrinsics.get_sub_group_local_id() == 0) {
+                localArray[PTXIntrinsics.get_sub_group_id()] = partial;
+            }
+            PTXIntrinsics.localBarrier();
+        } else {
+            localArray[localIdx] = value;
+            for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+                PTXIntrinsics.localBarrier();
+                if (localIdx < stride) {
+                    localArray[localIdx] += localArray[localIdx + stride];
+                }
+            }
+            PTXIntrinsics.localBarrier();
+        }
+
+        if (localIdx == 0) {
+            int result = localArray[0];
+            if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+                int numSubGroups = PTXIntrinsics.get_num_sub_groups();
+                for (int i = 1; i < numSubGroups; i++) {
+                    result += localArray[i];
+                }
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatAddSubGroup(float[] inputArray, float[] outputArray, int gidx) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+            if (localIdx < PTXIntrinsics.get_num_sub_groups()) {
+                localArray[localIdx] = 0.0f;
+            }
+            PTXIntrinsics.localBarrier();
+            float partial = PTXIntrinsics.sub_group_reduce_add(inputArray[gidx]);
+            if (PTXIntrinsics.get_sub_group_local_id() == 0) {
+                localArray[PTXIntrinsics.get_sub_group_id()] = partial;
+            }
+            PTXIntrinsics.localBarrier();
+        } else {
+            localArray[localIdx] = inputArray[gidx];
+            for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+                PTXIntrinsics.localBarrier();
+                if (localIdx < stride) {
+                    localArray[localIdx] += localArray[localIdx + stride];
+                }
+            }
+            PTXIntrinsics.localBarrier();
+        }
+
+        if (localIdx == 0) {
+            float result = localArray[0];
+            if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+                int numSubGroups = PTXIntrinsics.get_num_sub_groups();
+                for (int i = 1; i < numSubGroups; i++) {
+                    result += localArray[i];
+                }
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatAddSubGroupCarrierValue(float[] inputArray, float[] outputArray, int gidx, float value) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+            if (localIdx < PTXIntrinsics.get_num_sub_groups()) {
+                localArray[localIdx] = 0.0f;
+            }
+            PTXIntrinsics.localBarrier();
+            float partial = PTXIntrinsics.sub_group_reduce_add(value);
+            if (PTXIntrinsics.get_sub_group_local_id() == 0) {
+                localArray[PTXIntrinsics.get_sub_group_id()] = partial;
+            }
+            PTXIntrinsics.localBarrier();
+        } else {
+            localArray[localIdx] = value;
+            for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+                PTXIntrinsics.localBarrier();
+                if (localIdx < stride) {
+                    localArray[localIdx] += localArray[localIdx + stride];
+                }
+            }
+            PTXIntrinsics.localBarrier();
+        }
+
+        if (localIdx == 0) {
+            float result = localArray[0];
+            if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+                int numSubGroups = PTXIntrinsics.get_num_sub_groups();
+                for (int i = 1; i < numSubGroups; i++) {
+                    result += localArray[i];
+                }
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntMaxSubGroup(int[] inputArray, int[] outputArray, int gidx) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+            if (localIdx < PTXIntrinsics.get_num_sub_groups()) {
+                localArray[localIdx] = Integer.MIN_VALUE;
+            }
+            PTXIntrinsics.localBarrier();
+            int partial = PTXIntrinsics.sub_group_reduce_max(inputArray[gidx]);
+            if (PTXIntrinsics.get_sub_group_local_id() == 0) {
+                localArray[PTXIntrinsics.get_sub_group_id()] = partial;
+            }
+            PTXIntrinsics.localBarrier();
+        } else {
+            localArray[localIdx] = inputArray[gidx];
+            for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+                PTXIntrinsics.localBarrier();
+                if (localIdx < stride) {
+                    localArray[localIdx] = TornadoMath.max(localArray[localIdx], localArray[localIdx + stride]);
+                }
+            }
+            PTXIntrinsics.localBarrier();
+        }
+
+        if (localIdx == 0) {
+            int result = localArray[0];
+            if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+                int numSubGroups = PTXIntrinsics.get_num_sub_groups();
+                for (int i = 1; i < numSubGroups; i++) {
+                    result = TornadoMath.max(result, localArray[i]);
+                }
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntMaxSubGroupCarrierValue(int[] inputArray, int[] outputArray, int gidx, int value) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+            if (localIdx < PTXIntrinsics.get_num_sub_groups()) {
+                localArray[localIdx] = Integer.MIN_VALUE;
+            }
+            PTXIntrinsics.localBarrier();
+            int partial = PTXIntrinsics.sub_group_reduce_max(value);
+            if (PTXIntrinsics.get_sub_group_local_id() == 0) {
+                localArray[PTXIntrinsics.get_sub_group_id()] = partial;
+            }
+            PTXIntrinsics.localBarrier();
+        } else {
+            localArray[localIdx] = value;
+            for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+                PTXIntrinsics.localBarrier();
+                if (localIdx < stride) {
+                    localArray[localIdx] = TornadoMath.max(localArray[localIdx], localArray[localIdx + stride]);
+                }
+            }
+            PTXIntrinsics.localBarrier();
+        }
+
+        if (localIdx == 0) {
+            int result = localArray[0];
+            if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+                int numSubGroups = PTXIntrinsics.get_num_sub_groups();
+                for (int i = 1; i < numSubGroups; i++) {
+                    result = TornadoMath.max(result, localArray[i]);
+                }
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatMaxSubGroup(float[] inputArray, float[] outputArray, int gidx) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+            if (localIdx < PTXIntrinsics.get_num_sub_groups()) {
+                localArray[localIdx] = Float.NEGATIVE_INFINITY;
+            }
+            PTXIntrinsics.localBarrier();
+            float partial = PTXIntrinsics.sub_group_reduce_max(inputArray[gidx]);
+            if (PTXIntrinsics.get_sub_group_local_id() == 0) {
+                localArray[PTXIntrinsics.get_sub_group_id()] = partial;
+            }
+            PTXIntrinsics.localBarrier();
+        } else {
+            localArray[localIdx] = inputArray[gidx];
+            for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+                PTXIntrinsics.localBarrier();
+                if (localIdx < stride) {
+                    localArray[localIdx] = TornadoMath.max(localArray[localIdx], localArray[localIdx + stride]);
+                }
+            }
+            PTXIntrinsics.localBarrier();
+        }
+
+        if (localIdx == 0) {
+            float result = localArray[0];
+            if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+                int numSubGroups = PTXIntrinsics.get_num_sub_groups();
+                for (int i = 1; i < numSubGroups; i++) {
+                    result = TornadoMath.max(result, localArray[i]);
+                }
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatMaxSubGroupCarrierValue(float[] inputArray, float[] outputArray, int gidx, float value) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+            if (localIdx < PTXIntrinsics.get_num_sub_groups()) {
+                localArray[localIdx] = Float.NEGATIVE_INFINITY;
+            }
+            PTXIntrinsics.localBarrier();
+            float partial = PTXIntrinsics.sub_group_reduce_max(value);
+            if (PTXIntrinsics.get_sub_group_local_id() == 0) {
+                localArray[PTXIntrinsics.get_sub_group_id()] = partial;
+            }
+            PTXIntrinsics.localBarrier();
+        } else {
+            localArray[localIdx] = value;
+            for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+                PTXIntrinsics.localBarrier();
+                if (localIdx < stride) {
+                    localArray[localIdx] = TornadoMath.max(localArray[localIdx], localArray[localIdx + stride]);
+                }
+            }
+            PTXIntrinsics.localBarrier();
+        }
+
+        if (localIdx == 0) {
+            float result = localArray[0];
+            if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+                int numSubGroups = PTXIntrinsics.get_num_sub_groups();
+                for (int i = 1; i < numSubGroups; i++) {
+                    result = TornadoMath.max(result, localArray[i]);
+                }
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntMinSubGroup(int[] inputArray, int[] outputArray, int gidx) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+            if (localIdx < PTXIntrinsics.get_num_sub_groups()) {
+                localArray[localIdx] = Integer.MAX_VALUE;
+            }
+            PTXIntrinsics.localBarrier();
+            int partial = PTXIntrinsics.sub_group_reduce_min(inputArray[gidx]);
+            if (PTXIntrinsics.get_sub_group_local_id() == 0) {
+                localArray[PTXIntrinsics.get_sub_group_id()] = partial;
+            }
+            PTXIntrinsics.localBarrier();
+        } else {
+            localArray[localIdx] = inputArray[gidx];
+            for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+                PTXIntrinsics.localBarrier();
+                if (localIdx < stride) {
+                    localArray[localIdx] = TornadoMath.min(localArray[localIdx], localArray[localIdx + stride]);
+                }
+            }
+            PTXIntrinsics.localBarrier();
+        }
+
+        if (localIdx == 0) {
+            int result = localArray[0];
+            if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+                int numSubGroups = PTXIntrinsics.get_num_sub_groups();
+                for (int i = 1; i < numSubGroups; i++) {
+                    result = TornadoMath.min(result, localArray[i]);
+                }
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntMinSubGroupCarrierValue(int[] inputArray, int[] outputArray, int gidx, int value) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+            if (localIdx < PTXIntrinsics.get_num_sub_groups()) {
+                localArray[localIdx] = Integer.MAX_VALUE;
+            }
+            PTXIntrinsics.localBarrier();
+            int partial = PTXIntrinsics.sub_group_reduce_min(value);
+            if (PTXIntrinsics.get_sub_group_local_id() == 0) {
+                localArray[PTXIntrinsics.get_sub_group_id()] = partial;
+            }
+            PTXIntrinsics.localBarrier();
+        } else {
+            localArray[localIdx] = value;
+            for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+                PTXIntrinsics.localBarrier();
+                if (localIdx < stride) {
+                    localArray[localIdx] = TornadoMath.min(localArray[localIdx], localArray[localIdx + stride]);
+                }
+            }
+            PTXIntrinsics.localBarrier();
+        }
+
+        if (localIdx == 0) {
+            int result = localArray[0];
+            if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+                int numSubGroups = PTXIntrinsics.get_num_sub_groups();
+                for (int i = 1; i < numSubGroups; i++) {
+                    result = TornadoMath.min(result, localArray[i]);
+                }
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatMinSubGroup(float[] inputArray, float[] outputArray, int gidx) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+            if (localIdx < PTXIntrinsics.get_num_sub_groups()) {
+                localArray[localIdx] = Float.POSITIVE_INFINITY;
+            }
+            PTXIntrinsics.localBarrier();
+            float partial = PTXIntrinsics.sub_group_reduce_min(inputArray[gidx]);
+            if (PTXIntrinsics.get_sub_group_local_id() == 0) {
+                localArray[PTXIntrinsics.get_sub_group_id()] = partial;
+            }
+            PTXIntrinsics.localBarrier();
+        } else {
+            localArray[localIdx] = inputArray[gidx];
+            for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+                PTXIntrinsics.localBarrier();
+                if (localIdx < stride) {
+                    localArray[localIdx] = TornadoMath.min(localArray[localIdx], localArray[localIdx + stride]);
+                }
+            }
+            PTXIntrinsics.localBarrier();
+        }
+
+        if (localIdx == 0) {
+            float result = localArray[0];
+            if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+                int numSubGroups = PTXIntrinsics.get_num_sub_groups();
+                for (int i = 1; i < numSubGroups; i++) {
+                    result = TornadoMath.min(result, localArray[i]);
+                }
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatMinSubGroupCarrierValue(float[] inputArray, float[] outputArray, int gidx, float value) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+            if (localIdx < PTXIntrinsics.get_num_sub_groups()) {
+                localArray[localIdx] = Float.POSITIVE_INFINITY;
+            }
+            PTXIntrinsics.localBarrier();
+            float partial = PTXIntrinsics.sub_group_reduce_min(value);
+            if (PTXIntrinsics.get_sub_group_local_id() == 0) {
+                localArray[PTXIntrinsics.get_sub_group_id()] = partial;
+            }
+            PTXIntrinsics.localBarrier();
+        } else {
+            localArray[localIdx] = value;
+            for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+                PTXIntrinsics.localBarrier();
+                if (localIdx < stride) {
+                    localArray[localIdx] = TornadoMath.min(localArray[localIdx], localArray[localIdx + stride]);
+                }
+            }
+            PTXIntrinsics.localBarrier();
+        }
+
+        if (localIdx == 0) {
+            float result = localArray[0];
+            if ((localGroupSize & WARP_SIZE_MASK) == 0) {
+                int numSubGroups = PTXIntrinsics.get_num_sub_groups();
+                for (int i = 1; i < numSubGroups; i++) {
+                    result = TornadoMath.min(result, localArray[i]);
+                }
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
     public static class Templates extends AbstractTemplates implements TornadoSnippetTypeInference {
 
         // Add
@@ -838,8 +1341,57 @@ public class PTXGPUReduceSnippets implements Snippets {
         private final SnippetInfo partialReduceMinDoubleSnippet = snippet(PTXGPUReduceSnippets.class, "partialReduceDoubleMin");
         private final SnippetInfo partialReduceMinDoubleSnippetCarrierValue = snippet(PTXGPUReduceSnippets.class, "partialReduceDoubleMinCarrierValue");
 
-        public Templates(OptionValues options, Providers providers) {
+        // Warp Add, Max and Min
+        private final SnippetInfo partialReduceIntAddSubGroupSnippet = snippet(PTXGPUReduceSnippets.class, "partialReduceIntAddSubGroup");
+        private final SnippetInfo partialReduceIntAddSubGroupSnippetCarrierValue = snippet(PTXGPUReduceSnippets.class, "partialReduceIntAddSubGroupCarrierValue");
+        private final SnippetInfo partialReduceFloatAddSubGroupSnippet = snippet(PTXGPUReduceSnippets.class, "partialReduceFloatAddSubGroup");
+        private final SnippetInfo partialReduceFloatAddSubGroupSnippetCarrierValue = snippet(PTXGPUReduceSnippets.class, "partialReduceFloatAddSubGroupCarrierValue");
+        private final SnippetInfo partialReduceIntMaxSubGroupSnippet = snippet(PTXGPUReduceSnippets.class, "partialReduceIntMaxSubGroup");
+        private final SnippetInfo partialReduceIntMaxSubGroupSnippetCarrierValue = snippet(PTXGPUReduceSnippets.class, "partialReduceIntMaxSubGroupCarrierValue");
+        private final SnippetInfo partialReduceFloatMaxSubGroupSnippet = snippet(PTXGPUReduceSnippets.class, "partialReduceFloatMaxSubGroup");
+        private final SnippetInfo partialReduceFloatMaxSubGroupSnippetCarrierValue = snippet(PTXGPUReduceSnippets.class, "partialReduceFloatMaxSubGroupCarrierValue");
+        private final SnippetInfo partialReduceIntMinSubGroupSnippet = snippet(PTXGPUReduceSnippets.class, "partialReduceIntMinSubGroup");
+        private final SnippetInfo partialReduceIntMinSubGroupSnippetCarrierValue = snippet(PTXGPUReduceSnippets.class, "partialReduceIntMinSubGroupCarrierValue");
+        private final SnippetInfo partialReduceFloatMinSubGroupSnippet = snippet(PTXGPUReduceSnippets.class, "partialReduceFloatMinSubGroup");
+        private final SnippetInfo partialReduceFloatMinSubGroupSnippetCarrierValue = snippet(PTXGPUReduceSnippets.class, "partialReduceFloatMinSubGroupCarrierValue");
+
+        private final boolean useSubGroups;
+
+        public Templates(OptionValues options, Providers providers, boolean useSubGroups) {
             super(options, providers);
+            this.useSubGroups = useSubGroups;
+        }
+
+        private SnippetInfo inferSubGroupIntSnippet(ValueNode value, ValueNode extra) {
+            if (value instanceof TornadoReduceAddNode) {
+                return (extra == null) ? partialReduceIntAddSubGroupSnippet : partialReduceIntAddSubGroupSnippetCarrierValue;
+            } else if (value instanceof PTXIntBinaryIntrinsicNode) {
+                switch (((PTXIntBinaryIntrinsicNode) value).operation()) {
+                    case MAX:
+                        return (extra == null) ? partialReduceIntMaxSubGroupSnippet : partialReduceIntMaxSubGroupSnippetCarrierValue;
+                    case MIN:
+                        return (extra == null) ? partialReduceIntMinSubGroupSnippet : partialReduceIntMinSubGroupSnippetCarrierValue;
+                    default:
+                        return null;
+                }
+            }
+            return null;
+        }
+
+        private SnippetInfo inferSubGroupFloatSnippet(ValueNode value, ValueNode extra) {
+            if (value instanceof TornadoReduceAddNode) {
+                return (extra == null) ? partialReduceFloatAddSubGroupSnippet : partialReduceFloatAddSubGroupSnippetCarrierValue;
+            } else if (value instanceof PTXFPBinaryIntrinsicNode) {
+                switch (((PTXFPBinaryIntrinsicNode) value).operation()) {
+                    case FMAX:
+                        return (extra == null) ? partialReduceFloatMaxSubGroupSnippet : partialReduceFloatMaxSubGroupSnippetCarrierValue;
+                    case FMIN:
+                        return (extra == null) ? partialReduceFloatMinSubGroupSnippet : partialReduceFloatMinSubGroupSnippetCarrierValue;
+                    default:
+                        return null;
+                }
+            }
+            return null;
         }
 
         private SnippetInfo getSnippetFromOCLBinaryNodeInteger(PTXIntBinaryIntrinsicNode value, ValueNode extra) {
@@ -952,6 +1504,16 @@ public class PTXGPUReduceSnippets implements Snippets {
         @Override
         public SnippetInfo getSnippetInstance(JavaKind elementKind, ValueNode value, ValueNode extra) {
             SnippetInfo snippet = null;
+            if (useSubGroups) {
+                if (elementKind == JavaKind.Int) {
+                    snippet = inferSubGroupIntSnippet(value, extra);
+                } else if (elementKind == JavaKind.Float) {
+                    snippet = inferSubGroupFloatSnippet(value, extra);
+                }
+                if (snippet != null) {
+                    return snippet;
+                }
+            }
             if (elementKind == JavaKind.Int) {
                 snippet = inferIntSnippet(value, extra);
             } else if (elementKind == JavaKind.Long) {
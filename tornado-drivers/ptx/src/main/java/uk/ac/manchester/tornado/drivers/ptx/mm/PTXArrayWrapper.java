@@ -32,6 +32,7 @@ import static uk.ac.manchester.tornado.runtime.common.Tornado.info;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import jdk.vm.ci.meta.JavaKind;
@@ -115,6 +116,15 @@ public abstract class PTXArrayWrapper<T> implements ObjectBuffer {
         return -1;
     }
 
+    @Override
+    public int readRange(Object reference, long offset, long numBytes, int[] events, boolean useDeps) {
+        T array = cast(reference);
+        if (array == null) {
+            throw new TornadoRuntimeException("[ERROR] output data is NULL");
+        }
+        return readArrayData(toBuffer() + arrayHeaderSize + offset, numBytes, array, offset, (useDeps) ? events : null);
+    }
+
     private boolean validateArrayHeader(T array) {
         final PTXByteBuffer header = prepareArrayHeader();
         header.read();
@@ -196,6 +206,17 @@ public abstract class PTXArrayWrapper<T> implements ObjectBuffer {
         return listEvents;
     }
 
+    @Override
+    public List<Integer> enqueueWriteRange(Object reference, long offset, long numBytes, int[] events, boolean useDeps) {
+        final T array = cast(reference);
+        if (array == null) {
+            throw new TornadoRuntimeException("ERROR] Data to be copied is NULL");
+        }
+        // The header is already on the device, only the range is written
+        final int returnEvent = enqueueWriteArrayData(toBuffer() + arrayHeaderSize + offset, numBytes, array, offset, (useDeps) ? events : null);
+        return useDeps ? Collections.singletonList(returnEvent) : null;
+    }
+
     private PTXByteBuffer buildArrayHeaderBatch(long arraySize) {
         final PTXByteBuffer header = getArrayHeader();
         header.buffer.clear();
@@ -25,8 +25,10 @@ package uk.ac.manchester.tornado.drivers.ptx.mm;
 
 import static uk.ac.manchester.tornado.drivers.ptx.mm.PTXKernelArgs.RESERVED_SLOTS;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.DEVICE_AVAILABLE_MEMORY;
+import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.SHARED_MEMORY;
 
 import uk.ac.manchester.tornado.api.memory.TornadoMemoryProvider;
+import uk.ac.manchester.tornado.drivers.ptx.PTXDevice;
 import uk.ac.manchester.tornado.drivers.ptx.PTXDeviceContext;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 
@@ -34,6 +36,7 @@ public class PTXMemoryManager extends TornadoLogger implements TornadoMemoryProv
 
     private PTXDeviceContext deviceContext;
     private PTXKernelArgs ptxKernelCallWrapper = null;
+    private Boolean sharedMemory;
 
     public PTXMemoryManager(PTXDeviceContext deviceContext) {
         this.deviceContext = deviceContext;
@@ -44,6 +47,15 @@ public class PTXMemoryManager extends TornadoLogger implements TornadoMemoryProv
         return DEVICE_AVAILABLE_MEMORY;
     }
 
+    @Override
+    public boolean isSharedMemory() {
+        if (sharedMemory == null) {
+            PTXDevice device = deviceContext.getDevice();
+            sharedMemory = SHARED_MEMORY && device.hasManagedMemory() && (device.hasConcurrentManagedAccess() || device.isIntegrated());
+        }
+        return sharedMemory;
+    }
+
     public PTXKernelArgs createCallWrapper(final int maxArgs) {
         if (this.ptxKernelCallWrapper == null) {
             long kernelCallBuffer = deviceContext.getDevice().getPTXContext().allocateMemory(RESERVED_SLOTS * Long.BYTES);
@@ -23,7 +23,6 @@
  */
 package uk.ac.manchester.tornado.drivers.ptx.mm;
 
-import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shouldNotReachHere;
 import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.unimplemented;
 import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getVMConfig;
 import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getVMRuntime;
@@ -44,6 +43,7 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoMemoryException;
 import uk.ac.manchester.tornado.api.memory.ObjectBuffer;
 import uk.ac.manchester.tornado.api.type.annotations.Vector;
+import uk.ac.manchester.tornado.drivers.common.mm.ObjectSerialiser;
 import uk.ac.manchester.tornado.drivers.ptx.PTXDeviceContext;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.utils.TornadoUtils;
@@ -55,6 +55,7 @@ public class PTXObjectWrapper implements ObjectBuffer {
     private HotSpotResolvedJavaType resolvedType;
     private HotSpotResolvedJavaField[] fields;
     private FieldBuffer[] wrappedFields;
+    private final ObjectSerialiser serialiser;
 
     private final Class<?> type;
 
@@ -76,13 +77,13 @@ public class PTXObjectWrapper implements ObjectBuffer {
         resolvedType = (HotSpotResolvedJavaType) getVMRuntime().getHostJVMCIBackend().getMetaAccess().lookupJavaType(object.getClass());
 
         fields = (HotSpotResolvedJavaField[]) resolvedType.getInstanceFields(false);
-        sortFieldsByOffset();
+        ObjectSerialiser.sortFieldsByOffset(fields);
 
         wrappedFields = new FieldBuffer[fields.length];
 
         for (int index = 0; index < fields.length; index++) {
             HotSpotResolvedJavaField field = fields[index];
-            final Field reflectedField = getField(type, field.getName());
+            final Field reflectedField = ObjectSerialiser.findField(type, field.getName());
             final Class<?> type = reflectedField.getType();
 
             if (DEBUG) {
@@ -119,6 +120,8 @@ public class PTXObjectWrapper implements ObjectBuffer {
             }
         }
 
+        serialiser = ObjectSerialiser.forClass(type, fields);
+
         if (buffer == null) {
             buffer = ByteBuffer.allocate((int) getObjectSize());
             buffer.order(deviceContext.getByteOrder());
@@ -158,111 +161,30 @@ public class PTXObjectWrapper implements ObjectBuffer {
         }
     }
 
-    private Field getField(Class<?> type, String name) {
-        Field result = null;
-        try {
-            result = type.getDeclaredField(name);
-            result.setAccessible(true);
-        } catch (NoSuchFieldException | SecurityException e) {
-            if (type.getSuperclass() != null) {
-                result = getField(type.getSuperclass(), name);
-            } else {
-                shouldNotReachHere("unable to get field: class=%s, field=%s", type.getName(), name);
-            }
-        }
-        return result;
-    }
-
-    private void writeFieldToBuffer(int index, Field field, Object obj) {
-        Class<?> fieldType = field.getType();
-        if (fieldType.isPrimitive()) {
-            try {
-                PrimitiveSerialiser.put(buffer, field.get(obj));
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                shouldNotReachHere("unable to write primitive to buffer: ", e.getMessage());
-            }
-        } else if (wrappedFields[index] != null) {
-            buffer.putLong(wrappedFields[index].toBuffer());
-        } else {
-            unimplemented("field type %s", fieldType.getName());
-        }
-    }
-
-    private void readFieldFromBuffer(int index, Field field, Object obj) {
-        Class<?> fieldType = field.getType();
-        if (fieldType.isPrimitive()) {
-            try {
-                if (fieldType == int.class) {
-                    field.setInt(obj, buffer.getInt());
-                } else if (fieldType == long.class) {
-                    field.setLong(obj, buffer.getLong());
-                } else if (fieldType == short.class) {
-                    field.setShort(obj, buffer.getShort());
-                } else if (fieldType == byte.class) {
-                    field.set(obj, buffer.get());
-                } else if (fieldType == float.class) {
-                    field.setFloat(obj, buffer.getFloat());
-                } else if (fieldType == double.class) {
-                    field.setDouble(obj, buffer.getDouble());
-                }
-            } catch (IllegalAccessException e) {
-                shouldNotReachHere("unable to read field: ", e.getMessage());
-            }
-        } else if (wrappedFields[index] != null) {
-            buffer.getLong();
-        } else {
-            unimplemented("field type %s", fieldType.getName());
-        }
-    }
-
-    private void sortFieldsByOffset() {
-        for (int i = 0; i < fields.length; i++) {
-            for (int j = 0; j < fields.length; j++) {
-                if (fields[i].getOffset() < fields[j].getOffset()) {
-                    final HotSpotResolvedJavaField tmp = fields[j];
-                    fields[j] = fields[i];
-                    fields[i] = tmp;
-                }
-            }
-        }
-    }
-
     private void serialise(Object object) {
         buffer.rewind();
-        buffer.position(hubOffset);
-        buffer.putLong(0);
+        buffer.putLong(hubOffset, 0);
+        serialiser.serialise(buffer, object);
 
-        if (fields.length > 0) {
-            buffer.position(fields[0].getOffset());
-            for (int i = 0; i < fields.length; i++) {
-                HotSpotResolvedJavaField field = fields[i];
-                Field f = getField(type, field.getName());
-                if (DEBUG) {
-                    trace("writing field: name=%s, offset=%d", field.getName(), field.getOffset());
-                }
-
-                buffer.position(field.getOffset());
-                writeFieldToBuffer(i, f, object);
+        for (int i = 0; i < fields.length; i++) {
+            HotSpotResolvedJavaField field = fields[i];
+            if (field.getJavaKind().isPrimitive()) {
+                continue;
+            }
+            if (DEBUG) {
+                trace("writing field: name=%s, offset=%d", field.getName(), field.getOffset());
+            }
+            if (wrappedFields[i] != null) {
+                buffer.putLong(field.getOffset(), wrappedFields[i].toBuffer());
+            } else {
+                unimplemented("field type %s", field.getType().getName());
             }
         }
     }
 
     private void deserialise(Object object) {
         buffer.rewind();
-
-        if (fields.length > 0) {
-            buffer.position(fields[0].getOffset());
-
-            for (int i = 0; i < fields.length; i++) {
-                HotSpotResolvedJavaField field = fields[i];
-                Field f = getField(type, field.getName());
-                f.setAccessible(true);
-                if (DEBUG) {
-                    trace("reading field: name=%s, offset=%d", field.getName(), field.getOffset());
-                }
-                readFieldFromBuffer(i, f, object);
-            }
-        }
+        serialiser.deserialise(buffer, object);
     }
 
     @Override
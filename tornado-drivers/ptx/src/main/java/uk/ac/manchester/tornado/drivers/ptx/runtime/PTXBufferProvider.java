@@ -34,7 +34,11 @@ public class PTXBufferProvider extends TornadoBufferProvider {
 
     @Override
     public long allocateBuffer(long size) {
-        return ((PTXDeviceContext) deviceContext).getDevice().getPTXContext().allocateMemory(size);
+        PTXDeviceContext ptxDeviceContext = (PTXDeviceContext) deviceContext;
+        if (ptxDeviceContext.getMemoryManager().isSharedMemory()) {
+            return ptxDeviceContext.getDevice().getPTXContext().allocateManagedMemory(size);
+        }
+        return ptxDeviceContext.getDevice().getPTXContext().allocateMemory(size);
     }
 
     @Override
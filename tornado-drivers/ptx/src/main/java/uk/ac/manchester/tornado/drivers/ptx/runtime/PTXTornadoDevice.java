@@ -74,6 +74,7 @@ import uk.ac.manchester.tornado.runtime.common.KernelArgs;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
 import uk.ac.manchester.tornado.runtime.common.TornadoAcceleratorDevice;
+import uk.ac.manchester.tornado.runtime.common.TornadoCommandGraph;
 import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
 import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
@@ -381,9 +382,26 @@ public class PTXTornadoDevice implements TornadoAcceleratorDevice {
             objectState.setContents(true);
             return objectState.getObjectBuffer().enqueueWrite(object, batchSize, hostOffset, events, events != null);
         }
+        prefetchManagedBuffer(objectState);
         return null;
     }
 
+    /**
+     * With managed memory, a resident buffer may have had its pages evicted to the
+     * host when the device is oversubscribed. Prefetch them back ahead of the
+     * kernels instead of faulting them in one page at a time.
+     */
+    private void prefetchManagedBuffer(TornadoDeviceObjectState objectState) {
+        PTXDeviceContext deviceContext = getDeviceContext();
+        if (!deviceContext.getMemoryManager().isSharedMemory() || !deviceContext.getDevice().hasConcurrentManagedAccess()) {
+            return;
+        }
+        ObjectBuffer buffer = objectState.getObjectBuffer();
+        if (buffer != null && buffer.size() > 0) {
+            deviceContext.enqueuePrefetch(buffer.toBuffer() + buffer.getBufferOffset(), buffer.size());
+        }
+    }
+
     /**
      * It always copies in the input data (object) from the host to the target
      * device.
@@ -644,6 +662,11 @@ public class PTXTornadoDevice implements TornadoAcceleratorDevice {
 
     }
 
+    @Override
+    public TornadoCommandGraph createCommandGraph() {
+        return getDeviceContext().createGraph();
+    }
+
     @Override
     public String toString() {
         return getPlatformName() + " -- " + device.getDeviceName();
@@ -23,15 +23,12 @@
  */
 package uk.ac.manchester.tornado.drivers.spirv;
 
-import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.guarantee;
-import static uk.ac.manchester.tornado.runtime.common.Tornado.EVENT_WINDOW;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.CIRCULAR_EVENTS;
 
-import java.util.BitSet;
-import java.util.HashMap;
 import java.util.LinkedList;
 
 import uk.ac.manchester.tornado.drivers.common.EventDescriptor;
+import uk.ac.manchester.tornado.drivers.common.EventRegistry;
 import uk.ac.manchester.tornado.drivers.spirv.timestamps.TimeStamp;
 
 /**
@@ -41,36 +38,25 @@ import uk.ac.manchester.tornado.drivers.spirv.timestamps.TimeStamp;
  */
 public class SPIRVEventPool {
 
-    private final int poolSize;
-    private final BitSet retain;
-    private int eventPositionIndex;
+    private static final class SPIRVEventEntry {
+        private final LinkedList<TimeStamp> timers;
+        private final EventDescriptor descriptor;
 
-    private final HashMap<Integer, LinkedList<TimeStamp>> events;
-    private final EventDescriptor[] descriptors;
-
-    protected SPIRVEventPool(int poolSize) {
-        this.poolSize = poolSize;
-        this.events = new HashMap<>();
-        this.descriptors = new EventDescriptor[poolSize];
-        this.retain = new BitSet(poolSize);
-        this.eventPositionIndex = 0;
+        private SPIRVEventEntry(LinkedList<TimeStamp> timers, EventDescriptor descriptor) {
+            this.timers = timers;
+            this.descriptor = descriptor;
+        }
     }
 
-    private void findNextEventSlot() {
-        eventPositionIndex = retain.nextClearBit(eventPositionIndex + 1);
-        if (CIRCULAR_EVENTS && (eventPositionIndex >= poolSize)) {
-            eventPositionIndex = 0;
-        }
-        guarantee(eventPositionIndex != -1, "event window is full (retained=%d, capacity=%d)", retain.cardinality(), EVENT_WINDOW);
+    private final EventRegistry<SPIRVEventEntry> events;
+
+    protected SPIRVEventPool(int poolSize) {
+        // Time stamps hold no native resources, so overwritten entries are just dropped
+        this.events = new EventRegistry<>(poolSize, CIRCULAR_EVENTS, (localId, entry) -> {
+        });
     }
 
     protected int registerEvent(EventDescriptor eventDescriptor, ProfilerTransfer profilerTransfer) {
-        if (retain.get(eventPositionIndex)) {
-            findNextEventSlot();
-        }
-        final int currentEventPosition = eventPositionIndex;
-        guarantee(!retain.get(currentEventPosition), "overwriting retained event");
-
         LinkedList<TimeStamp> listTimeStamps = new LinkedList<>();
 
         if (profilerTransfer != null) {
@@ -78,17 +64,24 @@ public class SPIRVEventPool {
             listTimeStamps.add(profilerTransfer.getStop());
         }
 
-        events.put(currentEventPosition, listTimeStamps);
-        descriptors[currentEventPosition] = eventDescriptor;
-        findNextEventSlot();
-        return currentEventPosition;
+        return events.register(new SPIRVEventEntry(listTimeStamps, eventDescriptor));
+    }
+
+    protected void retainEvent(int eventId) {
+        events.retain(eventId);
+    }
+
+    protected void releaseEvent(int eventId) {
+        events.release(eventId);
     }
 
     public LinkedList<TimeStamp> getTimers(int eventId) {
-        return events.get(eventId);
+        SPIRVEventEntry entry = events.get(eventId);
+        return (entry == null) ? null : entry.timers;
     }
 
     public EventDescriptor getDescriptor(int eventId) {
-        return descriptors[eventId];
+        SPIRVEventEntry entry = events.get(eventId);
+        return (entry == null) ? null : entry.descriptor;
     }
 }
@@ -59,6 +59,14 @@ public class SPIRVLevelZeroInstalledCode extends SPIRVInstalledCode {
     private ThreadBlockDispatcher dispatcher;
     private DeviceThreadScheduling threadScheduling;
 
+    /**
+     * Last 64-bit value bound to each kernel parameter. Level Zero keeps the
+     * arguments of a kernel between launches, so unchanged values are not set
+     * again.
+     */
+    private long[] boundArguments = new long[0];
+    private boolean[] isArgumentBound = new boolean[0];
+
     public SPIRVLevelZeroInstalledCode(String name, SPIRVModule spirvModule, SPIRVDeviceContext deviceContext) {
         super(name, spirvModule, deviceContext);
         this.valid = true;
@@ -78,15 +86,13 @@ public class SPIRVLevelZeroInstalledCode extends SPIRVInstalledCode {
         ZeKernelHandle kernel = levelZeroKernel.getKernelHandle();
 
         // device's kernel context
-        int result = levelZeroKernel.zeKernelSetArgumentValue(kernel.getPtrZeKernelHandle(), 0, Sizeof.LONG.getNumBytes(), callWrapper.toBuffer());
-        LevelZeroUtils.errorLog("zeKernelSetArgumentValue", result);
+        setKernelArgument(levelZeroKernel, kernel, 0, callWrapper.toBuffer());
 
         for (int argIndex = 0; argIndex < callWrapper.getCallArguments().size(); argIndex++) {
             int kernelParamIndex = argIndex + 1;
             KernelArgs.CallArgument arg = callWrapper.getCallArguments().get(argIndex);
             if (arg.getValue() instanceof KernelArgs.KernelContextArgument) {
-                result = levelZeroKernel.zeKernelSetArgumentValue(kernel.getPtrZeKernelHandle(), kernelParamIndex, Sizeof.LONG.getNumBytes(), callWrapper.toBuffer());
-                LevelZeroUtils.errorLog("zeKernelSetArgumentValue", result);
+                setKernelArgument(levelZeroKernel, kernel, kernelParamIndex, callWrapper.toBuffer());
                 continue;
             }
 
@@ -94,14 +100,27 @@ public class SPIRVLevelZeroInstalledCode extends SPIRVInstalledCode {
                 if (!arg.isReferenceType()) {
                     continue;
                 }
-                result = levelZeroKernel.zeKernelSetArgumentValue(kernel.getPtrZeKernelHandle(), kernelParamIndex, Sizeof.LONG.getNumBytes(), ((Number) arg.getValue()).longValue());
-                LevelZeroUtils.errorLog("zeKernelSetArgumentValue", result);
+                setKernelArgument(levelZeroKernel, kernel, kernelParamIndex, ((Number) arg.getValue()).longValue());
             } else {
                 shouldNotReachHere();
             }
         }
     }
 
+    private void setKernelArgument(LevelZeroKernel levelZeroKernel, ZeKernelHandle kernel, int index, long value) {
+        if (index < boundArguments.length && isArgumentBound[index] && boundArguments[index] == value) {
+            return;
+        }
+        if (index >= boundArguments.length) {
+            boundArguments = Arrays.copyOf(boundArguments, Math.max(index + 1, boundArguments.length * 2));
+            isArgumentBound = Arrays.copyOf(isArgumentBound, boundArguments.length);
+        }
+        int result = levelZeroKernel.zeKernelSetArgumentValue(kernel.getPtrZeKernelHandle(), index, Sizeof.LONG.getNumBytes(), value);
+        LevelZeroUtils.errorLog("zeKernelSetArgumentValue", result);
+        boundArguments[index] = value;
+        isArgumentBound[index] = (result == ZeResult.ZE_RESULT_SUCCESS);
+    }
+
     private DeviceThreadScheduling calculateGlobalAndLocalBlockOfThreads(TaskMetaData meta, long batchThreads) {
         long[] globalWork = new long[3];
         long[] localWork = new long[3];
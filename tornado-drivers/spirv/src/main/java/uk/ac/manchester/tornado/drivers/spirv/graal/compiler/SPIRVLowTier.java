@@ -49,6 +49,7 @@ import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoLowTier;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoFeatureExtraction;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoLoopCanonicalization;
+import uk.ac.manchester.tornado.runtime.graal.phases.TornadoWorkEstimation;
 
 public class SPIRVLowTier extends TornadoLowTier {
 
@@ -96,6 +97,10 @@ public class SPIRVLowTier extends TornadoLowTier {
 
         appendPhase(new SchedulePhase(SchedulePhase.SchedulingStrategy.LATEST_OUT_OF_LOOPS));
 
+        if (TornadoOptions.ROOFLINE_REPORT) {
+            appendPhase(new TornadoWorkEstimation());
+        }
+
         if (TornadoOptions.FEATURE_EXTRACTION) {
             appendPhase(new TornadoFeatureExtraction(deviceContext));
         }
@@ -594,6 +594,18 @@ public class SPIRVArithmeticTool extends ArithmeticLIRGenerator {
         return result;
     }
 
+    public Value emitHalfToFloat(LIRKind resultKind, Value op) {
+        Variable result = getGen().newVariable(resultKind);
+        getGen().append(new SPIRVLIRStmt.AssignStmt(result, new SPIRVUnary.CastHalfToFloat(resultKind, result, op)));
+        return result;
+    }
+
+    public Value emitFloatToHalf(LIRKind resultKind, Value op) {
+        Variable result = getGen().newVariable(resultKind);
+        getGen().append(new SPIRVLIRStmt.AssignStmt(result, new SPIRVUnary.CastFloatToHalf(resultKind, result, op)));
+        return result;
+    }
+
     public Value emitRSQRT(Value op) {
         LIRKind resultKind = LIRKind.value(op.getPlatformKind());
         Variable result = getGen().newVariable(resultKind);
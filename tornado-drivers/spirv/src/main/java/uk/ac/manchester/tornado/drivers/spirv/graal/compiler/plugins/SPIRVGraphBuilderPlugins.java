@@ -56,9 +56,13 @@ import org.graalvm.compiler.replacements.InlineDuringParsingPlugin;
 import jdk.vm.ci.meta.JavaKind;
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.collections.types.HalfFloat;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.drivers.common.logging.Logger;
 import uk.ac.manchester.tornado.drivers.spirv.graal.SPIRVArchitecture;
 import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVKind;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.FloatToHalfNode;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.HalfToFloatNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalArrayNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVBarrierNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVFPBinaryIntrinsicNode;
@@ -96,6 +100,36 @@ public class SPIRVGraphBuilderPlugins {
 
         SPIRVMathPlugins.registerTornadoMathPlugins(invocationPlugins);
         SPIRVVectorPlugins.registerPlugins(plugins, invocationPlugins);
+
+        registerHalfFloatPlugins(invocationPlugins);
+    }
+
+    private static void registerHalfFloatPlugins(InvocationPlugins plugins) {
+        Registration r = new Registration(plugins, HalfFloat.class);
+
+        r.register(new InvocationPlugin("toFloat", short.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value) {
+                if (value.isConstant()) {
+                    b.push(JavaKind.Float, b.append(ConstantNode.forFloat(HalfFloat.toFloat((short) value.asJavaConstant().asInt()))));
+                } else {
+                    b.push(JavaKind.Float, b.append(new HalfToFloatNode(value)));
+                }
+                return true;
+            }
+        });
+
+        r.register(new InvocationPlugin("toHalf", float.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value) {
+                if (value.isConstant()) {
+                    b.push(JavaKind.Short, b.append(ConstantNode.forInt(HalfFloat.toHalf(value.asJavaConstant().asFloat()))));
+                } else {
+                    b.push(JavaKind.Short, b.append(new FloatToHalfNode(value)));
+                }
+                return true;
+            }
+        });
     }
 
     private static void registerOpenCLBuiltinPlugins(InvocationPlugins plugins) {
@@ -133,6 +167,60 @@ public class SPIRVGraphBuilderPlugins {
         registerLocalBarrier(r);
         registerGlobalBarrier(r);
         localArraysPlugins(r);
+        registerUnsupportedSubGroupPlugins(r);
+    }
+
+    /**
+     * The SPIR-V backend does not lower the sub-group operations of the
+     * {@link KernelContext}. Inlining their Java fallbacks would run the kernel
+     * with sub-groups of a single work-item and return wrong results, so building
+     * a kernel that uses them bails out instead.
+     */
+    private static void registerUnsupportedSubGroupPlugins(Registration r) {
+        registerUnsupportedSubGroupQuery(r, "getSubGroupSize");
+        registerUnsupportedSubGroupQuery(r, "getSubGroupLocalId");
+        registerUnsupportedSubGroupQuery(r, "getSubGroupId");
+        registerUnsupportedSubGroupQuery(r, "getNumSubGroups");
+        for (Class<?> type : new Class<?>[] { int.class, float.class }) {
+            registerUnsupportedSubGroupExchange(r, "subGroupShuffle", type);
+            registerUnsupportedSubGroupExchange(r, "subGroupBroadcast", type);
+            registerUnsupportedSubGroupCollective(r, "subGroupReduceAdd", type);
+            registerUnsupportedSubGroupCollective(r, "subGroupReduceMin", type);
+            registerUnsupportedSubGroupCollective(r, "subGroupReduceMax", type);
+            registerUnsupportedSubGroupCollective(r, "subGroupScanInclusiveAdd", type);
+            registerUnsupportedSubGroupCollective(r, "subGroupScanExclusiveAdd", type);
+        }
+    }
+
+    private static TornadoBailoutRuntimeException unsupportedSubGroupOperation(String methodName) {
+        return new TornadoBailoutRuntimeException("[SPIR-V] Sub-group operation not supported: KernelContext." + methodName);
+    }
+
+    private static void registerUnsupportedSubGroupQuery(Registration r, String methodName) {
+        r.register(new InvocationPlugin(methodName, InvocationPlugin.Receiver.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver) {
+                throw unsupportedSubGroupOperation(methodName);
+            }
+        });
+    }
+
+    private static void registerUnsupportedSubGroupExchange(Registration r, String methodName, Class<?> type) {
+        r.register(new InvocationPlugin(methodName, InvocationPlugin.Receiver.class, type, int.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value, ValueNode subGroupLocalId) {
+                throw unsupportedSubGroupOperation(methodName);
+            }
+        });
+    }
+
+    private static void registerUnsupportedSubGroupCollective(Registration r, String methodName, Class<?> type) {
+        r.register(new InvocationPlugin(methodName, InvocationPlugin.Receiver.class, type) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value) {
+                throw unsupportedSubGroupOperation(methodName);
+            }
+        });
     }
 
     private static void registerLocalBarrier(Registration r) {
@@ -35,6 +35,7 @@ import jdk.vm.ci.meta.AllocatableValue;
 import jdk.vm.ci.meta.Local;
 import jdk.vm.ci.meta.Value;
 import uk.ac.manchester.beehivespirvtoolkit.lib.SPIRVInstScope;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpBitcast;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpCompositeExtract;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpControlBarrier;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpConvertFToS;
@@ -932,6 +933,76 @@ public class SPIRVUnary {
         }
     }
 
+    /**
+     * Converts a half float, held in the 16 bits of a short, to a float. The
+     * short is narrowed to 16 bits, reinterpreted as an OpTypeFloat 16 and
+     * widened with OpFConvert.
+     */
+    public static class CastHalfToFloat extends CastOperations {
+
+        public CastHalfToFloat(LIRKind lirKind, Variable result, Value inputVal) {
+            super(null, result, lirKind, inputVal);
+        }
+
+        @Override
+        public void emit(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm) {
+
+            Logger.traceCodeGen(Logger.BACKEND.SPIRV, "emit SPIRVOpFConvert from half -> float");
+
+            SPIRVKind spirvKind = (SPIRVKind) value.getPlatformKind();
+            SPIRVId fromTypeID = asm.primitives.getTypePrimitive(spirvKind);
+            SPIRVId loadConvert = loadConvertIfNeeded(crb, asm, fromTypeID, spirvKind);
+
+            SPIRVId shortValue = loadConvert;
+            if (spirvKind != SPIRVKind.OP_TYPE_INT_16) {
+                shortValue = asm.module.getNextId();
+                asm.currentBlockScope().add(new SPIRVOpSConvert(asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_INT_16), shortValue, loadConvert));
+            }
+
+            SPIRVId halfValue = asm.module.getNextId();
+            asm.currentBlockScope().add(new SPIRVOpBitcast(asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_FLOAT_16), halfValue, shortValue));
+
+            SPIRVId result = obtainPhiValueIdIfNeeded(asm);
+            asm.currentBlockScope().add(new SPIRVOpFConvert(asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_FLOAT_32), result, halfValue));
+
+            asm.registerLIRInstructionValue(this, result);
+        }
+    }
+
+    /**
+     * Converts a float to a half float that is returned in the 16 bits of a
+     * short. The float is narrowed with OpFConvert (round to nearest even) and
+     * the OpTypeFloat 16 is reinterpreted as a sign-extended short.
+     */
+    public static class CastFloatToHalf extends CastOperations {
+
+        public CastFloatToHalf(LIRKind lirKind, Variable result, Value inputVal) {
+            super(null, result, lirKind, inputVal);
+        }
+
+        @Override
+        public void emit(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm) {
+
+            Logger.traceCodeGen(Logger.BACKEND.SPIRV, "emit SPIRVOpFConvert from float -> half");
+
+            SPIRVKind spirvKind = (SPIRVKind) value.getPlatformKind();
+            SPIRVId fromTypeID = asm.primitives.getTypePrimitive(spirvKind);
+            SPIRVId loadConvert = loadConvertIfNeeded(crb, asm, fromTypeID, spirvKind);
+
+            SPIRVId halfValue = asm.module.getNextId();
+            asm.currentBlockScope().add(new SPIRVOpFConvert(asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_FLOAT_16), halfValue, loadConvert));
+
+            SPIRVId shortValue = asm.module.getNextId();
+            asm.currentBlockScope().add(new SPIRVOpBitcast(asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_INT_16), shortValue, halfValue));
+
+            SPIRVKind resultKind = (SPIRVKind) getLIRKind().getPlatformKind();
+            SPIRVId result = obtainPhiValueIdIfNeeded(asm);
+            asm.currentBlockScope().add(new SPIRVOpSConvert(asm.primitives.getTypePrimitive(resultKind), result, shortValue));
+
+            asm.registerLIRInstructionValue(this, result);
+        }
+    }
+
     /**
      * OpenCL Extended Instruction Set Intrinsics. As specified in the SPIR-V 1.0
      * standard, the following intrinsics in SPIR-V represents builtin functions
@@ -36,9 +36,10 @@ import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
 import jdk.vm.ci.meta.Value;
 import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.lir.SPIRVArithmeticTool;
 import uk.ac.manchester.tornado.runtime.graal.phases.MarkFloatingPointIntrinsicsNode;
+import uk.ac.manchester.tornado.runtime.graal.phases.MarkFusedMultiplyAdd;
 
 @NodeInfo(shortName = "SPIRV-FMA")
-public class SPIRVFMANode extends FloatingNode implements ArithmeticLIRLowerable, MarkFloatingPointIntrinsicsNode {
+public class SPIRVFMANode extends FloatingNode implements ArithmeticLIRLowerable, MarkFloatingPointIntrinsicsNode, MarkFusedMultiplyAdd {
 
     public static final NodeClass<SPIRVFMANode> TYPE = NodeClass.create(SPIRVFMANode.class);
 
@@ -31,6 +31,7 @@ import static uk.ac.manchester.tornado.runtime.common.Tornado.info;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import jdk.vm.ci.meta.JavaKind;
@@ -167,6 +168,15 @@ public abstract class SPIRVArrayWrapper<T> implements ObjectBuffer {
         return -1;
     }
 
+    @Override
+    public int readRange(Object reference, long offset, long numBytes, int[] events, boolean useDeps) {
+        final T array = cast(reference);
+        if (array == null) {
+            throw new TornadoRuntimeException("[ERROR] output data is NULL");
+        }
+        return readArrayData(toBuffer(), bufferOffset + arrayHeaderSize + offset, numBytes, array, offset, (useDeps) ? events : null);
+    }
+
     // FIXME <REFACTOR> <Same for all backends>
     private SPIRVByteBuffer getArrayHeader() {
         final SPIRVByteBuffer header = new SPIRVByteBuffer(deviceContext, bufferId, bufferOffset, arrayHeaderSize);
@@ -245,6 +255,17 @@ public abstract class SPIRVArrayWrapper<T> implements ObjectBuffer {
         return useDeps ? listEvents : null;
     }
 
+    @Override
+    public List<Integer> enqueueWriteRange(Object reference, long offset, long numBytes, int[] events, boolean useDeps) {
+        final T array = cast(reference);
+        if (array == null) {
+            throw new TornadoRuntimeException("ERROR] Data to be copied is NULL");
+        }
+        // The header is already on the device, only the range is written
+        final int returnEvent = enqueueWriteArrayData(toBuffer(), bufferOffset + arrayHeaderSize + offset, numBytes, array, offset, (useDeps) ? events : null);
+        return useDeps ? Collections.singletonList(returnEvent) : null;
+    }
+
     // FIXME <REFACTOR> <S>
     private long sizeOf(final T array) {
         return (long) arrayHeaderSize + ((long) Array.getLength(array) * (long) kind.getByteCount());
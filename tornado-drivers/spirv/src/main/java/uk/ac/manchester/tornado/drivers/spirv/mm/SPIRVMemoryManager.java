@@ -25,9 +25,11 @@ package uk.ac.manchester.tornado.drivers.spirv.mm;
 
 import static uk.ac.manchester.tornado.drivers.spirv.mm.SPIRVKernelArgs.RESERVED_SLOTS;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.DEVICE_AVAILABLE_MEMORY;
+import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.LEVEL_ZERO_SHARED_MEMORY;
 
 import uk.ac.manchester.tornado.api.memory.TornadoMemoryProvider;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVDeviceContext;
+import uk.ac.manchester.tornado.drivers.spirv.SPIRVLevelZeroContext;
 
 // FIXME <REFACTOR> This class can be almost common for all three backends
 public class SPIRVMemoryManager implements TornadoMemoryProvider {
@@ -43,6 +45,14 @@ public class SPIRVMemoryManager implements TornadoMemoryProvider {
         return DEVICE_AVAILABLE_MEMORY;
     }
 
+    /**
+     * Shared allocations are only available through Level Zero.
+     */
+    @Override
+    public boolean isSharedMemory() {
+        return LEVEL_ZERO_SHARED_MEMORY && deviceContext.getSpirvContext() instanceof SPIRVLevelZeroContext;
+    }
+
     public SPIRVKernelArgs createCallWrapper(final int maxArgs) {
         long kernelCallBuffer = deviceContext.getSpirvContext().allocateMemory(deviceContext.getDevice().getDeviceIndex(), RESERVED_SLOTS * Long.BYTES);
         return new SPIRVKernelArgs(kernelCallBuffer, maxArgs, deviceContext);
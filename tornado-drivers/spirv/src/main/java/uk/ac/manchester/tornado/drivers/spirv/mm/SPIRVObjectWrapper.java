@@ -23,7 +23,6 @@
  */
 package uk.ac.manchester.tornado.drivers.spirv.mm;
 
-import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shouldNotReachHere;
 import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.unimplemented;
 import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getVMConfig;
 import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getVMRuntime;
@@ -44,7 +43,7 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoMemoryException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoOutOfMemoryException;
 import uk.ac.manchester.tornado.api.memory.ObjectBuffer;
 import uk.ac.manchester.tornado.api.type.annotations.Vector;
-import uk.ac.manchester.tornado.drivers.common.mm.PrimitiveSerialiser;
+import uk.ac.manchester.tornado.drivers.common.mm.ObjectSerialiser;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVDeviceContext;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.utils.TornadoUtils;
@@ -60,6 +59,7 @@ public class SPIRVObjectWrapper implements ObjectBuffer {
     private final HotSpotResolvedJavaType resolvedType;
     private final HotSpotResolvedJavaField[] fields;
     private final FieldBuffer[] wrappedFields;
+    private final ObjectSerialiser serialiser;
 
     private final Class<?> objectType;
 
@@ -80,13 +80,13 @@ public class SPIRVObjectWrapper implements ObjectBuffer {
         resolvedType = (HotSpotResolvedJavaType) getVMRuntime().getHostJVMCIBackend().getMetaAccess().lookupJavaType(objectType);
 
         fields = (HotSpotResolvedJavaField[]) resolvedType.getInstanceFields(false);
-        sortFieldsByOffset();
+        ObjectSerialiser.sortFieldsByOffset(fields);
 
         wrappedFields = new FieldBuffer[fields.length];
 
         for (int index = 0; index < fields.length; index++) {
             HotSpotResolvedJavaField field = fields[index];
-            final Field reflectedField = getField(objectType, field.getName());
+            final Field reflectedField = ObjectSerialiser.findField(objectType, field.getName());
             final Class<?> type = reflectedField.getType();
 
             if (DEBUG) {
@@ -126,6 +126,8 @@ public class SPIRVObjectWrapper implements ObjectBuffer {
             }
         }
 
+        serialiser = ObjectSerialiser.forClass(objectType, fields);
+
         if (buffer == null) {
             buffer = ByteBuffer.allocate((int) getObjectSize());
             buffer.order(this.deviceContext.getDevice().getByteOrder());
@@ -153,113 +155,30 @@ public class SPIRVObjectWrapper implements ObjectBuffer {
         bufferId = -1;
     }
 
-    private Field getField(Class<?> type, String name) {
-        Field result = null;
-        try {
-            result = type.getDeclaredField(name);
-            result.setAccessible(true);
-        } catch (NoSuchFieldException | SecurityException e) {
-            if (type.getSuperclass() != null) {
-                result = getField(type.getSuperclass(), name);
-            } else {
-                shouldNotReachHere("unable to get field: class=%s, field=%s", type.getName(), name);
-            }
-        }
-        return result;
-    }
-
-    private void writeFieldToBuffer(int index, Field field, Object obj) {
-        Class<?> fieldType = field.getType();
-        if (fieldType.isPrimitive()) {
-            try {
-                PrimitiveSerialiser.put(buffer, field.get(obj));
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                shouldNotReachHere("unable to write primitive to buffer: ", e.getMessage());
-            }
-        } else if (wrappedFields[index] != null) {
-            buffer.putLong(wrappedFields[index].getBufferOffset());
-        } else {
-            unimplemented("field type %s", fieldType.getName());
-        }
-    }
-
-    private void readFieldFromBuffer(int index, Field field, Object obj) {
-        Class<?> fieldType = field.getType();
-        if (fieldType.isPrimitive()) {
-            try {
-                if (fieldType == int.class) {
-                    field.setInt(obj, buffer.getInt());
-                } else if (fieldType == long.class) {
-                    field.setLong(obj, buffer.getLong());
-                } else if (fieldType == short.class) {
-                    field.setShort(obj, buffer.getShort());
-                } else if (fieldType == byte.class) {
-                    field.set(obj, buffer.get());
-                } else if (fieldType == float.class) {
-                    field.setFloat(obj, buffer.getFloat());
-                } else if (fieldType == double.class) {
-                    field.setDouble(obj, buffer.getDouble());
-                }
-            } catch (IllegalAccessException e) {
-                shouldNotReachHere("unable to read field: ", e.getMessage());
-            }
-        } else if (wrappedFields[index] != null) {
-            buffer.getLong();
-        } else {
-            unimplemented("field type %s", fieldType.getName());
-        }
-    }
-
-    private void sortFieldsByOffset() {
-        // TODO Replace bubble sort with Arrays.sort + comparator
-        for (int i = 0; i < fields.length; i++) {
-            for (int j = 0; j < fields.length; j++) {
-                if (fields[i].getOffset() < fields[j].getOffset()) {
-                    final HotSpotResolvedJavaField tmp = fields[j];
-                    fields[j] = fields[i];
-                    fields[i] = tmp;
-                }
-            }
-        }
-
-    }
-
     private void serialise(Object object) {
         buffer.rewind();
-        buffer.position(hubOffset);
-        buffer.putLong(0);
-
-        if (fields.length > 0) {
-            buffer.position(fields[0].getOffset());
-            for (int i = 0; i < fields.length; i++) {
-                HotSpotResolvedJavaField field = fields[i];
-                Field f = getField(objectType, field.getName());
-                if (DEBUG) {
-                    trace("writing field: name=%s, offset=%d", field.getName(), field.getOffset());
-                }
+        buffer.putLong(hubOffset, 0);
+        serialiser.serialise(buffer, object);
 
-                buffer.position(field.getOffset());
-                writeFieldToBuffer(i, f, object);
+        for (int i = 0; i < fields.length; i++) {
+            HotSpotResolvedJavaField field = fields[i];
+            if (field.getJavaKind().isPrimitive()) {
+                continue;
+            }
+            if (DEBUG) {
+                trace("writing field: name=%s, offset=%d", field.getName(), field.getOffset());
+            }
+            if (wrappedFields[i] != null) {
+                buffer.putLong(field.getOffset(), wrappedFields[i].getBufferOffset());
+            } else {
+                unimplemented("field type %s", field.getType().getName());
             }
         }
     }
 
     private void deserialise(Object object) {
         buffer.rewind();
-
-        if (fields.length > 0) {
-            buffer.position(fields[0].getOffset());
-
-            for (int i = 0; i < fields.length; i++) {
-                HotSpotResolvedJavaField field = fields[i];
-                Field f = getField(objectType, field.getName());
-                f.setAccessible(true);
-                if (DEBUG) {
-                    trace("reading field: name=%s, offset=%d", field.getName(), field.getOffset());
-                }
-                readFieldFromBuffer(i, f, object);
-            }
-        }
+        serialiser.deserialise(buffer, object);
     }
 
     @Override
@@ -24,6 +24,7 @@
 package uk.ac.manchester.tornado.drivers.spirv.timestamps;
 
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
+import uk.ac.manchester.tornado.drivers.common.counters.HardwareCounters;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVDeviceContext;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVLevelZeroCommandQueue;
 import uk.ac.manchester.tornado.drivers.spirv.levelzero.LevelZeroByteBuffer;
@@ -128,6 +129,8 @@ public class LevelZeroKernelTimeStamp {
         meta.getProfiler().setTimer(ProfilerType.TOTAL_KERNEL_TIME, timer + kernelElapsedTime);
         // Register the time for the task
         meta.getProfiler().setTaskTimer(ProfilerType.TASK_KERNEL_TIME, meta.getId(), kernelElapsedTime);
+        // Level Zero timestamps are not exposed as events: the provider reads the task timer
+        HardwareCounters.sample(meta.getProfiler(), meta, null, null);
     }
 
 }
@@ -3,7 +3,10 @@ module tornado.matrices {
 
     requires transitive ejml.simple;
     requires transitive tornado.api;
+    requires transitive tornado.primitives;
 
     exports uk.ac.manchester.tornado.matrix;
+    exports uk.ac.manchester.tornado.matrix.blas;
+    exports uk.ac.manchester.tornado.matrix.sparse;
 
 }
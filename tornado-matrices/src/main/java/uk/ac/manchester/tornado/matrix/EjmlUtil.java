@@ -21,6 +21,7 @@ package uk.ac.manchester.tornado.matrix;
 import org.ejml.simple.SimpleMatrix;
 
 import uk.ac.manchester.tornado.api.collections.types.Matrix2DDouble;
+import uk.ac.manchester.tornado.api.collections.types.Matrix2DFloat;
 import uk.ac.manchester.tornado.api.collections.types.Matrix4x4Float;
 
 public class EjmlUtil {
@@ -54,4 +55,34 @@ public class EjmlUtil {
         }
         return result;
     }
+
+    public static SimpleMatrix toMatrix(Matrix2DFloat m) {
+        SimpleMatrix result = new SimpleMatrix(m.getNumRows(), m.getNumColumns());
+        for (int i = 0; i < m.getNumRows(); i++) {
+            for (int j = 0; j < m.getNumColumns(); j++) {
+                result.set(i, j, m.get(i, j));
+            }
+        }
+        return result;
+    }
+
+    public static Matrix2DFloat toMatrix2DFloat(SimpleMatrix m) {
+        Matrix2DFloat result = new Matrix2DFloat(m.numRows(), m.numCols());
+        for (int i = 0; i < m.numRows(); i++) {
+            for (int j = 0; j < m.numCols(); j++) {
+                result.set(i, j, (float) m.get(i, j));
+            }
+        }
+        return result;
+    }
+
+    public static Matrix2DDouble toMatrix2DDouble(SimpleMatrix m) {
+        Matrix2DDouble result = new Matrix2DDouble(m.numRows(), m.numCols());
+        for (int i = 0; i < m.numRows(); i++) {
+            for (int j = 0; j < m.numCols(); j++) {
+                result.set(i, j, m.get(i, j));
+            }
+        }
+        return result;
+    }
 }
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.blas;
+
+import uk.ac.manchester.tornado.api.collections.types.Matrix2DDouble;
+import uk.ac.manchester.tornado.api.collections.types.Matrix2DFloat;
+import uk.ac.manchester.tornado.api.collections.types.Matrix2DType;
+import uk.ac.manchester.tornado.api.collections.types.VectorDouble;
+import uk.ac.manchester.tornado.api.collections.types.VectorFloat;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+
+/**
+ * Dense BLAS level-2/3 subset over {@link Matrix2DFloat} and
+ * {@link Matrix2DDouble}. Every method builds a {@link BlasTaskGraph} that
+ * copies the operands in and the result out on each execution, using the tile
+ * sizes of the given {@link BlasProfile}.
+ *
+ * <p>
+ * Example:
+ * </p>
+ * <code>
+ *     Blas.gemm(BlasProfile.GPU, false, false, 1.0f, a, b, 0.0f, c).execute();
+ * </code>
+ */
+public final class Blas {
+
+    private Blas() {
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    private static String shape(Matrix2DType matrix) {
+        return matrix.getNumRows() + "x" + matrix.getNumColumns();
+    }
+
+    /**
+     * GEMM, {@code C = alpha * op(A) * op(B) + beta * C}.
+     */
+    public static BlasTaskGraph gemm(BlasProfile profile, boolean transA, boolean transB, float alpha, Matrix2DFloat a, Matrix2DFloat b, float beta, Matrix2DFloat c) {
+        return gemm(profile, transA, transB, alpha, a, a.getArray(), b, b.getArray(), beta, c, c.getArray());
+    }
+
+    public static BlasTaskGraph gemm(BlasProfile profile, boolean transA, boolean transB, double alpha, Matrix2DDouble a, Matrix2DDouble b, double beta, Matrix2DDouble c) {
+        return gemm(profile, transA, transB, alpha, a, a.getArray(), b, b.getArray(), beta, c, c.getArray());
+    }
+
+    private static BlasTaskGraph gemm(BlasProfile profile, boolean transA, boolean transB, double alpha, Matrix2DType a, Object aArray, Matrix2DType b, Object bArray, double beta, Matrix2DType c,
+            Object cArray) {
+        int m = transA ? a.getNumColumns() : a.getNumRows();
+        int k = transA ? a.getNumRows() : a.getNumColumns();
+        int n = transB ? b.getNumRows() : b.getNumColumns();
+        int kB = transB ? b.getNumColumns() : b.getNumRows();
+        check(k == kB, "Inner dimensions of op(A) and op(B) differ: " + k + " != " + kB);
+        check(c.getNumRows() == m && c.getNumColumns() == n, "C must be " + m + "x" + n + ", got " + shape(c));
+
+        BlasTaskGraph graph = new BlasTaskGraph("gemm", profile);
+        transferIn(graph, beta, aArray, bArray, cArray);
+        int[] params = graph.gemmParams(m, n, k, 0, a.getNumColumns(), 0, b.getNumColumns(), 0, n, transA, transB);
+        graph.addGemm(aArray, bArray, cArray, params, 1, alpha, beta);
+        graph.getTaskGraph().transferToHost(DataTransferMode.EVERY_EXECUTION, cArray);
+        return graph;
+    }
+
+    private static void transferIn(BlasTaskGraph graph, double beta, Object... arrays) {
+        if (beta == 0) {
+            // C is write-only
+            Object[] inputs = new Object[arrays.length - 1];
+            System.arraycopy(arrays, 0, inputs, 0, inputs.length);
+            graph.getTaskGraph().transferToDevice(DataTransferMode.EVERY_EXECUTION, inputs);
+        } else {
+            graph.getTaskGraph().transferToDevice(DataTransferMode.EVERY_EXECUTION, arrays);
+        }
+    }
+
+    /**
+     * Batched GEMM, {@code C[i] = alpha * A[i] * B[i] + beta * C[i]} for
+     * {@code batchCount} independent products in a single launch. The matrices
+     * of each batch are stacked vertically: A is {@code (batchCount * m) x k}, B
+     * is {@code (batchCount * k) x n} and C is {@code (batchCount * m) x n}.
+     */
+    public static BlasTaskGraph batchedGemm(BlasProfile profile, int batchCount, float alpha, Matrix2DFloat a, Matrix2DFloat b, float beta, Matrix2DFloat c) {
+        return batchedGemm(profile, batchCount, alpha, a, a.getArray(), b, b.getArray(), beta, c, c.getArray());
+    }
+
+    public static BlasTaskGraph batchedGemm(BlasProfile profile, int batchCount, double alpha, Matrix2DDouble a, Matrix2DDouble b, double beta, Matrix2DDouble c) {
+        return batchedGemm(profile, batchCount, alpha, a, a.getArray(), b, b.getArray(), beta, c, c.getArray());
+    }
+
+    private static BlasTaskGraph batchedGemm(BlasProfile profile, int batchCount, double alpha, Matrix2DType a, Object aArray, Matrix2DType b, Object bArray, double beta, Matrix2DType c,
+            Object cArray) {
+        check(batchCount > 0, "Batch count must be positive, got " + batchCount);
+        check(a.getNumRows() % batchCount == 0 && b.getNumRows() % batchCount == 0, "A and B rows must be multiples of the batch count " + batchCount);
+        int m = a.getNumRows() / batchCount;
+        int k = a.getNumColumns();
+        int n = b.getNumColumns();
+        check(b.getNumRows() / batchCount == k, "Inner dimensions of A and B differ: " + k + " != " + (b.getNumRows() / batchCount));
+        check(c.getNumRows() == m * batchCount && c.getNumColumns() == n, "C must be " + (m * batchCount) + "x" + n + ", got " + shape(c));
+
+        BlasTaskGraph graph = new BlasTaskGraph("batchedGemm", profile);
+        transferIn(graph, beta, aArray, bArray, cArray);
+        int[] params = graph.gemmParams(m, n, k, 0, k, 0, n, 0, n, false, false);
+        params[BlasKernels.A_STRIDE] = m * k;
+        params[BlasKernels.B_STRIDE] = k * n;
+        params[BlasKernels.C_STRIDE] = m * n;
+        graph.addGemm(aArray, bArray, cArray, params, batchCount, alpha, beta);
+        graph.getTaskGraph().transferToHost(DataTransferMode.EVERY_EXECUTION, cArray);
+        return graph;
+    }
+
+    /**
+     * GEMV, {@code y = alpha * op(A) * x + beta * y}.
+     */
+    public static BlasTaskGraph gemv(BlasProfile profile, boolean trans, float alpha, Matrix2DFloat a, VectorFloat x, float beta, VectorFloat y) {
+        return gemv(profile, trans, alpha, a, a.getArray(), x.getArray(), beta, y.getArray());
+    }
+
+    public static BlasTaskGraph gemv(BlasProfile profile, boolean trans, double alpha, Matrix2DDouble a, VectorDouble x, double beta, VectorDouble y) {
+        return gemv(profile, trans, alpha, a, a.getArray(), x.getArray(), beta, y.getArray());
+    }
+
+    private static BlasTaskGraph gemv(BlasProfile profile, boolean trans, double alpha, Matrix2DType a, Object aArray, Object xArray, double beta, Object yArray) {
+        int m = a.getNumRows();
+        int n = a.getNumColumns();
+        int xLength = xArray instanceof float[] ? ((float[]) xArray).length : ((double[]) xArray).length;
+        int yLength = yArray instanceof float[] ? ((float[]) yArray).length : ((double[]) yArray).length;
+        check(xLength == (trans ? m : n), "x has " + xLength + " elements, op(A) is " + (trans ? n + "x" + m : shape(a)));
+        check(yLength == (trans ? n : m), "y has " + yLength + " elements, op(A) is " + (trans ? n + "x" + m : shape(a)));
+
+        BlasTaskGraph graph = new BlasTaskGraph("gemv", profile);
+        transferIn(graph, beta, aArray, xArray, yArray);
+        graph.addGemv(aArray, xArray, yArray, m, n, trans, alpha, beta);
+        graph.getTaskGraph().transferToHost(DataTransferMode.EVERY_EXECUTION, yArray);
+        return graph;
+    }
+
+    /**
+     * Left-side TRSM: solves {@code op(A) * X = alpha * B} for a triangular
+     * {@code A} and overwrites B with X. The diagonal blocks of
+     * {@code profile.getTileSize()} rows are solved by substitution and the rest
+     * of B is updated with the tiled GEMM.
+     *
+     * @param lower
+     *            {@code A} is lower triangular; otherwise upper triangular.
+     * @param trans
+     *            Solve with {@code A^T}.
+     * @param unitDiagonal
+     *            Assume ones on the diagonal of {@code A}, which is not read.
+     */
+    public static BlasTaskGraph trsm(BlasProfile profile, boolean lower, boolean trans, boolean unitDiagonal, float alpha, Matrix2DFloat a, Matrix2DFloat b) {
+        return trsm(profile, lower, trans, unitDiagonal, alpha, a, a.getArray(), b, b.getArray());
+    }
+
+    public static BlasTaskGraph trsm(BlasProfile profile, boolean lower, boolean trans, boolean unitDiagonal, double alpha, Matrix2DDouble a, Matrix2DDouble b) {
+        return trsm(profile, lower, trans, unitDiagonal, alpha, a, a.getArray(), b, b.getArray());
+    }
+
+    private static BlasTaskGraph trsm(BlasProfile profile, boolean lower, boolean trans, boolean unitDiagonal, double alpha, Matrix2DType a, Object aArray, Matrix2DType b, Object bArray) {
+        int m = a.getNumRows();
+        int n = b.getNumColumns();
+        check(a.getNumColumns() == m, "A must be square, got " + shape(a));
+        check(b.getNumRows() == m, "B must have " + m + " rows, got " + shape(b));
+
+        BlasTaskGraph graph = new BlasTaskGraph("trsm", profile);
+        graph.getTaskGraph().transferToDevice(DataTransferMode.EVERY_EXECUTION, aArray, bArray);
+        if (alpha != 1) {
+            graph.addScale(bArray, alpha, m * n);
+        }
+
+        // op(A) is lower triangular when exactly one of lower and trans holds
+        boolean forward = lower != trans;
+        int blockSize = profile.getTileSize();
+        int firstBlock = forward ? 0 : ((m - 1) / blockSize) * blockSize;
+        int step = forward ? blockSize : -blockSize;
+        for (int start = firstBlock; start >= 0 && start < m; start += step) {
+            int end = Math.min(start + blockSize, m);
+            int[] params = new int[BlasKernels.TRSM_PARAMS];
+            params[BlasKernels.TRSM_START] = start;
+            params[BlasKernels.TRSM_END] = end;
+            params[BlasKernels.TRSM_LDA] = m;
+            params[BlasKernels.TRSM_LDB] = n;
+            params[BlasKernels.TRSM_FORWARD] = forward ? 1 : 0;
+            params[BlasKernels.TRSM_TRANS] = trans ? 1 : 0;
+            params[BlasKernels.TRSM_UNIT] = unitDiagonal ? 1 : 0;
+            graph.addTrsmBlock(aArray, bArray, params, n);
+
+            // Remove the solved rows from the rows still to solve: B[rest] -= op(A)[rest, block] * X[block]
+            int restStart = forward ? end : 0;
+            int restRows = forward ? m - end : start;
+            if (restRows > 0) {
+                int aOffset = trans ? start * m + restStart : restStart * m + start;
+                int[] update = graph.gemmParams(restRows, n, end - start, aOffset, m, start * n, n, restStart * n, n, trans, false);
+                graph.addGemm(aArray, bArray, bArray, update, 1, -1.0, 1.0);
+            }
+        }
+        graph.getTaskGraph().transferToHost(DataTransferMode.EVERY_EXECUTION, bArray);
+        return graph;
+    }
+
+    /**
+     * SYRK, {@code C = alpha * A * A^T + beta * C}, or
+     * {@code C = alpha * A^T * A + beta * C} when {@code trans} is set. Only the
+     * lower or upper triangle of C is written.
+     */
+    public static BlasTaskGraph syrk(BlasProfile profile, boolean lower, boolean trans, float alpha, Matrix2DFloat a, float beta, Matrix2DFloat c) {
+        return syrk(profile, lower, trans, alpha, a, a.getArray(), beta, c, c.getArray());
+    }
+
+    public static BlasTaskGraph syrk(BlasProfile profile, boolean lower, boolean trans, double alpha, Matrix2DDouble a, double beta, Matrix2DDouble c) {
+        return syrk(profile, lower, trans, alpha, a, a.getArray(), beta, c, c.getArray());
+    }
+
+    private static BlasTaskGraph syrk(BlasProfile profile, boolean lower, boolean trans, double alpha, Matrix2DType a, Object aArray, double beta, Matrix2DType c, Object cArray) {
+        int n = trans ? a.getNumColumns() : a.getNumRows();
+        int k = trans ? a.getNumRows() : a.getNumColumns();
+        check(c.getNumRows() == n && c.getNumColumns() == n, "C must be " + n + "x" + n + ", got " + shape(c));
+
+        BlasTaskGraph graph = new BlasTaskGraph("syrk", profile);
+        transferIn(graph, beta, aArray, cArray);
+        int lda = a.getNumColumns();
+        int[] params = graph.gemmParams(n, n, k, 0, lda, 0, lda, 0, n, trans, !trans);
+        params[BlasKernels.TRIANGLE] = lower ? BlasKernels.LOWER : BlasKernels.UPPER;
+        graph.addGemm(aArray, aArray, cArray, params, 1, alpha, beta);
+        graph.getTaskGraph().transferToHost(DataTransferMode.EVERY_EXECUTION, cArray);
+        return graph;
+    }
+}
@@ -0,0 +1,523 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.blas;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.collections.types.Double4;
+import uk.ac.manchester.tornado.api.collections.types.Float4;
+
+/**
+ * Device kernels of the BLAS subset. All matrices are row-major with an
+ * explicit leading dimension, so the kernels also operate on sub-matrices and
+ * on batches of matrices stored back to back.
+ */
+public final class BlasKernels {
+
+    /**
+     * Rows and columns of C computed by each work-item of the GEMM kernels.
+     */
+    public static final int REGISTER_BLOCK = 4;
+
+    /**
+     * Local memory, in elements, reserved for each of the A and B tiles.
+     */
+    public static final int LOCAL_TILE_ELEMENTS = 1024;
+
+    /**
+     * Maximum work-group size of the GEMV kernels.
+     */
+    public static final int MAX_GROUP_SIZE = 256;
+
+    // Layout of the GEMM parameter array
+    public static final int M = 0;
+    public static final int N = 1;
+    public static final int K = 2;
+    public static final int A_OFFSET = 3;
+    public static final int LDA = 4;
+    public static final int B_OFFSET = 5;
+    public static final int LDB = 6;
+    public static final int C_OFFSET = 7;
+    public static final int LDC = 8;
+    public static final int TRANS_A = 9;
+    public static final int TRANS_B = 10;
+    public static final int TILE = 11;
+    public static final int TILE_K = 12;
+    public static final int A_STRIDE = 13;
+    public static final int B_STRIDE = 14;
+    public static final int C_STRIDE = 15;
+    public static final int TRIANGLE = 16;
+    public static final int GEMM_PARAMS = 17;
+
+    // Part of C written by the GEMM kernels
+    public static final int FULL = 0;
+    public static final int LOWER = 1;
+    public static final int UPPER = 2;
+
+    // Layout of the TRSM parameter array
+    public static final int TRSM_START = 0;
+    public static final int TRSM_END = 1;
+    public static final int TRSM_LDA = 2;
+    public static final int TRSM_LDB = 3;
+    public static final int TRSM_FORWARD = 4;
+    public static final int TRSM_TRANS = 5;
+    public static final int TRSM_UNIT = 6;
+    public static final int TRSM_PARAMS = 7;
+
+    private BlasKernels() {
+    }
+
+    /**
+     * Tiled SGEMM, {@code C = alpha * op(A) * op(B) + beta * C}, on row-major
+     * matrices described by {@code params} (see {@link #GEMM_PARAMS}). Launch
+     * with a 3D grid: one work-group of {@code (tile / REGISTER_BLOCK)^2}
+     * work-items per tile of C in X and Y, and one work-group per matrix of the
+     * batch in Z.
+     */
+    public static void sgemm(KernelContext context, float[] a, float[] b, float[] c, int[] params, float alpha, float beta) {
+        float[] aTile = context.allocateFloatLocalArray(LOCAL_TILE_ELEMENTS);
+        float[] bTile = context.allocateFloatLocalArray(LOCAL_TILE_ELEMENTS);
+
+        int m = params[M];
+        int n = params[N];
+        int k = params[K];
+        int lda = params[LDA];
+        int ldb = params[LDB];
+        int tile = params[TILE];
+        int tileK = params[TILE_K];
+        int transA = params[TRANS_A];
+        int transB = params[TRANS_B];
+        int triangle = params[TRIANGLE];
+
+        int threadsPerSide = tile / REGISTER_BLOCK;
+        int numThreads = threadsPerSide * threadsPerSide;
+        int tx = context.localIdx;
+        int ty = context.localIdy;
+        int threadId = ty * threadsPerSide + tx;
+        int groupX = context.groupIdx;
+        int groupY = context.groupIdy;
+        int batch = context.groupIdz;
+        int aBase = params[A_OFFSET] + batch * params[A_STRIDE];
+        int bBase = params[B_OFFSET] + batch * params[B_STRIDE];
+        int tileRow = groupY * tile;
+        int tileCol = groupX * tile;
+
+        // Work-groups whose tile lies outside the requested triangle do nothing
+        boolean active = triangle == FULL || (triangle == LOWER && groupX <= groupY) || (triangle == UPPER && groupX >= groupY);
+        if (active) {
+            Float4 acc0 = new Float4(0.0f, 0.0f, 0.0f, 0.0f);
+            Float4 acc1 = new Float4(0.0f, 0.0f, 0.0f, 0.0f);
+            Float4 acc2 = new Float4(0.0f, 0.0f, 0.0f, 0.0f);
+            Float4 acc3 = new Float4(0.0f, 0.0f, 0.0f, 0.0f);
+
+            for (int t = 0; t < k; t += tileK) {
+                // Stage op(A)[tile x tileK] and op(B)[tileK x tile], zero-padded at the edges
+                for (int i = threadId; i < tile * tileK; i += numThreads) {
+                    int row = tileRow + i / tileK;
+                    int kA = t + i % tileK;
+                    float valueA = 0.0f;
+                    if (row < m && kA < k) {
+                        if (transA == 0) {
+                            valueA = a[aBase + row * lda + kA];
+                        } else {
+                            valueA = a[aBase + kA * lda + row];
+                        }
+                    }
+                    aTile[(i % tileK) * tile + i / tileK] = valueA;
+
+                    int kB = t + i / tile;
+                    int col = tileCol + i % tile;
+                    float valueB = 0.0f;
+                    if (kB < k && col < n) {
+                        if (transB == 0) {
+                            valueB = b[bBase + kB * ldb + col];
+                        } else {
+                            valueB = b[bBase + col * ldb + kB];
+                        }
+                    }
+                    bTile[i] = valueB;
+                }
+                context.localBarrier();
+
+                for (int kk = 0; kk < tileK; kk++) {
+                    int bIndex = kk * tile + tx * REGISTER_BLOCK;
+                    int aIndex = kk * tile + ty * REGISTER_BLOCK;
+                    Float4 bRow = new Float4(bTile[bIndex], bTile[bIndex + 1], bTile[bIndex + 2], bTile[bIndex + 3]);
+                    acc0 = Float4.add(acc0, Float4.mult(bRow, aTile[aIndex]));
+                    acc1 = Float4.add(acc1, Float4.mult(bRow, aTile[aIndex + 1]));
+                    acc2 = Float4.add(acc2, Float4.mult(bRow, aTile[aIndex + 2]));
+                    acc3 = Float4.add(acc3, Float4.mult(bRow, aTile[aIndex + 3]));
+                }
+                context.localBarrier();
+            }
+
+            int cBase = params[C_OFFSET] + batch * params[C_STRIDE];
+            int ldc = params[LDC];
+            int row = tileRow + ty * REGISTER_BLOCK;
+            int col = tileCol + tx * REGISTER_BLOCK;
+            storeRow(c, cBase, ldc, row, col, m, n, triangle, acc0, alpha, beta);
+            storeRow(c, cBase, ldc, row + 1, col, m, n, triangle, acc1, alpha, beta);
+            storeRow(c, cBase, ldc, row + 2, col, m, n, triangle, acc2, alpha, beta);
+            storeRow(c, cBase, ldc, row + 3, col, m, n, triangle, acc3, alpha, beta);
+        }
+    }
+
+    private static void storeRow(float[] c, int base, int ldc, int row, int col, int m, int n, int triangle, Float4 acc, float alpha, float beta) {
+        if (row < m) {
+            store(c, base + row * ldc, row, col, n, triangle, acc.getX(), alpha, beta);
+            store(c, base + row * ldc, row, col + 1, n, triangle, acc.getY(), alpha, beta);
+            store(c, base + row * ldc, row, col + 2, n, triangle, acc.getZ(), alpha, beta);
+            store(c, base + row * ldc, row, col + 3, n, triangle, acc.getW(), alpha, beta);
+        }
+    }
+
+    private static void store(float[] c, int rowBase, int row, int col, int n, int triangle, float value, float alpha, float beta) {
+        if (col < n && (triangle == FULL || (triangle == LOWER && col <= row) || (triangle == UPPER && col >= row))) {
+            if (beta == 0) {
+                c[rowBase + col] = alpha * value;
+            } else {
+                c[rowBase + col] = alpha * value + beta * c[rowBase + col];
+            }
+        }
+    }
+
+    /**
+     * SGEMV, {@code y = alpha * A * x + beta * y}. One work-group per row of A:
+     * work-items read four consecutive elements at a time and reduce their
+     * partial dot products in local memory.
+     */
+    public static void sgemv(KernelContext context, float[] a, float[] x, float[] y, int n, int lda, float alpha, float beta) {
+        float[] partial = context.allocateFloatLocalArray(MAX_GROUP_SIZE);
+        int localIdx = context.localIdx;
+        int groupSize = context.localGroupSizeX;
+        int row = context.groupIdx;
+        int rowBase = row * lda;
+
+        float sum = 0.0f;
+        for (int j = localIdx * REGISTER_BLOCK; j + REGISTER_BLOCK - 1 < n; j += groupSize * REGISTER_BLOCK) {
+            Float4 aValues = new Float4(a[rowBase + j], a[rowBase + j + 1], a[rowBase + j + 2], a[rowBase + j + 3]);
+            Float4 xValues = new Float4(x[j], x[j + 1], x[j + 2], x[j + 3]);
+            sum += Float4.dot(aValues, xValues);
+        }
+        for (int j = (n / REGISTER_BLOCK) * REGISTER_BLOCK + localIdx; j < n; j += groupSize) {
+            sum += a[rowBase + j] * x[j];
+        }
+        partial[localIdx] = sum;
+        context.localBarrier();
+
+        for (int stride = groupSize / 2; stride > 0; stride /= 2) {
+            if (localIdx < stride) {
+                partial[localIdx] += partial[localIdx + stride];
+            }
+            context.localBarrier();
+        }
+        if (localIdx == 0) {
+            if (beta == 0) {
+                y[row] = alpha * partial[0];
+            } else {
+                y[row] = alpha * partial[0] + beta * y[row];
+            }
+        }
+    }
+
+    /**
+     * SGEMV with the transposed matrix, {@code y = alpha * A^T * x + beta * y}.
+     * One work-item per column of A, so consecutive work-items read consecutive
+     * addresses.
+     */
+    public static void sgemvTransposed(KernelContext context, float[] a, float[] x, float[] y, int m, int n, int lda, float alpha, float beta) {
+        int col = context.globalIdx;
+        if (col < n) {
+            float sum = 0.0f;
+            for (int i = 0; i < m; i++) {
+                sum += a[i * lda + col] * x[i];
+            }
+            if (beta == 0) {
+                y[col] = alpha * sum;
+            } else {
+                y[col] = alpha * sum + beta * y[col];
+            }
+        }
+    }
+
+    /**
+     * Solves the diagonal block {@code [start, end)} of a left-side TRSM by
+     * substitution, one work-item per column of B. The off-diagonal updates are
+     * done with {@link #sgemm}.
+     */
+    public static void strsmBlock(float[] a, float[] b, int[] params, int n) {
+        for (@Parallel int col = 0; col < n; col++) {
+            int start = params[TRSM_START];
+            int end = params[TRSM_END];
+            int lda = params[TRSM_LDA];
+            int ldb = params[TRSM_LDB];
+            int trans = params[TRSM_TRANS];
+            if (params[TRSM_FORWARD] == 1) {
+                for (int i = start; i < end; i++) {
+                    float sum = b[i * ldb + col];
+                    for (int j = start; j < i; j++) {
+                        float aij = trans == 0 ? a[i * lda + j] : a[j * lda + i];
+                        sum -= aij * b[j * ldb + col];
+                    }
+                    if (params[TRSM_UNIT] == 0) {
+                        sum /= a[i * lda + i];
+                    }
+                    b[i * ldb + col] = sum;
+                }
+            } else {
+                for (int i = end - 1; i >= start; i--) {
+                    float sum = b[i * ldb + col];
+                    for (int j = i + 1; j < end; j++) {
+                        float aij = trans == 0 ? a[i * lda + j] : a[j * lda + i];
+                        sum -= aij * b[j * ldb + col];
+                    }
+                    if (params[TRSM_UNIT] == 0) {
+                        sum /= a[i * lda + i];
+                    }
+                    b[i * ldb + col] = sum;
+                }
+            }
+        }
+    }
+
+    public static void sscal(float[] x, float alpha, int size) {
+        for (@Parallel int i = 0; i < size; i++) {
+            x[i] *= alpha;
+        }
+    }
+
+    /**
+     * Tiled DGEMM, {@code C = alpha * op(A) * op(B) + beta * C}, on row-major
+     * matrices described by {@code params} (see {@link #GEMM_PARAMS}). Launch
+     * with a 3D grid: one work-group of {@code (tile / REGISTER_BLOCK)^2}
+     * work-items per tile of C in X and Y, and one work-group per matrix of the
+     * batch in Z.
+     */
+    public static void dgemm(KernelContext context, double[] a, double[] b, double[] c, int[] params, double alpha, double beta) {
+        double[] aTile = context.allocateDoubleLocalArray(LOCAL_TILE_ELEMENTS);
+        double[] bTile = context.allocateDoubleLocalArray(LOCAL_TILE_ELEMENTS);
+
+        int m = params[M];
+        int n = params[N];
+        int k = params[K];
+        int lda = params[LDA];
+        int ldb = params[LDB];
+        int tile = params[TILE];
+        int tileK = params[TILE_K];
+        int transA = params[TRANS_A];
+        int transB = params[TRANS_B];
+        int triangle = params[TRIANGLE];
+
+        int threadsPerSide = tile / REGISTER_BLOCK;
+        int numThreads = threadsPerSide * threadsPerSide;
+        int tx = context.localIdx;
+        int ty = context.localIdy;
+        int threadId = ty * threadsPerSide + tx;
+        int groupX = context.groupIdx;
+        int groupY = context.groupIdy;
+        int batch = context.groupIdz;
+        int aBase = params[A_OFFSET] + batch * params[A_STRIDE];
+        int bBase = params[B_OFFSET] + batch * params[B_STRIDE];
+        int tileRow = groupY * tile;
+        int tileCol = groupX * tile;
+
+        // Work-groups whose tile lies outside the requested triangle do nothing
+        boolean active = triangle == FULL || (triangle == LOWER && groupX <= groupY) || (triangle == UPPER && groupX >= groupY);
+        if (active) {
+            Double4 acc0 = new Double4(0.0, 0.0, 0.0, 0.0);
+            Double4 acc1 = new Double4(0.0, 0.0, 0.0, 0.0);
+            Double4 acc2 = new Double4(0.0, 0.0, 0.0, 0.0);
+            Double4 acc3 = new Double4(0.0, 0.0, 0.0, 0.0);
+
+            for (int t = 0; t < k; t += tileK) {
+                // Stage op(A)[tile x tileK] and op(B)[tileK x tile], zero-padded at the edges
+                for (int i = threadId; i < tile * tileK; i += numThreads) {
+                    int row = tileRow + i / tileK;
+                    int kA = t + i % tileK;
+                    double valueA = 0.0;
+                    if (row < m && kA < k) {
+                        if (transA == 0) {
+                            valueA = a[aBase + row * lda + kA];
+                        } else {
+                            valueA = a[aBase + kA * lda + row];
+                        }
+                    }
+                    aTile[(i % tileK) * tile + i / tileK] = valueA;
+
+                    int kB = t + i / tile;
+                    int col = tileCol + i % tile;
+                    double valueB = 0.0;
+                    if (kB < k && col < n) {
+                        if (transB == 0) {
+                            valueB = b[bBase + kB * ldb + col];
+                        } else {
+                            valueB = b[bBase + col * ldb + kB];
+                        }
+                    }
+                    bTile[i] = valueB;
+                }
+                context.localBarrier();
+
+                for (int kk = 0; kk < tileK; kk++) {
+                    int bIndex = kk * tile + tx * REGISTER_BLOCK;
+                    int aIndex = kk * tile + ty * REGISTER_BLOCK;
+                    Double4 bRow = new Double4(bTile[bIndex], bTile[bIndex + 1], bTile[bIndex + 2], bTile[bIndex + 3]);
+                    acc0 = Double4.add(acc0, Double4.mult(bRow, aTile[aIndex]));
+                    acc1 = Double4.add(acc1, Double4.mult(bRow, aTile[aIndex + 1]));
+                    acc2 = Double4.add(acc2, Double4.mult(bRow, aTile[aIndex + 2]));
+                    acc3 = Double4.add(acc3, Double4.mult(bRow, aTile[aIndex + 3]));
+                }
+                context.localBarrier();
+            }
+
+            int cBase = params[C_OFFSET] + batch * params[C_STRIDE];
+            int ldc = params[LDC];
+            int row = tileRow + ty * REGISTER_BLOCK;
+            int col = tileCol + tx * REGISTER_BLOCK;
+            storeRow(c, cBase, ldc, row, col, m, n, triangle, acc0, alpha, beta);
+            storeRow(c, cBase, ldc, row + 1, col, m, n, triangle, acc1, alpha, beta);
+            storeRow(c, cBase, ldc, row + 2, col, m, n, triangle, acc2, alpha, beta);
+            storeRow(c, cBase, ldc, row + 3, col, m, n, triangle, acc3, alpha, beta);
+        }
+    }
+
+    private static void storeRow(double[] c, int base, int ldc, int row, int col, int m, int n, int triangle, Double4 acc, double alpha, double beta) {
+        if (row < m) {
+            store(c, base + row * ldc, row, col, n, triangle, acc.getX(), alpha, beta);
+            store(c, base + row * ldc, row, col + 1, n, triangle, acc.getY(), alpha, beta);
+            store(c, base + row * ldc, row, col + 2, n, triangle, acc.getZ(), alpha, beta);
+            store(c, base + row * ldc, row, col + 3, n, triangle, acc.getW(), alpha, beta);
+        }
+    }
+
+    private static void store(double[] c, int rowBase, int row, int col, int n, int triangle, double value, double alpha, double beta) {
+        if (col < n && (triangle == FULL || (triangle == LOWER && col <= row) || (triangle == UPPER && col >= row))) {
+            if (beta == 0) {
+                c[rowBase + col] = alpha * value;
+            } else {
+                c[rowBase + col] = alpha * value + beta * c[rowBase + col];
+            }
+        }
+    }
+
+    /**
+     * DGEMV, {@code y = alpha * A * x + beta * y}. One work-group per row of A:
+     * work-items read four consecutive elements at a time and reduce their
+     * partial dot products in local memory.
+     */
+    public static void dgemv(KernelContext context, double[] a, double[] x, double[] y, int n, int lda, double alpha, double beta) {
+        double[] partial = context.allocateDoubleLocalArray(MAX_GROUP_SIZE);
+        int localIdx = context.localIdx;
+        int groupSize = context.localGroupSizeX;
+        int row = context.groupIdx;
+        int rowBase = row * lda;
+
+        double sum = 0.0;
+        for (int j = localIdx * REGISTER_BLOCK; j + REGISTER_BLOCK - 1 < n; j += groupSize * REGISTER_BLOCK) {
+            Double4 aValues = new Double4(a[rowBase + j], a[rowBase + j + 1], a[rowBase + j + 2], a[rowBase + j + 3]);
+            Double4 xValues = new Double4(x[j], x[j + 1], x[j + 2], x[j + 3]);
+            sum += Double4.dot(aValues, xValues);
+        }
+        for (int j = (n / REGISTER_BLOCK) * REGISTER_BLOCK + localIdx; j < n; j += groupSize) {
+            sum += a[rowBase + j] * x[j];
+        }
+        partial[localIdx] = sum;
+        context.localBarrier();
+
+        for (int stride = groupSize / 2; stride > 0; stride /= 2) {
+            if (localIdx < stride) {
+                partial[localIdx] += partial[localIdx + stride];
+            }
+            context.localBarrier();
+        }
+        if (localIdx == 0) {
+            if (beta == 0) {
+                y[row] = alpha * partial[0];
+            } else {
+                y[row] = alpha * partial[0] + beta * y[row];
+            }
+        }
+    }
+
+    /**
+     * DGEMV with the transposed matrix, {@code y = alpha * A^T * x + beta * y}.
+     * One work-item per column of A, so consecutive work-items read consecutive
+     * addresses.
+     */
+    public static void dgemvTransposed(KernelContext context, double[] a, double[] x, double[] y, int m, int n, int lda, double alpha, double beta) {
+        int col = context.globalIdx;
+        if (col < n) {
+            double sum = 0.0;
+            for (int i = 0; i < m; i++) {
+                sum += a[i * lda + col] * x[i];
+            }
+            if (beta == 0) {
+                y[col] = alpha * sum;
+            } else {
+                y[col] = alpha * sum + beta * y[col];
+            }
+        }
+    }
+
+    /**
+     * Solves the diagonal block {@code [start, end)} of a left-side TRSM by
+     * substitution, one work-item per column of B. The off-diagonal updates are
+     * done with {@link #dgemm}.
+     */
+    public static void dtrsmBlock(double[] a, double[] b, int[] params, int n) {
+        for (@Parallel int col = 0; col < n; col++) {
+            int start = params[TRSM_START];
+            int end = params[TRSM_END];
+            int lda = params[TRSM_LDA];
+            int ldb = params[TRSM_LDB];
+            int trans = params[TRSM_TRANS];
+            if (params[TRSM_FORWARD] == 1) {
+                for (int i = start; i < end; i++) {
+                    double sum = b[i * ldb + col];
+                    for (int j = start; j < i; j++) {
+                        double aij = trans == 0 ? a[i * lda + j] : a[j * lda + i];
+                        sum -= aij * b[j * ldb + col];
+                    }
+                    if (params[TRSM_UNIT] == 0) {
+                        sum /= a[i * lda + i];
+                    }
+                    b[i * ldb + col] = sum;
+                }
+            } else {
+                for (int i = end - 1; i >= start; i--) {
+                    double sum = b[i * ldb + col];
+                    for (int j = i + 1; j < end; j++) {
+                        double aij = trans == 0 ? a[i * lda + j] : a[j * lda + i];
+                        sum -= aij * b[j * ldb + col];
+                    }
+                    if (params[TRSM_UNIT] == 0) {
+                        sum /= a[i * lda + i];
+                    }
+                    b[i * ldb + col] = sum;
+                }
+            }
+        }
+    }
+
+    public static void dscal(double[] x, double alpha, int size) {
+        for (@Parallel int i = 0; i < size; i++) {
+            x[i] *= alpha;
+        }
+    }
+}
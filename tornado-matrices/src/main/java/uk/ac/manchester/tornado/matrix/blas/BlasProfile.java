@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.blas;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
+
+/**
+ * Tile sizes of the BLAS kernels for a class of device.
+ *
+ * <p>
+ * A work-group of the GEMM kernels computes a {@code tileSize x tileSize}
+ * block of C, walking K in steps of {@code tileK}. Each work-item keeps a
+ * {@link BlasKernels#REGISTER_BLOCK} x {@link BlasKernels#REGISTER_BLOCK}
+ * block of C in vector registers, so a work-group has
+ * {@code (tileSize / REGISTER_BLOCK)^2} work-items. The tiles of A and B are
+ * staged in local memory, which bounds {@code tileSize * tileK} to
+ * {@link BlasKernels#LOCAL_TILE_ELEMENTS}.
+ * </p>
+ */
+public enum BlasProfile {
+
+    /**
+     * 64x64 tiles with 256 work-items per group: enough parallelism per
+     * compute unit to hide memory latency on discrete GPUs.
+     */
+    GPU(64, 16, 256),
+
+    /**
+     * 32x32 tiles with 64 work-items per group and a deeper K step, which maps
+     * to fewer, longer-running work-groups on CPU OpenCL runtimes where local
+     * memory is cached global memory.
+     */
+    CPU(32, 32, 64);
+
+    private final int tileSize;
+    private final int tileK;
+    private final int gemvGroupSize;
+
+    BlasProfile(int tileSize, int tileK, int gemvGroupSize) {
+        if (tileSize % BlasKernels.REGISTER_BLOCK != 0 || tileSize * tileK > BlasKernels.LOCAL_TILE_ELEMENTS || gemvGroupSize > BlasKernels.MAX_GROUP_SIZE) {
+            throw new IllegalArgumentException("Invalid BLAS profile: " + tileSize + "x" + tileK + ", " + gemvGroupSize);
+        }
+        this.tileSize = tileSize;
+        this.tileK = tileK;
+        this.gemvGroupSize = gemvGroupSize;
+    }
+
+    public static BlasProfile forDevice(TornadoDevice device) {
+        return device.getDeviceType() == TornadoDeviceType.CPU ? CPU : GPU;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public int getTileK() {
+        return tileK;
+    }
+
+    /**
+     * @return number of work-items per row in the GEMV kernels.
+     */
+    public int getGemvGroupSize() {
+        return gemvGroupSize;
+    }
+
+    public int getThreadsPerTile() {
+        int threadsPerSide = tileSize / BlasKernels.REGISTER_BLOCK;
+        return threadsPerSide * threadsPerSide;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.blas;
+
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.WorkerGrid3D;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.primitives.PrimitiveTaskGraph;
+
+/**
+ * Task graph of a BLAS operation built by {@link Blas}. The kernels operate on
+ * the backing arrays of the matrices, which are either all {@code float[]} or
+ * all {@code double[]}.
+ */
+public final class BlasTaskGraph extends PrimitiveTaskGraph {
+
+    private final BlasProfile profile;
+
+    BlasTaskGraph(String name, BlasProfile profile) {
+        super(name);
+        this.profile = profile;
+    }
+
+    public BlasProfile getProfile() {
+        return profile;
+    }
+
+    int[] gemmParams(int m, int n, int k, int aOffset, int lda, int bOffset, int ldb, int cOffset, int ldc, boolean transA, boolean transB) {
+        int[] params = new int[BlasKernels.GEMM_PARAMS];
+        params[BlasKernels.M] = m;
+        params[BlasKernels.N] = n;
+        params[BlasKernels.K] = k;
+        params[BlasKernels.A_OFFSET] = aOffset;
+        params[BlasKernels.LDA] = lda;
+        params[BlasKernels.B_OFFSET] = bOffset;
+        params[BlasKernels.LDB] = ldb;
+        params[BlasKernels.C_OFFSET] = cOffset;
+        params[BlasKernels.LDC] = ldc;
+        params[BlasKernels.TRANS_A] = transA ? 1 : 0;
+        params[BlasKernels.TRANS_B] = transB ? 1 : 0;
+        params[BlasKernels.TILE] = profile.getTileSize();
+        params[BlasKernels.TILE_K] = profile.getTileK();
+        params[BlasKernels.TRIANGLE] = BlasKernels.FULL;
+        return params;
+    }
+
+    /**
+     * Appends a GEMM over {@code batchCount} matrices. The strides between the
+     * matrices of the batch are read from {@code params}.
+     */
+    void addGemm(Object a, Object b, Object c, int[] params, int batchCount, double alpha, double beta) {
+        int tile = profile.getTileSize();
+        int threadsPerSide = tile / BlasKernels.REGISTER_BLOCK;
+        int tilesX = (params[BlasKernels.N] + tile - 1) / tile;
+        int tilesY = (params[BlasKernels.M] + tile - 1) / tile;
+        WorkerGrid worker = new WorkerGrid3D(tilesX * threadsPerSide, tilesY * threadsPerSide, batchCount);
+        worker.setLocalWork(threadsPerSide, threadsPerSide, 1);
+
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, params);
+        if (c instanceof float[]) {
+            taskGraph.task(nextTask("sgemm", worker), BlasKernels::sgemm, context, (float[]) a, (float[]) b, (float[]) c, params, (float) alpha, (float) beta);
+        } else {
+            taskGraph.task(nextTask("dgemm", worker), BlasKernels::dgemm, context, (double[]) a, (double[]) b, (double[]) c, params, alpha, beta);
+        }
+    }
+
+    void addGemv(Object a, Object x, Object y, int m, int n, boolean trans, double alpha, double beta) {
+        if (trans) {
+            WorkerGrid worker = new WorkerGrid1D(roundUp(n, profile.getGemvGroupSize()));
+            worker.setLocalWork(profile.getGemvGroupSize(), 1, 1);
+            if (y instanceof float[]) {
+                taskGraph.task(nextTask("sgemvT", worker), BlasKernels::sgemvTransposed, context, (float[]) a, (float[]) x, (float[]) y, m, n, n, (float) alpha, (float) beta);
+            } else {
+                taskGraph.task(nextTask("dgemvT", worker), BlasKernels::dgemvTransposed, context, (double[]) a, (double[]) x, (double[]) y, m, n, n, alpha, beta);
+            }
+        } else {
+            WorkerGrid worker = new WorkerGrid1D(m * profile.getGemvGroupSize());
+            worker.setLocalWork(profile.getGemvGroupSize(), 1, 1);
+            if (y instanceof float[]) {
+                taskGraph.task(nextTask("sgemv", worker), BlasKernels::sgemv, context, (float[]) a, (float[]) x, (float[]) y, n, n, (float) alpha, (float) beta);
+            } else {
+                taskGraph.task(nextTask("dgemv", worker), BlasKernels::dgemv, context, (double[]) a, (double[]) x, (double[]) y, n, n, alpha, beta);
+            }
+        }
+    }
+
+    void addScale(Object x, double alpha, int size) {
+        if (x instanceof float[]) {
+            taskGraph.task(nextTask("sscal"), BlasKernels::sscal, (float[]) x, (float) alpha, size);
+        } else {
+            taskGraph.task(nextTask("dscal"), BlasKernels::dscal, (double[]) x, alpha, size);
+        }
+    }
+
+    void addTrsmBlock(Object a, Object b, int[] params, int n) {
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, params);
+        if (b instanceof float[]) {
+            taskGraph.task(nextTask("strsm"), BlasKernels::strsmBlock, (float[]) a, (float[]) b, params, n);
+        } else {
+            taskGraph.task(nextTask("dtrsm"), BlasKernels::dtrsmBlock, (double[]) a, (double[]) b, params, n);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.sparse;
+
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+
+/**
+ * Stabilised bi-conjugate gradient (BiCGSTAB) for general non-symmetric
+ * matrices, running as a single device-resident task graph (see
+ * {@link IterativeSolver}).
+ */
+public final class BiCGSTAB extends IterativeSolver {
+
+    private final float[] shadowResidual;
+    private final float[] direction;
+    private final float[] v;
+    private final float[] s;
+    private final float[] t;
+
+    private BiCGSTAB(CSRMatrix<float[]> matrix, float[] b, float[] x, float tolerance, int iterationsPerExecution, SpMVStrategy strategy) {
+        super("bicgstab", matrix, b, x, tolerance, iterationsPerExecution, strategy);
+        shadowResidual = residual.clone();
+        direction = new float[numRows];
+        v = new float[numRows];
+        s = new float[numRows];
+        t = new float[numRows];
+        scalars[SolverKernels.RHO] = 1;
+        scalars[SolverKernels.ALPHA] = 1;
+        scalars[SolverKernels.OMEGA] = 1;
+        build(shadowResidual, direction, v);
+    }
+
+    public static BiCGSTAB create(CSRMatrix<float[]> matrix, float[] b, float[] x, float tolerance) {
+        return create(matrix, b, x, tolerance, DEFAULT_ITERATIONS_PER_EXECUTION, SpMVStrategy.select(RowStatistics.of(matrix)));
+    }
+
+    public static BiCGSTAB create(CSRMatrix<float[]> matrix, float[] b, float[] x, float tolerance, int iterationsPerExecution, SpMVStrategy strategy) {
+        return new BiCGSTAB(matrix, b, x, tolerance, iterationsPerExecution, strategy);
+    }
+
+    @Override
+    void addIteration() {
+        addDot(shadowResidual, residual, SolverKernels.DOT);
+        taskGraph.task(nextTask("rho"), SolverKernels::bicgRho, scalars);
+        taskGraph.task(nextTask("updateP"), SolverKernels::bicgUpdateDirection, residual, direction, v, scalars, numRows);
+        addMultiply(direction, v);
+        addDot(shadowResidual, v, SolverKernels.DOT);
+        taskGraph.task(nextTask("alpha"), SolverKernels::bicgAlpha, scalars);
+        taskGraph.task(nextTask("updateS"), SolverKernels::bicgUpdateS, residual, v, s, scalars, numRows);
+        addMultiply(s, t);
+        addDot(t, s, SolverKernels.DOT);
+        addDot(t, t, SolverKernels.DOT2);
+        taskGraph.task(nextTask("omega"), SolverKernels::bicgOmega, scalars);
+        taskGraph.task(nextTask("updateX"), SolverKernels::bicgUpdateSolution, solution, residual, direction, s, t, scalars, numRows);
+        addDot(residual, residual, SolverKernels.DOT);
+        taskGraph.task(nextTask("residual"), SolverKernels::bicgResidual, scalars);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.sparse;
+
+/**
+ * Sparse matrix in coordinate (COO) format: one {@code (row, column, value)}
+ * triplet per non-zero. It is the interchange format used to assemble
+ * matrices before converting them to CSR with
+ * {@link SparseFormats#toCSR(COOMatrix)}.
+ */
+public final class COOMatrix {
+
+    private final int numRows;
+    private final int[] rowIndices;
+    private final int[] columnIndices;
+    private final float[] values;
+
+    public COOMatrix(int numRows, int[] rowIndices, int[] columnIndices, float[] values) {
+        if (rowIndices.length != columnIndices.length || rowIndices.length != values.length) {
+            throw new IllegalArgumentException("COO arrays must have the same length");
+        }
+        this.numRows = numRows;
+        this.rowIndices = rowIndices;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    public int getNumRows() {
+        return numRows;
+    }
+
+    public int getNumNonZeros() {
+        return values.length;
+    }
+
+    public int[] getRowIndices() {
+        return rowIndices;
+    }
+
+    public int[] getColumnIndices() {
+        return columnIndices;
+    }
+
+    public float[] getValues() {
+        return values;
+    }
+}
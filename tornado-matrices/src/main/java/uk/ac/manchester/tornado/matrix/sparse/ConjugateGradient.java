@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.sparse;
+
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+
+/**
+ * Conjugate gradient for symmetric positive-definite matrices, running as a
+ * single device-resident task graph (see {@link IterativeSolver}).
+ *
+ * <p>
+ * Example:
+ * </p>
+ * <code>
+ *     SolverResult result = ConjugateGradient.create(matrix, b, x, 1e-6f).solve(1000);
+ * </code>
+ */
+public final class ConjugateGradient extends IterativeSolver {
+
+    private final float[] direction;
+    private final float[] product;
+
+    private ConjugateGradient(CSRMatrix<float[]> matrix, float[] b, float[] x, float tolerance, int iterationsPerExecution, SpMVStrategy strategy) {
+        super("cg", matrix, b, x, tolerance, iterationsPerExecution, strategy);
+        direction = residual.clone();
+        product = new float[numRows];
+        scalars[SolverKernels.RHO] = scalars[SolverKernels.RESIDUAL];
+        build(direction);
+    }
+
+    public static ConjugateGradient create(CSRMatrix<float[]> matrix, float[] b, float[] x, float tolerance) {
+        return create(matrix, b, x, tolerance, DEFAULT_ITERATIONS_PER_EXECUTION, SpMVStrategy.select(RowStatistics.of(matrix)));
+    }
+
+    public static ConjugateGradient create(CSRMatrix<float[]> matrix, float[] b, float[] x, float tolerance, int iterationsPerExecution, SpMVStrategy strategy) {
+        return new ConjugateGradient(matrix, b, x, tolerance, iterationsPerExecution, strategy);
+    }
+
+    @Override
+    void addIteration() {
+        addMultiply(direction, product);
+        addDot(direction, product, SolverKernels.DOT);
+        taskGraph.task(nextTask("alpha"), SolverKernels::cgAlpha, scalars);
+        taskGraph.task(nextTask("updateX"), SolverKernels::cgUpdateSolution, solution, residual, direction, product, scalars, numRows);
+        addDot(residual, residual, SolverKernels.DOT);
+        taskGraph.task(nextTask("beta"), SolverKernels::cgBeta, scalars);
+        taskGraph.task(nextTask("updateP"), SolverKernels::cgUpdateDirection, residual, direction, scalars, numRows);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.sparse;
+
+/**
+ * Sparse matrix in ELLPACK (ELL) format. Every row is padded to the length of
+ * the longest row and the slots are stored column-major, so consecutive
+ * work-items read consecutive addresses. Padding slots have column index
+ * {@link #PADDING} and value zero.
+ */
+public final class ELLMatrix {
+
+    public static final int PADDING = -1;
+
+    private final int numRows;
+    private final int width;
+    private final int[] columnIndices;
+    private final float[] values;
+
+    ELLMatrix(int numRows, int width, int[] columnIndices, float[] values) {
+        this.numRows = numRows;
+        this.width = width;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    public int getNumRows() {
+        return numRows;
+    }
+
+    /**
+     * @return number of slots per row, i.e. the length of the longest row.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return column indices, where slot {@code k} of row {@code r} is stored at
+     *         {@code k * numRows + r}.
+     */
+    public int[] getColumnIndices() {
+        return columnIndices;
+    }
+
+    public float[] getValues() {
+        return values;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.sparse;
+
+import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+import uk.ac.manchester.tornado.primitives.PrimitiveTaskGraph;
+
+/**
+ * Base class of the Krylov solvers for {@code A * x = b}. The whole solver is a
+ * single task graph that unrolls {@code iterationsPerExecution} iterations.
+ * The matrix, the vectors and the solver scalars are copied to the device on
+ * the first execution and stay there: an iteration launches kernels only, and
+ * the host reads back the small scalar array once per execution to check the
+ * stop condition. The solution is copied back when the solver stops.
+ *
+ * <p>
+ * The initial residual {@code r0 = b - A * x0} is computed on the host, once.
+ * A solver instance runs a single solve.
+ * </p>
+ */
+public abstract class IterativeSolver extends PrimitiveTaskGraph {
+
+    public static final int DEFAULT_ITERATIONS_PER_EXECUTION = 16;
+
+    final SpMVOperator operator;
+    final int numRows;
+    final float[] solution;
+    final float[] residual;
+    final float[] scalars;
+    private final float[] partials;
+    private final int iterationsPerExecution;
+    private boolean solved;
+
+    IterativeSolver(String name, CSRMatrix<float[]> matrix, float[] b, float[] x, float tolerance, int iterationsPerExecution, SpMVStrategy strategy) {
+        super(name);
+        SparseFormats.checkCSR(matrix);
+        numRows = matrix.size;
+        if (b.length != numRows || x.length != numRows) {
+            throw new IllegalArgumentException("Solvers require square systems: rows=" + numRows + ", b=" + b.length + ", x=" + x.length);
+        }
+        if (iterationsPerExecution <= 0) {
+            throw new IllegalArgumentException("Iterations per execution must be positive, got " + iterationsPerExecution);
+        }
+        this.operator = new SpMVOperator(matrix, strategy);
+        this.solution = x;
+        this.iterationsPerExecution = iterationsPerExecution;
+        this.partials = new float[numBlocks(numRows)];
+        this.scalars = new float[SolverKernels.NUM_SCALARS];
+
+        residual = new float[numRows];
+        SparseFormats.multiply(matrix, x, residual);
+        float normB = 0;
+        float normR = 0;
+        for (int i = 0; i < numRows; i++) {
+            residual[i] = b[i] - residual[i];
+            normB += b[i] * b[i];
+            normR += residual[i] * residual[i];
+        }
+        scalars[SolverKernels.THRESHOLD] = tolerance * tolerance * normB;
+        scalars[SolverKernels.RESIDUAL] = normR;
+        scalars[SolverKernels.STATE] = normR <= scalars[SolverKernels.THRESHOLD] ? SolverKernels.CONVERGED : SolverKernels.RUNNING;
+    }
+
+    /**
+     * Appends the tasks of one iteration to the task graph.
+     */
+    abstract void addIteration();
+
+    /**
+     * Builds the task graph. Called by the subclasses once their vectors are
+     * initialised.
+     *
+     * @param vectors
+     *            Device vectors, other than the solution and the residual,
+     *            whose initial value must be copied to the device.
+     */
+    void build(Object... vectors) {
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, operator.getMatrixArrays());
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, solution, residual, scalars);
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, vectors);
+        for (int i = 0; i < iterationsPerExecution; i++) {
+            addIteration();
+        }
+        taskGraph.transferToHost(DataTransferMode.USER_DEFINED, solution, scalars);
+    }
+
+    void addMultiply(float[] x, float[] y) {
+        operator.addMultiply(this, x, y);
+    }
+
+    /**
+     * Appends a device dot product {@code a . b}, stored in
+     * {@code scalars[index]}.
+     */
+    void addDot(float[] a, float[] b, int index) {
+        taskGraph.task(nextTask("dot", numRows), SparseKernels::dotPartials, context, a, b, partials, numRows);
+        taskGraph.task(nextTask("sum", BLOCK_SIZE), SparseKernels::sumPartials, context, partials, partials.length, scalars, index);
+    }
+
+    public SpMVStrategy getStrategy() {
+        return operator.getStrategy();
+    }
+
+    /**
+     * Runs the solver until it converges, breaks down or reaches
+     * {@code maxIterations}. The solution is written to the {@code x} array given
+     * at construction.
+     */
+    public synchronized SolverResult solve(int maxIterations) {
+        if (maxIterations <= 0) {
+            throw new IllegalArgumentException("The maximum number of iterations must be positive, got " + maxIterations);
+        }
+        if (solved) {
+            throw new IllegalStateException("Solver " + getName() + " has already been used");
+        }
+        solved = true;
+        scalars[SolverKernels.MAX_ITERATIONS] = maxIterations;
+        TornadoExecutionResult result = null;
+        while (scalars[SolverKernels.STATE] == SolverKernels.RUNNING) {
+            result = execute();
+            result.transferToHost(scalars);
+        }
+        if (result != null) {
+            result.transferToHost(solution);
+        }
+
+        SolverResult.Status status;
+        if (scalars[SolverKernels.STATE] == SolverKernels.CONVERGED) {
+            status = SolverResult.Status.CONVERGED;
+        } else if (scalars[SolverKernels.STATE] == SolverKernels.BREAKDOWN) {
+            status = SolverResult.Status.BREAKDOWN;
+        } else {
+            status = SolverResult.Status.MAX_ITERATIONS;
+        }
+        return new SolverResult(status, (int) scalars[SolverKernels.ITERATIONS], (float) Math.sqrt(scalars[SolverKernels.RESIDUAL]));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.sparse;
+
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+
+/**
+ * Row-length statistics of a CSR matrix. They drive the choice of the SpMV
+ * kernel in {@link SpMVStrategy#select(RowStatistics)}.
+ */
+public final class RowStatistics {
+
+    private final int numRows;
+    private final int numNonZeros;
+    private final int minRowLength;
+    private final int maxRowLength;
+    private final double mean;
+    private final double standardDeviation;
+
+    private RowStatistics(int numRows, int numNonZeros, int minRowLength, int maxRowLength, double mean, double standardDeviation) {
+        this.numRows = numRows;
+        this.numNonZeros = numNonZeros;
+        this.minRowLength = minRowLength;
+        this.maxRowLength = maxRowLength;
+        this.mean = mean;
+        this.standardDeviation = standardDeviation;
+    }
+
+    public static RowStatistics of(CSRMatrix<?> matrix) {
+        SparseFormats.checkCSR(matrix);
+        int numRows = matrix.size;
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (int row = 0; row < numRows; row++) {
+            int length = matrix.rows[row + 1] - matrix.rows[row];
+            min = Math.min(min, length);
+            max = Math.max(max, length);
+        }
+        int numNonZeros = matrix.rows[numRows] - matrix.rows[0];
+        double mean = (double) numNonZeros / numRows;
+        double variance = 0;
+        for (int row = 0; row < numRows; row++) {
+            double delta = (matrix.rows[row + 1] - matrix.rows[row]) - mean;
+            variance += delta * delta;
+        }
+        return new RowStatistics(numRows, numNonZeros, min, max, mean, Math.sqrt(variance / numRows));
+    }
+
+    public int getNumRows() {
+        return numRows;
+    }
+
+    public int getNumNonZeros() {
+        return numNonZeros;
+    }
+
+    public int getMinRowLength() {
+        return minRowLength;
+    }
+
+    public int getMaxRowLength() {
+        return maxRowLength;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    /**
+     * @return ratio between the storage of an ELL matrix (every row padded to
+     *         the longest one) and the number of non-zeros.
+     */
+    public double getPaddingRatio() {
+        return numNonZeros == 0 ? 1.0 : ((double) numRows * maxRowLength) / numNonZeros;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("rows=%d, nnz=%d, min=%d, max=%d, mean=%.2f, stddev=%.2f", numRows, numNonZeros, minRowLength, maxRowLength, mean, standardDeviation);
+    }
+}
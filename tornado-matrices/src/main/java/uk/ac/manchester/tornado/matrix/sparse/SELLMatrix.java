@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.sparse;
+
+/**
+ * Sparse matrix in SELL-C-&sigma; format. Rows are sorted by length within
+ * windows of &sigma; rows and grouped in chunks of C rows. Each chunk is padded
+ * to its own longest row and stored column-major, which keeps most of the
+ * coalescing of ELL without padding every row to the global maximum.
+ *
+ * <p>
+ * Slot {@code s} of the matrix holds the original row
+ * {@code permutation[s]}, or {@link ELLMatrix#PADDING} for the slots that
+ * complete the last chunk. Element {@code k} of slot {@code s} is stored at
+ * {@code chunkOffsets[s / C] + k * C + s % C}.
+ * </p>
+ */
+public final class SELLMatrix {
+
+    private final int numRows;
+    private final int chunkHeight;
+    private final int sortingScope;
+    private final int[] permutation;
+    private final int[] chunkOffsets;
+    private final int[] chunkWidths;
+    private final int[] columnIndices;
+    private final float[] values;
+
+    SELLMatrix(int numRows, int chunkHeight, int sortingScope, int[] permutation, int[] chunkOffsets, int[] chunkWidths, int[] columnIndices, float[] values) {
+        this.numRows = numRows;
+        this.chunkHeight = chunkHeight;
+        this.sortingScope = sortingScope;
+        this.permutation = permutation;
+        this.chunkOffsets = chunkOffsets;
+        this.chunkWidths = chunkWidths;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    public int getNumRows() {
+        return numRows;
+    }
+
+    /**
+     * @return the chunk height C.
+     */
+    public int getChunkHeight() {
+        return chunkHeight;
+    }
+
+    /**
+     * @return the sorting scope &sigma;.
+     */
+    public int getSortingScope() {
+        return sortingScope;
+    }
+
+    public int getNumChunks() {
+        return chunkWidths.length;
+    }
+
+    /**
+     * @return number of row slots, i.e. the number of rows rounded up to a
+     *         multiple of the chunk height.
+     */
+    public int getNumSlots() {
+        return permutation.length;
+    }
+
+    public int[] getPermutation() {
+        return permutation;
+    }
+
+    public int[] getChunkOffsets() {
+        return chunkOffsets;
+    }
+
+    public int[] getChunkWidths() {
+        return chunkWidths;
+    }
+
+    public int[] getColumnIndices() {
+        return columnIndices;
+    }
+
+    public float[] getValues() {
+        return values;
+    }
+}
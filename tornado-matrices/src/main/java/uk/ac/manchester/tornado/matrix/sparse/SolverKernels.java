@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.sparse;
+
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+
+/**
+ * Vector updates and scalar recurrences of the iterative solvers. All solver
+ * scalars live in a small device array indexed by the constants below, so an
+ * iteration never needs to read a value back on the host. Once
+ * {@code scalars[STATE]} leaves {@link #RUNNING}, every kernel becomes a no-op
+ * and the remaining unrolled iterations of the task graph do nothing.
+ */
+public final class SolverKernels {
+
+    public static final int RHO = 0;
+    public static final int ALPHA = 1;
+    public static final int BETA = 2;
+    public static final int OMEGA = 3;
+    public static final int THRESHOLD = 4;
+    public static final int RESIDUAL = 5;
+    public static final int ITERATIONS = 6;
+    public static final int MAX_ITERATIONS = 7;
+    public static final int STATE = 8;
+    public static final int DOT = 9;
+    public static final int DOT2 = 10;
+    public static final int NUM_SCALARS = 11;
+
+    public static final float RUNNING = 0;
+    public static final float CONVERGED = 1;
+    public static final float BREAKDOWN = 2;
+    public static final float STOPPED = 3;
+
+    private SolverKernels() {
+    }
+
+    public static void cgAlpha(float[] scalars) {
+        if (scalars[STATE] == RUNNING) {
+            if (scalars[DOT] == 0) {
+                scalars[STATE] = BREAKDOWN;
+            } else {
+                scalars[ALPHA] = scalars[RHO] / scalars[DOT];
+            }
+        }
+    }
+
+    public static void cgUpdateSolution(float[] x, float[] r, float[] p, float[] q, float[] scalars, int numElements) {
+        for (@Parallel int i = 0; i < numElements; i++) {
+            if (scalars[STATE] == RUNNING) {
+                float alpha = scalars[ALPHA];
+                x[i] += alpha * p[i];
+                r[i] -= alpha * q[i];
+            }
+        }
+    }
+
+    public static void cgBeta(float[] scalars) {
+        if (scalars[STATE] == RUNNING) {
+            float rho = scalars[DOT];
+            scalars[BETA] = rho / scalars[RHO];
+            scalars[RHO] = rho;
+            scalars[RESIDUAL] = rho;
+            scalars[ITERATIONS] += 1;
+            if (rho <= scalars[THRESHOLD]) {
+                scalars[STATE] = CONVERGED;
+            } else if (scalars[ITERATIONS] >= scalars[MAX_ITERATIONS]) {
+                scalars[STATE] = STOPPED;
+            }
+        }
+    }
+
+    public static void cgUpdateDirection(float[] r, float[] p, float[] scalars, int numElements) {
+        for (@Parallel int i = 0; i < numElements; i++) {
+            if (scalars[STATE] == RUNNING) {
+                p[i] = r[i] + scalars[BETA] * p[i];
+            }
+        }
+    }
+
+    public static void bicgRho(float[] scalars) {
+        if (scalars[STATE] == RUNNING) {
+            float rho = scalars[DOT];
+            if (rho == 0 || scalars[OMEGA] == 0) {
+                scalars[STATE] = BREAKDOWN;
+            } else {
+                scalars[BETA] = (rho / scalars[RHO]) * (scalars[ALPHA] / scalars[OMEGA]);
+                scalars[RHO] = rho;
+            }
+        }
+    }
+
+    public static void bicgUpdateDirection(float[] r, float[] p, float[] v, float[] scalars, int numElements) {
+        for (@Parallel int i = 0; i < numElements; i++) {
+            if (scalars[STATE] == RUNNING) {
+                p[i] = r[i] + scalars[BETA] * (p[i] - scalars[OMEGA] * v[i]);
+            }
+        }
+    }
+
+    public static void bicgAlpha(float[] scalars) {
+        if (scalars[STATE] == RUNNING) {
+            if (scalars[DOT] == 0) {
+                scalars[STATE] = BREAKDOWN;
+            } else {
+                scalars[ALPHA] = scalars[RHO] / scalars[DOT];
+            }
+        }
+    }
+
+    public static void bicgUpdateS(float[] r, float[] v, float[] s, float[] scalars, int numElements) {
+        for (@Parallel int i = 0; i < numElements; i++) {
+            if (scalars[STATE] == RUNNING) {
+                s[i] = r[i] - scalars[ALPHA] * v[i];
+            }
+        }
+    }
+
+    public static void bicgOmega(float[] scalars) {
+        if (scalars[STATE] == RUNNING) {
+            if (scalars[DOT2] == 0) {
+                scalars[OMEGA] = 0;
+            } else {
+                scalars[OMEGA] = scalars[DOT] / scalars[DOT2];
+            }
+        }
+    }
+
+    public static void bicgUpdateSolution(float[] x, float[] r, float[] p, float[] s, float[] t, float[] scalars, int numElements) {
+        for (@Parallel int i = 0; i < numElements; i++) {
+            if (scalars[STATE] == RUNNING) {
+                float omega = scalars[OMEGA];
+                x[i] += scalars[ALPHA] * p[i] + omega * s[i];
+                r[i] = s[i] - omega * t[i];
+            }
+        }
+    }
+
+    public static void bicgResidual(float[] scalars) {
+        if (scalars[STATE] == RUNNING) {
+            float residual = scalars[DOT];
+            scalars[RESIDUAL] = residual;
+            scalars[ITERATIONS] += 1;
+            if (residual <= scalars[THRESHOLD]) {
+                scalars[STATE] = CONVERGED;
+            } else if (scalars[OMEGA] == 0) {
+                scalars[STATE] = BREAKDOWN;
+            } else if (scalars[ITERATIONS] >= scalars[MAX_ITERATIONS]) {
+                scalars[STATE] = STOPPED;
+            }
+        }
+    }
+}
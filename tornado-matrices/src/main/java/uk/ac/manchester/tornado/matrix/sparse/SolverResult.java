@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.sparse;
+
+/**
+ * Outcome of {@link IterativeSolver#solve(int)}.
+ */
+public final class SolverResult {
+
+    public enum Status {
+        CONVERGED, MAX_ITERATIONS, BREAKDOWN
+    }
+
+    private final Status status;
+    private final int iterations;
+    private final float residualNorm;
+
+    SolverResult(Status status, int iterations, float residualNorm) {
+        this.status = status;
+        this.iterations = iterations;
+        this.residualNorm = residualNorm;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isConverged() {
+        return status == Status.CONVERGED;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return the 2-norm of the residual {@code b - A * x} at the last iteration.
+     */
+    public float getResidualNorm() {
+        return residualNorm;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s after %d iterations, ||r|| = %e", status, iterations, residualNorm);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.sparse;
+
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+import uk.ac.manchester.tornado.primitives.PrimitiveTaskGraph;
+
+/**
+ * Sparse matrix times dense matrix, {@code C = A * B}. {@code B} and {@code C}
+ * are row-major with {@code numVectors} columns, so the product computes
+ * {@code numVectors} SpMVs while reading the sparse matrix once per row.
+ */
+public final class SpMM extends PrimitiveTaskGraph {
+
+    private SpMM(CSRMatrix<float[]> matrix, float[] b, float[] c, int numVectors) {
+        super("spmm");
+        SparseFormats.checkCSR(matrix);
+        if (numVectors <= 0) {
+            throw new IllegalArgumentException("SpMM requires at least one column in the dense matrix, got " + numVectors);
+        }
+        if (c.length < matrix.size * numVectors) {
+            throw new IllegalArgumentException("Output matrix is too small: " + c.length + " < " + (matrix.size * numVectors));
+        }
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, matrix.vals, matrix.rows, matrix.cols);
+        taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, b);
+        taskGraph.task(nextTask("spmm"), SparseKernels::spmmCsr, matrix.vals, matrix.rows, matrix.cols, b, c, matrix.size, numVectors);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+    }
+
+    public static SpMM create(CSRMatrix<float[]> matrix, float[] b, float[] c, int numVectors) {
+        return new SpMM(matrix, b, c, numVectors);
+    }
+}
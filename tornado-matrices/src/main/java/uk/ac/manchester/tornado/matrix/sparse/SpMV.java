@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.sparse;
+
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+import uk.ac.manchester.tornado.primitives.PrimitiveTaskGraph;
+
+/**
+ * Sparse matrix-vector product, {@code y = A * x}. The matrix is converted to
+ * the format of the selected {@link SpMVStrategy} and copied to the device on
+ * the first execution only; {@code x} and {@code y} are transferred on every
+ * execution.
+ *
+ * <p>
+ * Example:
+ * </p>
+ * <code>
+ *     SpMV spmv = SpMV.create(SparseMatrixUtils.loadMatrixF(path), x, y);
+ *     spmv.execute();
+ * </code>
+ */
+public final class SpMV extends PrimitiveTaskGraph {
+
+    private final SpMVOperator operator;
+
+    private SpMV(CSRMatrix<float[]> matrix, float[] x, float[] y, SpMVStrategy strategy) {
+        super("spmv");
+        operator = new SpMVOperator(matrix, strategy);
+        if (y.length < operator.getNumRows()) {
+            throw new IllegalArgumentException("Output vector is smaller than the number of rows: " + y.length + " < " + operator.getNumRows());
+        }
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, operator.getMatrixArrays());
+        taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, x);
+        operator.addMultiply(this, x, y);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+    }
+
+    /**
+     * Builds the SpMV with the strategy chosen from the row-length statistics
+     * of {@code matrix}.
+     */
+    public static SpMV create(CSRMatrix<float[]> matrix, float[] x, float[] y) {
+        return create(matrix, x, y, SpMVStrategy.select(RowStatistics.of(matrix)));
+    }
+
+    public static SpMV create(CSRMatrix<float[]> matrix, float[] x, float[] y, SpMVStrategy strategy) {
+        return new SpMV(matrix, x, y, strategy);
+    }
+
+    public SpMVStrategy getStrategy() {
+        return operator.getStrategy();
+    }
+}
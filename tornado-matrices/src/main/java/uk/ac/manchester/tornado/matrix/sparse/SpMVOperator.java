@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.sparse;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+import uk.ac.manchester.tornado.primitives.PrimitiveTaskGraph;
+
+/**
+ * Device representation of a sparse matrix for one {@link SpMVStrategy}. It
+ * owns the (converted) read-only matrix arrays and appends {@code y = A * x}
+ * tasks to any {@link PrimitiveTaskGraph}, so the same matrix can be
+ * multiplied several times within a graph without being transferred again.
+ */
+final class SpMVOperator {
+
+    private final SpMVStrategy strategy;
+    private final int numRows;
+    private final int numNonZeros;
+    private final float[] values;
+    private final int[] rowOffsets;
+    private final int[] columns;
+    private final int ellWidth;
+    private final SELLMatrix sell;
+    private final int mergePathThreads;
+    private final int[] carryRows;
+    private final float[] carryValues;
+
+    SpMVOperator(CSRMatrix<float[]> matrix, SpMVStrategy strategy) {
+        SparseFormats.checkCSR(matrix);
+        this.strategy = strategy;
+        this.numRows = matrix.size;
+        this.numNonZeros = matrix.rows[matrix.size];
+        int width = 0;
+        SELLMatrix sellMatrix = null;
+        int threads = 0;
+        switch (strategy) {
+            case ELL:
+                ELLMatrix ell = SparseFormats.toELL(matrix);
+                values = ell.getValues();
+                columns = ell.getColumnIndices();
+                rowOffsets = null;
+                width = ell.getWidth();
+                break;
+            case SELL:
+                sellMatrix = SparseFormats.toSELL(matrix, SparseKernels.SELL_CHUNK_HEIGHT, SparseKernels.SELL_SORTING_SCOPE);
+                values = sellMatrix.getValues();
+                columns = sellMatrix.getColumnIndices();
+                rowOffsets = null;
+                break;
+            case MERGE_PATH:
+                threads = (numRows + numNonZeros + SparseKernels.MERGE_PATH_ITEMS_PER_THREAD - 1) / SparseKernels.MERGE_PATH_ITEMS_PER_THREAD;
+                values = matrix.vals;
+                columns = matrix.cols;
+                rowOffsets = matrix.rows;
+                break;
+            default:
+                values = matrix.vals;
+                columns = matrix.cols;
+                rowOffsets = matrix.rows;
+                break;
+        }
+        this.ellWidth = width;
+        this.sell = sellMatrix;
+        this.mergePathThreads = threads;
+        this.carryRows = threads > 0 ? new int[threads] : null;
+        this.carryValues = threads > 0 ? new float[threads] : null;
+    }
+
+    SpMVStrategy getStrategy() {
+        return strategy;
+    }
+
+    int getNumRows() {
+        return numRows;
+    }
+
+    /**
+     * @return the read-only arrays that must be copied to the device once.
+     */
+    Object[] getMatrixArrays() {
+        switch (strategy) {
+            case ELL:
+                return new Object[] { values, columns };
+            case SELL:
+                return new Object[] { values, columns, sell.getChunkOffsets(), sell.getChunkWidths(), sell.getPermutation() };
+            default:
+                return new Object[] { values, rowOffsets, columns };
+        }
+    }
+
+    void addMultiply(PrimitiveTaskGraph graph, float[] x, float[] y) {
+        TaskGraph taskGraph = graph.getTaskGraph();
+        switch (strategy) {
+            case CSR_SCALAR:
+                taskGraph.task(graph.nextTask("spmvScalar"), SparseKernels::spmvCsrScalar, values, rowOffsets, columns, x, y, numRows);
+                break;
+            case CSR_VECTOR:
+                taskGraph.task(graph.nextTask("spmvVector", numRows * SparseKernels.VECTOR_WIDTH), SparseKernels::spmvCsrVector, graph.getContext(), values, rowOffsets, columns, x, y, numRows);
+                break;
+            case MERGE_PATH:
+                taskGraph.task(graph.nextTask("spmvMergePath"), SparseKernels::spmvMergePath, values, rowOffsets, columns, x, y, carryRows, carryValues, numRows, numNonZeros,
+                        SparseKernels.MERGE_PATH_ITEMS_PER_THREAD, mergePathThreads);
+                taskGraph.task(graph.nextTask("spmvFixUp"), SparseKernels::spmvMergePathFixUp, carryRows, carryValues, y, numRows, mergePathThreads);
+                break;
+            case ELL:
+                taskGraph.task(graph.nextTask("spmvEll"), SparseKernels::spmvEll, values, columns, x, y, numRows, ellWidth);
+                break;
+            case SELL:
+                taskGraph.task(graph.nextTask("spmvSell"), SparseKernels::spmvSell, values, columns, sell.getChunkOffsets(), sell.getChunkWidths(), sell.getPermutation(), x, y, sell.getNumSlots(),
+                        sell.getChunkHeight());
+                break;
+            default:
+                throw new IllegalStateException("Unsupported SpMV strategy: " + strategy);
+        }
+    }
+}
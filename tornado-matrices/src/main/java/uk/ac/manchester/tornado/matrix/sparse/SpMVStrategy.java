@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.sparse;
+
+/**
+ * SpMV kernels available for a sparse matrix, together with the heuristic that
+ * picks one from the row-length distribution.
+ */
+public enum SpMVStrategy {
+
+    /**
+     * One work-item per CSR row. Good for short rows of similar length.
+     */
+    CSR_SCALAR,
+
+    /**
+     * {@link SparseKernels#VECTOR_WIDTH} work-items per CSR row, combined with a
+     * local-memory reduction. Good for long rows.
+     */
+    CSR_VECTOR,
+
+    /**
+     * Merge-path SpMV over CSR: every work-item consumes the same number of rows
+     * plus non-zeros, so performance does not depend on the row distribution.
+     * Good for power-law matrices with a few very long rows.
+     */
+    MERGE_PATH,
+
+    /**
+     * ELLPACK, column-major. Good when all rows have almost the same length.
+     */
+    ELL,
+
+    /**
+     * SELL-C-&sigma;, with C = {@link SparseKernels#SELL_CHUNK_HEIGHT}. Good for
+     * short rows with moderate variance in length.
+     */
+    SELL;
+
+    /**
+     * Rows longer than this (on average) are processed with
+     * {@link #CSR_VECTOR}.
+     */
+    static final int VECTOR_MEAN_ROW_LENGTH = 32;
+
+    /**
+     * A matrix is considered imbalanced when its longest row exceeds the mean by
+     * this factor and the standard deviation is larger than the mean.
+     */
+    static final int IMBALANCE_FACTOR = 8;
+
+    /**
+     * Maximum storage overhead of ELL with respect to CSR.
+     */
+    static final double MAX_ELL_PADDING = 1.25;
+
+    public static SpMVStrategy select(RowStatistics statistics) {
+        double mean = statistics.getMean();
+        if (statistics.getMaxRowLength() > IMBALANCE_FACTOR * mean && statistics.getStandardDeviation() > mean) {
+            return MERGE_PATH;
+        }
+        if (mean >= VECTOR_MEAN_ROW_LENGTH) {
+            return CSR_VECTOR;
+        }
+        if (statistics.getPaddingRatio() <= MAX_ELL_PADDING) {
+            return ELL;
+        }
+        if (statistics.getNumRows() >= SparseKernels.SELL_CHUNK_HEIGHT) {
+            return SELL;
+        }
+        return CSR_SCALAR;
+    }
+}
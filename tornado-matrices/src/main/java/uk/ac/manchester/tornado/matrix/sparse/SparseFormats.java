@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.sparse;
+
+import java.util.Arrays;
+
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+
+/**
+ * Host-side conversions between the sparse formats. The canonical format is
+ * {@link CSRMatrix}, as produced by
+ * {@link uk.ac.manchester.tornado.matrix.SparseMatrixUtils#loadMatrixF(String)}:
+ * {@code size} is the number of rows, {@code n} the number of non-zeros and
+ * {@code rows} the {@code size + 1} row offsets.
+ */
+public final class SparseFormats {
+
+    private SparseFormats() {
+    }
+
+    static void checkCSR(CSRMatrix<?> matrix) {
+        if (matrix.size <= 0) {
+            throw new IllegalArgumentException("Sparse matrices require at least one row, got " + matrix.size);
+        }
+        if (matrix.rows == null || matrix.rows.length < matrix.size + 1) {
+            throw new IllegalArgumentException("CSR row offsets must have " + (matrix.size + 1) + " entries");
+        }
+    }
+
+    public static CSRMatrix<float[]> fromDense(float[] dense, int numRows, int numColumns) {
+        int nonZeros = 0;
+        for (float value : dense) {
+            if (value != 0) {
+                nonZeros++;
+            }
+        }
+        CSRMatrix<float[]> matrix = new CSRMatrix<>();
+        matrix.size = numRows;
+        matrix.n = nonZeros;
+        matrix.rows = new int[numRows + 1];
+        matrix.cols = new int[nonZeros];
+        matrix.vals = new float[nonZeros];
+        int index = 0;
+        for (int row = 0; row < numRows; row++) {
+            matrix.rows[row] = index;
+            for (int column = 0; column < numColumns; column++) {
+                float value = dense[row * numColumns + column];
+                if (value != 0) {
+                    matrix.cols[index] = column;
+                    matrix.vals[index] = value;
+                    index++;
+                }
+            }
+        }
+        matrix.rows[numRows] = index;
+        return matrix;
+    }
+
+    public static COOMatrix toCOO(CSRMatrix<float[]> matrix) {
+        checkCSR(matrix);
+        int nonZeros = matrix.rows[matrix.size];
+        int[] rowIndices = new int[nonZeros];
+        for (int row = 0; row < matrix.size; row++) {
+            Arrays.fill(rowIndices, matrix.rows[row], matrix.rows[row + 1], row);
+        }
+        return new COOMatrix(matrix.size, rowIndices, Arrays.copyOf(matrix.cols, nonZeros), Arrays.copyOf(matrix.vals, nonZeros));
+    }
+
+    /**
+     * Converts a COO matrix to CSR. Triplets do not need to be sorted; entries
+     * of the same row keep their relative order.
+     */
+    public static CSRMatrix<float[]> toCSR(COOMatrix coo) {
+        int numRows = coo.getNumRows();
+        int nonZeros = coo.getNumNonZeros();
+        int[] rowIndices = coo.getRowIndices();
+        CSRMatrix<float[]> matrix = new CSRMatrix<>();
+        matrix.size = numRows;
+        matrix.n = nonZeros;
+        matrix.rows = new int[numRows + 1];
+        matrix.cols = new int[nonZeros];
+        matrix.vals = new float[nonZeros];
+        for (int rowIndex : rowIndices) {
+            if (rowIndex < 0 || rowIndex >= numRows) {
+                throw new IllegalArgumentException("Row index out of bounds: " + rowIndex);
+            }
+            matrix.rows[rowIndex + 1]++;
+        }
+        for (int row = 0; row < numRows; row++) {
+            matrix.rows[row + 1] += matrix.rows[row];
+        }
+        int[] next = Arrays.copyOf(matrix.rows, numRows);
+        for (int i = 0; i < nonZeros; i++) {
+            int position = next[rowIndices[i]]++;
+            matrix.cols[position] = coo.getColumnIndices()[i];
+            matrix.vals[position] = coo.getValues()[i];
+        }
+        return matrix;
+    }
+
+    public static ELLMatrix toELL(CSRMatrix<float[]> matrix) {
+        checkCSR(matrix);
+        int numRows = matrix.size;
+        int width = 0;
+        for (int row = 0; row < numRows; row++) {
+            width = Math.max(width, matrix.rows[row + 1] - matrix.rows[row]);
+        }
+        int[] columnIndices = new int[numRows * width];
+        float[] values = new float[numRows * width];
+        Arrays.fill(columnIndices, ELLMatrix.PADDING);
+        for (int row = 0; row < numRows; row++) {
+            int start = matrix.rows[row];
+            for (int k = 0; k < matrix.rows[row + 1] - start; k++) {
+                columnIndices[k * numRows + row] = matrix.cols[start + k];
+                values[k * numRows + row] = matrix.vals[start + k];
+            }
+        }
+        return new ELLMatrix(numRows, width, columnIndices, values);
+    }
+
+    /**
+     * Converts a CSR matrix to SELL-C-&sigma;.
+     *
+     * @param chunkHeight
+     *            Number of rows per chunk (C). A multiple of the SIMD or warp
+     *            width of the target device.
+     * @param sortingScope
+     *            Number of consecutive rows sorted by length (&sigma;). Use 1 to
+     *            disable sorting, or the number of rows for a global sort.
+     */
+    public static SELLMatrix toSELL(CSRMatrix<float[]> matrix, int chunkHeight, int sortingScope) {
+        checkCSR(matrix);
+        if (chunkHeight <= 0 || sortingScope <= 0) {
+            throw new IllegalArgumentException("Chunk height and sorting scope must be positive: C=" + chunkHeight + ", sigma=" + sortingScope);
+        }
+        final int[] rows = matrix.rows;
+        int numRows = matrix.size;
+        int numChunks = (numRows + chunkHeight - 1) / chunkHeight;
+        int numSlots = numChunks * chunkHeight;
+
+        Integer[] order = new Integer[numRows];
+        for (int row = 0; row < numRows; row++) {
+            order[row] = row;
+        }
+        for (int start = 0; start < numRows; start += sortingScope) {
+            int end = Math.min(start + sortingScope, numRows);
+            Arrays.sort(order, start, end, (a, b) -> Integer.compare(rows[b + 1] - rows[b], rows[a + 1] - rows[a]));
+        }
+        int[] permutation = new int[numSlots];
+        Arrays.fill(permutation, ELLMatrix.PADDING);
+        for (int slot = 0; slot < numRows; slot++) {
+            permutation[slot] = order[slot];
+        }
+
+        int[] chunkWidths = new int[numChunks];
+        int[] chunkOffsets = new int[numChunks + 1];
+        for (int chunk = 0; chunk < numChunks; chunk++) {
+            int width = 0;
+            for (int lane = 0; lane < chunkHeight; lane++) {
+                int row = permutation[chunk * chunkHeight + lane];
+                if (row != ELLMatrix.PADDING) {
+                    width = Math.max(width, rows[row + 1] - rows[row]);
+                }
+            }
+            chunkWidths[chunk] = width;
+            chunkOffsets[chunk + 1] = chunkOffsets[chunk] + width * chunkHeight;
+        }
+
+        int[] columnIndices = new int[chunkOffsets[numChunks]];
+        float[] values = new float[chunkOffsets[numChunks]];
+        Arrays.fill(columnIndices, ELLMatrix.PADDING);
+        for (int slot = 0; slot < numSlots; slot++) {
+            int row = permutation[slot];
+            if (row == ELLMatrix.PADDING) {
+                continue;
+            }
+            int base = chunkOffsets[slot / chunkHeight] + slot % chunkHeight;
+            for (int k = 0; k < rows[row + 1] - rows[row]; k++) {
+                columnIndices[base + k * chunkHeight] = matrix.cols[rows[row] + k];
+                values[base + k * chunkHeight] = matrix.vals[rows[row] + k];
+            }
+        }
+        return new SELLMatrix(numRows, chunkHeight, sortingScope, permutation, chunkOffsets, chunkWidths, columnIndices, values);
+    }
+
+    /**
+     * Sequential reference SpMV, {@code y = A * x}.
+     */
+    public static void multiply(CSRMatrix<float[]> matrix, float[] x, float[] y) {
+        for (int row = 0; row < matrix.size; row++) {
+            float sum = 0.0f;
+            for (int k = matrix.rows[row]; k < matrix.rows[row + 1]; k++) {
+                sum += matrix.vals[k] * x[matrix.cols[k]];
+            }
+            y[row] = sum;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix.sparse;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.primitives.PrimitiveTaskGraph;
+
+/**
+ * Device kernels for sparse matrix-vector (SpMV) and sparse matrix-matrix
+ * (SpMM) products, plus the block reductions used by the iterative solvers.
+ * CSR arrays follow {@link uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix}:
+ * {@code rowOffsets} has {@code numRows + 1} entries and starts at zero.
+ */
+public final class SparseKernels {
+
+    /**
+     * Number of work-items that cooperate on a row in
+     * {@link #spmvCsrVector}. It divides {@link PrimitiveTaskGraph#BLOCK_SIZE}.
+     */
+    public static final int VECTOR_WIDTH = 32;
+
+    /**
+     * Chunk height C of the SELL-C-&sigma; matrices built by {@link SpMV}.
+     */
+    public static final int SELL_CHUNK_HEIGHT = 32;
+
+    /**
+     * Sorting scope &sigma; of the SELL-C-&sigma; matrices built by {@link SpMV}.
+     */
+    public static final int SELL_SORTING_SCOPE = 8 * SELL_CHUNK_HEIGHT;
+
+    /**
+     * Rows plus non-zeros consumed by each work-item of
+     * {@link #spmvMergePath}.
+     */
+    public static final int MERGE_PATH_ITEMS_PER_THREAD = 32;
+
+    private SparseKernels() {
+    }
+
+    public static void spmvCsrScalar(float[] values, int[] rowOffsets, int[] columns, float[] x, float[] y, int numRows) {
+        for (@Parallel int row = 0; row < numRows; row++) {
+            float sum = 0.0f;
+            for (int k = rowOffsets[row]; k < rowOffsets[row + 1]; k++) {
+                sum += values[k] * x[columns[k]];
+            }
+            y[row] = sum;
+        }
+    }
+
+    /**
+     * Vector-per-row CSR SpMV: {@link #VECTOR_WIDTH} consecutive work-items read
+     * consecutive non-zeros of the same row and reduce their partial sums in
+     * local memory. Launch with {@code numRows * VECTOR_WIDTH} work-items.
+     */
+    public static void spmvCsrVector(KernelContext context, float[] values, int[] rowOffsets, int[] columns, float[] x, float[] y, int numRows) {
+        float[] partial = context.allocateFloatLocalArray(PrimitiveTaskGraph.BLOCK_SIZE);
+        int localIdx = context.localIdx;
+        int lane = localIdx % VECTOR_WIDTH;
+        int row = context.globalIdx / VECTOR_WIDTH;
+
+        float sum = 0.0f;
+        if (row < numRows) {
+            for (int k = rowOffsets[row] + lane; k < rowOffsets[row + 1]; k += VECTOR_WIDTH) {
+                sum += values[k] * x[columns[k]];
+            }
+        }
+        partial[localIdx] = sum;
+        context.localBarrier();
+
+        for (int stride = VECTOR_WIDTH / 2; stride > 0; stride /= 2) {
+            if (lane < stride) {
+                partial[localIdx] += partial[localIdx + stride];
+            }
+            context.localBarrier();
+        }
+        if (lane == 0 && row < numRows) {
+            y[row] = partial[localIdx];
+        }
+    }
+
+    /**
+     * Merge-path CSR SpMV (Merrill and Garland). The merge of the row end
+     * offsets with the non-zero indices is split in {@code numThreads} equal
+     * pieces of {@code itemsPerThread} items. Each work-item locates its start
+     * and end coordinates with a binary search along the diagonals, writes the
+     * rows it completes and leaves the partial sum of its last row in
+     * {@code carryRows}/{@code carryValues}, which
+     * {@link #spmvMergePathFixUp} adds afterwards.
+     */
+    public static void spmvMergePath(float[] values, int[] rowOffsets, int[] columns, float[] x, float[] y, int[] carryRows, float[] carryValues, int numRows, int numNonZeros,
+            int itemsPerThread, int numThreads) {
+        for (@Parallel int thread = 0; thread < numThreads; thread++) {
+            int totalItems = numRows + numNonZeros;
+
+            int diagonal = Math.min(thread * itemsPerThread, totalItems);
+            int low = Math.max(diagonal - numNonZeros, 0);
+            int high = Math.min(diagonal, numRows);
+            while (low < high) {
+                int pivot = (low + high) >> 1;
+                if (rowOffsets[pivot + 1] <= diagonal - pivot - 1) {
+                    low = pivot + 1;
+                } else {
+                    high = pivot;
+                }
+            }
+            int row = low;
+            int nz = diagonal - low;
+
+            int endDiagonal = Math.min(diagonal + itemsPerThread, totalItems);
+            low = Math.max(endDiagonal - numNonZeros, 0);
+            high = Math.min(endDiagonal, numRows);
+            while (low < high) {
+                int pivot = (low + high) >> 1;
+                if (rowOffsets[pivot + 1] <= endDiagonal - pivot - 1) {
+                    low = pivot + 1;
+                } else {
+                    high = pivot;
+                }
+            }
+            int rowEnd = low;
+            int nzEnd = endDiagonal - low;
+
+            float sum = 0.0f;
+            while (row < rowEnd) {
+                int stop = rowOffsets[row + 1];
+                while (nz < stop) {
+                    sum += values[nz] * x[columns[nz]];
+                    nz++;
+                }
+                y[row] = sum;
+                sum = 0.0f;
+                row++;
+            }
+            while (nz < nzEnd) {
+                sum += values[nz] * x[columns[nz]];
+                nz++;
+            }
+            carryRows[thread] = rowEnd;
+            carryValues[thread] = sum;
+        }
+    }
+
+    /**
+     * Adds the carry-out of {@link #spmvMergePath}. Carries are ordered by row,
+     * so the first work-item of every run of equal rows adds the whole run.
+     */
+    public static void spmvMergePathFixUp(int[] carryRows, float[] carryValues, float[] y, int numRows, int numThreads) {
+        for (@Parallel int thread = 0; thread < numThreads; thread++) {
+            int row = carryRows[thread];
+            if (row < numRows && (thread == 0 || carryRows[thread - 1] != row)) {
+                float sum = 0.0f;
+                int i = thread;
+                while (i < numThreads && carryRows[i] == row) {
+                    sum += carryValues[i];
+                    i++;
+                }
+                y[row] += sum;
+            }
+        }
+    }
+
+    public static void spmvEll(float[] values, int[] columns, float[] x, float[] y, int numRows, int width) {
+        for (@Parallel int row = 0; row < numRows; row++) {
+            float sum = 0.0f;
+            for (int k = 0; k < width; k++) {
+                int column = columns[k * numRows + row];
+                if (column != ELLMatrix.PADDING) {
+                    sum += values[k * numRows + row] * x[column];
+                }
+            }
+            y[row] = sum;
+        }
+    }
+
+    public static void spmvSell(float[] values, int[] columns, int[] chunkOffsets, int[] chunkWidths, int[] permutation, float[] x, float[] y, int numSlots, int chunkHeight) {
+        for (@Parallel int slot = 0; slot < numSlots; slot++) {
+            int row = permutation[slot];
+            if (row != ELLMatrix.PADDING) {
+                int chunk = slot / chunkHeight;
+                int base = chunkOffsets[chunk] + slot % chunkHeight;
+                float sum = 0.0f;
+                for (int k = 0; k < chunkWidths[chunk]; k++) {
+                    int column = columns[base + k * chunkHeight];
+                    if (column != ELLMatrix.PADDING) {
+                        sum += values[base + k * chunkHeight] * x[column];
+                    }
+                }
+                y[row] = sum;
+            }
+        }
+    }
+
+    /**
+     * CSR SpMM, {@code C = A * B}, with {@code B} and {@code C} dense row-major
+     * matrices of {@code numVectors} columns.
+     */
+    public static void spmmCsr(float[] values, int[] rowOffsets, int[] columns, float[] b, float[] c, int numRows, int numVectors) {
+        for (@Parallel int row = 0; row < numRows; row++) {
+            for (@Parallel int j = 0; j < numVectors; j++) {
+                float sum = 0.0f;
+                for (int k = rowOffsets[row]; k < rowOffsets[row + 1]; k++) {
+                    sum += values[k] * b[columns[k] * numVectors + j];
+                }
+                c[row * numVectors + j] = sum;
+            }
+        }
+    }
+
+    /**
+     * First pass of a dot product: every work-group writes the sum of its
+     * {@code a[i] * b[i]} products to {@code partials[groupIdx]}.
+     */
+    public static void dotPartials(KernelContext context, float[] a, float[] b, float[] partials, int numElements) {
+        float[] local = context.allocateFloatLocalArray(PrimitiveTaskGraph.BLOCK_SIZE);
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        float product = 0.0f;
+        if (globalIdx < numElements) {
+            product = a[globalIdx] * b[globalIdx];
+        }
+        local[localIdx] = product;
+        context.localBarrier();
+
+        for (int stride = context.localGroupSizeX / 2; stride > 0; stride /= 2) {
+            if (localIdx < stride) {
+                local[localIdx] += local[localIdx + stride];
+            }
+            context.localBarrier();
+        }
+        if (localIdx == 0) {
+            partials[context.groupIdx] = local[0];
+        }
+    }
+
+    /**
+     * Second pass of a dot product, launched as a single work-group: stores the
+     * sum of {@code partials} in {@code scalars[index]}.
+     */
+    public static void sumPartials(KernelContext context, float[] partials, int numPartials, float[] scalars, int index) {
+        float[] local = context.allocateFloatLocalArray(PrimitiveTaskGraph.BLOCK_SIZE);
+        int localIdx = context.localIdx;
+        float sum = 0.0f;
+        for (int i = localIdx; i < numPartials; i += context.localGroupSizeX) {
+            sum += partials[i];
+        }
+        local[localIdx] = sum;
+        context.localBarrier();
+
+        for (int stride = context.localGroupSizeX / 2; stride > 0; stride /= 2) {
+            if (localIdx < stride) {
+                local[localIdx] += local[localIdx + stride];
+            }
+            context.localBarrier();
+        }
+        if (localIdx == 0) {
+            scalars[index] = local[0];
+        }
+    }
+}
@@ -0,0 +1,6 @@
+module tornado.primitives {
+    requires transitive tornado.api;
+
+    exports uk.ac.manchester.tornado.primitives;
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.primitives;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+
+/**
+ * Kernels for the stream compaction: the keep-flags are normalised to 0/1,
+ * scanned, and the kept elements are scattered to their scanned position.
+ */
+public final class CompactionKernels {
+
+    private CompactionKernels() {
+    }
+
+    public static void mark(KernelContext context, int[] flags, int[] marks, int numElements) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < numElements) {
+            int mark = 0;
+            if (flags[globalIdx] != 0) {
+                mark = 1;
+            }
+            marks[globalIdx] = mark;
+        }
+    }
+
+    /**
+     * @param positions
+     *            Inclusive scan of the marks: the kept element {@code i} goes to
+     *            {@code positions[i] - 1}.
+     * @param count
+     *            Single-element array that receives the number of kept elements.
+     */
+    public static void scatterInt(KernelContext context, int[] input, int[] marks, int[] positions, int[] output, int[] count, int numElements) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < numElements) {
+            int position = positions[globalIdx];
+            if (marks[globalIdx] == 1) {
+                output[position - 1] = input[globalIdx];
+            }
+            if (globalIdx == numElements - 1) {
+                count[0] = position;
+            }
+        }
+    }
+
+    public static void scatterFloat(KernelContext context, float[] input, int[] marks, int[] positions, float[] output, int[] count, int numElements) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < numElements) {
+            int position = positions[globalIdx];
+            if (marks[globalIdx] == 1) {
+                output[position - 1] = input[globalIdx];
+            }
+            if (globalIdx == numElements - 1) {
+                count[0] = position;
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.primitives;
+
+import uk.ac.manchester.tornado.api.collections.types.VectorInt;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+
+/**
+ * Device-wide histogram of bin indices: {@code histogram[b]} receives the
+ * number of elements of {@code values} equal to {@code b}, for
+ * {@code 0 <= b < histogram.length}. Values outside that range are ignored.
+ * The values are copied and sorted on the device with {@link RadixSort}, so
+ * the input is left untouched and the cost does not depend on the number of
+ * bins nor on how skewed the distribution is.
+ */
+public final class Histogram extends PrimitiveTaskGraph {
+
+    private Histogram(int[] values, int[] histogram) {
+        super("histogram");
+        final int numElements = values.length;
+        final int numBins = histogram.length;
+        checkLength(numElements);
+        checkLength(numBins);
+        int[] sorted = new int[numElements];
+        taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, values);
+        taskGraph.task(nextTask("copy", numElements), HistogramKernels::copy, context, values, sorted, numElements);
+        RadixSort.addSort(this, sorted, null, numElements);
+        taskGraph.task(nextTask("countBins", numBins), HistogramKernels::countBins, context, sorted, histogram, numElements, numBins);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, histogram);
+    }
+
+    public static Histogram compute(int[] values, int[] histogram) {
+        return new Histogram(values, histogram);
+    }
+
+    public static Histogram compute(VectorInt values, VectorInt histogram) {
+        return compute(values.getArray(), histogram.getArray());
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.primitives;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+
+/**
+ * Kernels for the sort-based histogram: once the values are sorted, the count
+ * of bin {@code b} is the distance between the upper bounds of {@code b - 1}
+ * and {@code b}, found with a binary search per bin.
+ */
+public final class HistogramKernels {
+
+    private HistogramKernels() {
+    }
+
+    public static void copy(KernelContext context, int[] input, int[] output, int numElements) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < numElements) {
+            output[globalIdx] = input[globalIdx];
+        }
+    }
+
+    /**
+     * @return the number of elements of {@code sorted} that are less than or
+     *         equal to {@code value}.
+     */
+    private static int upperBound(int[] sorted, int numElements, int value) {
+        int low = 0;
+        int high = numElements;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public static void countBins(KernelContext context, int[] sorted, int[] histogram, int numElements, int numBins) {
+        int bin = context.globalIdx;
+        if (bin < numBins) {
+            histogram[bin] = upperBound(sorted, numElements, bin) - upperBound(sorted, numElements, bin - 1);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.primitives;
+
+import uk.ac.manchester.tornado.api.collections.types.VectorFloat;
+import uk.ac.manchester.tornado.api.collections.types.VectorInt;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+
+/**
+ * Device-wide prefix-sum (scan). Arrays of any length are supported: when
+ * there is more than one work-group, the per-group partial sums are scanned
+ * recursively, so the number of passes grows with
+ * {@code log_BLOCK_SIZE(length)}.
+ *
+ * <p>
+ * Example:
+ * </p>
+ * <code>
+ *     PrefixSum.inclusive(input, output).execute();
+ * </code>
+ */
+public final class PrefixSum extends PrimitiveTaskGraph {
+
+    private PrefixSum(int[] input, int[] output, boolean exclusive) {
+        super("prefixSum");
+        checkLengths(input.length, output.length);
+        taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+        if (exclusive) {
+            addExclusiveScan(this, input, output, input.length);
+        } else {
+            addInclusiveScan(this, input, output, input.length);
+        }
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+    }
+
+    private PrefixSum(float[] input, float[] output, boolean exclusive) {
+        super("prefixSum");
+        checkLengths(input.length, output.length);
+        taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+        if (exclusive) {
+            addExclusiveScan(this, input, output, input.length);
+        } else {
+            addInclusiveScan(this, input, output, input.length);
+        }
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+    }
+
+    private static void checkLengths(int inputLength, int outputLength) {
+        checkLength(inputLength);
+        if (outputLength < inputLength) {
+            throw new IllegalArgumentException("Output array is smaller than the input: " + outputLength + " < " + inputLength);
+        }
+    }
+
+    public static PrefixSum inclusive(int[] input, int[] output) {
+        return new PrefixSum(input, output, false);
+    }
+
+    public static PrefixSum exclusive(int[] input, int[] output) {
+        return new PrefixSum(input, output, true);
+    }
+
+    public static PrefixSum inclusive(float[] input, float[] output) {
+        return new PrefixSum(input, output, false);
+    }
+
+    public static PrefixSum exclusive(float[] input, float[] output) {
+        return new PrefixSum(input, output, true);
+    }
+
+    public static PrefixSum inclusive(VectorInt input, VectorInt output) {
+        return inclusive(input.getArray(), output.getArray());
+    }
+
+    public static PrefixSum exclusive(VectorInt input, VectorInt output) {
+        return exclusive(input.getArray(), output.getArray());
+    }
+
+    public static PrefixSum inclusive(VectorFloat input, VectorFloat output) {
+        return inclusive(input.getArray(), output.getArray());
+    }
+
+    public static PrefixSum exclusive(VectorFloat input, VectorFloat output) {
+        return exclusive(input.getArray(), output.getArray());
+    }
+
+    /**
+     * Appends the passes of an inclusive scan of the first {@code numElements}
+     * elements of {@code input} to the task graph of {@code graph}.
+     */
+    static void addInclusiveScan(PrimitiveTaskGraph graph, int[] input, int[] output, int numElements) {
+        int numBlocks = numBlocks(numElements);
+        int[] blockSums = new int[numBlocks];
+        graph.getTaskGraph().task(graph.nextTask("scanBlocks", numElements), ScanKernels::scanBlocksInt, graph.getContext(), input, output, blockSums, numElements);
+        if (numBlocks > 1) {
+            int[] scannedBlockSums = new int[numBlocks];
+            addInclusiveScan(graph, blockSums, scannedBlockSums, numBlocks);
+            graph.getTaskGraph().task(graph.nextTask("addOffsets", numElements), ScanKernels::addBlockOffsetsInt, graph.getContext(), output, scannedBlockSums, numElements);
+        }
+    }
+
+    static void addExclusiveScan(PrimitiveTaskGraph graph, int[] input, int[] output, int numElements) {
+        int[] inclusive = new int[numElements];
+        addInclusiveScan(graph, input, inclusive, numElements);
+        graph.getTaskGraph().task(graph.nextTask("shiftRight", numElements), ScanKernels::shiftRightInt, graph.getContext(), inclusive, output, numElements);
+    }
+
+    static void addInclusiveScan(PrimitiveTaskGraph graph, float[] input, float[] output, int numElements) {
+        int numBlocks = numBlocks(numElements);
+        float[] blockSums = new float[numBlocks];
+        graph.getTaskGraph().task(graph.nextTask("scanBlocks", numElements), ScanKernels::scanBlocksFloat, graph.getContext(), input, output, blockSums, numElements);
+        if (numBlocks > 1) {
+            float[] scannedBlockSums = new float[numBlocks];
+            addInclusiveScan(graph, blockSums, scannedBlockSums, numBlocks);
+            graph.getTaskGraph().task(graph.nextTask("addOffsets", numElements), ScanKernels::addBlockOffsetsFloat, graph.getContext(), output, scannedBlockSums, numElements);
+        }
+    }
+
+    static void addExclusiveScan(PrimitiveTaskGraph graph, float[] input, float[] output, int numElements) {
+        float[] inclusive = new float[numElements];
+        addInclusiveScan(graph, input, inclusive, numElements);
+        graph.getTaskGraph().task(graph.nextTask("shiftRight", numElements), ScanKernels::shiftRightFloat, graph.getContext(), inclusive, output, numElements);
+    }
+}
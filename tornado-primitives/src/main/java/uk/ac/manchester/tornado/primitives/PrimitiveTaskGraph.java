@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.primitives;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+
+/**
+ * Base class for the device-wide primitives. Each primitive is built as a
+ * {@link TaskGraph} made of several {@link uk.ac.manchester.tornado.api.KernelContext}
+ * passes, together with the {@link GridScheduler} that fixes the local work
+ * size of every pass. The graph can be executed directly through
+ * {@link #execute()}, or snapshotted and combined with other graphs in a
+ * user-defined {@link TornadoExecutionPlan}.
+ */
+public abstract class PrimitiveTaskGraph {
+
+    /**
+     * Number of work-items per work-group used by all primitives. Kernels
+     * allocate local memory of this size, so it must be a compile-time constant.
+     */
+    public static final int BLOCK_SIZE = 256;
+
+    private static final AtomicInteger GRAPH_ID = new AtomicInteger();
+
+    protected final TaskGraph taskGraph;
+    protected final GridScheduler gridScheduler;
+    protected final KernelContext context;
+    private final String graphName;
+    private int taskCount;
+    private TornadoExecutionPlan executionPlan;
+
+    protected PrimitiveTaskGraph(String name) {
+        this.graphName = name + GRAPH_ID.getAndIncrement();
+        this.taskGraph = new TaskGraph(graphName);
+        this.gridScheduler = new GridScheduler();
+        this.context = new KernelContext();
+    }
+
+    public static int roundUp(int value, int multiple) {
+        return ((value + multiple - 1) / multiple) * multiple;
+    }
+
+    public static int numBlocks(int numElements) {
+        return (numElements + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    static void checkLength(int numElements) {
+        if (numElements <= 0) {
+            throw new IllegalArgumentException("Primitives require at least one element, got " + numElements);
+        }
+    }
+
+    /**
+     * Creates a unique task name within this graph and registers a 1D worker
+     * grid for it, with the number of threads rounded up to a multiple of
+     * {@link #BLOCK_SIZE}.
+     *
+     * @param kernelName
+     *            Prefix of the task name.
+     * @param numThreads
+     *            Minimum number of work-items required by the task.
+     * @return the task name to use with {@link TaskGraph#task}.
+     */
+    public String nextTask(String kernelName, int numThreads) {
+        WorkerGrid worker = new WorkerGrid1D(roundUp(numThreads, BLOCK_SIZE));
+        worker.setLocalWork(BLOCK_SIZE, 1, 1);
+        return nextTask(kernelName, worker);
+    }
+
+    /**
+     * Creates a unique task name within this graph and registers the given
+     * worker grid for it.
+     *
+     * @param kernelName
+     *            Prefix of the task name.
+     * @param worker
+     *            Worker grid of the task, with its local work size already set.
+     * @return the task name to use with {@link TaskGraph#task}.
+     */
+    public String nextTask(String kernelName, WorkerGrid worker) {
+        String taskName = kernelName + taskCount++;
+        gridScheduler.setWorkerGrid(graphName + "." + taskName, worker);
+        return taskName;
+    }
+
+    /**
+     * Creates a unique task name within this graph for a task that does not
+     * need a worker grid, such as a {@link uk.ac.manchester.tornado.api.annotations.Parallel}
+     * loop or a single-threaded task.
+     *
+     * @param kernelName
+     *            Prefix of the task name.
+     * @return the task name to use with {@link TaskGraph#task}.
+     */
+    public String nextTask(String kernelName) {
+        return kernelName + taskCount++;
+    }
+
+    public TaskGraph getTaskGraph() {
+        return taskGraph;
+    }
+
+    public KernelContext getContext() {
+        return context;
+    }
+
+    public String getName() {
+        return graphName;
+    }
+
+    public ImmutableTaskGraph snapshot() {
+        return taskGraph.snapshot();
+    }
+
+    /**
+     * @return the {@link GridScheduler} with the worker grids of all the passes.
+     *         It must be passed to any execution plan built from
+     *         {@link #snapshot()}.
+     */
+    public GridScheduler getGridScheduler() {
+        return gridScheduler;
+    }
+
+    public synchronized TornadoExecutionPlan getExecutionPlan() {
+        if (executionPlan == null) {
+            executionPlan = new TornadoExecutionPlan(snapshot()).withGridScheduler(gridScheduler);
+        }
+        return executionPlan;
+    }
+
+    public TornadoExecutionResult execute() {
+        return getExecutionPlan().execute();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.primitives;
+
+import static uk.ac.manchester.tornado.primitives.RadixSortKernels.NUM_PASSES;
+import static uk.ac.manchester.tornado.primitives.RadixSortKernels.RADIX;
+import static uk.ac.manchester.tornado.primitives.RadixSortKernels.RADIX_BITS;
+
+import uk.ac.manchester.tornado.api.collections.types.VectorInt;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+
+/**
+ * Device-wide, stable, in-place LSD radix sort of {@code int} keys, optionally
+ * carrying an {@code int} value per key (e.g. the original index, to sort any
+ * other data by permutation). See {@link RadixSortKernels} for the structure
+ * of each pass.
+ *
+ * <p>
+ * Example:
+ * </p>
+ * <code>
+ *     RadixSort.sort(keys).execute();
+ * </code>
+ */
+public final class RadixSort extends PrimitiveTaskGraph {
+
+    private RadixSort(int[] keys, int[] values) {
+        super("radixSort");
+        checkLength(keys.length);
+        if (values == null) {
+            taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, keys);
+            addSort(this, keys, null, keys.length);
+            taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, keys);
+        } else {
+            if (values.length != keys.length) {
+                throw new IllegalArgumentException("Keys and values must have the same length: " + keys.length + " != " + values.length);
+            }
+            taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, keys, values);
+            addSort(this, keys, values, keys.length);
+            taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, keys, values);
+        }
+    }
+
+    public static RadixSort sort(int[] keys) {
+        return new RadixSort(keys, null);
+    }
+
+    public static RadixSort sort(int[] keys, int[] values) {
+        return new RadixSort(keys, values);
+    }
+
+    public static RadixSort sort(VectorInt keys) {
+        return sort(keys.getArray());
+    }
+
+    public static RadixSort sort(VectorInt keys, VectorInt values) {
+        return sort(keys.getArray(), values.getArray());
+    }
+
+    /**
+     * Appends the passes that sort the first {@code numElements} keys in place
+     * to the task graph of {@code graph}. {@code values} may be {@code null}.
+     * The number of passes is even, so the result ends up in the input arrays.
+     */
+    static void addSort(PrimitiveTaskGraph graph, int[] keys, int[] values, int numElements) {
+        final int numBlocks = numBlocks(numElements);
+        final int numBuckets = RADIX * numBlocks;
+        int[] blockHistogram = new int[numBuckets];
+        int[] blockOffsets = new int[numBuckets];
+        int[] globalOffsets = new int[numBuckets];
+        int[] locallySortedKeys = new int[numElements];
+        int[] locallySortedValues = values != null ? new int[numElements] : null;
+
+        int[] sourceKeys = keys;
+        int[] sourceValues = values;
+        int[] targetKeys = new int[numElements];
+        int[] targetValues = values != null ? new int[numElements] : null;
+
+        for (int pass = 0; pass < NUM_PASSES; pass++) {
+            int shift = pass * RADIX_BITS;
+            if (values == null) {
+                graph.getTaskGraph().task(graph.nextTask("localSort", numElements), RadixSortKernels::localSortKeys, graph.getContext(), sourceKeys, locallySortedKeys, blockHistogram, blockOffsets,
+                        numElements, numBlocks, shift);
+                PrefixSum.addExclusiveScan(graph, blockHistogram, globalOffsets, numBuckets);
+                graph.getTaskGraph().task(graph.nextTask("scatter", numElements), RadixSortKernels::scatterKeys, graph.getContext(), locallySortedKeys, targetKeys, globalOffsets, blockOffsets,
+                        numElements, numBlocks, shift);
+            } else {
+                graph.getTaskGraph().task(graph.nextTask("localSort", numElements), RadixSortKernels::localSortPairs, graph.getContext(), sourceKeys, sourceValues, locallySortedKeys,
+                        locallySortedValues, blockHistogram, blockOffsets, numElements, numBlocks, shift);
+                PrefixSum.addExclusiveScan(graph, blockHistogram, globalOffsets, numBuckets);
+                graph.getTaskGraph().task(graph.nextTask("scatter", numElements), RadixSortKernels::scatterPairs, graph.getContext(), locallySortedKeys, locallySortedValues, targetKeys, targetValues,
+                        globalOffsets, blockOffsets, numElements, numBlocks, shift);
+            }
+
+            int[] swap = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swap;
+            swap = sourceValues;
+            sourceValues = targetValues;
+            targetValues = swap;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.primitives;
+
+import static uk.ac.manchester.tornado.primitives.PrimitiveTaskGraph.BLOCK_SIZE;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+
+/**
+ * Kernels for the LSD radix sort. Each pass handles {@link #RADIX_BITS} bits
+ * of the key:
+ * <ol>
+ * <li>every work-group sorts its block by the current digit in local memory
+ * with {@link #RADIX_BITS} stable 1-bit splits, and records, per digit, how
+ * many keys it holds and where they start inside the block;</li>
+ * <li>the per-block digit counts, stored digit-major, are scanned to obtain
+ * the global position of every (digit, block) bucket;</li>
+ * <li>every key is scattered to its bucket offset plus its rank inside the
+ * bucket.</li>
+ * </ol>
+ * Because the blocks are locally sorted, the scatter writes runs of
+ * consecutive addresses. Signed keys are ordered by flipping the sign bit
+ * before extracting the digits.
+ */
+public final class RadixSortKernels {
+
+    public static final int RADIX_BITS = 4;
+    public static final int RADIX = 1 << RADIX_BITS;
+    public static final int RADIX_MASK = RADIX - 1;
+    public static final int NUM_PASSES = Integer.SIZE / RADIX_BITS;
+
+    private static final int SIGN_BIT = Integer.MIN_VALUE;
+
+    /**
+     * Key used to fill the tail of the last block. Its flipped representation
+     * has all bits set, so it always lands at the end of the block.
+     */
+    private static final int PADDING_KEY = Integer.MAX_VALUE;
+
+    private RadixSortKernels() {
+    }
+
+    public static void localSortKeys(KernelContext context, int[] keysIn, int[] keysOut, int[] blockHistogram, int[] blockOffsets, int numElements, int numBlocks, int shift) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        int groupIdx = context.groupIdx;
+        int[] localKeys = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] scan = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] digitStart = context.allocateIntLocalArray(RADIX);
+        int[] digitCount = context.allocateIntLocalArray(RADIX);
+
+        int key = PADDING_KEY;
+        if (globalIdx < numElements) {
+            key = keysIn[globalIdx];
+        }
+
+        for (int bit = 0; bit < RADIX_BITS; bit++) {
+            int flag = 1 - ((((key ^ SIGN_BIT) >>> shift) >> bit) & 1);
+            scan[localIdx] = flag;
+            for (int offset = 1; offset < BLOCK_SIZE; offset <<= 1) {
+                context.localBarrier();
+                int neighbour = 0;
+                if (localIdx >= offset) {
+                    neighbour = scan[localIdx - offset];
+                }
+                context.localBarrier();
+                scan[localIdx] += neighbour;
+            }
+            context.localBarrier();
+            int totalFalses = scan[BLOCK_SIZE - 1];
+            int falsesBefore = scan[localIdx] - flag;
+            int destination = falsesBefore;
+            if (flag == 0) {
+                destination = totalFalses + localIdx - falsesBefore;
+            }
+            localKeys[destination] = key;
+            context.localBarrier();
+            key = localKeys[localIdx];
+            context.localBarrier();
+        }
+
+        int digit = ((key ^ SIGN_BIT) >>> shift) & RADIX_MASK;
+        int validElements = numElements - groupIdx * BLOCK_SIZE;
+        boolean valid = localIdx < validElements;
+        if (localIdx < RADIX) {
+            digitStart[localIdx] = 0;
+            digitCount[localIdx] = 0;
+        }
+        scan[localIdx] = digit;
+        context.localBarrier();
+        if (valid && (localIdx == 0 || scan[localIdx - 1] != digit)) {
+            digitStart[digit] = localIdx;
+        }
+        context.localBarrier();
+        if (valid && (localIdx == BLOCK_SIZE - 1 || localIdx == validElements - 1 || scan[localIdx + 1] != digit)) {
+            digitCount[digit] = localIdx - digitStart[digit] + 1;
+        }
+        context.localBarrier();
+        if (localIdx < RADIX) {
+            blockHistogram[localIdx * numBlocks + groupIdx] = digitCount[localIdx];
+            blockOffsets[localIdx * numBlocks + groupIdx] = digitStart[localIdx];
+        }
+        if (valid) {
+            keysOut[globalIdx] = key;
+        }
+    }
+
+    public static void localSortPairs(KernelContext context, int[] keysIn, int[] valuesIn, int[] keysOut, int[] valuesOut, int[] blockHistogram, int[] blockOffsets, int numElements, int numBlocks,
+            int shift) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        int groupIdx = context.groupIdx;
+        int[] localKeys = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] localValues = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] scan = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] digitStart = context.allocateIntLocalArray(RADIX);
+        int[] digitCount = context.allocateIntLocalArray(RADIX);
+
+        int key = PADDING_KEY;
+        int value = 0;
+        if (globalIdx < numElements) {
+            key = keysIn[globalIdx];
+            value = valuesIn[globalIdx];
+        }
+
+        for (int bit = 0; bit < RADIX_BITS; bit++) {
+            int flag = 1 - ((((key ^ SIGN_BIT) >>> shift) >> bit) & 1);
+            scan[localIdx] = flag;
+            for (int offset = 1; offset < BLOCK_SIZE; offset <<= 1) {
+                context.localBarrier();
+                int neighbour = 0;
+                if (localIdx >= offset) {
+                    neighbour = scan[localIdx - offset];
+                }
+                context.localBarrier();
+                scan[localIdx] += neighbour;
+            }
+            context.localBarrier();
+            int totalFalses = scan[BLOCK_SIZE - 1];
+            int falsesBefore = scan[localIdx] - flag;
+            int destination = falsesBefore;
+            if (flag == 0) {
+                destination = totalFalses + localIdx - falsesBefore;
+            }
+            localKeys[destination] = key;
+            localValues[destination] = value;
+            context.localBarrier();
+            key = localKeys[localIdx];
+            value = localValues[localIdx];
+            context.localBarrier();
+        }
+
+        int digit = ((key ^ SIGN_BIT) >>> shift) & RADIX_MASK;
+        int validElements = numElements - groupIdx * BLOCK_SIZE;
+        boolean valid = localIdx < validElements;
+        if (localIdx < RADIX) {
+            digitStart[localIdx] = 0;
+            digitCount[localIdx] = 0;
+        }
+        scan[localIdx] = digit;
+        context.localBarrier();
+        if (valid && (localIdx == 0 || scan[localIdx - 1] != digit)) {
+            digitStart[digit] = localIdx;
+        }
+        context.localBarrier();
+        if (valid && (localIdx == BLOCK_SIZE - 1 || localIdx == validElements - 1 || scan[localIdx + 1] != digit)) {
+            digitCount[digit] = localIdx - digitStart[digit] + 1;
+        }
+        context.localBarrier();
+        if (localIdx < RADIX) {
+            blockHistogram[localIdx * numBlocks + groupIdx] = digitCount[localIdx];
+            blockOffsets[localIdx * numBlocks + groupIdx] = digitStart[localIdx];
+        }
+        if (valid) {
+            keysOut[globalIdx] = key;
+            valuesOut[globalIdx] = value;
+        }
+    }
+
+    /**
+     * Scatters the locally sorted keys. {@code globalOffsets} is the exclusive
+     * scan of the digit-major block histogram.
+     */
+    public static void scatterKeys(KernelContext context, int[] keysIn, int[] keysOut, int[] globalOffsets, int[] blockOffsets, int numElements, int numBlocks, int shift) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < numElements) {
+            int key = keysIn[globalIdx];
+            int bucket = (((key ^ SIGN_BIT) >>> shift) & RADIX_MASK) * numBlocks + context.groupIdx;
+            int destination = globalOffsets[bucket] + context.localIdx - blockOffsets[bucket];
+            keysOut[destination] = key;
+        }
+    }
+
+    public static void scatterPairs(KernelContext context, int[] keysIn, int[] valuesIn, int[] keysOut, int[] valuesOut, int[] globalOffsets, int[] blockOffsets, int numElements, int numBlocks,
+            int shift) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < numElements) {
+            int key = keysIn[globalIdx];
+            int bucket = (((key ^ SIGN_BIT) >>> shift) & RADIX_MASK) * numBlocks + context.groupIdx;
+            int destination = globalOffsets[bucket] + context.localIdx - blockOffsets[bucket];
+            keysOut[destination] = key;
+            valuesOut[destination] = valuesIn[globalIdx];
+        }
+    }
+}
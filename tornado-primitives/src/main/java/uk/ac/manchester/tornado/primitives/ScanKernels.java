@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.primitives;
+
+import static uk.ac.manchester.tornado.primitives.PrimitiveTaskGraph.BLOCK_SIZE;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+
+/**
+ * Kernels for the multi-pass prefix-sum. The first pass scans each work-group
+ * in local memory and emits one partial sum per work-group, the partial sums
+ * are scanned recursively and the last pass adds the scanned partial sums back
+ * to every work-group but the first one.
+ */
+public final class ScanKernels {
+
+    private ScanKernels() {
+    }
+
+    /**
+     * Inclusive scan of each block of {@link PrimitiveTaskGraph#BLOCK_SIZE}
+     * elements (Hillis-Steele in local memory).
+     */
+    public static void scanBlocksInt(KernelContext context, int[] input, int[] output, int[] blockSums, int numElements) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        int[] scratch = context.allocateIntLocalArray(BLOCK_SIZE);
+
+        int value = 0;
+        if (globalIdx < numElements) {
+            value = input[globalIdx];
+        }
+        scratch[localIdx] = value;
+
+        for (int offset = 1; offset < BLOCK_SIZE; offset <<= 1) {
+            context.localBarrier();
+            int neighbour = 0;
+            if (localIdx >= offset) {
+                neighbour = scratch[localIdx - offset];
+            }
+            context.localBarrier();
+            scratch[localIdx] += neighbour;
+        }
+        context.localBarrier();
+
+        if (globalIdx < numElements) {
+            output[globalIdx] = scratch[localIdx];
+        }
+        if (localIdx == BLOCK_SIZE - 1) {
+            blockSums[context.groupIdx] = scratch[localIdx];
+        }
+    }
+
+    public static void addBlockOffsetsInt(KernelContext context, int[] output, int[] scannedBlockSums, int numElements) {
+        int globalIdx = context.globalIdx;
+        int groupIdx = context.groupIdx;
+        if (groupIdx > 0 && globalIdx < numElements) {
+            output[globalIdx] += scannedBlockSums[groupIdx - 1];
+        }
+    }
+
+    /**
+     * Turns an inclusive scan into an exclusive one.
+     */
+    public static void shiftRightInt(KernelContext context, int[] inclusive, int[] output, int numElements) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < numElements) {
+            int value = 0;
+            if (globalIdx > 0) {
+                value = inclusive[globalIdx - 1];
+            }
+            output[globalIdx] = value;
+        }
+    }
+
+    public static void scanBlocksFloat(KernelContext context, float[] input, float[] output, float[] blockSums, int numElements) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        float[] scratch = context.allocateFloatLocalArray(BLOCK_SIZE);
+
+        float value = 0.0f;
+        if (globalIdx < numElements) {
+            value = input[globalIdx];
+        }
+        scratch[localIdx] = value;
+
+        for (int offset = 1; offset < BLOCK_SIZE; offset <<= 1) {
+            context.localBarrier();
+            float neighbour = 0.0f;
+            if (localIdx >= offset) {
+                neighbour = scratch[localIdx - offset];
+            }
+            context.localBarrier();
+            scratch[localIdx] += neighbour;
+        }
+        context.localBarrier();
+
+        if (globalIdx < numElements) {
+            output[globalIdx] = scratch[localIdx];
+        }
+        if (localIdx == BLOCK_SIZE - 1) {
+            blockSums[context.groupIdx] = scratch[localIdx];
+        }
+    }
+
+    public static void addBlockOffsetsFloat(KernelContext context, float[] output, float[] scannedBlockSums, int numElements) {
+        int globalIdx = context.globalIdx;
+        int groupIdx = context.groupIdx;
+        if (groupIdx > 0 && globalIdx < numElements) {
+            output[globalIdx] += scannedBlockSums[groupIdx - 1];
+        }
+    }
+
+    public static void shiftRightFloat(KernelContext context, float[] inclusive, float[] output, int numElements) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < numElements) {
+            float value = 0.0f;
+            if (globalIdx > 0) {
+                value = inclusive[globalIdx - 1];
+            }
+            output[globalIdx] = value;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.primitives;
+
+import uk.ac.manchester.tornado.api.collections.types.VectorFloat;
+import uk.ac.manchester.tornado.api.collections.types.VectorInt;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+
+/**
+ * Device-wide segmented reduction. Segments are described in CSR form:
+ * segment {@code s} covers {@code values[segmentOffsets[s]]} up to (excluding)
+ * {@code values[segmentOffsets[s + 1]]}, so {@code segmentOffsets} has one
+ * more element than {@code output}. Empty segments produce the identity of
+ * the operation.
+ *
+ * <p>
+ * One work-group is launched per segment, which suits segments of tens of
+ * elements or more.
+ * </p>
+ */
+public final class SegmentedReduction extends PrimitiveTaskGraph {
+
+    public enum Operation {
+        ADD(SegmentedReductionKernels.ADD), //
+        MIN(SegmentedReductionKernels.MIN), //
+        MAX(SegmentedReductionKernels.MAX);
+
+        private final int code;
+
+        Operation(int code) {
+            this.code = code;
+        }
+
+        int getCode() {
+            return code;
+        }
+    }
+
+    private SegmentedReduction(Object values, int[] segmentOffsets, Object output, int numSegments, Operation operation) {
+        super("segmentedReduction");
+        checkLength(numSegments);
+        if (segmentOffsets.length != numSegments + 1) {
+            throw new IllegalArgumentException("Expected " + (numSegments + 1) + " segment offsets, got " + segmentOffsets.length);
+        }
+        taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, values, segmentOffsets);
+        String taskName = nextTask("reduceSegments", numSegments * BLOCK_SIZE);
+        if (values instanceof int[]) {
+            taskGraph.task(taskName, SegmentedReductionKernels::reduceSegmentsInt, context, (int[]) values, segmentOffsets, (int[]) output, operation.getCode());
+        } else {
+            taskGraph.task(taskName, SegmentedReductionKernels::reduceSegmentsFloat, context, (float[]) values, segmentOffsets, (float[]) output, operation.getCode());
+        }
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+    }
+
+    public static SegmentedReduction reduce(int[] values, int[] segmentOffsets, int[] output, Operation operation) {
+        return new SegmentedReduction(values, segmentOffsets, output, output.length, operation);
+    }
+
+    public static SegmentedReduction reduce(float[] values, int[] segmentOffsets, float[] output, Operation operation) {
+        return new SegmentedReduction(values, segmentOffsets, output, output.length, operation);
+    }
+
+    public static SegmentedReduction reduce(VectorInt values, VectorInt segmentOffsets, VectorInt output, Operation operation) {
+        return reduce(values.getArray(), segmentOffsets.getArray(), output.getArray(), operation);
+    }
+
+    public static SegmentedReduction reduce(VectorFloat values, VectorInt segmentOffsets, VectorFloat output, Operation operation) {
+        return reduce(values.getArray(), segmentOffsets.getArray(), output.getArray(), operation);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.primitives;
+
+import static uk.ac.manchester.tornado.primitives.PrimitiveTaskGraph.BLOCK_SIZE;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+
+/**
+ * Kernels for the segmented reduction. One work-group reduces one segment:
+ * each work-item accumulates a strided slice of the segment, followed by a
+ * tree reduction in local memory.
+ */
+public final class SegmentedReductionKernels {
+
+    public static final int ADD = 0;
+    public static final int MIN = 1;
+    public static final int MAX = 2;
+
+    private SegmentedReductionKernels() {
+    }
+
+    public static void reduceSegmentsInt(KernelContext context, int[] values, int[] segmentOffsets, int[] output, int operation) {
+        int localIdx = context.localIdx;
+        int segment = context.groupIdx;
+        int[] partials = context.allocateIntLocalArray(BLOCK_SIZE);
+
+        int acc = 0;
+        if (operation == MIN) {
+            acc = Integer.MAX_VALUE;
+        } else if (operation == MAX) {
+            acc = Integer.MIN_VALUE;
+        }
+        int end = segmentOffsets[segment + 1];
+        for (int i = segmentOffsets[segment] + localIdx; i < end; i += BLOCK_SIZE) {
+            int value = values[i];
+            if (operation == ADD) {
+                acc += value;
+            } else if (operation == MIN) {
+                acc = Math.min(acc, value);
+            } else {
+                acc = Math.max(acc, value);
+            }
+        }
+        partials[localIdx] = acc;
+
+        for (int stride = BLOCK_SIZE / 2; stride > 0; stride >>= 1) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                int other = partials[localIdx + stride];
+                if (operation == ADD) {
+                    partials[localIdx] += other;
+                } else if (operation == MIN) {
+                    partials[localIdx] = Math.min(partials[localIdx], other);
+                } else {
+                    partials[localIdx] = Math.max(partials[localIdx], other);
+                }
+            }
+        }
+        if (localIdx == 0) {
+            output[segment] = partials[0];
+        }
+    }
+
+    public static void reduceSegmentsFloat(KernelContext context, float[] values, int[] segmentOffsets, float[] output, int operation) {
+        int localIdx = context.localIdx;
+        int segment = context.groupIdx;
+        float[] partials = context.allocateFloatLocalArray(BLOCK_SIZE);
+
+        float acc = 0.0f;
+        if (operation == MIN) {
+            acc = Float.POSITIVE_INFINITY;
+        } else if (operation == MAX) {
+            acc = Float.NEGATIVE_INFINITY;
+        }
+        int end = segmentOffsets[segment + 1];
+        for (int i = segmentOffsets[segment] + localIdx; i < end; i += BLOCK_SIZE) {
+            float value = values[i];
+            if (operation == ADD) {
+                acc += value;
+            } else if (operation == MIN) {
+                acc = Math.min(acc, value);
+            } else {
+                acc = Math.max(acc, value);
+            }
+        }
+        partials[localIdx] = acc;
+
+        for (int stride = BLOCK_SIZE / 2; stride > 0; stride >>= 1) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                float other = partials[localIdx + stride];
+                if (operation == ADD) {
+                    partials[localIdx] += other;
+                } else if (operation == MIN) {
+                    partials[localIdx] = Math.min(partials[localIdx], other);
+                } else {
+                    partials[localIdx] = Math.max(partials[localIdx], other);
+                }
+            }
+        }
+        if (localIdx == 0) {
+            output[segment] = partials[0];
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.primitives;
+
+import uk.ac.manchester.tornado.api.collections.types.VectorFloat;
+import uk.ac.manchester.tornado.api.collections.types.VectorInt;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+
+/**
+ * Device-wide, order-preserving stream compaction: copies to {@code output}
+ * the elements of {@code input} whose flag is non-zero, and writes the number
+ * of copied elements to {@code count[0]}. Typical flags are produced by a
+ * previous task of the same execution plan (e.g. a filter predicate).
+ *
+ * <p>
+ * Example:
+ * </p>
+ * <code>
+ *     StreamCompaction.compact(input, flags, output, count).execute();
+ * </code>
+ */
+public final class StreamCompaction extends PrimitiveTaskGraph {
+
+    private StreamCompaction(Object input, int[] flags, Object output, int[] count, int numElements, int outputLength) {
+        super("compaction");
+        checkLength(numElements);
+        if (flags.length != numElements) {
+            throw new IllegalArgumentException("Flags and input must have the same length: " + flags.length + " != " + numElements);
+        }
+        if (outputLength < numElements) {
+            throw new IllegalArgumentException("Output array is smaller than the input: " + outputLength + " < " + numElements);
+        }
+        if (count.length < 1) {
+            throw new IllegalArgumentException("The count array needs at least one element");
+        }
+        taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, input, flags);
+        int[] marks = new int[numElements];
+        int[] positions = new int[numElements];
+        taskGraph.task(nextTask("mark", numElements), CompactionKernels::mark, context, flags, marks, numElements);
+        PrefixSum.addInclusiveScan(this, marks, positions, numElements);
+        if (input instanceof int[]) {
+            taskGraph.task(nextTask("scatter", numElements), CompactionKernels::scatterInt, context, (int[]) input, marks, positions, (int[]) output, count, numElements);
+        } else {
+            taskGraph.task(nextTask("scatter", numElements), CompactionKernels::scatterFloat, context, (float[]) input, marks, positions, (float[]) output, count, numElements);
+        }
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, output, count);
+    }
+
+    public static StreamCompaction compact(int[] input, int[] flags, int[] output, int[] count) {
+        return new StreamCompaction(input, flags, output, count, input.length, output.length);
+    }
+
+    public static StreamCompaction compact(float[] input, int[] flags, float[] output, int[] count) {
+        return new StreamCompaction(input, flags, output, count, input.length, output.length);
+    }
+
+    public static StreamCompaction compact(VectorInt input, VectorInt flags, VectorInt output, int[] count) {
+        return compact(input.getArray(), flags.getArray(), output.getArray(), count);
+    }
+
+    public static StreamCompaction compact(VectorFloat input, VectorInt flags, VectorFloat output, int[] count) {
+        return compact(input.getArray(), flags.getArray(), output.getArray(), count);
+    }
+}
@@ -1,5 +1,6 @@
 open module tornado.runtime {
     requires java.logging;
+    requires jdk.jfr;
     requires jdk.unsupported;
 
     requires transitive jdk.internal.vm.ci;
@@ -24,11 +25,18 @@ open module tornado.runtime {
     exports uk.ac.manchester.tornado.runtime.graal.phases.lir;
     exports uk.ac.manchester.tornado.runtime.graph;
     exports uk.ac.manchester.tornado.runtime.graph.nodes;
+    exports uk.ac.manchester.tornado.runtime.metrics;
     exports uk.ac.manchester.tornado.runtime.profiler;
+    exports uk.ac.manchester.tornado.runtime.profiler.jfr;
+    exports uk.ac.manchester.tornado.runtime.replay;
     exports uk.ac.manchester.tornado.runtime.sketcher;
     exports uk.ac.manchester.tornado.runtime.tasks;
     exports uk.ac.manchester.tornado.runtime.tasks.meta;
     exports uk.ac.manchester.tornado.runtime.utils;
 
     uses uk.ac.manchester.tornado.runtime.TornadoDriverProvider;
+    uses uk.ac.manchester.tornado.runtime.metrics.MetricsExporter;
+
+    provides uk.ac.manchester.tornado.runtime.metrics.MetricsExporter with
+            uk.ac.manchester.tornado.runtime.metrics.PrometheusExporter;
 }
@@ -181,7 +181,7 @@ public class TornadoCoreRuntime extends TornadoLogger implements TornadoRuntimeI
         return tornadoAcceleratorDrivers;
     }
 
-    public GlobalObjectState resolveObject(Object object) {
+    public synchronized GlobalObjectState resolveObject(Object object) {
         if (!objectMappings.containsKey(object)) {
             final GlobalObjectState state = new GlobalObjectState();
             objectMappings.put(object, state);
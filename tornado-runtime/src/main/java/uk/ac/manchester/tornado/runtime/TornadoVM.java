@@ -36,12 +36,16 @@ import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import uk.ac.manchester.tornado.api.GridScheduler;
 import uk.ac.manchester.tornado.api.KernelContext;
 import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.common.ArraySlice;
 import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.common.SchedulableTask;
 import uk.ac.manchester.tornado.api.common.TornadoEvents;
@@ -55,16 +59,22 @@ import uk.ac.manchester.tornado.api.memory.ObjectBuffer;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.runtime.common.ColoursTerminal;
+import uk.ac.manchester.tornado.runtime.common.DeviceMemoryManager;
 import uk.ac.manchester.tornado.runtime.common.DeviceObjectState;
 import uk.ac.manchester.tornado.runtime.common.KernelArgs;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
 import uk.ac.manchester.tornado.runtime.common.TornadoAcceleratorDevice;
+import uk.ac.manchester.tornado.runtime.common.TornadoCommandGraph;
 import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graph.TornadoExecutionContext;
 import uk.ac.manchester.tornado.runtime.graph.TornadoGraphAssembler.TornadoVMBytecode;
+import uk.ac.manchester.tornado.runtime.metrics.TornadoMetrics;
 import uk.ac.manchester.tornado.runtime.profiler.TimeProfiler;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.TornadoBytecodeEvent;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.TornadoCompileEvent;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.TornadoFlightRecorder;
 import uk.ac.manchester.tornado.runtime.tasks.GlobalObjectState;
 import uk.ac.manchester.tornado.runtime.tasks.PrebuiltTask;
 import uk.ac.manchester.tornado.runtime.tasks.TornadoTaskGraph;
@@ -80,21 +90,41 @@ import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
  * There is an instance of the {@link TornadoVM} per {@link TornadoTaskGraph}.
  * Each TornadoVM contains the logic to orchestrate the execution on the
  * parallel device (e.g., a GPU).
+ * <p>
+ * The bytecode and the installed codes are shared by all invocations. The
+ * state of an invocation (bytecode position, event lists, call wrappers and
+ * the objects bound in place of those of the task-graph) lives in an
+ * {@link ExecutionFrame} taken from a pool, so the same TornadoVM can be
+ * executed from several threads. Commands are submitted to a device
+ * under a lock per device, because the command queue and the event pool of a
+ * device are not thread-safe.
+ * <p>
+ * When graph capture is enabled, the bytecode of a frame is decoded into a
+ * {@link CapturedExecution} after warm-up. Later executions replay the decoded
+ * commands with the call wrappers already filled, until the arguments, the
+ * device buffers, the installed codes or the grid sizes change. Consecutive
+ * launches on a device with native graphs are recorded once into a
+ * {@link TornadoCommandGraph} and submitted with a single call.
  */
 public class TornadoVM extends TornadoLogger {
 
     private static final Event EMPTY_EVENT = new EmptyEvent();
 
     private static final int MAX_EVENTS = 32;
+
+    // Times the native graph of a launch group is recorded again before it is replayed launch by launch
+    private static final int MAX_GRAPH_REBUILDS = 2;
+
+    private static final ConcurrentHashMap<Object, Object> SUBMISSION_LOCKS = new ConcurrentHashMap<>();
+
     private final boolean useDependencies;
 
     private final TornadoExecutionContext graphContext;
     private final List<Object> objects;
 
     private final GlobalObjectState[] globalStates;
-    private final KernelArgs[] callWrappers;
-    private final int[][] events;
-    private final int[] eventsIndexes;
+    private final int numEventLists;
+    private final ConcurrentLinkedDeque<ExecutionFrame> framePool;
     private final List<TornadoAcceleratorDevice> contexts;
     private final TornadoInstalledCode[] installedCodes;
 
@@ -131,20 +161,14 @@ public class TornadoVM extends TornadoLogger {
         contexts = new ArrayList<>(graphContext.getDevices());
         buffer.getInt();
         int taskCount = buffer.getInt();
-        callWrappers = graphContext.getCallWrappers().clone();
-        events = new int[buffer.getInt()][MAX_EVENTS];
-        eventsIndexes = new int[events.length];
+        numEventLists = buffer.getInt();
+        framePool = new ConcurrentLinkedDeque<>();
 
         installedCodes = new TornadoInstalledCode[taskCount];
 
-        for (int i = 0; i < events.length; i++) {
-            Arrays.fill(events[i], -1);
-            eventsIndexes[i] = 0;
-        }
-
         debug("found %d contexts", contexts.size());
-        debug("created %d callWrappers", callWrappers.length);
-        debug("created %d event lists", events.length);
+        debug("created %d callWrappers", graphContext.getCallWrappers().length);
+        debug("created %d event lists", numEventLists);
 
         objects = graphContext.getObjects();
         globalStates = new GlobalObjectState[objects.size()];
@@ -186,12 +210,16 @@ public class TornadoVM extends TornadoLogger {
         }
     }
 
-    private GlobalObjectState resolveGlobalObjectState(int index) {
-        return globalStates[index];
+    private Object resolveObject(ExecutionFrame frame, int index) {
+        return frame.objects != null ? frame.objects[index] : objects.get(index);
+    }
+
+    private GlobalObjectState resolveGlobalObjectState(ExecutionFrame frame, int index) {
+        return frame.globalStates != null ? frame.globalStates[index] : globalStates[index];
     }
 
-    private DeviceObjectState resolveObjectState(int index, int device) {
-        return globalStates[index].getDeviceState(contexts.get(device));
+    private DeviceObjectState resolveObjectState(ExecutionFrame frame, int index, int device) {
+        return resolveGlobalObjectState(frame, index).getDeviceState(contexts.get(device));
     }
 
     private KernelArgs resolveCallWrapper(int index, int numArgs, KernelArgs[] callWrappers, TornadoAcceleratorDevice device, boolean setNewDevice) {
@@ -217,12 +245,74 @@ public class TornadoVM extends TornadoLogger {
         return execute(false);
     }
 
-    private void initWaitEventList() {
-        for (int[] waitList : events) {
+    /**
+     * Executes the bytecode with some objects of the task-graph replaced, for this
+     * invocation only. Each bound object has its own device buffers, so
+     * concurrent invocations with different bindings do not share data.
+     *
+     * @param bindings
+     *            identity map from an object of the task-graph to the object used
+     *            in its place.
+     */
+    public Event execute(Map<Object, Object> bindings) {
+        final ExecutionFrame frame = acquireFrame();
+        try {
+            bindObjects(frame, bindings);
+            return execute(frame, false);
+        } catch (RuntimeException | Error e) {
+            discardDeferredEvents();
+            throw e;
+        } finally {
+            frame.objects = null;
+            frame.globalStates = null;
+            releaseFrame(frame);
+        }
+    }
+
+    private void bindObjects(ExecutionFrame frame, Map<Object, Object> bindings) {
+        if (bindings.isEmpty()) {
+            return;
+        }
+        frame.objects = objects.toArray();
+        frame.globalStates = globalStates.clone();
+        for (int i = 0; i < frame.objects.length; i++) {
+            final Object bound = bindings.get(frame.objects[i]);
+            if (bound != null) {
+                frame.objects[i] = bound;
+                frame.globalStates[i] = TornadoCoreRuntime.getTornadoRuntime().resolveObject(bound);
+            }
+        }
+    }
+
+    private void initWaitEventList(ExecutionFrame frame) {
+        for (int[] waitList : frame.events) {
             Arrays.fill(waitList, -1);
         }
     }
 
+    private ExecutionFrame acquireFrame() {
+        ExecutionFrame frame = framePool.poll();
+        if (frame == null) {
+            frame = new ExecutionFrame(buffer, numEventLists, graphContext.getCallWrappers());
+        }
+        return frame;
+    }
+
+    private void releaseFrame(ExecutionFrame frame) {
+        frame.buffer.reset();
+        framePool.push(frame);
+    }
+
+    /**
+     * Lock that serializes the commands submitted to a device by all the
+     * TornadoVM instances.
+     */
+    private Object submissionLock(int contextIndex) {
+        final TornadoAcceleratorDevice device = contexts.get(contextIndex);
+        final Object key = device.getDeviceContext() != null ? device.getDeviceContext() : device;
+        return SUBMISSION_LOCKS.computeIfAbsent(key, k -> new Object());
+    }
+
     public void clearInstalledCode() {
         Arrays.fill(installedCodes, null);
     }
@@ -243,14 +333,14 @@ public class TornadoVM extends TornadoLogger {
         return ColoursTerminal.YELLOW + " " + device + " " + ColoursTerminal.RESET;
     }
 
-    private int executeAlloc(StringBuilder tornadoVMBytecodeList, int[] args, int contextIndex, long sizeBatch) {
+    private int executeAlloc(ExecutionFrame frame, StringBuilder tornadoVMBytecodeList, int[] args, int contextIndex, long sizeBatch) {
         final TornadoAcceleratorDevice device = contexts.get(contextIndex);
 
         Object[] objects = new Object[args.length];
         DeviceObjectState[] objectStates = new DeviceObjectState[args.length];
         for (int i = 0; i < objects.length; i++) {
-            objects[i] = this.objects.get(args[i]);
-            objectStates[i] = resolveObjectState(args[i], contextIndex);
+            objects[i] = resolveObject(frame, args[i]);
+            objectStates[i] = resolveObjectState(frame, args[i], contextIndex);
 
             if (TornadoOptions.PRINT_BYTECODES) {
                 String verbose = String.format("bc: " + debugHighLightBC("ALLOC") + "%s on %s, size=%d", objects[i], debugDeviceBC(device), sizeBatch);
@@ -258,12 +348,14 @@ public class TornadoVM extends TornadoLogger {
             }
         }
 
-        return device.allocateObjects(objects, sizeBatch, objectStates);
+        final int event = device.allocateObjects(objects, sizeBatch, objectStates);
+        DeviceMemoryManager.getInstance().restore(device, objectStates);
+        return event;
     }
 
-    private int executeDeAlloc(StringBuilder tornadoVMBytecodeList, final int objectIndex, final int contextIndex) {
+    private int executeDeAlloc(ExecutionFrame frame, StringBuilder tornadoVMBytecodeList, final int objectIndex, final int contextIndex) {
         final TornadoAcceleratorDevice device = contexts.get(contextIndex);
-        Object object = objects.get(objectIndex);
+        Object object = resolveObject(frame, objectIndex);
 
         if (isObjectKernelContext(object)) {
             return 0;
@@ -274,7 +366,7 @@ public class TornadoVM extends TornadoLogger {
             tornadoVMBytecodeList.append(verbose).append("\n");
         }
 
-        final DeviceObjectState objectState = resolveObjectState(objectIndex, contextIndex);
+        final DeviceObjectState objectState = resolveObjectState(frame, objectIndex, contextIndex);
         return device.deallocate(objectState);
     }
 
@@ -286,16 +378,16 @@ public class TornadoVM extends TornadoLogger {
         return (object instanceof KernelContext);
     }
 
-    private int transferHostToDeviceOnce(StringBuilder tornadoVMBytecodeList, final int objectIndex, final int contextIndex, final long offset, final int eventList, final long sizeBatch,
+    private int transferHostToDeviceOnce(ExecutionFrame frame, StringBuilder tornadoVMBytecodeList, final int objectIndex, final int contextIndex, final long offset, final int eventList, final long sizeBatch,
             final int[] waitList) {
         final TornadoAcceleratorDevice device = contexts.get(contextIndex);
-        Object object = objects.get(objectIndex);
+        Object object = resolveObject(frame, objectIndex);
 
         if (isObjectKernelContext(object)) {
             return 0;
         }
 
-        final DeviceObjectState objectState = resolveObjectState(objectIndex, contextIndex);
+        final DeviceObjectState objectState = resolveObjectState(frame, objectIndex, contextIndex);
 
         if (TornadoOptions.PRINT_BYTECODES & !isObjectAtomic(object)) {
             String verbose = String.format("bc: " + debugHighLightBC("TRANSFER_HOST_TO_DEVICE_ONCE") + " [Object Hash Code=0x%x] %s on %s, size=%d, offset=%d [event list=%d]", object.hashCode(),
@@ -312,30 +404,28 @@ public class TornadoVM extends TornadoLogger {
             allEvents = device.ensurePresent(object, objectState, waitList, sizeBatch, offset);
         }
 
-        resetEventIndexes(eventList);
+        resetEventIndexes(frame, eventList);
 
         if (TornadoOptions.isProfilerEnabled() && allEvents != null) {
             for (Integer e : allEvents) {
-                Event event = device.resolveEvent(e);
-                event.waitForEvents();
-                long copyInTimer = timeProfiler.getTimer(ProfilerType.COPY_IN_TIME);
-                copyInTimer += event.getElapsedTime();
-                timeProfiler.setTimer(ProfilerType.COPY_IN_TIME, copyInTimer);
-
-                timeProfiler.addValueToMetric(ProfilerType.TOTAL_COPY_IN_SIZE_BYTES, TimeProfiler.NO_TASK_NAME, objectState.getObjectBuffer().size());
-
-                long dispatchValue = timeProfiler.getTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME);
-                dispatchValue += event.getDriverDispatchTime();
-                timeProfiler.setTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME, dispatchValue);
+                profileCopyIn(device, e, objectState.getObjectBuffer().size());
+            }
+        }
+        if (TornadoFlightRecorder.isTransferEnabled() && allEvents != null) {
+            for (Integer e : allEvents) {
+                TornadoFlightRecorder.deferTransfer(device.resolveEvent(e), graphContext.getId(), TornadoFlightRecorder.HOST_TO_DEVICE, device, objectState.getObjectBuffer().size());
             }
         }
+        if (TornadoMetrics.isEnabled() && allEvents != null && !allEvents.isEmpty()) {
+            TornadoMetrics.addTransferredBytes(graphContext.getId(), device.getDeviceName(), TornadoMetrics.HOST_TO_DEVICE, objectState.getObjectBuffer().size());
+        }
         return 0;
     }
 
-    private int transferHostToDeviceAlways(StringBuilder tornadoVMBytecodeList, final int objectIndex, final int contextIndex, final long offset, final int eventList, final long sizeBatch,
+    private int transferHostToDeviceAlways(ExecutionFrame frame, StringBuilder tornadoVMBytecodeList, final int objectIndex, final int contextIndex, final long offset, final int eventList, final long sizeBatch,
             final int[] waitList) {
         final TornadoAcceleratorDevice device = contexts.get(contextIndex);
-        Object object = objects.get(objectIndex);
+        Object object = resolveObject(frame, objectIndex);
 
         if (isObjectKernelContext(object)) {
             return 0;
@@ -347,33 +437,73 @@ public class TornadoVM extends TornadoLogger {
             tornadoVMBytecodeList.append(verbose).append("\n");
         }
 
-        final DeviceObjectState objectState = resolveObjectState(objectIndex, contextIndex);
-        List<Integer> allEvents = device.streamIn(object, sizeBatch, offset, objectState, waitList);
+        final DeviceObjectState objectState = resolveObjectState(frame, objectIndex, contextIndex);
+        final ArraySlice slice = graphContext.getObjectStates().get(objectIndex).getInputSlice();
+        List<Integer> allEvents;
+        long transferSize = 0;
+        if (slice != null && sizeBatch <= 0 && objectState.hasContents()) {
+            // The array is resident on the device: only the slice is out of date
+            allEvents = device.streamInRange(object, slice.getOffset(), slice.getSize(), objectState, waitList);
+            transferSize = slice.getSize();
+        } else {
+            allEvents = device.streamIn(object, sizeBatch, offset, objectState, waitList);
+        }
 
-        resetEventIndexes(eventList);
+        resetEventIndexes(frame, eventList);
 
         if (TornadoOptions.isProfilerEnabled() && allEvents != null) {
             for (Integer e : allEvents) {
-                Event event = device.resolveEvent(e);
-                event.waitForEvents();
-                long copyInTimer = timeProfiler.getTimer(ProfilerType.COPY_IN_TIME);
-                copyInTimer += event.getElapsedTime();
-                timeProfiler.setTimer(ProfilerType.COPY_IN_TIME, copyInTimer);
-
-                timeProfiler.addValueToMetric(ProfilerType.TOTAL_COPY_IN_SIZE_BYTES, TimeProfiler.NO_TASK_NAME, objectState.getObjectBuffer().size());
-
-                long dispatchValue = timeProfiler.getTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME);
-                dispatchValue += event.getDriverDispatchTime();
-                timeProfiler.setTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME, dispatchValue);
+                profileCopyIn(device, e, (transferSize > 0) ? transferSize : objectState.getObjectBuffer().size());
             }
         }
+        if (TornadoFlightRecorder.isTransferEnabled() && allEvents != null) {
+            for (Integer e : allEvents) {
+                TornadoFlightRecorder.deferTransfer(device.resolveEvent(e), graphContext.getId(), TornadoFlightRecorder.HOST_TO_DEVICE, device,
+                        (transferSize > 0) ? transferSize : objectState.getObjectBuffer().size());
+            }
+        }
+        if (TornadoMetrics.isEnabled() && allEvents != null && !allEvents.isEmpty()) {
+            TornadoMetrics.addTransferredBytes(graphContext.getId(), device.getDeviceName(), TornadoMetrics.HOST_TO_DEVICE, (transferSize > 0) ? transferSize : objectState.getObjectBuffer().size());
+        }
         return 0;
     }
 
-    private int transferDeviceToHost(StringBuilder tornadoVMBytecodeList, final int objectIndex, final int contextIndex, final long offset, final int eventList, final long sizeBatch,
+    /**
+     * The copy is profiled once the task-graph completes, so the profiler does
+     * not serialise the transfers with the kernels.
+     */
+    private void profileCopyIn(TornadoAcceleratorDevice device, int eventId, long numBytes) {
+        timeProfiler.deferEvent(device.resolveEvent(eventId), event -> {
+            long copyInTimer = timeProfiler.getTimer(ProfilerType.COPY_IN_TIME);
+            copyInTimer += event.getElapsedTime();
+            timeProfiler.setTimer(ProfilerType.COPY_IN_TIME, copyInTimer);
+
+            timeProfiler.addValueToMetric(ProfilerType.TOTAL_COPY_IN_SIZE_BYTES, TimeProfiler.NO_TASK_NAME, numBytes);
+
+            long dispatchValue = timeProfiler.getTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME);
+            dispatchValue += event.getDriverDispatchTime();
+            timeProfiler.setTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME, dispatchValue);
+        });
+    }
+
+    private void profileCopyOut(TornadoAcceleratorDevice device, int eventId, long numBytes) {
+        timeProfiler.deferEvent(device.resolveEvent(eventId), event -> {
+            long value = timeProfiler.getTimer(ProfilerType.COPY_OUT_TIME);
+            value += event.getElapsedTime();
+            timeProfiler.setTimer(ProfilerType.COPY_OUT_TIME, value);
+
+            timeProfiler.addValueToMetric(ProfilerType.TOTAL_COPY_OUT_SIZE_BYTES, TimeProfiler.NO_TASK_NAME, numBytes);
+
+            long dispatchValue = timeProfiler.getTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME);
+            dispatchValue += event.getDriverDispatchTime();
+            timeProfiler.setTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME, dispatchValue);
+        });
+    }
+
+    private int transferDeviceToHost(ExecutionFrame frame, StringBuilder tornadoVMBytecodeList, final int objectIndex, final int contextIndex, final long offset, final int eventList, final long sizeBatch,
             final int[] waitList) {
         final TornadoAcceleratorDevice device = contexts.get(contextIndex);
-        Object object = objects.get(objectIndex);
+        Object object = resolveObject(frame, objectIndex);
 
         if (isObjectKernelContext(object)) {
             return 0;
@@ -385,32 +515,38 @@ public class TornadoVM extends TornadoLogger {
             tornadoVMBytecodeList.append(verbose).append("\n");
         }
 
-        final DeviceObjectState objectState = resolveObjectState(objectIndex, contextIndex);
-        int lastEvent = device.streamOutBlocking(object, offset, objectState, waitList);
+        final DeviceObjectState objectState = resolveObjectState(frame, objectIndex, contextIndex);
+        final ArraySlice slice = graphContext.getObjectStates().get(objectIndex).getOutputSlice();
+        int lastEvent;
+        long transferSize = 0;
+        if (slice != null && sizeBatch <= 0) {
+            // Only the range written by the tasks is copied out
+            lastEvent = device.streamOutRange(object, slice.getOffset(), slice.getSize(), objectState, waitList);
+            transferSize = slice.getSize();
+        } else {
+            lastEvent = device.streamOutBlocking(object, offset, objectState, waitList);
+        }
 
-        resetEventIndexes(eventList);
+        resetEventIndexes(frame, eventList);
 
         if (TornadoOptions.isProfilerEnabled() && lastEvent != -1) {
-            Event event = device.resolveEvent(lastEvent);
-            event.waitForEvents();
-            long value = timeProfiler.getTimer(ProfilerType.COPY_OUT_TIME);
-            value += event.getElapsedTime();
-            timeProfiler.setTimer(ProfilerType.COPY_OUT_TIME, value);
-
-            timeProfiler.addValueToMetric(ProfilerType.TOTAL_COPY_OUT_SIZE_BYTES, TimeProfiler.NO_TASK_NAME, objectState.getObjectBuffer().size());
-
-            long dispatchValue = timeProfiler.getTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME);
-            dispatchValue += event.getDriverDispatchTime();
-            timeProfiler.setTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME, dispatchValue);
+            profileCopyOut(device, lastEvent, (transferSize > 0) ? transferSize : objectState.getObjectBuffer().size());
+        }
+        if (TornadoFlightRecorder.isTransferEnabled() && lastEvent != -1) {
+            TornadoFlightRecorder.deferTransfer(device.resolveEvent(lastEvent), graphContext.getId(), TornadoFlightRecorder.DEVICE_TO_HOST, device,
+                    (transferSize > 0) ? transferSize : objectState.getObjectBuffer().size());
+        }
+        if (TornadoMetrics.isEnabled() && lastEvent != -1) {
+            TornadoMetrics.addTransferredBytes(graphContext.getId(), device.getDeviceName(), TornadoMetrics.DEVICE_TO_HOST, (transferSize > 0) ? transferSize : objectState.getObjectBuffer().size());
         }
         return lastEvent;
     }
 
-    private void transferDeviceToHostBlocking(StringBuilder tornadoVMBytecodeList, final int objectIndex, final int contextIndex, final long offset, final int eventList, final long sizeBatch,
+    private void transferDeviceToHostBlocking(ExecutionFrame frame, StringBuilder tornadoVMBytecodeList, final int objectIndex, final int contextIndex, final long offset, final int eventList, final long sizeBatch,
             final int[] waitList) {
 
         final TornadoAcceleratorDevice device = contexts.get(contextIndex);
-        Object object = objects.get(objectIndex);
+        Object object = resolveObject(frame, objectIndex);
 
         if (isObjectKernelContext(object)) {
             return;
@@ -422,24 +558,20 @@ public class TornadoVM extends TornadoLogger {
             tornadoVMBytecodeList.append(verbose).append("\n");
         }
 
-        final DeviceObjectState objectState = resolveObjectState(objectIndex, contextIndex);
+        final DeviceObjectState objectState = resolveObjectState(frame, objectIndex, contextIndex);
 
         final int tornadoEventID = device.streamOutBlocking(object, offset, objectState, waitList);
 
         if (TornadoOptions.isProfilerEnabled() && tornadoEventID != -1) {
-            Event event = device.resolveEvent(tornadoEventID);
-            event.waitForEvents();
-            long value = timeProfiler.getTimer(ProfilerType.COPY_OUT_TIME);
-            value += event.getElapsedTime();
-            timeProfiler.setTimer(ProfilerType.COPY_OUT_TIME, value);
-
-            timeProfiler.addValueToMetric(ProfilerType.TOTAL_COPY_OUT_SIZE_BYTES, TimeProfiler.NO_TASK_NAME, objectState.getObjectBuffer().size());
-
-            long dispatchValue = timeProfiler.getTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME);
-            dispatchValue += event.getDriverDispatchTime();
-            timeProfiler.setTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME, dispatchValue);
+            profileCopyOut(device, tornadoEventID, objectState.getObjectBuffer().size());
+        }
+        if (TornadoFlightRecorder.isTransferEnabled() && tornadoEventID != -1) {
+            TornadoFlightRecorder.deferTransfer(device.resolveEvent(tornadoEventID), graphContext.getId(), TornadoFlightRecorder.DEVICE_TO_HOST, device, objectState.getObjectBuffer().size());
+        }
+        if (TornadoMetrics.isEnabled() && tornadoEventID != -1) {
+            TornadoMetrics.addTransferredBytes(graphContext.getId(), device.getDeviceName(), TornadoMetrics.DEVICE_TO_HOST, objectState.getObjectBuffer().size());
         }
-        resetEventIndexes(eventList);
+        resetEventIndexes(frame, eventList);
     }
 
     private void profilerUpdateForPreCompiledTask(SchedulableTask task) {
@@ -450,7 +582,7 @@ public class TornadoVM extends TornadoLogger {
         }
     }
 
-    private ExecutionInfo compileTaskFromBytecodeToBinary(final int contextIndex, final int callWrapperIndex, final int numArgs, final int eventList, final int taskIndex, final long batchThreads) {
+    private ExecutionInfo compileTaskFromBytecodeToBinary(ExecutionFrame frame, final int contextIndex, final int callWrapperIndex, final int numArgs, final int eventList, final int taskIndex, final long batchThreads) {
         final TornadoAcceleratorDevice device = contexts.get(contextIndex);
 
         if (device.getDeviceContext().wasReset() && finishedWarmup) {
@@ -459,11 +591,19 @@ public class TornadoVM extends TornadoLogger {
 
         boolean redeployOnDevice = graphContext.redeployOnDevice();
 
-        final KernelArgs callWrapper = resolveCallWrapper(callWrapperIndex, numArgs, callWrappers, device, redeployOnDevice);
+        final KernelArgs callWrapper = resolveCallWrapper(callWrapperIndex, numArgs, frame.callWrappers, device, redeployOnDevice);
 
-        final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
+        final int[] waitList = (useDependencies && eventList != -1) ? frame.events[eventList] : null;
         final SchedulableTask task = tasks.get(taskIndex);
 
+        // Installed codes are shared by all the invocations of this TornadoVM
+        synchronized (installedCodes) {
+            compileTask(task, device, taskIndex, batchThreads);
+        }
+        return new ExecutionInfo(callWrapper, waitList);
+    }
+
+    private void compileTask(SchedulableTask task, TornadoAcceleratorDevice device, final int taskIndex, final long batchThreads) {
         // Check if a different batch size was used for the same kernel. If true, then
         // the kernel needs to be recompiled.
         if (!shouldCompile(installedCodes[taskIndex]) && task.getBatchThreads() != 0 && task.getBatchThreads() != batchThreads) {
@@ -491,8 +631,19 @@ public class TornadoVM extends TornadoLogger {
                 if (doUpdate) {
                     task.forceCompilation();
                 }
+                TornadoCompileEvent compileEvent = new TornadoCompileEvent();
+                compileEvent.begin();
                 installedCodes[taskIndex] = device.installCode(task);
+                if (compileEvent.shouldCommit()) {
+                    compileEvent.taskName = task.getFullName();
+                    compileEvent.device = device.getDeviceName();
+                    compileEvent.backend = device.getTornadoVMBackend().name();
+                    compileEvent.commit();
+                }
                 profilerUpdateForPreCompiledTask(task);
+                if (TornadoMetrics.isEnabled()) {
+                    TornadoMetrics.incrementCompilations(graphContext.getId(), device.getDeviceName());
+                }
                 doUpdate = false;
             } catch (TornadoBailoutRuntimeException e) {
                 throw new TornadoBailoutRuntimeException(
@@ -502,8 +653,9 @@ public class TornadoVM extends TornadoLogger {
             } catch (InternalError e) {
                 throw new TornadoBailoutRuntimeException("[Internal Error] Unable to compile " + task.getFullName() + "\n" + Arrays.toString(e.getStackTrace()));
             }
+        } else if (TornadoMetrics.isEnabled()) {
+            TornadoMetrics.incrementCodeCacheHits(graphContext.getId(), device.getDeviceName());
         }
-        return new ExecutionInfo(callWrapper, waitList);
     }
 
     private boolean shouldCompile(TornadoInstalledCode installedCode) {
@@ -514,7 +666,7 @@ public class TornadoVM extends TornadoLogger {
         return objectState.isAtomicRegionPresent() && device.checkAtomicsParametersForTask(task);
     }
 
-    private int executeLaunch(StringBuilder tornadoVMBytecodeList, final int contextIndex, final int numArgs, final int eventList, final int taskIndex, final long batchThreads, final long offset,
+    private int executeLaunch(ExecutionFrame frame, StringBuilder tornadoVMBytecodeList, final int contextIndex, final int numArgs, final int eventList, final int taskIndex, final long batchThreads, final long offset,
             ExecutionInfo info) {
 
         final SchedulableTask task = tasks.get(taskIndex);
@@ -556,24 +708,24 @@ public class TornadoVM extends TornadoLogger {
         ObjectBuffer bufferAtomics = null;
 
         for (int i = 0; i < numArgs; i++) {
-            final byte argType = buffer.get();
-            final int argIndex = buffer.getInt();
+            final byte argType = frame.buffer.get();
+            final int argIndex = frame.buffer.getInt();
 
             if (argType == TornadoVMBytecode.PUSH_CONSTANT_ARGUMENT.value()) {
                 callWrapper.addCallArgument(constants.get(argIndex), false);
             } else if (argType == TornadoVMBytecode.PUSH_REFERENCE_ARGUMENT.value()) {
-                if (isObjectKernelContext(objects.get(argIndex))) {
+                if (isObjectKernelContext(resolveObject(frame, argIndex))) {
                     callWrapper.addCallArgument(new KernelArgs.KernelContextArgument(), false);
                     continue;
                 }
 
-                final GlobalObjectState globalState = resolveGlobalObjectState(argIndex);
+                final GlobalObjectState globalState = resolveGlobalObjectState(frame, argIndex);
                 final DeviceObjectState objectState = globalState.getDeviceState(contexts.get(contextIndex));
 
                 if (!isObjectInAtomicRegion(objectState, device, task)) {
                     callWrapper.addCallArgument(objectState.getObjectBuffer().toBuffer(), true);
                 } else {
-                    atomicsArray = device.updateAtomicRegionAndObjectState(task, atomicsArray, i, objects.get(argIndex), objectState);
+                    atomicsArray = device.updateAtomicRegionAndObjectState(task, atomicsArray, i, resolveObject(frame, argIndex), objectState);
                 }
             } else {
                 TornadoInternalError.shouldNotReachHere();
@@ -585,11 +737,11 @@ public class TornadoVM extends TornadoLogger {
             List<Integer> allEvents = bufferAtomics.enqueueWrite(null, 0, 0, null, false);
             if (TornadoOptions.isProfilerEnabled()) {
                 for (Integer e : allEvents) {
-                    Event event = device.resolveEvent(e);
-                    event.waitForEvents();
-                    long value = timeProfiler.getTimer(ProfilerType.COPY_IN_TIME);
-                    value += event.getElapsedTime();
-                    timeProfiler.setTimer(ProfilerType.COPY_IN_TIME, value);
+                    timeProfiler.deferEvent(device.resolveEvent(e), event -> {
+                        long value = timeProfiler.getTimer(ProfilerType.COPY_IN_TIME);
+                        value += event.getElapsedTime();
+                        timeProfiler.setTimer(ProfilerType.COPY_IN_TIME, value);
+                    });
                 }
             }
             if (TornadoOptions.PRINT_BYTECODES) {
@@ -624,7 +776,7 @@ public class TornadoVM extends TornadoLogger {
                 lastEvent = installedCode.launchWithoutDependencies(callWrapper, bufferAtomics, metadata, batchThreads);
             }
 
-            resetEventIndexes(eventList);
+            resetEventIndexes(frame, eventList);
 
         } catch (Exception e) {
             String re = e.toString();
@@ -636,28 +788,31 @@ public class TornadoVM extends TornadoLogger {
         return lastEvent;
     }
 
-    private void executeDependency(StringBuilder tornadoVMBytecodeList, int lastEvent, int eventList) {
+    private void executeDependency(ExecutionFrame frame, StringBuilder tornadoVMBytecodeList, int lastEvent, int eventList) {
         if (useDependencies && lastEvent != -1) {
             if (TornadoOptions.PRINT_BYTECODES) {
                 String verbose = String.format("bc: " + debugHighLightBC("ADD_DEPENDENCY") + " %s to event list %d", lastEvent, eventList);
                 tornadoVMBytecodeList.append(verbose).append("\n");
             }
-            TornadoInternalError.guarantee(eventsIndexes[eventList] < events[eventList].length, "event list is too small");
-            events[eventList][eventsIndexes[eventList]] = lastEvent;
-            eventsIndexes[eventList]++;
+            TornadoInternalError.guarantee(frame.eventsIndexes[eventList] < frame.events[eventList].length, "event list is too small");
+            frame.events[eventList][frame.eventsIndexes[eventList]] = lastEvent;
+            frame.eventsIndexes[eventList]++;
         }
     }
 
-    private int executeBarrier(StringBuilder tornadoVMBytecodeList, int eventList, int[] waitList) {
+    private int executeBarrier(ExecutionFrame frame, StringBuilder tornadoVMBytecodeList, int eventList, int[] waitList) {
         if (TornadoOptions.PRINT_BYTECODES) {
             tornadoVMBytecodeList.append(String.format("bc: " + debugHighLightBC("BARRIER") + " event-list %d%n", eventList));
         }
 
         int id = contexts.size() - 1;
         final TornadoAcceleratorDevice device = contexts.get(id);
-        int lastEvent = device.enqueueMarker(waitList);
+        int lastEvent;
+        synchronized (submissionLock(id)) {
+            lastEvent = device.enqueueMarker(waitList);
+        }
 
-        resetEventIndexes(eventList);
+        resetEventIndexes(frame, eventList);
         return lastEvent;
     }
 
@@ -669,111 +824,154 @@ public class TornadoVM extends TornadoLogger {
     }
 
     private Event execute(boolean isWarmup) {
+        final ExecutionFrame frame = acquireFrame();
+        try {
+            return execute(frame, isWarmup);
+        } catch (RuntimeException | Error e) {
+            discardDeferredEvents();
+            throw e;
+        } finally {
+            releaseFrame(frame);
+        }
+    }
+
+    /**
+     * The events deferred by an aborted execution (e.g. a bailout) are never
+     * harvested, so their references to the device event pools are dropped here.
+     */
+    private void discardDeferredEvents() {
+        if (TornadoOptions.isProfilerEnabled()) {
+            timeProfiler.discardEvents();
+        }
+        TornadoFlightRecorder.discard();
+    }
+
+    private Event execute(ExecutionFrame frame, boolean isWarmup) {
         isWarmup = isWarmup || VIRTUAL_DEVICE_ENABLED;
         contexts.stream().filter(Objects::nonNull).forEach(TornadoAcceleratorDevice::enableThreadSharing);
 
         final long t0 = System.nanoTime();
         int lastEvent = -1;
-        initWaitEventList();
+        initWaitEventList(frame);
 
         StringBuilder tornadoVMBytecodeList = null;
         if (TornadoOptions.PRINT_BYTECODES) {
             tornadoVMBytecodeList = new StringBuilder();
         }
 
-        while (buffer.hasRemaining()) {
-            final byte op = buffer.get();
+        final boolean replayed = !isWarmup && replayCapture(frame);
+
+        TornadoBytecodeEvent bytecodeEvent = null;
+        while (!replayed && frame.buffer.hasRemaining()) {
+            final byte op = frame.buffer.get();
+            // Bytecodes run in sequence: the event of a bytecode ends when the next one starts
+            commitBytecodeEvent(bytecodeEvent);
+            bytecodeEvent = beginBytecodeEvent(op, isWarmup);
             if (op == TornadoVMBytecode.ALLOC.value()) {
-                final int contextIndex = buffer.getInt();
-                final long sizeBatch = buffer.getLong();
-                final int argSize = buffer.getInt();
+                final int contextIndex = frame.buffer.getInt();
+                final long sizeBatch = frame.buffer.getLong();
+                final int argSize = frame.buffer.getInt();
                 final int[] args = new int[argSize];
                 for (int i = 0; i < argSize; i++) {
-                    args[i] = buffer.getInt();
+                    args[i] = frame.buffer.getInt();
                 }
                 if (isWarmup) {
                     continue;
                 }
-                lastEvent = executeAlloc(tornadoVMBytecodeList, args, contextIndex, sizeBatch);
+                synchronized (submissionLock(contextIndex)) {
+                    lastEvent = executeAlloc(frame, tornadoVMBytecodeList, args, contextIndex, sizeBatch);
+                }
             } else if (op == TornadoVMBytecode.DEALLOC.value()) {
-                final int objectIndex = buffer.getInt();
-                final int contextIndex = buffer.getInt();
+                final int objectIndex = frame.buffer.getInt();
+                final int contextIndex = frame.buffer.getInt();
                 if (isWarmup) {
                     continue;
                 }
-                lastEvent = executeDeAlloc(tornadoVMBytecodeList, objectIndex, contextIndex);
+                synchronized (submissionLock(contextIndex)) {
+                    lastEvent = executeDeAlloc(frame, tornadoVMBytecodeList, objectIndex, contextIndex);
+                }
             } else if (op == TornadoVMBytecode.TRANSFER_HOST_TO_DEVICE_ONCE.value()) {
-                final int objectIndex = buffer.getInt();
-                final int contextIndex = buffer.getInt();
-                final int eventList = buffer.getInt();
-                final long offset = buffer.getLong();
-                final long sizeBatch = buffer.getLong();
-                final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
+                final int objectIndex = frame.buffer.getInt();
+                final int contextIndex = frame.buffer.getInt();
+                final int eventList = frame.buffer.getInt();
+                final long offset = frame.buffer.getLong();
+                final long sizeBatch = frame.buffer.getLong();
+                final int[] waitList = (useDependencies && eventList != -1) ? frame.events[eventList] : null;
                 if (isWarmup) {
                     continue;
                 }
-                transferHostToDeviceOnce(tornadoVMBytecodeList, objectIndex, contextIndex, offset, eventList, sizeBatch, waitList);
+                synchronized (submissionLock(contextIndex)) {
+                    transferHostToDeviceOnce(frame, tornadoVMBytecodeList, objectIndex, contextIndex, offset, eventList, sizeBatch, waitList);
+                }
             } else if (op == TornadoVMBytecode.TRANSFER_HOST_TO_DEVICE_ALWAYS.value()) {
-                final int objectIndex = buffer.getInt();
-                final int contextIndex = buffer.getInt();
-                final int eventList = buffer.getInt();
-                final long offset = buffer.getLong();
-                final long sizeBatch = buffer.getLong();
-                final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
+                final int objectIndex = frame.buffer.getInt();
+                final int contextIndex = frame.buffer.getInt();
+                final int eventList = frame.buffer.getInt();
+                final long offset = frame.buffer.getLong();
+                final long sizeBatch = frame.buffer.getLong();
+                final int[] waitList = (useDependencies && eventList != -1) ? frame.events[eventList] : null;
                 if (isWarmup) {
                     continue;
                 }
-                transferHostToDeviceAlways(tornadoVMBytecodeList, objectIndex, contextIndex, offset, eventList, sizeBatch, waitList);
+                synchronized (submissionLock(contextIndex)) {
+                    transferHostToDeviceAlways(frame, tornadoVMBytecodeList, objectIndex, contextIndex, offset, eventList, sizeBatch, waitList);
+                }
             } else if (op == TornadoVMBytecode.TRANSFER_DEVICE_TO_HOST_ALWAYS.value()) {
-                final int objectIndex = buffer.getInt();
-                final int contextIndex = buffer.getInt();
-                final int eventList = buffer.getInt();
-                final long offset = buffer.getLong();
-                final long sizeBatch = buffer.getLong();
-                final int[] waitList = (useDependencies) ? events[eventList] : null;
+                final int objectIndex = frame.buffer.getInt();
+                final int contextIndex = frame.buffer.getInt();
+                final int eventList = frame.buffer.getInt();
+                final long offset = frame.buffer.getLong();
+                final long sizeBatch = frame.buffer.getLong();
+                final int[] waitList = (useDependencies) ? frame.events[eventList] : null;
                 if (isWarmup) {
                     continue;
                 }
-                lastEvent = transferDeviceToHost(tornadoVMBytecodeList, objectIndex, contextIndex, offset, eventList, sizeBatch, waitList);
+                synchronized (submissionLock(contextIndex)) {
+                    lastEvent = transferDeviceToHost(frame, tornadoVMBytecodeList, objectIndex, contextIndex, offset, eventList, sizeBatch, waitList);
+                }
             } else if (op == TornadoVMBytecode.TRANSFER_DEVICE_TO_HOST_ALWAYS_BLOCKING.value()) {
-                final int objectIndex = buffer.getInt();
-                final int contextIndex = buffer.getInt();
-                final int eventList = buffer.getInt();
-                final long offset = buffer.getLong();
-                final long sizeBatch = buffer.getLong();
+                final int objectIndex = frame.buffer.getInt();
+                final int contextIndex = frame.buffer.getInt();
+                final int eventList = frame.buffer.getInt();
+                final long offset = frame.buffer.getLong();
+                final long sizeBatch = frame.buffer.getLong();
 
-                final int[] waitList = (useDependencies) ? events[eventList] : null;
+                final int[] waitList = (useDependencies) ? frame.events[eventList] : null;
                 if (isWarmup) {
                     continue;
                 }
-                transferDeviceToHostBlocking(tornadoVMBytecodeList, objectIndex, contextIndex, offset, eventList, sizeBatch, waitList);
+                synchronized (submissionLock(contextIndex)) {
+                    transferDeviceToHostBlocking(frame, tornadoVMBytecodeList, objectIndex, contextIndex, offset, eventList, sizeBatch, waitList);
+                }
             } else if (op == TornadoVMBytecode.LAUNCH.value()) {
-                final int callWrapperIndex = buffer.getInt();
-                final int contextIndex = buffer.getInt();
-                final int taskIndex = buffer.getInt();
-                final int numArgs = buffer.getInt();
-                final int eventList = buffer.getInt();
-                final long offset = buffer.getLong();
-                final long batchThreads = buffer.getLong();
-                ExecutionInfo info = compileTaskFromBytecodeToBinary(contextIndex, callWrapperIndex, numArgs, eventList, taskIndex, batchThreads);
+                final int callWrapperIndex = frame.buffer.getInt();
+                final int contextIndex = frame.buffer.getInt();
+                final int taskIndex = frame.buffer.getInt();
+                final int numArgs = frame.buffer.getInt();
+                final int eventList = frame.buffer.getInt();
+                final long offset = frame.buffer.getLong();
+                final long batchThreads = frame.buffer.getLong();
+                ExecutionInfo info = compileTaskFromBytecodeToBinary(frame, contextIndex, callWrapperIndex, numArgs, eventList, taskIndex, batchThreads);
                 if (isWarmup) {
-                    popArgumentsFromCall(numArgs);
+                    popArgumentsFromCall(frame, numArgs);
                     continue;
                 }
-                lastEvent = executeLaunch(tornadoVMBytecodeList, contextIndex, numArgs, eventList, taskIndex, batchThreads, offset, info);
+                synchronized (submissionLock(contextIndex)) {
+                    lastEvent = executeLaunch(frame, tornadoVMBytecodeList, contextIndex, numArgs, eventList, taskIndex, batchThreads, offset, info);
+                }
             } else if (op == TornadoVMBytecode.ADD_DEPENDENCY.value()) {
-                final int eventList = buffer.getInt();
+                final int eventList = frame.buffer.getInt();
                 if (isWarmup) {
                     continue;
                 }
-                executeDependency(tornadoVMBytecodeList, lastEvent, eventList);
+                executeDependency(frame, tornadoVMBytecodeList, lastEvent, eventList);
             } else if (op == TornadoVMBytecode.BARRIER.value()) {
-                final int eventList = buffer.getInt();
-                final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
+                final int eventList = frame.buffer.getInt();
+                final int[] waitList = (useDependencies && eventList != -1) ? frame.events[eventList] : null;
                 if (isWarmup) {
                     continue;
                 }
-                lastEvent = executeBarrier(tornadoVMBytecodeList, eventList, waitList);
+                lastEvent = executeBarrier(frame, tornadoVMBytecodeList, eventList, waitList);
             } else if (op == TornadoVMBytecode.END.value()) {
                 if (!isWarmup && TornadoOptions.PRINT_BYTECODES) {
                     tornadoVMBytecodeList.append("bc: " + debugHighLightBC("END\n") + "\n");
@@ -783,36 +981,58 @@ public class TornadoVM extends TornadoLogger {
                 throwError(op);
             }
         }
+        commitBytecodeEvent(bytecodeEvent);
+
+        if (!isWarmup && !replayed && shouldCapture(frame)) {
+            frame.capture = capture(frame);
+            frame.captureDisabled = frame.capture == null;
+        }
 
         Event barrier = EMPTY_EVENT;
         if (!isWarmup) {
-            for (TornadoAcceleratorDevice dev : contexts) {
+            for (int i = 0; i < contexts.size(); i++) {
+                TornadoAcceleratorDevice dev = contexts.get(i);
                 if (dev != null) {
-                    if (useDependencies) {
-                        final int event = dev.enqueueMarker();
-                        barrier = dev.resolveEvent(event);
+                    synchronized (submissionLock(i)) {
+                        if (useDependencies) {
+                            final int event = dev.enqueueMarker();
+                            barrier = dev.resolveEvent(event);
+                        }
+
+                        if (USE_VM_FLUSH) {
+                            dev.flush();
+                        }
                     }
+                }
+            }
+        }
 
-                    if (USE_VM_FLUSH) {
-                        dev.flush();
-                    }
+        if (TornadoOptions.isProfilerEnabled()) {
+            synchronized (timeProfiler) {
+                if (isWarmup) {
+                    // The warm-up is not profiled: its events must not leak into the next execution
+                    timeProfiler.discardEvents();
+                } else {
+                    // All commands are enqueued: read the timestamps in bulk
+                    timeProfiler.harvestEvents();
                 }
             }
         }
+        TornadoFlightRecorder.harvest();
 
         final long t1 = System.nanoTime();
         final double elapsed = (t1 - t0) * 1e-9;
         if (!isWarmup) {
-            totalTime += elapsed;
-            invocations++;
+            synchronized (this) {
+                totalTime += elapsed;
+                invocations++;
+            }
         }
 
         if (graphContext.meta().isDebug()) {
             debug("bc: complete elapsed=%.9f s (%d iterations, %.9f s mean)", elapsed, invocations, (totalTime / invocations));
         }
 
-        buffer.reset();
-
         if (TornadoOptions.PRINT_BYTECODES) {
             System.out.println(tornadoVMBytecodeList);
         }
@@ -820,19 +1040,431 @@ public class TornadoVM extends TornadoLogger {
         return barrier;
     }
 
-    private void resetEventIndexes(int eventList) {
+    private boolean shouldCapture(ExecutionFrame frame) {
+        if (!graphContext.useGraphCapture() || frame.captureDisabled || TornadoOptions.PRINT_BYTECODES || TornadoOptions.isProfilerEnabled()) {
+            return false;
+        }
+        frame.executionsBeforeCapture++;
+        return frame.executionsBeforeCapture >= TornadoOptions.GRAPH_CAPTURE_WARMUP;
+    }
+
+    /**
+     * Decodes the bytecode of a frame into a list of commands. It returns null if
+     * the bytecode contains a launch that cannot be replayed.
+     */
+    private CapturedExecution capture(ExecutionFrame frame) {
+        final ByteBuffer code = frame.buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        code.reset();
+        final List<CapturedCommand> commands = new ArrayList<>();
+        while (code.hasRemaining()) {
+            final byte op = code.get();
+            if (op == TornadoVMBytecode.END.value()) {
+                break;
+            }
+            final CapturedCommand command = new CapturedCommand(op);
+            if (op == TornadoVMBytecode.ALLOC.value()) {
+                command.contextIndex = code.getInt();
+                command.sizeBatch = code.getLong();
+                command.args = new int[code.getInt()];
+                for (int i = 0; i < command.args.length; i++) {
+                    command.args[i] = code.getInt();
+                }
+            } else if (op == TornadoVMBytecode.DEALLOC.value()) {
+                command.objectIndex = code.getInt();
+                command.contextIndex = code.getInt();
+            } else if (op == TornadoVMBytecode.TRANSFER_HOST_TO_DEVICE_ONCE.value() || op == TornadoVMBytecode.TRANSFER_HOST_TO_DEVICE_ALWAYS.value()
+                    || op == TornadoVMBytecode.TRANSFER_DEVICE_TO_HOST_ALWAYS.value() || op == TornadoVMBytecode.TRANSFER_DEVICE_TO_HOST_ALWAYS_BLOCKING.value()) {
+                command.objectIndex = code.getInt();
+                command.contextIndex = code.getInt();
+                command.eventList = code.getInt();
+                command.offset = code.getLong();
+                command.sizeBatch = code.getLong();
+            } else if (op == TornadoVMBytecode.LAUNCH.value()) {
+                command.callWrapperIndex = code.getInt();
+                command.contextIndex = code.getInt();
+                command.taskIndex = code.getInt();
+                final int numArgs = code.getInt();
+                command.eventList = code.getInt();
+                command.offset = code.getLong();
+                command.batchThreads = code.getLong();
+                if (!captureLaunch(frame, command, code, numArgs)) {
+                    return null;
+                }
+            } else if (op == TornadoVMBytecode.ADD_DEPENDENCY.value() || op == TornadoVMBytecode.BARRIER.value()) {
+                command.eventList = code.getInt();
+            } else {
+                return null;
+            }
+            commands.add(command);
+        }
+        if (TornadoOptions.GRAPH_CAPTURE_NATIVE && !useDependencies && !TornadoFlightRecorder.isKernelEnabled()) {
+            groupLaunches(commands);
+        }
+        return new CapturedExecution(commands, gridScheduler);
+    }
+
+    /**
+     * Groups the launches that follow each other on the same device, with at most
+     * dependency bytecodes in between, so they can be replayed as one native graph.
+     */
+    private void groupLaunches(List<CapturedCommand> commands) {
+        CapturedLaunchGroup group = null;
+        for (CapturedCommand command : commands) {
+            if (command.op == TornadoVMBytecode.LAUNCH.value()) {
+                if (group == null || group.contextIndex != command.contextIndex) {
+                    group = new CapturedLaunchGroup(command.contextIndex);
+                }
+                group.launches.add(command);
+                command.launchGroup = group;
+            } else if (command.op != TornadoVMBytecode.ADD_DEPENDENCY.value()) {
+                group = null;
+            }
+        }
+    }
+
+    private void releaseCapture(CapturedExecution capture) {
+        for (CapturedCommand command : capture.commands) {
+            if (command.launchGroup != null) {
+                command.launchGroup.destroyGraph();
+            }
+        }
+    }
+
+    private boolean captureLaunch(ExecutionFrame frame, CapturedCommand command, ByteBuffer code, int numArgs) {
+        final SchedulableTask task = tasks.get(command.taskIndex);
+        final TornadoAcceleratorDevice device = contexts.get(command.contextIndex);
+        final TornadoInstalledCode installedCode = installedCodes[command.taskIndex];
+        final KernelArgs callWrapper = frame.callWrappers[command.callWrapperIndex];
+        if (installedCode == null || !installedCode.isValid() || callWrapper == null || !(task.meta() instanceof TaskMetaData)) {
+            return false;
+        }
+
+        // The atomics buffer is written before each launch
+        int[] atomicsArray = (task instanceof PrebuiltTask) ? ((PrebuiltTask) task).getAtomics() : device.checkAtomicsForTask(task);
+        if (atomicsArray != null) {
+            return false;
+        }
+
+        command.installedCode = installedCode;
+        command.metadata = (TaskMetaData) task.meta();
+        command.argIndexes = new int[numArgs];
+        command.argValues = new Object[numArgs];
+        command.argBuffers = new ObjectBuffer[numArgs];
+        command.argAddresses = new long[numArgs];
+        for (int i = 0; i < numArgs; i++) {
+            final byte argType = code.get();
+            final int argIndex = code.getInt();
+            command.argIndexes[i] = argIndex;
+            if (argType == TornadoVMBytecode.PUSH_CONSTANT_ARGUMENT.value()) {
+                command.argValues[i] = constants.get(argIndex);
+            } else {
+                command.argValues[i] = resolveObject(frame, argIndex);
+                if (!isObjectKernelContext(command.argValues[i])) {
+                    final DeviceObjectState objectState = resolveObjectState(frame, argIndex, command.contextIndex);
+                    if (isObjectInAtomicRegion(objectState, device, task)) {
+                        return false;
+                    }
+                    command.argBuffers[i] = objectState.getObjectBuffer();
+                    command.argAddresses[i] = command.argBuffers[i].toBuffer();
+                }
+            }
+        }
+
+        if (gridScheduler != null && gridScheduler.get(task.getId()) != null) {
+            command.workerGrid = gridScheduler.get(task.getId());
+            command.globalWork = command.workerGrid.getGlobalWork().clone();
+            command.localWork = command.workerGrid.getLocalWork() == null ? null : command.workerGrid.getLocalWork().clone();
+        }
+        return true;
+    }
+
+    private boolean isCaptureValid(ExecutionFrame frame, CapturedExecution capture) {
+        if (capture.gridScheduler != gridScheduler || doUpdate || graphContext.redeployOnDevice() || !graphContext.useGraphCapture()) {
+            return false;
+        }
+        for (CapturedCommand command : capture.commands) {
+            if (command.op != TornadoVMBytecode.LAUNCH.value()) {
+                continue;
+            }
+            if (installedCodes[command.taskIndex] != command.installedCode || !command.installedCode.isValid()) {
+                return false;
+            }
+            if (command.workerGrid != null
+                    && (!Arrays.equals(command.globalWork, command.workerGrid.getGlobalWork()) || !Arrays.equals(command.localWork, command.workerGrid.getLocalWork()))) {
+                return false;
+            }
+            for (int i = 0; i < command.argIndexes.length; i++) {
+                final ObjectBuffer argBuffer = command.argBuffers[i];
+                if (argBuffer == null) {
+                    final Object value = command.argValues[i] instanceof KernelContext ? resolveObject(frame, command.argIndexes[i]) : constants.get(command.argIndexes[i]);
+                    if (value != command.argValues[i]) {
+                        return false;
+                    }
+                } else if (resolveObject(frame, command.argIndexes[i]) != command.argValues[i]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replays the commands captured by a frame. It returns false, and discards the
+     * capture, if the capture is no longer valid.
+     */
+    private boolean replayCapture(ExecutionFrame frame) {
+        final CapturedExecution capture = frame.capture;
+        if (capture == null) {
+            return false;
+        }
+        if (!isCaptureValid(frame, capture)) {
+            releaseCapture(capture);
+            frame.capture = null;
+            frame.executionsBeforeCapture = 0;
+            return false;
+        }
+
+        int lastEvent = -1;
+        for (CapturedCommand command : capture.commands) {
+            final byte op = command.op;
+            if (op == TornadoVMBytecode.ALLOC.value()) {
+                synchronized (submissionLock(command.contextIndex)) {
+                    lastEvent = executeAlloc(frame, null, command.args, command.contextIndex, command.sizeBatch);
+                }
+            } else if (op == TornadoVMBytecode.DEALLOC.value()) {
+                synchronized (submissionLock(command.contextIndex)) {
+                    lastEvent = executeDeAlloc(frame, null, command.objectIndex, command.contextIndex);
+                }
+            } else if (op == TornadoVMBytecode.TRANSFER_HOST_TO_DEVICE_ONCE.value()) {
+                final int[] waitList = (useDependencies && command.eventList != -1) ? frame.events[command.eventList] : null;
+                synchronized (submissionLock(command.contextIndex)) {
+                    transferHostToDeviceOnce(frame, null, command.objectIndex, command.contextIndex, command.offset, command.eventList, command.sizeBatch, waitList);
+                }
+            } else if (op == TornadoVMBytecode.TRANSFER_HOST_TO_DEVICE_ALWAYS.value()) {
+                final int[] waitList = (useDependencies && command.eventList != -1) ? frame.events[command.eventList] : null;
+                synchronized (submissionLock(command.contextIndex)) {
+                    transferHostToDeviceAlways(frame, null, command.objectIndex, command.contextIndex, command.offset, command.eventList, command.sizeBatch, waitList);
+                }
+            } else if (op == TornadoVMBytecode.TRANSFER_DEVICE_TO_HOST_ALWAYS.value()) {
+                final int[] waitList = (useDependencies) ? frame.events[command.eventList] : null;
+                synchronized (submissionLock(command.contextIndex)) {
+                    lastEvent = transferDeviceToHost(frame, null, command.objectIndex, command.contextIndex, command.offset, command.eventList, command.sizeBatch, waitList);
+                }
+            } else if (op == TornadoVMBytecode.TRANSFER_DEVICE_TO_HOST_ALWAYS_BLOCKING.value()) {
+                final int[] waitList = (useDependencies) ? frame.events[command.eventList] : null;
+                synchronized (submissionLock(command.contextIndex)) {
+                    transferDeviceToHostBlocking(frame, null, command.objectIndex, command.contextIndex, command.offset, command.eventList, command.sizeBatch, waitList);
+                }
+            } else if (op == TornadoVMBytecode.LAUNCH.value()) {
+                final CapturedLaunchGroup group = command.launchGroup;
+                if (group == null) {
+                    synchronized (submissionLock(command.contextIndex)) {
+                        lastEvent = replayLaunch(frame, command);
+                    }
+                } else if (group.launches.get(0) == command) {
+                    // The first launch of a group replays the whole group
+                    synchronized (submissionLock(command.contextIndex)) {
+                        lastEvent = replayLaunchGroup(frame, group);
+                    }
+                }
+            } else if (op == TornadoVMBytecode.ADD_DEPENDENCY.value()) {
+                executeDependency(frame, null, lastEvent, command.eventList);
+            } else if (op == TornadoVMBytecode.BARRIER.value()) {
+                final int[] waitList = (useDependencies && command.eventList != -1) ? frame.events[command.eventList] : null;
+                lastEvent = executeBarrier(frame, null, command.eventList, waitList);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Submits the launches of a group as one native graph. The graph is recorded
+     * on the first replay, and again when a call wrapper is refilled. Groups whose
+     * buffers keep moving, or whose device has no native graphs, are replayed one
+     * launch at a time.
+     */
+    private int replayLaunchGroup(ExecutionFrame frame, CapturedLaunchGroup group) {
+        if (group.disabled) {
+            int lastEvent = -1;
+            for (CapturedCommand command : group.launches) {
+                lastEvent = replayLaunch(frame, command);
+            }
+            return lastEvent;
+        }
+
+        boolean updated = false;
+        for (CapturedCommand command : group.launches) {
+            updated |= refreshLaunchArguments(frame, command, frame.callWrappers[command.callWrapperIndex]);
+        }
+        if (updated && group.graph != null) {
+            group.destroyGraph();
+            group.rebuilds++;
+        }
+        try {
+            if (group.graph == null && !recordLaunchGroup(frame, group)) {
+                group.disabled = true;
+                return replayLaunchGroup(frame, group);
+            }
+            final int lastEvent = group.graph.launch();
+            for (CapturedCommand command : group.launches) {
+                resetEventIndexes(frame, command.eventList);
+            }
+            return lastEvent;
+        } catch (Exception e) {
+            if (Tornado.DEBUG) {
+                e.printStackTrace();
+            }
+            throw new TornadoBailoutRuntimeException("Bailout from LAUNCH Bytecode: \nReason: " + e, e);
+        }
+    }
+
+    private boolean recordLaunchGroup(ExecutionFrame frame, CapturedLaunchGroup group) {
+        if (group.rebuilds > MAX_GRAPH_REBUILDS) {
+            return false;
+        }
+        final TornadoCommandGraph graph = contexts.get(group.contextIndex).createCommandGraph();
+        if (graph == null) {
+            return false;
+        }
+        for (CapturedCommand command : group.launches) {
+            if (!graph.addLaunch(command.installedCode, frame.callWrappers[command.callWrapperIndex], command.metadata, command.batchThreads)) {
+                graph.destroy();
+                return false;
+            }
+        }
+        if (!graph.instantiate()) {
+            graph.destroy();
+            return false;
+        }
+        group.graph = graph;
+        return true;
+    }
+
+    private int replayLaunch(ExecutionFrame frame, CapturedCommand command) {
+        final KernelArgs callWrapper = frame.callWrappers[command.callWrapperIndex];
+        refreshLaunchArguments(frame, command, callWrapper);
+        final int[] waitList = (useDependencies && command.eventList != -1) ? frame.events[command.eventList] : null;
+        int lastEvent;
+        try {
+            if (useDependencies) {
+                lastEvent = command.installedCode.launchWithDependencies(callWrapper, null, command.metadata, command.batchThreads, waitList);
+            } else {
+                lastEvent = command.installedCode.launchWithoutDependencies(callWrapper, null, command.metadata, command.batchThreads);
+            }
+            resetEventIndexes(frame, command.eventList);
+        } catch (Exception e) {
+            if (Tornado.DEBUG) {
+                e.printStackTrace();
+            }
+            throw new TornadoBailoutRuntimeException("Bailout from LAUNCH Bytecode: \nReason: " + e, e);
+        }
+        return lastEvent;
+    }
+
+    /**
+     * Device buffers can be reallocated by the ALLOC bytecodes of the replay. In
+     * that case, the call wrapper is filled again with the new buffers.
+     *
+     * @return true if the call wrapper was filled again.
+     */
+    private boolean refreshLaunchArguments(ExecutionFrame frame, CapturedCommand command, KernelArgs callWrapper) {
+        boolean updated = false;
+        for (int i = 0; i < command.argIndexes.length; i++) {
+            if (command.argBuffers[i] != null) {
+                final ObjectBuffer objectBuffer = resolveObjectState(frame, command.argIndexes[i], command.contextIndex).getObjectBuffer();
+                if (objectBuffer != command.argBuffers[i] || objectBuffer.toBuffer() != command.argAddresses[i]) {
+                    command.argBuffers[i] = objectBuffer;
+                    command.argAddresses[i] = objectBuffer.toBuffer();
+                    updated = true;
+                }
+            }
+        }
+        if (!updated) {
+            return false;
+        }
+        final HashMap<Integer, Integer> map = new HashMap<>();
+        if (command.globalWork != null) {
+            for (int i = 0; i < command.globalWork.length; i++) {
+                map.put(i, (int) command.globalWork[i]);
+            }
+        }
+        callWrapper.reset();
+        callWrapper.setKernelContext(map);
+        for (int i = 0; i < command.argIndexes.length; i++) {
+            if (command.argBuffers[i] != null) {
+                callWrapper.addCallArgument(command.argAddresses[i], true);
+            } else if (command.argValues[i] instanceof KernelContext) {
+                callWrapper.addCallArgument(new KernelArgs.KernelContextArgument(), false);
+            } else {
+                callWrapper.addCallArgument(command.argValues[i], false);
+            }
+        }
+        return true;
+    }
+
+    private TornadoBytecodeEvent beginBytecodeEvent(byte op, boolean isWarmup) {
+        if (isWarmup) {
+            return null;
+        }
+        TornadoBytecodeEvent bytecodeEvent = new TornadoBytecodeEvent();
+        if (!bytecodeEvent.isEnabled()) {
+            return null;
+        }
+        bytecodeEvent.taskGraph = graphContext.getId();
+        bytecodeEvent.bytecode = TornadoFlightRecorder.getBytecodeName(op);
+        bytecodeEvent.begin();
+        return bytecodeEvent;
+    }
+
+    private void commitBytecodeEvent(TornadoBytecodeEvent bytecodeEvent) {
+        if (bytecodeEvent != null) {
+            bytecodeEvent.commit();
+        }
+    }
+
+    private void resetEventIndexes(ExecutionFrame frame, int eventList) {
         if (eventList != -1) {
-            eventsIndexes[eventList] = 0;
+            frame.eventsIndexes[eventList] = 0;
         }
     }
 
-    private void popArgumentsFromCall(int numArgs) {
+    private void popArgumentsFromCall(ExecutionFrame frame, int numArgs) {
         for (int i = 0; i < numArgs; i++) {
-            buffer.get();
-            buffer.getInt();
+            frame.buffer.get();
+            frame.buffer.getInt();
         }
     }
 
+    /**
+     * Waits for all the commands submitted to the devices of this TornadoVM.
+     */
+    public void sync() {
+        for (int i = 0; i < contexts.size(); i++) {
+            TornadoAcceleratorDevice device = contexts.get(i);
+            if (device != null) {
+                synchronized (submissionLock(i)) {
+                    device.sync();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a copy of the TornadoVM bytecode executed by this instance.
+     */
+    public byte[] getBytecode() {
+        return Arrays.copyOf(buffer.array(), buffer.limit());
+    }
+
+    /**
+     * @return the source code of the kernel generated for a task, or {@code null}
+     *         if the task has not been compiled.
+     */
+    public String getGeneratedSourceCode(int taskIndex) {
+        TornadoInstalledCode installedCode = installedCodes[taskIndex];
+        return installedCode == null ? null : installedCode.getGeneratedSourceCode();
+    }
+
     public void setGridScheduler(GridScheduler gridScheduler) {
         this.gridScheduler = gridScheduler;
     }
@@ -885,6 +1517,104 @@ public class TornadoVM extends TornadoLogger {
         }
     }
 
+    /**
+     * State of one invocation of the bytecode: a private view of the shared
+     * bytecode, the event lists, the call wrappers and the bound objects.
+     */
+    private static class ExecutionFrame {
+        private final ByteBuffer buffer;
+        private final int[][] events;
+        private final int[] eventsIndexes;
+        private final KernelArgs[] callWrappers;
+        private CapturedExecution capture;
+        private int executionsBeforeCapture;
+        private boolean captureDisabled;
+        // Objects bound to this invocation in place of those of the task-graph, or null
+        private Object[] objects;
+        private GlobalObjectState[] globalStates;
+
+        ExecutionFrame(ByteBuffer code, int numEventLists, KernelArgs[] callWrappers) {
+            this.buffer = code.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            this.buffer.mark();
+            this.events = new int[numEventLists][MAX_EVENTS];
+            this.eventsIndexes = new int[numEventLists];
+            this.callWrappers = callWrappers.clone();
+            for (int[] waitList : events) {
+                Arrays.fill(waitList, -1);
+            }
+        }
+    }
+
+    /**
+     * Commands decoded from the bytecode of a frame, and the grid scheduler used
+     * when they were captured.
+     */
+    private static class CapturedExecution {
+        private final List<CapturedCommand> commands;
+        private final GridScheduler gridScheduler;
+
+        CapturedExecution(List<CapturedCommand> commands, GridScheduler gridScheduler) {
+            this.commands = commands;
+            this.gridScheduler = gridScheduler;
+        }
+    }
+
+    /**
+     * Operands of one bytecode. For a launch, it also keeps the installed code,
+     * the arguments, the device buffers and the worker grid used to fill the call
+     * wrapper, which are checked before each replay.
+     */
+    private static class CapturedCommand {
+        private final byte op;
+        private int contextIndex;
+        private int objectIndex;
+        private int eventList;
+        private long offset;
+        private long sizeBatch;
+        private int[] args;
+
+        private int callWrapperIndex;
+        private int taskIndex;
+        private long batchThreads;
+        private TornadoInstalledCode installedCode;
+        private TaskMetaData metadata;
+        private int[] argIndexes;
+        private Object[] argValues;
+        private ObjectBuffer[] argBuffers;
+        private long[] argAddresses;
+        private WorkerGrid workerGrid;
+        private long[] globalWork;
+        private long[] localWork;
+        private CapturedLaunchGroup launchGroup;
+
+        CapturedCommand(byte op) {
+            this.op = op;
+        }
+    }
+
+    /**
+     * Consecutive launches of a capture on the same device, and the native graph
+     * that submits them.
+     */
+    private static class CapturedLaunchGroup {
+        private final int contextIndex;
+        private final List<CapturedCommand> launches = new ArrayList<>();
+        private TornadoCommandGraph graph;
+        private int rebuilds;
+        private boolean disabled;
+
+        CapturedLaunchGroup(int contextIndex) {
+            this.contextIndex = contextIndex;
+        }
+
+        void destroyGraph() {
+            if (graph != null) {
+                graph.destroy();
+                graph = null;
+            }
+        }
+    }
+
     private static class ExecutionInfo {
         KernelArgs callWrapper;
         int[] waitList;
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.common;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import uk.ac.manchester.tornado.api.TornadoDeviceContext;
+
+/**
+ * Tracks the device buffers that task graphs keep between executions and
+ * evicts the least recently used ones when a device runs out of memory.
+ *
+ * <p>
+ * After every execution, a task graph records the buffers it keeps locked on
+ * the device. When an allocation does not fit in the device budget, the buffer
+ * provider calls {@link #evict(TornadoDeviceContext, long)}. Buffers of graphs
+ * that are not executing are then released in LRU order. The contents of each
+ * buffer are first copied into a shadow object owned by the memory manager, so
+ * the host object of the user is never overwritten and a buffer that was only
+ * copied in once (e.g. {@code FIRST_EXECUTION}) keeps its device contents even
+ * if the host object changed since. The buffer stays locked but unallocated.
+ * The next execution of the owning graph allocates it again and
+ * {@link #restore(TornadoAcceleratorDevice, DeviceObjectState[])} copies the
+ * shadow in, so the execution sees the same data as without the eviction.
+ * </p>
+ *
+ * <p>
+ * Shadows are plain arrays for primitive arrays, and a
+ * {@code duplicate()} of the host object for the TornadoVM collection types.
+ * Buffers of other host types are never evicted.
+ * </p>
+ *
+ * <p>
+ * Owners, host objects and device states are only weakly referenced, so
+ * registering a buffer does not keep a task graph or its data alive. Buffers
+ * whose owners have all been collected are released without a copy on the next
+ * eviction.
+ * </p>
+ */
+public final class DeviceMemoryManager {
+
+    private static final DeviceMemoryManager INSTANCE = new DeviceMemoryManager();
+
+    private static final class ResidentBuffer {
+        // Task graphs that share the object share its device state
+        private final Set<Object> owners;
+        private final TornadoAcceleratorDevice device;
+        private final WeakReference<Object> object;
+        private final DeviceObjectState state;
+        private long lastUse;
+
+        private ResidentBuffer(TornadoAcceleratorDevice device, Object object, DeviceObjectState state) {
+            this.owners = Collections.newSetFromMap(new WeakHashMap<>());
+            this.device = device;
+            this.object = new WeakReference<>(object);
+            this.state = state;
+        }
+    }
+
+    private final Map<DeviceObjectState, ResidentBuffer> residentBuffers;
+    private final Map<Object, Integer> activeOwners;
+    // Contents of the evicted buffers, until their owners allocate them again
+    private final Map<DeviceObjectState, Object> shadows;
+    private volatile int numShadows;
+    private long clock;
+    private long evictedBytes;
+    private int numEvictions;
+    private int numSpills;
+
+    private DeviceMemoryManager() {
+        residentBuffers = new IdentityHashMap<>();
+        activeOwners = new IdentityHashMap<>();
+        // Device states do not override equals, so the map compares them by identity
+        shadows = new WeakHashMap<>();
+    }
+
+    public static DeviceMemoryManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Marks {@code owner} (usually a task graph) as executing: its buffers are
+     * not evicted until {@link #endExecution(Object)}.
+     */
+    public synchronized void beginExecution(Object owner) {
+        activeOwners.merge(owner, 1, Integer::sum);
+    }
+
+    public synchronized void endExecution(Object owner) {
+        activeOwners.computeIfPresent(owner, (key, count) -> (count == 1) ? null : count - 1);
+    }
+
+    /**
+     * Records that {@code owner} has just used the buffer of {@code object} on
+     * {@code device}.
+     */
+    public synchronized void recordUse(Object owner, TornadoAcceleratorDevice device, Object object, DeviceObjectState state) {
+        if (state.isAtomicRegionPresent()) {
+            return;
+        }
+        ResidentBuffer buffer = residentBuffers.computeIfAbsent(state, key -> new ResidentBuffer(device, object, state));
+        buffer.owners.add(owner);
+        buffer.lastUse = ++clock;
+    }
+
+    /**
+     * Stops tracking a buffer, e.g. because its task graph freed the device
+     * memory.
+     */
+    public synchronized void release(DeviceObjectState state) {
+        residentBuffers.remove(state);
+        shadows.remove(state);
+        numShadows = shadows.size();
+    }
+
+    /**
+     * Stops tracking {@code owner}, e.g. because it freed its device memory.
+     * Buffers that no other owner uses are no longer tracked.
+     */
+    public synchronized void releaseOwner(Object owner) {
+        activeOwners.remove(owner);
+        residentBuffers.values().removeIf(buffer -> buffer.owners.remove(owner) && buffer.owners.isEmpty());
+    }
+
+    /**
+     * Releases buffers of idle task graphs allocated through
+     * {@code deviceContext}, least recently used first, until at least
+     * {@code bytesRequired} bytes have been freed or no candidate is left.
+     *
+     * @return the number of bytes released.
+     */
+    public synchronized long evict(TornadoDeviceContext deviceContext, long bytesRequired) {
+        List<ResidentBuffer> candidates = new ArrayList<>();
+        for (ResidentBuffer buffer : residentBuffers.values()) {
+            if (buffer.device.getDeviceContext() == deviceContext && buffer.state.hasObjectBuffer() && isIdle(buffer)) {
+                candidates.add(buffer);
+            }
+        }
+        candidates.sort(Comparator.comparingLong(buffer -> buffer.lastUse));
+
+        long released = 0;
+        for (ResidentBuffer buffer : candidates) {
+            if (released >= bytesRequired) {
+                break;
+            }
+            final long size = spill(buffer);
+            if (size >= 0) {
+                released += size;
+                residentBuffers.remove(buffer.state);
+            }
+        }
+        evictedBytes += released;
+        numShadows = shadows.size();
+        return released;
+    }
+
+    /**
+     * Copies the contents of evicted buffers back to the device once their owner
+     * has allocated them again. States without a shadow are left untouched.
+     */
+    public void restore(TornadoAcceleratorDevice device, DeviceObjectState[] states) {
+        if (numShadows == 0) {
+            return;
+        }
+        final Object[] restored = new Object[states.length];
+        synchronized (this) {
+            for (int i = 0; i < states.length; i++) {
+                if (states[i] != null && states[i].hasObjectBuffer()) {
+                    restored[i] = shadows.remove(states[i]);
+                }
+            }
+            numShadows = shadows.size();
+        }
+        boolean written = false;
+        for (int i = 0; i < states.length; i++) {
+            if (restored[i] != null) {
+                // The device now holds the data, so the transfers of the first execution are skipped
+                device.streamIn(restored[i], 0, 0, states[i], null);
+                written = true;
+            }
+        }
+        if (written) {
+            // The shadows are dropped once copied, so the writes must complete first
+            device.sync();
+        }
+    }
+
+    private boolean isIdle(ResidentBuffer buffer) {
+        for (Object owner : buffer.owners) {
+            if (activeOwners.containsKey(owner)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of bytes released, or -1 if the buffer cannot be
+     *         evicted because its contents cannot be kept aside.
+     */
+    private long spill(ResidentBuffer buffer) {
+        final DeviceObjectState state = buffer.state;
+        final long size = state.getObjectBuffer().size();
+        // Nobody can read the contents once the owners or the host object are gone
+        final Object object = buffer.object.get();
+        if (state.hasContents() && object != null && !buffer.owners.isEmpty()) {
+            final Object shadow = createShadow(object);
+            if (shadow == null) {
+                return -1;
+            }
+            buffer.device.streamOutBlocking(shadow, 0, state, null);
+            shadows.put(state, shadow);
+            numSpills++;
+        }
+        // Locked buffers are not deallocated by the device, so unlock it while
+        // releasing it and lock it again for the next execution of its owner.
+        final boolean locked = state.isLockedBuffer();
+        state.setLockBuffer(false);
+        buffer.device.deallocate(state);
+        state.setLockBuffer(locked);
+        numEvictions++;
+        return size;
+    }
+
+    /**
+     * @return a host object of the same type and size as {@code object}, or
+     *         {@code null} if this type is not supported.
+     */
+    private static Object createShadow(Object object) {
+        final Class<?> type = object.getClass();
+        if (type.isArray()) {
+            return type.getComponentType().isPrimitive() ? Array.newInstance(type.getComponentType(), Array.getLength(object)) : null;
+        }
+        try {
+            return type.getMethod("duplicate").invoke(object);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    public synchronized long getEvictedBytes() {
+        return evictedBytes;
+    }
+
+    public synchronized int getNumEvictions() {
+        return numEvictions;
+    }
+
+    /**
+     * @return the number of evicted buffers whose contents were copied to a
+     *         shadow on the host.
+     */
+    public synchronized int getNumSpills() {
+        return numSpills;
+    }
+
+    public synchronized int getNumResidentBuffers() {
+        return residentBuffers.size();
+    }
+}
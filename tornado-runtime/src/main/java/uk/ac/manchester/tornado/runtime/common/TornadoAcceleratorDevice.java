@@ -62,4 +62,14 @@ public interface TornadoAcceleratorDevice extends TornadoDevice {
     void enableThreadSharing();
 
     void setAtomicRegion(ObjectBuffer bufferAtomics);
+
+    /**
+     * Creates an empty graph to record kernel launches of this device, which are
+     * then submitted with a single call.
+     *
+     * @return the graph, or {@code null} if the device has no native graphs.
+     */
+    default TornadoCommandGraph createCommandGraph() {
+        return null;
+    }
 }
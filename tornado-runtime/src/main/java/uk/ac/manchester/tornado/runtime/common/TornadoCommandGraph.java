@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.common;
+
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Sequence of kernel launches recorded once into a native object of the device
+ * (e.g., a CUDA graph) and submitted later with a single call. The launches run
+ * in the order they were added.
+ */
+public interface TornadoCommandGraph {
+
+    /**
+     * Records a launch after the ones already added. The call wrapper is read
+     * when the launch is added, so a graph must be built again when the call
+     * wrapper changes.
+     *
+     * @return false if the launch cannot be recorded by this graph.
+     */
+    boolean addLaunch(TornadoInstalledCode installedCode, KernelArgs callWrapper, TaskMetaData meta, long batchThreads);
+
+    /**
+     * Builds the executable graph from the launches added.
+     *
+     * @return false if the device rejects the graph.
+     */
+    boolean instantiate();
+
+    /**
+     * Submits all the launches of the graph.
+     *
+     * @return the event of the whole graph.
+     */
+    int launch();
+
+    /**
+     * Releases the native objects of the graph.
+     */
+    void destroy();
+}
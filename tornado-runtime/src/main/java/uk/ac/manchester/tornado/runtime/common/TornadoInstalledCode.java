@@ -37,4 +37,12 @@ public interface TornadoInstalledCode {
     boolean isValid();
 
     void invalidate();
+
+    /**
+     * @return the source code generated for the kernel, or {@code null} if the
+     *         backend does not keep it.
+     */
+    default String getGeneratedSourceCode() {
+        return null;
+    }
 }
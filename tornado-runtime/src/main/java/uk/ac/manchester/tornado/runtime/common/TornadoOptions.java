@@ -62,6 +62,32 @@ public class TornadoOptions {
      */
     public static final long DEVICE_AVAILABLE_MEMORY = RuntimeUtilities.parseSize(System.getProperty("tornado.device.memory", "1GB"));
 
+    /**
+     * Option to evict the least recently used buffers of idle task graphs when a
+     * device runs out of memory, instead of failing the allocation. It is enabled
+     * by default.
+     */
+    public static final boolean DEVICE_MEMORY_EVICTION = getBooleanValue("tornado.device.memory.eviction", TRUE);
+
+    /**
+     * Option to stage transfers of on-heap arrays through a pool of pinned host
+     * buffers, so that writes to the device are asynchronous. It is disabled by
+     * default.
+     */
+    public static final boolean PINNED_STAGING_BUFFERS = getBooleanValue("tornado.pinned.staging", FALSE);
+
+    /**
+     * Transfers smaller than this size are copied directly from the Java heap. It
+     * is set to 64KB by default.
+     */
+    public static final long PINNED_STAGING_THRESHOLD = RuntimeUtilities.parseSize(System.getProperty("tornado.pinned.staging.threshold", "64KB"));
+
+    /**
+     * Maximum amount of pinned host memory held by the staging pool of each
+     * device. It is set to 256MB by default.
+     */
+    public static final long PINNED_STAGING_POOL_SIZE = RuntimeUtilities.parseSize(System.getProperty("tornado.pinned.staging.size", "256MB"));
+
     /**
      * Option to enable exceptions for the OpenCL generated code. This is
      * experimental.
@@ -86,6 +112,12 @@ public class TornadoOptions {
      */
     public static final boolean EXPERIMENTAL_REDUCE = getBooleanValue("tornado.experimental.reduce", TRUE);
 
+    /**
+     * Option to use sub-group (warp) collectives in the GPU reduction snippets
+     * when the target device supports them. True by default.
+     */
+    public static final boolean SUBGROUP_REDUCTIONS = getBooleanValue("tornado.reductions.subgroups", TRUE);
+
     /**
      * Temporal option for disabling null checks for Apache-Flink.
      */
@@ -103,6 +135,85 @@ public class TornadoOptions {
      */
     public static final boolean FEATURE_EXTRACTION = getBooleanValue("tornado.feature.extraction", FALSE);
 
+    /**
+     * Option to print, for each task, the achieved GFLOP/s and GB/s against the
+     * peaks of the device. It requires the profiler to be enabled.
+     */
+    public static final boolean ROOFLINE_REPORT = getBooleanValue("tornado.roofline", FALSE);
+
+    /**
+     * File that caches the peaks measured by the roofline micro-benchmarks, one
+     * entry per device.
+     */
+    public static final String ROOFLINE_PEAKS_FILE = getProperty("tornado.roofline.peaks.file", System.getProperty("user.home") + "/.tornado/roofline-peaks.properties");
+
+    /**
+     * Option to run the roofline micro-benchmarks for a device whose peaks are not
+     * cached yet. Without it, the roofline report only prints the achieved rates
+     * for those devices.
+     */
+    public static final boolean ROOFLINE_MEASURE_PEAKS = getBooleanValue("tornado.roofline.measure", FALSE);
+
+    /**
+     * Option to record the latency histograms and counters of the metrics
+     * registry.
+     */
+    public static final boolean METRICS = getBooleanValue("tornado.metrics", FALSE);
+
+    /**
+     * Port of the Prometheus endpoint of the metrics registry. The endpoint is
+     * disabled when the port is not set.
+     */
+    public static final int METRICS_PROMETHEUS_PORT = getIntValue("tornado.metrics.prometheus.port", "-1");
+
+    /**
+     * Option to sample hardware counters for each kernel and attach them to the
+     * profiler: "native" uses the counters exposed by the backend, "simulated"
+     * uses the pure-Java provider, whose ratios are synthetic. Each counter is
+     * reported with its source (measured, configured, theoretical or
+     * simulated). Disabled when the option is not set. It requires the
+     * profiler to be enabled.
+     */
+    public static final String HARDWARE_COUNTERS = getProperty("tornado.counters", "");
+
+    /**
+     * Comma-separated list of task graphs whose first execution is recorded for
+     * offline replay. Use "*" to record all task graphs.
+     */
+    public static final String REPLAY_RECORD = getProperty("tornado.replay.record", "");
+
+    /**
+     * Directory in which the execution recordings are written.
+     */
+    public static final String REPLAY_DIRECTORY = getProperty("tornado.replay.dir", "tornado-recordings");
+
+    /**
+     * Maximum number of bytes recorded for each input array. Larger arrays are
+     * truncated, and the replay repeats the recorded prefix. By default, arrays are
+     * recorded entirely.
+     */
+    public static final int REPLAY_MAX_BYTES = getIntValue("tornado.replay.maxbytes", "-1");
+
+    /**
+     * Capture the command sequence of each task-graph after warm-up and replay it
+     * in later executions, instead of interpreting the TornadoVM bytecode. False by
+     * default.
+     */
+    public static final boolean GRAPH_CAPTURE = getBooleanValue("tornado.capture", FALSE);
+
+    /**
+     * Number of executions with the same arguments and sizes before the command
+     * sequence of a task-graph is captured.
+     */
+    public static final int GRAPH_CAPTURE_WARMUP = getIntValue("tornado.capture.warmup", "2");
+
+    /**
+     * Replays consecutive kernel launches of a captured task-graph as one native
+     * graph of the device, when the backend supports it (CUDA graphs in PTX). True
+     * by default.
+     */
+    public static final boolean GRAPH_CAPTURE_NATIVE = getBooleanValue("tornado.capture.native", TRUE);
+
     /**
      * Enable/Disable FMA Optimizations. True by default.
      */
@@ -204,9 +315,19 @@ public class TornadoOptions {
     public static final boolean FORCE_CHECK_PARAMETERS = getBooleanValue("tornado.check.parameters", TRUE);
 
     /**
-     * Select Shared Memory allocator for SPIRV-Level Zero implementation.
+     * Allocate device buffers in memory shared between the host and the device,
+     * when the device supports it: OpenCL buffers backed by host memory on
+     * devices with unified memory, CUDA managed memory and Level Zero shared
+     * allocations. The transfers of the task-graphs still copy the Java objects
+     * into and out of these buffers.
+     */
+    public static final boolean SHARED_MEMORY = getBooleanValue("tornado.memory.shared", FALSE);
+
+    /**
+     * Select Shared Memory allocator for SPIRV-Level Zero implementation. It is
+     * also enabled by {@link #SHARED_MEMORY}.
      */
-    public static final boolean LEVEL_ZERO_SHARED_MEMORY = getBooleanValue("tornado.spirv.levelzero.memoryAlloc.shared", FALSE);
+    public static final boolean LEVEL_ZERO_SHARED_MEMORY = SHARED_MEMORY || getBooleanValue("tornado.spirv.levelzero.memoryAlloc.shared", FALSE);
     /**
      * Use return as a common label and insert the instruction before function
      * ending.
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.graal.phases;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.graalvm.compiler.core.common.cfg.Loop;
+import org.graalvm.compiler.core.common.type.PrimitiveStamp;
+import org.graalvm.compiler.core.common.type.Stamp;
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.graph.NodeMap;
+import org.graalvm.compiler.nodes.LoopBeginNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.ParameterNode;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.StructuredGraph.ScheduleResult;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.BinaryArithmeticNode;
+import org.graalvm.compiler.nodes.calc.IntegerDivRemNode;
+import org.graalvm.compiler.nodes.calc.ShiftNode;
+import org.graalvm.compiler.nodes.calc.UnaryArithmeticNode;
+import org.graalvm.compiler.nodes.cfg.Block;
+import org.graalvm.compiler.nodes.loop.LoopEx;
+import org.graalvm.compiler.nodes.loop.LoopsData;
+import org.graalvm.compiler.nodes.memory.FloatingReadNode;
+import org.graalvm.compiler.nodes.memory.ReadNode;
+import org.graalvm.compiler.nodes.memory.WriteNode;
+import org.graalvm.compiler.nodes.memory.address.AddressNode;
+import org.graalvm.compiler.phases.BasePhase;
+
+import jdk.vm.ci.meta.JavaKind;
+import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoLoopsData;
+import uk.ac.manchester.tornado.runtime.profiler.KernelWorkEstimate;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Counts the floating-point operations and the global memory traffic of one
+ * thread of the kernel, and stores the result in the {@link TaskMetaData} of
+ * the task. The roofline report multiplies these counts by the number of
+ * threads of the {@code @Parallel} range.
+ *
+ * The phase must run after the {@code SchedulePhase}: the schedule is used to
+ * find the loops that enclose each node.
+ */
+public class TornadoWorkEstimation extends BasePhase<TornadoLowTierContext> {
+
+    private static final int REFERENCE_SIZE = 8;
+
+    @Override
+    protected void run(StructuredGraph graph, TornadoLowTierContext context) {
+        TaskMetaData meta = context.getMeta();
+        if (meta == null) {
+            return;
+        }
+
+        Map<LoopBeginNode, Long> tripCounts = computeTripCounts(graph);
+        ScheduleResult schedule = graph.getLastSchedule();
+        NodeMap<Block> nodeToBlock = schedule != null ? schedule.getNodeToBlockMap() : null;
+
+        long flops = 0;
+        long integerOps = 0;
+        long bytesLoaded = 0;
+        long bytesStored = 0;
+        boolean exact = true;
+
+        for (Node node : graph.getNodes()) {
+            long weight = 1;
+            Block block = (nodeToBlock != null && !nodeToBlock.isNew(node)) ? nodeToBlock.get(node) : null;
+            for (Loop<Block> loop = block != null ? block.getLoop() : null; loop != null; loop = loop.getParent()) {
+                Long tripCount = tripCounts.get((LoopBeginNode) loop.getHeader().getBeginNode());
+                if (tripCount == null) {
+                    exact = false;
+                } else {
+                    weight *= tripCount;
+                }
+            }
+
+            if (node instanceof MarkFusedMultiplyAdd) {
+                flops += 2 * weight;
+            } else if (node instanceof BinaryArithmeticNode || node instanceof UnaryArithmeticNode || node instanceof IntegerDivRemNode || node instanceof ShiftNode
+                    || node instanceof MarkIntrinsicsNode) {
+                if (isFloatingPoint(node)) {
+                    flops += weight;
+                } else {
+                    integerOps += weight;
+                }
+            } else if ((node instanceof ReadNode || node instanceof FloatingReadNode) && isGlobalAccess(node, true)) {
+                bytesLoaded += weight * getAccessSize(node instanceof ReadNode ? ((ReadNode) node).getAccessStamp(NodeView.DEFAULT) : ((FloatingReadNode) node).getAccessStamp(NodeView.DEFAULT));
+            } else if (node instanceof WriteNode && isGlobalAccess(node, false)) {
+                bytesStored += weight * getAccessSize(((WriteNode) node).getAccessStamp(NodeView.DEFAULT));
+            }
+        }
+
+        meta.setWorkEstimate(new KernelWorkEstimate(flops, integerOps, bytesLoaded, bytesStored, exact));
+    }
+
+    /**
+     * Constant trip counts of the sequential loops. The loops that stride over
+     * the {@code @Parallel} range run once per thread, so they are given a trip
+     * count of one.
+     */
+    private static Map<LoopBeginNode, Long> computeTripCounts(StructuredGraph graph) {
+        Map<LoopBeginNode, Long> tripCounts = new HashMap<>();
+        if (!graph.hasLoops()) {
+            return tripCounts;
+        }
+        LoopsData loopsData = new TornadoLoopsData(graph);
+        loopsData.detectCountedLoops();
+        for (LoopEx loop : loopsData.loops()) {
+            if (isParallelLoop(loop)) {
+                tripCounts.put(loop.loopBegin(), 1L);
+            } else if (loop.isCounted() && loop.counted().isConstantMaxTripCount()) {
+                tripCounts.put(loop.loopBegin(), loop.counted().constantMaxTripCount().asLong());
+            }
+        }
+        return tripCounts;
+    }
+
+    private static boolean isParallelLoop(LoopEx loop) {
+        if (!loop.isCounted()) {
+            return false;
+        }
+        ValueNode init = loop.counted().getBodyIV().initNode();
+        if (init instanceof MarkGlobalThreadID) {
+            return true;
+        }
+        for (Node input : init.inputs()) {
+            if (input instanceof MarkGlobalThreadID) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isFloatingPoint(Node node) {
+        if (!(node instanceof ValueNode)) {
+            return false;
+        }
+        JavaKind kind = ((ValueNode) node).getStackKind();
+        return kind == JavaKind.Float || kind == JavaKind.Double;
+    }
+
+    private static boolean isGlobalAccess(Node node, boolean isLoad) {
+        for (Node address : node.inputs().filter(AddressNode.class)) {
+            for (Node addressInput : address.inputs()) {
+                if (addressInput instanceof ParameterNode) {
+                    return true;
+                } else if (addressInput instanceof FloatingReadNode && !isLoad) {
+                    // Store to global from a vector type
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static long getAccessSize(Stamp stamp) {
+        if (stamp instanceof PrimitiveStamp) {
+            return Math.max(1, ((PrimitiveStamp) stamp).getBits() / 8);
+        }
+        return REFERENCE_SIZE;
+    }
+}
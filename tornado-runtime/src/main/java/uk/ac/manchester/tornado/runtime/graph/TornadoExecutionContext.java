@@ -72,6 +72,7 @@ public class TornadoExecutionContext {
 
     private boolean redeployOnDevice;
     private boolean defaultScheduler;
+    private boolean graphCapture = TornadoOptions.GRAPH_CAPTURE;
 
     private TornadoProfiler profiler;
 
@@ -401,6 +402,14 @@ public class TornadoExecutionContext {
         return defaultScheduler;
     }
 
+    public void setGraphCapture(boolean use) {
+        graphCapture = use;
+    }
+
+    public boolean useGraphCapture() {
+        return graphCapture;
+    }
+
     public void createImmutableExecutionContext(TornadoExecutionContext executionContext) {
 
         List<SchedulableTask> schedulableTasksCopy = new ArrayList<>(tasks);
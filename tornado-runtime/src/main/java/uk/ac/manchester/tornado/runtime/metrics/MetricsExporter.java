@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.metrics;
+
+/**
+ * Service to publish the {@link MetricsRegistry}. Exporters are discovered
+ * with the {@link java.util.ServiceLoader} the first time a metric is
+ * recorded, and only the enabled ones are started.
+ */
+public interface MetricsExporter {
+
+    /**
+     * @return true if this exporter has been enabled, usually through a
+     *         property.
+     */
+    boolean isEnabled();
+
+    void start(MetricsRegistry registry);
+
+    void stop();
+}
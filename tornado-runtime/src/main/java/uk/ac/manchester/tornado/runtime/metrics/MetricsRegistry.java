@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of the TornadoVM metrics. Histograms and counters are
+ * created on first use and live until the JVM exits: unlike the profiler, they
+ * accumulate across executions and are not reset by
+ * {@code TornadoExecutionPlan::clearProfiles}.
+ */
+public final class MetricsRegistry {
+
+    private final Map<MetricId, LatencyHistogram> histograms;
+    private final Map<MetricId, MetricsCounter> counters;
+    private final Map<String, String> descriptions;
+
+    public MetricsRegistry() {
+        histograms = new ConcurrentHashMap<>();
+        counters = new ConcurrentHashMap<>();
+        descriptions = new ConcurrentHashMap<>();
+    }
+
+    public LatencyHistogram histogram(String name, String... labels) {
+        return histograms.computeIfAbsent(new MetricId(name, labels), id -> new LatencyHistogram());
+    }
+
+    public MetricsCounter counter(String name, String... labels) {
+        return counters.computeIfAbsent(new MetricId(name, labels), id -> new MetricsCounter());
+    }
+
+    public void describe(String name, String description) {
+        descriptions.put(name, description);
+    }
+
+    public String getDescription(String name) {
+        return descriptions.get(name);
+    }
+
+    public Map<MetricId, LatencyHistogram> getHistograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    public Map<MetricId, MetricsCounter> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.metrics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+/**
+ * Serves the registry in the Prometheus text format on
+ * {@code http://<host>:<port>/metrics}. It is enabled by setting
+ * {@code -Dtornado.metrics.prometheus.port=<port>}.
+ *
+ * Latency histograms are exported as summaries in seconds, with the p50, p99
+ * and p999 quantiles.
+ */
+public class PrometheusExporter implements MetricsExporter {
+
+    private static final double[] QUANTILES = { 0.5, 0.99, 0.999 };
+    private static final double NANOSECONDS_PER_SECOND = 1_000_000_000.0;
+    private static final int CLIENT_TIMEOUT_MS = 5000;
+
+    private ServerSocket serverSocket;
+    private Thread serverThread;
+
+    @Override
+    public boolean isEnabled() {
+        return TornadoOptions.METRICS_PROMETHEUS_PORT > 0;
+    }
+
+    @Override
+    public synchronized void start(MetricsRegistry registry) {
+        if (serverSocket != null) {
+            return;
+        }
+        try {
+            serverSocket = new ServerSocket();
+            serverSocket.bind(new InetSocketAddress(TornadoOptions.METRICS_PROMETHEUS_PORT));
+        } catch (IOException e) {
+            System.err.println("[TornadoVM-Metrics] Cannot open port " + TornadoOptions.METRICS_PROMETHEUS_PORT + ": " + e.getMessage());
+            serverSocket = null;
+            return;
+        }
+        serverThread = new Thread(() -> serve(registry), "tornado-metrics-prometheus");
+        serverThread.setDaemon(true);
+        serverThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (serverSocket == null) {
+            return;
+        }
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Nothing to do, the server is going away
+        }
+        serverSocket = null;
+        serverThread = null;
+    }
+
+    private void serve(MetricsRegistry registry) {
+        ServerSocket socket = serverSocket;
+        while (socket != null && !socket.isClosed()) {
+            try (Socket client = socket.accept()) {
+                handle(client, registry);
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    System.err.println("[TornadoVM-Metrics] " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void handle(Socket client, MetricsRegistry registry) throws IOException {
+        client.setSoTimeout(CLIENT_TIMEOUT_MS);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.US_ASCII));
+        String requestLine = reader.readLine();
+        // Skip the headers of the request
+        String header = reader.readLine();
+        while (header != null && !header.isEmpty()) {
+            header = reader.readLine();
+        }
+
+        String status;
+        byte[] body;
+        if (requestLine != null && requestLine.startsWith("GET /metrics")) {
+            status = "200 OK";
+            body = format(registry).getBytes(StandardCharsets.UTF_8);
+        } else {
+            status = "404 Not Found";
+            body = "Only /metrics is available\n".getBytes(StandardCharsets.UTF_8);
+        }
+
+        OutputStream output = client.getOutputStream();
+        String headers = "HTTP/1.1 " + status + "\r\n" //
+                + "Content-Type: text/plain; version=0.0.4; charset=utf-8\r\n" //
+                + "Content-Length: " + body.length + "\r\n" //
+                + "Connection: close\r\n\r\n";
+        output.write(headers.getBytes(StandardCharsets.US_ASCII));
+        output.write(body);
+        output.flush();
+    }
+
+    /**
+     * @return the content of the registry in the Prometheus text exposition
+     *         format.
+     */
+    public static String format(MetricsRegistry registry) {
+        StringBuilder text = new StringBuilder();
+
+        Map<String, Map<String, MetricsCounter>> counters = new TreeMap<>();
+        for (Map.Entry<MetricId, MetricsCounter> entry : registry.getCounters().entrySet()) {
+            counters.computeIfAbsent(entry.getKey().getName(), name -> new TreeMap<>()).put(formatLabels(entry.getKey().getLabels(), null), entry.getValue());
+        }
+        for (Map.Entry<String, Map<String, MetricsCounter>> family : counters.entrySet()) {
+            appendHeader(text, family.getKey(), registry.getDescription(family.getKey()), "counter");
+            for (Map.Entry<String, MetricsCounter> sample : family.getValue().entrySet()) {
+                text.append(family.getKey()).append(sample.getKey()).append(' ').append(sample.getValue().get()).append('\n');
+            }
+        }
+
+        Map<String, Map<MetricId, LatencyHistogram>> histograms = new TreeMap<>();
+        for (Map.Entry<MetricId, LatencyHistogram> entry : registry.getHistograms().entrySet()) {
+            histograms.computeIfAbsent(entry.getKey().getName(), name -> new TreeMap<>((a, b) -> a.toString().compareTo(b.toString()))).put(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, Map<MetricId, LatencyHistogram>> family : histograms.entrySet()) {
+            String name = family.getKey() + "_seconds";
+            appendHeader(text, name, registry.getDescription(family.getKey()), "summary");
+            for (Map.Entry<MetricId, LatencyHistogram> sample : family.getValue().entrySet()) {
+                Map<String, String> labels = sample.getKey().getLabels();
+                LatencyHistogram histogram = sample.getValue();
+                for (double quantile : QUANTILES) {
+                    text.append(name).append(formatLabels(labels, Double.toString(quantile))).append(' ');
+                    text.append(histogram.getValueAtPercentile(quantile * 100) / NANOSECONDS_PER_SECOND).append('\n');
+                }
+                text.append(name).append("_sum").append(formatLabels(labels, null)).append(' ').append(histogram.getSum() / NANOSECONDS_PER_SECOND).append('\n');
+                text.append(name).append("_count").append(formatLabels(labels, null)).append(' ').append(histogram.getCount()).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    private static void appendHeader(StringBuilder text, String name, String description, String type) {
+        if (description != null) {
+            text.append("# HELP ").append(name).append(' ').append(description).append('\n');
+        }
+        text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String formatLabels(Map<String, String> labels, String quantile) {
+        if (labels.isEmpty() && quantile == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder("{");
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            if (text.length() > 1) {
+                text.append(',');
+            }
+            text.append(label.getKey()).append("=\"").append(escape(label.getValue())).append('"');
+        }
+        if (quantile != null) {
+            if (text.length() > 1) {
+                text.append(',');
+            }
+            text.append("quantile=\"").append(quantile).append('"');
+        }
+        return text.append('}').toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import uk.ac.manchester.tornado.api.profiler.ProfilerType;
+import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+/**
+ * Entry point used by the runtime to record metrics. Recording is enabled with
+ * {@code -Dtornado.metrics=True}, or implicitly when an exporter such as the
+ * {@link PrometheusExporter} is enabled.
+ *
+ * The latencies of {@code execute()} and the counters are always recorded. The
+ * kernel, copy-in and copy-out latencies come from the device events, so they
+ * are only recorded when the profiler is enabled (the silent mode is enough).
+ */
+public final class TornadoMetrics {
+
+    public static final String EXECUTE_LATENCY = "tornado_execute_latency";
+    public static final String KERNEL_LATENCY = "tornado_kernel_latency";
+    public static final String COPY_IN_LATENCY = "tornado_copy_in_latency";
+    public static final String COPY_OUT_LATENCY = "tornado_copy_out_latency";
+    public static final String COMPILATIONS = "tornado_compilations_total";
+    public static final String CODE_CACHE_HITS = "tornado_code_cache_hits_total";
+    public static final String BAILOUTS = "tornado_bailouts_total";
+    public static final String TRANSFERRED_BYTES = "tornado_transferred_bytes_total";
+
+    public static final String HOST_TO_DEVICE = "host_to_device";
+    public static final String DEVICE_TO_HOST = "device_to_host";
+
+    private static final String TASK_GRAPH = "task_graph";
+    private static final String DEVICE = "device";
+    private static final String DIRECTION = "direction";
+
+    private static final boolean ENABLED = TornadoOptions.METRICS || TornadoOptions.METRICS_PROMETHEUS_PORT > 0;
+
+    private static final List<MetricsExporter> exporters = new ArrayList<>();
+    private static volatile MetricsRegistry registry;
+
+    private TornadoMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return the registry, after starting the enabled exporters the first time
+     *         it is requested.
+     */
+    public static MetricsRegistry getRegistry() {
+        MetricsRegistry current = registry;
+        if (current == null) {
+            synchronized (TornadoMetrics.class) {
+                current = registry;
+                if (current == null) {
+                    current = createRegistry();
+                    registry = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static MetricsRegistry createRegistry() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        metrics.describe(EXECUTE_LATENCY, "End-to-end latency of the execution of a task graph.");
+        metrics.describe(KERNEL_LATENCY, "Device time of the kernels of a task graph.");
+        metrics.describe(COPY_IN_LATENCY, "Device time of the host to device copies of a task graph.");
+        metrics.describe(COPY_OUT_LATENCY, "Device time of the device to host copies of a task graph.");
+        metrics.describe(COMPILATIONS, "Number of tasks compiled for a device.");
+        metrics.describe(CODE_CACHE_HITS, "Number of task launches that reused the installed code.");
+        metrics.describe(BAILOUTS, "Number of executions that bailed out.");
+        metrics.describe(TRANSFERRED_BYTES, "Bytes copied between the host and the device.");
+
+        for (MetricsExporter exporter : ServiceLoader.load(MetricsExporter.class)) {
+            if (exporter.isEnabled()) {
+                exporter.start(metrics);
+                exporters.add(exporter);
+            }
+        }
+        if (!exporters.isEmpty()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> exporters.forEach(MetricsExporter::stop)));
+        }
+        return metrics;
+    }
+
+    /**
+     * Records the latency of one execution of a task graph and, if the
+     * profiler is enabled, the device time of its kernels and copies.
+     */
+    public static void recordExecution(String taskGraph, String device, long elapsedTime, TornadoProfiler profiler) {
+        MetricsRegistry metrics = getRegistry();
+        metrics.histogram(EXECUTE_LATENCY, TASK_GRAPH, taskGraph, DEVICE, device).record(elapsedTime);
+        if (TornadoOptions.isProfilerEnabled() && profiler != null) {
+            recordIfPresent(metrics, KERNEL_LATENCY, taskGraph, device, profiler.getTimer(ProfilerType.TOTAL_KERNEL_TIME));
+            recordIfPresent(metrics, COPY_IN_LATENCY, taskGraph, device, profiler.getTimer(ProfilerType.COPY_IN_TIME));
+            recordIfPresent(metrics, COPY_OUT_LATENCY, taskGraph, device, profiler.getTimer(ProfilerType.COPY_OUT_TIME));
+        }
+    }
+
+    private static void recordIfPresent(MetricsRegistry metrics, String name, String taskGraph, String device, long time) {
+        if (time > 0) {
+            metrics.histogram(name, TASK_GRAPH, taskGraph, DEVICE, device).record(time);
+        }
+    }
+
+    public static void incrementCompilations(String taskGraph, String device) {
+        getRegistry().counter(COMPILATIONS, TASK_GRAPH, taskGraph, DEVICE, device).increment();
+    }
+
+    public static void incrementCodeCacheHits(String taskGraph, String device) {
+        getRegistry().counter(CODE_CACHE_HITS, TASK_GRAPH, taskGraph, DEVICE, device).increment();
+    }
+
+    public static void incrementBailouts(String taskGraph, String device) {
+        getRegistry().counter(BAILOUTS, TASK_GRAPH, taskGraph, DEVICE, device).increment();
+    }
+
+    public static void addTransferredBytes(String taskGraph, String device, String direction, long bytes) {
+        getRegistry().counter(TRANSFERRED_BYTES, TASK_GRAPH, taskGraph, DEVICE, device, DIRECTION, direction).add(bytes);
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.profiler;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.ProfilerMode;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+/**
+ * Peak floating-point throughput and global memory bandwidth of a device. The
+ * peaks are measured with two micro-benchmarks, a copy kernel and a kernel of
+ * independent multiply-add chains, and are cached in
+ * {@link TornadoOptions#ROOFLINE_PEAKS_FILE} for later runs. The benchmarks
+ * only run when requested, with {@link #measure(TornadoDevice)} or
+ * {@link TornadoOptions#ROOFLINE_MEASURE_PEAKS}, never implicitly inside the
+ * execution of a user task-graph.
+ */
+public final class DevicePeaks {
+
+    private static final int BANDWIDTH_ELEMENTS = 1 << 24;
+    private static final int COMPUTE_THREADS = 1 << 20;
+    private static final int COMPUTE_ITERATIONS = 512;
+    private static final int FLOPS_PER_ITERATION = 8;
+    private static final int REPETITIONS = 5;
+
+    private static final Map<String, DevicePeaks> PEAKS = new HashMap<>();
+    private static final ThreadLocal<Boolean> MEASURING = ThreadLocal.withInitial(() -> false);
+
+    private final double gflops;
+    private final double gbytesPerSecond;
+
+    private DevicePeaks(double gflops, double gbytesPerSecond) {
+        this.gflops = gflops;
+        this.gbytesPerSecond = gbytesPerSecond;
+    }
+
+    /**
+     * @return peak floating-point throughput, in GFLOP/s.
+     */
+    public double getGFlops() {
+        return gflops;
+    }
+
+    /**
+     * @return peak global memory bandwidth, in GB/s.
+     */
+    public double getGBytesPerSecond() {
+        return gbytesPerSecond;
+    }
+
+    /**
+     * @return arithmetic intensity, in FLOP/byte, above which a kernel is
+     *         compute-bound on this device.
+     */
+    public double getRidgePoint() {
+        return gbytesPerSecond == 0 ? 0 : gflops / gbytesPerSecond;
+    }
+
+    /**
+     * @return true while the calling thread runs the micro-benchmarks. The
+     *         roofline report skips those task graphs.
+     */
+    public static boolean isMeasuring() {
+        return MEASURING.get();
+    }
+
+    /**
+     * @return the cached peaks of the device, or null if they were never measured
+     *         and {@link TornadoOptions#ROOFLINE_MEASURE_PEAKS} is not set.
+     */
+    public static synchronized DevicePeaks of(TornadoDevice device) {
+        String key = getKey(device);
+        DevicePeaks peaks = PEAKS.get(key);
+        if (peaks == null) {
+            Properties cache = loadCache();
+            if (cache.containsKey(key + ".gflops") && cache.containsKey(key + ".gbs")) {
+                peaks = new DevicePeaks(Double.parseDouble(cache.getProperty(key + ".gflops")), Double.parseDouble(cache.getProperty(key + ".gbs")));
+                PEAKS.put(key, peaks);
+            } else if (TornadoOptions.ROOFLINE_MEASURE_PEAKS) {
+                peaks = measure(device);
+            }
+        }
+        return peaks;
+    }
+
+    /**
+     * Runs the micro-benchmarks on the device and caches the peaks, replacing any
+     * previous measurement.
+     */
+    public static synchronized DevicePeaks measure(TornadoDevice device) {
+        String key = getKey(device);
+        DevicePeaks peaks = runBenchmarks(device);
+        Properties cache = loadCache();
+        cache.setProperty(key + ".gflops", Double.toString(peaks.gflops));
+        cache.setProperty(key + ".gbs", Double.toString(peaks.gbytesPerSecond));
+        storeCache(cache);
+        PEAKS.put(key, peaks);
+        return peaks;
+    }
+
+    private static String getKey(TornadoDevice device) {
+        return (device.getPlatformName() + "." + device.getDeviceName()).replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static Properties loadCache() {
+        Properties cache = new Properties();
+        File file = new File(TornadoOptions.ROOFLINE_PEAKS_FILE);
+        if (file.exists()) {
+            try (FileReader reader = new FileReader(file)) {
+                cache.load(reader);
+            } catch (IOException e) {
+                System.err.println("[ROOFLINE] Cannot read " + file + ": " + e.getMessage());
+            }
+        }
+        return cache;
+    }
+
+    private static void storeCache(Properties cache) {
+        File file = new File(TornadoOptions.ROOFLINE_PEAKS_FILE);
+        File directory = file.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            System.err.println("[ROOFLINE] Cannot create " + directory);
+            return;
+        }
+        try (FileWriter writer = new FileWriter(file)) {
+            cache.store(writer, "TornadoVM device peaks measured by the roofline micro-benchmarks");
+        } catch (IOException e) {
+            System.err.println("[ROOFLINE] Cannot write " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static DevicePeaks runBenchmarks(TornadoDevice device) {
+        MEASURING.set(true);
+        try {
+            float[] input = new float[BANDWIDTH_ELEMENTS];
+            float[] output = new float[BANDWIDTH_ELEMENTS];
+            TaskGraph bandwidthGraph = new TaskGraph("rooflineBandwidth") //
+                    .transferToDevice(DataTransferMode.FIRST_EXECUTION, input) //
+                    .task("copy", DevicePeaks::copy, input, output) //
+                    .transferToHost(DataTransferMode.USER_DEFINED, output);
+            long copyTime = measureKernelTime(bandwidthGraph.snapshot(), device);
+
+            float[] seeds = new float[COMPUTE_THREADS];
+            float[] results = new float[COMPUTE_THREADS];
+            TaskGraph computeGraph = new TaskGraph("rooflineCompute") //
+                    .transferToDevice(DataTransferMode.FIRST_EXECUTION, seeds) //
+                    .task("fma", DevicePeaks::multiplyAdd, seeds, results) //
+                    .transferToHost(DataTransferMode.USER_DEFINED, results);
+            long computeTime = measureKernelTime(computeGraph.snapshot(), device);
+
+            double bytes = 2.0 * Float.BYTES * BANDWIDTH_ELEMENTS;
+            double flops = (double) FLOPS_PER_ITERATION * COMPUTE_ITERATIONS * COMPUTE_THREADS;
+            return new DevicePeaks(computeTime == 0 ? 0 : flops / computeTime, copyTime == 0 ? 0 : bytes / copyTime);
+        } finally {
+            MEASURING.set(false);
+        }
+    }
+
+    /**
+     * @return the shortest device kernel time of the graph, in nanoseconds. The
+     *         first execution compiles the kernel and is not measured.
+     */
+    private static long measureKernelTime(ImmutableTaskGraph graph, TornadoDevice device) {
+        TornadoExecutionPlan plan = new TornadoExecutionPlan(graph).withDevice(device).withProfiler(ProfilerMode.SILENT);
+        plan.execute();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < REPETITIONS; i++) {
+            long time = plan.execute().getProfilerResult().getDeviceKernelTime();
+            if (time > 0) {
+                best = Math.min(best, time);
+            }
+        }
+        plan.freeDeviceMemory();
+        return best == Long.MAX_VALUE ? 0 : best;
+    }
+
+    /**
+     * Bandwidth micro-benchmark: one load and one store per element.
+     */
+    public static void copy(float[] input, float[] output) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            output[i] = input[i];
+        }
+    }
+
+    /**
+     * Compute micro-benchmark: four independent multiply-add chains per thread.
+     */
+    public static void multiplyAdd(float[] seeds, float[] results) {
+        for (@Parallel int i = 0; i < seeds.length; i++) {
+            float a = seeds[i];
+            float b = a + 1.0f;
+            float c = a + 2.0f;
+            float d = a + 3.0f;
+            for (int k = 0; k < COMPUTE_ITERATIONS; k++) {
+                a = a * 0.999f + 0.001f;
+                b = b * 0.999f + 0.001f;
+                c = c * 0.999f + 0.001f;
+                d = d * 0.999f + 0.001f;
+            }
+            results[i] = a + b + c + d;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("peak=%.2f GFLOP/s, bandwidth=%.2f GB/s, ridge=%.2f FLOP/B", gflops, gbytesPerSecond, getRidgePoint());
+    }
+}
@@ -23,6 +23,9 @@
  */
 package uk.ac.manchester.tornado.runtime.profiler;
 
+import java.util.function.Consumer;
+
+import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 
@@ -112,4 +115,19 @@ public class EmptyProfiler implements TornadoProfiler {
 
     }
 
+    @Override
+    public void deferEvent(Event event, Consumer<Event> update) {
+
+    }
+
+    @Override
+    public void harvestEvents() {
+
+    }
+
+    @Override
+    public void discardEvents() {
+
+    }
+
 }
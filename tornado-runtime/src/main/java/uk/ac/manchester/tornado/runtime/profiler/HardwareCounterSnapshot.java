@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.profiler;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hardware counters sampled for one execution of a kernel, e.g. the achieved
+ * occupancy or the cache hit rates. The counters are kept in the order in
+ * which the provider reported them, and they are attached to the task in the
+ * {@link TimeProfiler}.
+ *
+ * <p>
+ * Every counter is labelled with the {@link Source} of its value, so values
+ * that were not read from the hardware are never reported as measurements.
+ * </p>
+ */
+public class HardwareCounterSnapshot {
+
+    /**
+     * Where the value of a counter comes from.
+     */
+    public enum Source {
+        /**
+         * Measured on the device during the execution, e.g. the kernel time.
+         */
+        MEASURED("measured"),
+        /**
+         * Launch parameter chosen by the runtime, e.g. the block size.
+         */
+        CONFIGURED("configured"),
+        /**
+         * Computed from a model of the device or from compile-time estimates,
+         * e.g. the theoretical occupancy. The kernel may behave differently.
+         */
+        THEORETICAL("theoretical"),
+        /**
+         * Synthetic value that is not related to the execution. Only useful to
+         * exercise the reporting pipeline.
+         */
+        SIMULATED("simulated");
+
+        private final String label;
+
+        Source(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final String provider;
+    private final Map<String, Double> counters;
+    private final Map<String, Source> sources;
+
+    public HardwareCounterSnapshot(String provider) {
+        this.provider = provider;
+        this.counters = new LinkedHashMap<>();
+        this.sources = new LinkedHashMap<>();
+    }
+
+    /**
+     * @return the name of the provider that sampled the counters.
+     */
+    public String getProvider() {
+        return provider;
+    }
+
+    public HardwareCounterSnapshot put(String counter, double value, Source source) {
+        counters.put(counter, value);
+        sources.put(counter, source);
+        return this;
+    }
+
+    /**
+     * Adds the counters of another snapshot. Counters with the same name are
+     * overwritten by the other snapshot.
+     */
+    public HardwareCounterSnapshot merge(HardwareCounterSnapshot other) {
+        counters.putAll(other.counters);
+        sources.putAll(other.sources);
+        return this;
+    }
+
+    public boolean contains(String counter) {
+        return counters.containsKey(counter);
+    }
+
+    /**
+     * @return the value of the counter, or {@code NaN} if it was not sampled.
+     */
+    public double get(String counter) {
+        Double value = counters.get(counter);
+        return value == null ? Double.NaN : value;
+    }
+
+    /**
+     * @return the source of the value of the counter, or {@code null} if it
+     *         was not sampled.
+     */
+    public Source getSource(String counter) {
+        return sources.get(counter);
+    }
+
+    public Map<String, Double> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    /**
+     * @return the source of every counter, in the same order as
+     *         {@link #getCounters()}.
+     */
+    public Map<String, Source> getSources() {
+        return Collections.unmodifiableMap(sources);
+    }
+
+    /**
+     * @return true if every counter was measured or configured, i.e. none of
+     *         them is a theoretical or simulated value.
+     */
+    public boolean isMeasured() {
+        return sources.values().stream().allMatch(source -> source == Source.MEASURED || source == Source.CONFIGURED);
+    }
+
+    public boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return provider + counters + sources;
+    }
+}
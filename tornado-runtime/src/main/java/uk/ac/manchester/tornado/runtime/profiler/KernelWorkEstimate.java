@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.profiler;
+
+/**
+ * Static estimate of the work done by one thread of a compiled kernel. The
+ * counts are taken from the low-tier graph and weighted by the trip count of
+ * the sequential loops that enclose each operation. When a loop has no
+ * constant trip count, its body is counted once and the estimate is flagged as
+ * a lower bound.
+ */
+public class KernelWorkEstimate {
+
+    private final long flopsPerThread;
+    private final long integerOpsPerThread;
+    private final long bytesLoadedPerThread;
+    private final long bytesStoredPerThread;
+    private final boolean exact;
+
+    public KernelWorkEstimate(long flopsPerThread, long integerOpsPerThread, long bytesLoadedPerThread, long bytesStoredPerThread, boolean exact) {
+        this.flopsPerThread = flopsPerThread;
+        this.integerOpsPerThread = integerOpsPerThread;
+        this.bytesLoadedPerThread = bytesLoadedPerThread;
+        this.bytesStoredPerThread = bytesStoredPerThread;
+        this.exact = exact;
+    }
+
+    public long getFlopsPerThread() {
+        return flopsPerThread;
+    }
+
+    public long getIntegerOpsPerThread() {
+        return integerOpsPerThread;
+    }
+
+    public long getBytesLoadedPerThread() {
+        return bytesLoadedPerThread;
+    }
+
+    public long getBytesStoredPerThread() {
+        return bytesStoredPerThread;
+    }
+
+    /**
+     * @return global memory traffic of one thread, in bytes.
+     */
+    public long getBytesPerThread() {
+        return bytesLoadedPerThread + bytesStoredPerThread;
+    }
+
+    /**
+     * @return floating-point operations per byte of global memory traffic.
+     */
+    public double getArithmeticIntensity() {
+        long bytes = getBytesPerThread();
+        return bytes == 0 ? 0 : (double) flopsPerThread / bytes;
+    }
+
+    /**
+     * @return false if at least one enclosing loop had no constant trip count,
+     *         in which case the counts are a lower bound.
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("flops=%d, intops=%d, loads=%dB, stores=%dB%s", flopsPerThread, integerOpsPerThread, bytesLoadedPerThread, bytesStoredPerThread, exact ? "" : " (lower bound)");
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.profiler;
+
+import java.util.List;
+
+import uk.ac.manchester.tornado.api.common.SchedulableTask;
+import uk.ac.manchester.tornado.api.profiler.ProfilerType;
+import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.runtime.domain.DomainTree;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Per-task efficiency report. It combines the work estimated by the compiler
+ * ({@link KernelWorkEstimate}) with the kernel time measured by the profiler,
+ * and places the achieved GFLOP/s and GB/s against the peaks of the device
+ * ({@link DevicePeaks}). A task is memory-bound when its arithmetic intensity is
+ * below the ridge point of the device, and compute-bound otherwise.
+ *
+ * Enable it with {@code -Dtornado.roofline=True} together with the profiler.
+ * The peaks of a device are measured once, when requested with
+ * {@code -Dtornado.roofline.measure=True}, and read from the cache afterwards.
+ */
+public final class RooflineReport {
+
+    private RooflineReport() {
+    }
+
+    public static void report(List<SchedulableTask> tasks, TornadoProfiler profiler) {
+        for (SchedulableTask task : tasks) {
+            if (!(task.meta() instanceof TaskMetaData)) {
+                continue;
+            }
+            TaskMetaData meta = (TaskMetaData) task.meta();
+            KernelWorkEstimate estimate = meta.getWorkEstimate();
+            long kernelTime = profiler.getTaskTimer(ProfilerType.TASK_KERNEL_TIME, meta.getId());
+            if (estimate == null || kernelTime <= 0) {
+                continue;
+            }
+            System.out.println(createEntry(meta, estimate, kernelTime, DevicePeaks.of(meta.getLogicDevice())));
+        }
+    }
+
+    static String createEntry(TaskMetaData meta, KernelWorkEstimate estimate, long kernelTime, DevicePeaks peaks) {
+        long threads = getNumThreads(meta);
+        double flops = (double) estimate.getFlopsPerThread() * threads;
+        double bytes = (double) estimate.getBytesPerThread() * threads;
+        double gflops = flops / kernelTime;
+        double gbytesPerSecond = bytes / kernelTime;
+        double intensity = estimate.getArithmeticIntensity();
+
+        StringBuilder entry = new StringBuilder();
+        entry.append(String.format("[ROOFLINE] %s on %s: threads=%d, time=%d ns", meta.getId(), meta.getLogicDevice().getDeviceName(), threads, kernelTime));
+        entry.append(String.format(", FLOP=%.0f, bytes=%.0f, intensity=%.3f FLOP/B%s", flops, bytes, intensity, estimate.isExact() ? "" : " (lower bound)"));
+        entry.append(String.format(", achieved=%.2f GFLOP/s, %.2f GB/s", gflops, gbytesPerSecond));
+        if (peaks == null) {
+            entry.append(" [peaks not measured: run with -Dtornado.roofline.measure=True once]");
+            return entry.toString();
+        }
+
+        boolean memoryBound = intensity < peaks.getRidgePoint();
+        double efficiency = memoryBound ? gbytesPerSecond / peaks.getGBytesPerSecond() : gflops / peaks.getGFlops();
+        entry.append(String.format(", %s-bound at %.1f%% of peak %s", memoryBound ? "memory" : "compute", 100 * efficiency, memoryBound ? "bandwidth" : "throughput"));
+        entry.append(String.format(" [%s]", peaks));
+        return entry.toString();
+    }
+
+    /**
+     * @return number of threads of the task: the global work of its worker grid,
+     *         or the size of its {@code @Parallel} range.
+     */
+    public static long getNumThreads(TaskMetaData meta) {
+        long threads = 1;
+        if (meta.isWorkerGridAvailable()) {
+            for (long size : meta.getWorkerGrid(meta.getId()).getGlobalWork()) {
+                threads *= Math.max(1, size);
+            }
+            return threads;
+        }
+        DomainTree domain = meta.getDomain();
+        if (domain != null) {
+            for (int i = 0; i < domain.getDepth(); i++) {
+                threads *= Math.max(1, domain.get(i).cardinality());
+            }
+        }
+        return threads;
+    }
+}
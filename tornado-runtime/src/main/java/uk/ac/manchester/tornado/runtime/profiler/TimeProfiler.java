@@ -23,8 +23,15 @@
  */
 package uk.ac.manchester.tornado.runtime.profiler;
 
+import static uk.ac.manchester.tornado.runtime.common.Tornado.EVENT_WINDOW;
+
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
@@ -39,6 +46,22 @@ public class TimeProfiler implements TornadoProfiler {
      */
     public static String NO_TASK_NAME = "noTask";
 
+    /**
+     * Deferred events are harvested before the device event pool can wrap around
+     * and reuse them.
+     */
+    private static final int MAX_DEFERRED_EVENTS = Math.max(1, EVENT_WINDOW / 2);
+
+    private static final class DeferredEvent {
+        private final Event event;
+        private final Consumer<Event> update;
+
+        private DeferredEvent(Event event, Consumer<Event> update) {
+            this.event = event;
+            this.update = update;
+        }
+    }
+
     private HashMap<ProfilerType, Long> profilerTime;
     private HashMap<String, HashMap<ProfilerType, Long>> taskTimers;
     private HashMap<String, HashMap<ProfilerType, Long>> taskThroughputMetrics;
@@ -47,8 +70,12 @@ public class TimeProfiler implements TornadoProfiler {
 
     private HashMap<String, HashMap<ProfilerType, String>> taskBackends;
 
+    private HashMap<String, HardwareCounterSnapshot> taskCounters;
+
     private StringBuffer indent;
 
+    private final List<DeferredEvent> deferredEvents;
+
     public TimeProfiler() {
         profilerTime = new HashMap<>();
         taskTimers = new HashMap<>();
@@ -56,7 +83,9 @@ public class TimeProfiler implements TornadoProfiler {
         taskMethodNames = new HashMap<>();
         taskThroughputMetrics = new HashMap<>();
         taskBackends = new HashMap<>();
+        taskCounters = new HashMap<>();
         indent = new StringBuffer("");
+        deferredEvents = new ArrayList<>();
     }
 
     @Override
@@ -197,6 +226,49 @@ public class TimeProfiler implements TornadoProfiler {
         json.append("\n");
     }
 
+    private void appendBandwidth(StringBuffer json, ProfilerType type, Long bytes, long timeInNanoseconds) {
+        if (bytes == null || timeInNanoseconds <= 0) {
+            return;
+        }
+        // bytes per nanosecond * 1000 = MB/s
+        double bandwidth = (bytes * 1000.0) / timeInNanoseconds;
+        json.append(indent.toString() + "\"" + type + "\"" + ": " + "\"" + String.format("%.2f", bandwidth) + "\",\n");
+    }
+
+    private void appendCounters(StringBuffer json, HardwareCounterSnapshot snapshot) {
+        json.append(indent.toString() + "\"HARDWARE_COUNTERS\": {\n");
+        increaseIndent();
+        json.append(indent.toString() + "\"PROVIDER\": \"" + snapshot.getProvider() + "\",\n");
+        for (Map.Entry<String, Double> counter : snapshot.getCounters().entrySet()) {
+            json.append(indent.toString() + "\"" + counter.getKey() + "\": \"" + String.format("%.4f", counter.getValue()) + "\",\n");
+        }
+        // Theoretical and simulated values must not be mistaken for measurements
+        json.append(indent.toString() + "\"SOURCES\": {\n");
+        increaseIndent();
+        for (Map.Entry<String, HardwareCounterSnapshot.Source> source : snapshot.getSources().entrySet()) {
+            json.append(indent.toString() + "\"" + source.getKey() + "\": \"" + source.getValue().getLabel() + "\",\n");
+        }
+        json.delete(json.length() - 2, json.length() - 1); // remove last comma
+        decreaseIndent();
+        closeScope(json);
+        json.append("\n");
+        decreaseIndent();
+        closeScope(json);
+        json.append(",\n");
+    }
+
+    /**
+     * Attaches the hardware counters sampled for the last execution of a task.
+     * The counters are reported within the scope of the task in the JSON output.
+     */
+    public synchronized void setTaskCounters(String taskName, HardwareCounterSnapshot snapshot) {
+        taskCounters.put(taskName, snapshot);
+    }
+
+    public synchronized HardwareCounterSnapshot getTaskCounters(String taskName) {
+        return taskCounters.get(taskName);
+    }
+
     @Override
     public String createJson(StringBuffer json, String sectionName) {
         json.append("{\n");
@@ -211,6 +283,8 @@ public class TimeProfiler implements TornadoProfiler {
             for (ProfilerType p : noTaskValues.keySet()) {
                 json.append(indent.toString() + "\"" + p + "\"" + ": " + "\"" + noTaskValues.get(p) + "\",\n");
             }
+            appendBandwidth(json, ProfilerType.COPY_IN_BANDWIDTH, noTaskValues.get(ProfilerType.TOTAL_COPY_IN_SIZE_BYTES), getTimer(ProfilerType.COPY_IN_TIME));
+            appendBandwidth(json, ProfilerType.COPY_OUT_BANDWIDTH, noTaskValues.get(ProfilerType.TOTAL_COPY_OUT_SIZE_BYTES), getTimer(ProfilerType.COPY_OUT_TIME));
         }
 
         final int size = taskTimers.keySet().size();
@@ -234,6 +308,9 @@ public class TimeProfiler implements TornadoProfiler {
             for (ProfilerType p2 : taskTimers.get(p).keySet()) {
                 json.append(indent.toString() + "\"" + p2 + "\"" + ": " + "\"" + taskTimers.get(p).get(p2) + "\",\n");
             }
+            if (taskCounters.containsKey(p)) {
+                appendCounters(json, taskCounters.get(p));
+            }
             json.delete(json.length() - 2, json.length() - 1); // remove last comma
             decreaseIndent();
             closeScope(json);
@@ -262,6 +339,7 @@ public class TimeProfiler implements TornadoProfiler {
         taskThroughputMetrics.clear();
         profilerTime.clear();
         taskTimers.clear();
+        taskCounters.clear();
         indent = new StringBuffer("");
     }
 
@@ -279,4 +357,33 @@ public class TimeProfiler implements TornadoProfiler {
         profilerTime.put(acc, sum);
     }
 
+    @Override
+    public synchronized void deferEvent(Event event, Consumer<Event> update) {
+        if (deferredEvents.size() >= MAX_DEFERRED_EVENTS) {
+            harvestEvents();
+        }
+        event.retain();
+        deferredEvents.add(new DeferredEvent(event, update));
+    }
+
+    @Override
+    public synchronized void harvestEvents() {
+        try {
+            for (DeferredEvent deferredEvent : deferredEvents) {
+                deferredEvent.event.waitForEvents();
+                deferredEvent.update.accept(deferredEvent.event);
+            }
+        } finally {
+            discardEvents();
+        }
+    }
+
+    @Override
+    public synchronized void discardEvents() {
+        for (DeferredEvent deferredEvent : deferredEvents) {
+            deferredEvent.event.release();
+        }
+        deferredEvents.clear();
+    }
+
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.profiler.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Timespan;
+
+/**
+ * Fields shared by the events of device commands. Timestamps are read from the
+ * device clock, in nanoseconds.
+ */
+public abstract class TornadoDeviceEvent extends Event {
+
+    @Label("Device")
+    public String device;
+
+    @Label("Backend")
+    public String backend;
+
+    @Label("Queued")
+    @Description("Device timestamp when the command was queued")
+    public long queuedTime;
+
+    @Label("Submitted")
+    @Description("Device timestamp when the command was submitted to the device")
+    public long submitTime;
+
+    @Label("Started")
+    @Description("Device timestamp when the command started")
+    public long startTime;
+
+    @Label("Ended")
+    @Description("Device timestamp when the command ended")
+    public long endTime;
+
+    @Label("Device Duration")
+    @Timespan
+    public long deviceDuration;
+
+    void setTimestamps(uk.ac.manchester.tornado.api.common.Event deviceEvent) {
+        queuedTime = deviceEvent.getQueuedTime();
+        submitTime = deviceEvent.getSubmitTime();
+        startTime = deviceEvent.getStartTime();
+        endTime = deviceEvent.getEndTime();
+        deviceDuration = deviceEvent.getElapsedTime();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.profiler.jfr;
+
+import static uk.ac.manchester.tornado.runtime.common.Tornado.EVENT_WINDOW;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jdk.jfr.EventType;
+import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.runtime.graph.TornadoGraphAssembler.TornadoVMBytecode;
+
+/**
+ * Emits the JDK Flight Recorder events of the commands enqueued on a device.
+ *
+ * <p>
+ * The device timestamps of a transfer or a kernel are only known once the
+ * command completes, so these events are kept in a per-thread list and
+ * committed by {@link #harvest()} after the task-graph has enqueued all its
+ * commands. The device events are retained until they are harvested or
+ * discarded, so the event pool of the device cannot reuse them in between.
+ * When no recording enables the events, nothing is resolved or kept.
+ * </p>
+ */
+public final class TornadoFlightRecorder {
+
+    public static final String HOST_TO_DEVICE = "HOST_TO_DEVICE";
+    public static final String DEVICE_TO_HOST = "DEVICE_TO_HOST";
+
+    private static final int MAX_PENDING_EVENTS = Math.max(1, EVENT_WINDOW / 2);
+
+    private static final EventType TRANSFER = EventType.getEventType(TornadoTransferEvent.class);
+    private static final EventType KERNEL = EventType.getEventType(TornadoKernelEvent.class);
+
+    private static final String[] BYTECODE_NAMES = new String[256];
+
+    static {
+        for (TornadoVMBytecode bytecode : TornadoVMBytecode.values()) {
+            BYTECODE_NAMES[bytecode.value() & 0xFF] = bytecode.name();
+        }
+    }
+
+    private static final class PendingEvent {
+        private final TornadoDeviceEvent event;
+        private final Event deviceEvent;
+
+        private PendingEvent(TornadoDeviceEvent event, Event deviceEvent) {
+            this.event = event;
+            this.deviceEvent = deviceEvent;
+        }
+    }
+
+    private static final ThreadLocal<List<PendingEvent>> PENDING_EVENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    private TornadoFlightRecorder() {
+    }
+
+    public static boolean isTransferEnabled() {
+        return TRANSFER.isEnabled();
+    }
+
+    public static boolean isKernelEnabled() {
+        return KERNEL.isEnabled();
+    }
+
+    public static String getBytecodeName(byte bytecode) {
+        String name = BYTECODE_NAMES[bytecode & 0xFF];
+        return (name != null) ? name : Byte.toString(bytecode);
+    }
+
+    public static void deferTransfer(Event deviceEvent, String taskGraph, String direction, TornadoDevice device, long bytes) {
+        TornadoTransferEvent event = new TornadoTransferEvent();
+        event.begin();
+        event.taskGraph = taskGraph;
+        event.direction = direction;
+        event.bytes = bytes;
+        defer(event, deviceEvent, device);
+    }
+
+    public static void deferKernel(Event deviceEvent, String taskName, TornadoDevice device) {
+        TornadoKernelEvent event = new TornadoKernelEvent();
+        event.begin();
+        event.taskName = taskName;
+        defer(event, deviceEvent, device);
+    }
+
+    private static void defer(TornadoDeviceEvent event, Event deviceEvent, TornadoDevice device) {
+        event.device = device.getDeviceName();
+        event.backend = device.getTornadoVMBackend().name();
+        List<PendingEvent> pendingEvents = PENDING_EVENTS.get();
+        if (pendingEvents.size() >= MAX_PENDING_EVENTS) {
+            harvest();
+        }
+        deviceEvent.retain();
+        pendingEvents.add(new PendingEvent(event, deviceEvent));
+    }
+
+    /**
+     * Waits for the device commands recorded by the current thread and commits
+     * their events.
+     */
+    public static void harvest() {
+        List<PendingEvent> pendingEvents = PENDING_EVENTS.get();
+        if (pendingEvents.isEmpty()) {
+            return;
+        }
+        try {
+            for (PendingEvent pendingEvent : pendingEvents) {
+                pendingEvent.deviceEvent.waitForEvents();
+                pendingEvent.event.end();
+                pendingEvent.event.setTimestamps(pendingEvent.deviceEvent);
+                pendingEvent.event.commit();
+            }
+        } finally {
+            discard();
+        }
+    }
+
+    /**
+     * Drops the device commands recorded by the current thread without
+     * committing their events, e.g. after a bailout or before a device reset.
+     */
+    public static void discard() {
+        List<PendingEvent> pendingEvents = PENDING_EVENTS.get();
+        for (PendingEvent pendingEvent : pendingEvents) {
+            pendingEvent.deviceEvent.release();
+        }
+        pendingEvents.clear();
+    }
+}
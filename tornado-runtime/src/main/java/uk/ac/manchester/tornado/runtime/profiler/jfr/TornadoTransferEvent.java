@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.profiler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(TornadoTransferEvent.NAME)
+@Label("TornadoVM Transfer")
+@Category({ "TornadoVM", "Execution" })
+@Description("Data transfer between the host and a device. The event spans from the enqueue until the transfer is observed complete; the device timestamps give its exact execution.")
+public class TornadoTransferEvent extends TornadoDeviceEvent {
+
+    public static final String NAME = "tornado.Transfer";
+
+    @Label("Task Graph")
+    public String taskGraph;
+
+    @Label("Direction")
+    public String direction;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.replay;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.common.SchedulableTask;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.profiler.ProfilerType;
+import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.runtime.TornadoVM;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
+import uk.ac.manchester.tornado.runtime.tasks.StreamingObject;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Records executions of task graphs into {@link ExecutionRecording} files that
+ * can be re-run offline with {@link ExecutionReplay}. An execution is recorded
+ * when it has been triggered with {@link #trigger(String)}, or when the task
+ * graph is listed in {@code -Dtornado.replay.record=<graph>,...} (use
+ * {@code *} for all of them), in which case its first execution is recorded.
+ *
+ * The inputs are copied before the execution starts, so recording an execution
+ * costs a copy of its arguments. Use {@code -Dtornado.replay.maxbytes} to
+ * record only a prefix of large arrays.
+ */
+public final class ExecutionRecorder {
+
+    private static final String ALL_TASK_GRAPHS = "*";
+    private static final Set<String> TASK_GRAPHS_FROM_OPTIONS = Arrays.stream(TornadoOptions.REPLAY_RECORD.split(",")).map(String::trim).filter(s -> !s.isEmpty()).collect(Collectors.toSet());
+    private static final Set<String> triggered = ConcurrentHashMap.newKeySet();
+    private static final Set<String> recorded = ConcurrentHashMap.newKeySet();
+
+    private ExecutionRecorder() {
+    }
+
+    /**
+     * Records the next execution of a task graph.
+     *
+     * @param taskGraphName
+     *            name of the task graph.
+     */
+    public static void trigger(String taskGraphName) {
+        triggered.add(taskGraphName);
+    }
+
+    public static boolean shouldRecord(String taskGraphName) {
+        if (triggered.isEmpty() && TASK_GRAPHS_FROM_OPTIONS.isEmpty()) {
+            return false;
+        }
+        if (triggered.remove(taskGraphName)) {
+            return true;
+        }
+        boolean listed = TASK_GRAPHS_FROM_OPTIONS.contains(taskGraphName) || TASK_GRAPHS_FROM_OPTIONS.contains(ALL_TASK_GRAPHS);
+        return listed && recorded.add(taskGraphName);
+    }
+
+    /**
+     * Takes a snapshot of the inputs before the task graph runs.
+     *
+     * @return the recording, or {@code null} if the task graph cannot be
+     *         recorded.
+     */
+    public static ExecutionRecording begin(String taskGraphName, List<SchedulableTask> tasks, List<StreamingObject> inputs, List<StreamingObject> outputs) {
+        ExecutionRecording recording = new ExecutionRecording();
+        recording.taskGraphName = taskGraphName;
+        recording.timestamp = System.currentTimeMillis();
+        Map<Object, Integer> indices = new IdentityHashMap<>();
+        try {
+            for (SchedulableTask task : tasks) {
+                if (!(task instanceof CompilableTask)) {
+                    throw new TornadoRuntimeException("task " + task.getId() + " is not compiled from Java");
+                }
+                for (Object argument : task.getArguments()) {
+                    indexOf(recording, indices, argument);
+                }
+            }
+            for (StreamingObject input : inputs) {
+                recording.inputs.put(indexOf(recording, indices, input.getObject()), input.getMode());
+            }
+            for (StreamingObject output : outputs) {
+                recording.outputs.put(indexOf(recording, indices, output.getObject()), output.getMode());
+            }
+        } catch (TornadoRuntimeException e) {
+            System.err.println("[TornadoVM] Warning: the execution of " + taskGraphName + " cannot be recorded: " + e.getMessage());
+            return null;
+        }
+        recording.indices = indices;
+        return recording;
+    }
+
+    /**
+     * Completes a recording once the task graph has been launched: the device,
+     * the bytecode and the tasks. The outputs are checksummed later, with
+     * {@link #complete(ExecutionRecording)}, once they are back on the host.
+     */
+    public static void end(ExecutionRecording recording, TornadoVM vm, List<SchedulableTask> tasks, TornadoProfiler profiler, long executionTime) {
+        TornadoDevice device = tasks.get(0).getDevice();
+        recording.executionTime = executionTime;
+        recording.backend = device.getTornadoVMBackend().name();
+        recording.deviceName = device.getDeviceName();
+        recording.platformName = device.getPlatformName();
+        recording.deviceType = device.getDeviceType().name();
+        recording.globalMemory = device.getMaxGlobalMemory();
+        recording.localMemory = device.getDeviceLocalMemorySize();
+        recording.bytecode = vm.getBytecode();
+
+        for (int i = 0; i < tasks.size(); i++) {
+            CompilableTask task = (CompilableTask) tasks.get(i);
+            Method method = task.getMethod();
+            int[] arguments = Arrays.stream(task.getArguments()).mapToInt(recording.indices::get).toArray();
+            TaskMetaData meta = task.meta();
+            long[] globalWork = null;
+            long[] localWork = null;
+            if (meta.isWorkerGridAvailable()) {
+                WorkerGrid grid = meta.getWorkerGrid(meta.getId());
+                globalWork = grid.getGlobalWork();
+                localWork = grid.getLocalWork();
+            }
+            recording.tasks.add(new ExecutionRecording.RecordedTask(task.getId(), method.getDeclaringClass().getName(), method.getName(), parameterTypes(method), arguments, globalWork, localWork,
+                    vm.getGeneratedSourceCode(i), profiler.getTaskTimer(ProfilerType.TASK_KERNEL_TIME, task.getId())));
+        }
+
+    }
+
+    /**
+     * Checksums the outputs and writes the recording to the directory set with
+     * {@code -Dtornado.replay.dir}. It must be called after the execution has been
+     * synchronised. Outputs copied on demand ({@link DataTransferMode#USER_DEFINED})
+     * are not checksummed, since the host copy is not updated by the execution.
+     */
+    public static void complete(ExecutionRecording recording) {
+        for (Map.Entry<Object, Integer> object : recording.indices.entrySet()) {
+            Integer mode = recording.outputs.get(object.getValue());
+            if (mode != null && mode != DataTransferMode.USER_DEFINED) {
+                recording.checksums.put(object.getValue(), RecordedObject.checksum(object.getKey()));
+            }
+        }
+        recording.indices = null;
+
+        try {
+            Path directory = Paths.get(TornadoOptions.REPLAY_DIRECTORY);
+            Files.createDirectories(directory);
+            Path file = directory.resolve(recording.taskGraphName + "-" + recording.timestamp + ".tvmr");
+            recording.write(file);
+            System.out.println("[TornadoVM] Execution of " + recording.taskGraphName + " recorded in " + file);
+        } catch (IOException e) {
+            System.err.println("[TornadoVM] Warning: the execution of " + recording.taskGraphName + " could not be written: " + e.getMessage());
+        }
+    }
+
+    static String parameterTypes(Method method) {
+        return Arrays.stream(method.getParameterTypes()).map(Class::getName).collect(Collectors.joining(","));
+    }
+
+    private static int indexOf(ExecutionRecording recording, Map<Object, Integer> indices, Object object) {
+        Integer index = indices.get(object);
+        if (index == null) {
+            index = recording.objects.size();
+            recording.objects.add(RecordedObject.snapshot(object, TornadoOptions.REPLAY_MAX_BYTES));
+            indices.put(object, index);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+
+/**
+ * Snapshot of one execution of a task graph: the TornadoVM bytecode, the task
+ * methods with their arguments, the generated kernels, the worker grids, the
+ * device that ran it, the inputs and the measured times. It is stored as a
+ * compressed binary file with the following layout:
+ *
+ * <pre>
+ * magic, version, task graph name, timestamp, execution time
+ * device: backend, name, platform, type, global memory, local memory
+ * bytecode
+ * objects: kind, type, length, data
+ * transfers: object index, data transfer mode (inputs, then outputs)
+ * tasks: id, class, method, parameter types, argument indices, grid, kernel source, kernel time
+ * output checksums: object index, CRC-32
+ * </pre>
+ */
+public class ExecutionRecording {
+
+    static final int MAGIC = 0x54564d52; // TVMR
+    static final short VERSION = 1;
+
+    public static final class RecordedTask {
+        final String id;
+        final String className;
+        final String methodName;
+        final String parameterTypes;
+        final int[] arguments;
+        final long[] globalWork;
+        final long[] localWork;
+        final String kernelSource;
+        final long kernelTime;
+
+        RecordedTask(String id, String className, String methodName, String parameterTypes, int[] arguments, long[] globalWork, long[] localWork, String kernelSource, long kernelTime) {
+            this.id = id;
+            this.className = className;
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes;
+            this.arguments = arguments;
+            this.globalWork = globalWork;
+            this.localWork = localWork;
+            this.kernelSource = kernelSource;
+            this.kernelTime = kernelTime;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getMethod() {
+            return className + "::" + methodName;
+        }
+    }
+
+    String taskGraphName;
+    long timestamp;
+    long executionTime;
+    String backend;
+    String deviceName;
+    String platformName;
+    String deviceType;
+    long globalMemory;
+    long localMemory;
+    byte[] bytecode;
+    final List<RecordedObject> objects = new ArrayList<>();
+    final Map<Integer, Integer> inputs = new LinkedHashMap<>();
+    final Map<Integer, Integer> outputs = new LinkedHashMap<>();
+    final List<RecordedTask> tasks = new ArrayList<>();
+    final Map<Integer, Long> checksums = new LinkedHashMap<>();
+
+    // Objects of the recorded execution, only kept while it runs
+    Map<Object, Integer> indices;
+
+    ExecutionRecording() {
+    }
+
+    public String getTaskGraphName() {
+        return taskGraphName;
+    }
+
+    public String getDeviceName() {
+        return deviceName;
+    }
+
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    public List<RecordedTask> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * @return true if at least one input was recorded partially, in which case
+     *         the outputs of a replay are not comparable with the recorded ones.
+     */
+    public boolean hasTruncatedInputs() {
+        return objects.stream().anyMatch(RecordedObject::isTruncated);
+    }
+
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(file))))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeUTF(taskGraphName);
+            out.writeLong(timestamp);
+            out.writeLong(executionTime);
+
+            out.writeUTF(backend);
+            out.writeUTF(deviceName);
+            out.writeUTF(platformName);
+            out.writeUTF(deviceType);
+            out.writeLong(globalMemory);
+            out.writeLong(localMemory);
+
+            writeBytes(out, bytecode);
+
+            out.writeInt(objects.size());
+            for (RecordedObject object : objects) {
+                out.writeByte(object.kind);
+                out.writeChar(object.type);
+                out.writeInt(object.length);
+                writeBytes(out, object.data);
+            }
+            writeTransfers(out, inputs);
+            writeTransfers(out, outputs);
+
+            out.writeInt(tasks.size());
+            for (RecordedTask task : tasks) {
+                out.writeUTF(task.id);
+                out.writeUTF(task.className);
+                out.writeUTF(task.methodName);
+                out.writeUTF(task.parameterTypes);
+                writeInts(out, task.arguments);
+                writeLongs(out, task.globalWork);
+                writeLongs(out, task.localWork);
+                writeBytes(out, task.kernelSource == null ? null : task.kernelSource.getBytes(StandardCharsets.UTF_8));
+                out.writeLong(task.kernelTime);
+            }
+
+            out.writeInt(checksums.size());
+            for (Map.Entry<Integer, Long> checksum : checksums.entrySet()) {
+                out.writeInt(checksum.getKey());
+                out.writeLong(checksum.getValue());
+            }
+        }
+    }
+
+    public static ExecutionRecording read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC) {
+                throw new TornadoRuntimeException(file + " is not a TornadoVM execution recording");
+            }
+            short version = in.readShort();
+            if (version != VERSION) {
+                throw new TornadoRuntimeException("Unsupported recording version: " + version);
+            }
+            ExecutionRecording recording = new ExecutionRecording();
+            recording.taskGraphName = in.readUTF();
+            recording.timestamp = in.readLong();
+            recording.executionTime = in.readLong();
+
+            recording.backend = in.readUTF();
+            recording.deviceName = in.readUTF();
+            recording.platformName = in.readUTF();
+            recording.deviceType = in.readUTF();
+            recording.globalMemory = in.readLong();
+            recording.localMemory = in.readLong();
+
+            recording.bytecode = readBytes(in);
+
+            int numObjects = in.readInt();
+            for (int i = 0; i < numObjects; i++) {
+                byte kind = in.readByte();
+                char type = in.readChar();
+                int length = in.readInt();
+                recording.objects.add(new RecordedObject(kind, type, length, readBytes(in)));
+            }
+            readTransfers(in, recording.inputs);
+            readTransfers(in, recording.outputs);
+
+            int numTasks = in.readInt();
+            for (int i = 0; i < numTasks; i++) {
+                String id = in.readUTF();
+                String className = in.readUTF();
+                String methodName = in.readUTF();
+                String parameterTypes = in.readUTF();
+                int[] arguments = readInts(in);
+                long[] globalWork = readLongs(in);
+                long[] localWork = readLongs(in);
+                byte[] source = readBytes(in);
+                long kernelTime = in.readLong();
+                recording.tasks.add(new RecordedTask(id, className, methodName, parameterTypes, arguments, globalWork, localWork, source == null ? null : new String(source, StandardCharsets.UTF_8),
+                        kernelTime));
+            }
+
+            int numChecksums = in.readInt();
+            for (int i = 0; i < numChecksums; i++) {
+                recording.checksums.put(in.readInt(), in.readLong());
+            }
+            return recording;
+        }
+    }
+
+    private static void writeTransfers(DataOutputStream out, Map<Integer, Integer> transfers) throws IOException {
+        out.writeInt(transfers.size());
+        for (Map.Entry<Integer, Integer> transfer : transfers.entrySet()) {
+            out.writeInt(transfer.getKey());
+            out.writeInt(transfer.getValue());
+        }
+    }
+
+    private static void readTransfers(DataInputStream in, Map<Integer, Integer> transfers) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            transfers.put(in.readInt(), in.readInt());
+        }
+    }
+
+    // Arrays are prefixed by their length; -1 encodes null
+    private static void writeBytes(DataOutputStream out, byte[] values) throws IOException {
+        out.writeInt(values == null ? -1 : values.length);
+        if (values != null) {
+            out.write(values);
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] values = new byte[length];
+        in.readFully(values);
+        return values;
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        out.writeInt(values == null ? -1 : values.length);
+        if (values != null) {
+            for (long value : values) {
+                out.writeLong(value);
+            }
+        }
+    }
+
+    private static long[] readLongs(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        long[] values = new long[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+}
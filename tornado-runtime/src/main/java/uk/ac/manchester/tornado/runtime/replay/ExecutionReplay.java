@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.replay;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.WorkerGrid2D;
+import uk.ac.manchester.tornado.api.WorkerGrid3D;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
+import uk.ac.manchester.tornado.runtime.TornadoVM;
+import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
+import uk.ac.manchester.tornado.runtime.tasks.TornadoTaskGraph;
+
+/**
+ * Re-runs an {@link ExecutionRecording} and compares it with the recorded
+ * execution. The tasks are compiled again from their Java methods, so a
+ * recording can be replayed on any device, or on the JVM.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ *
+ * <p>
+ * <code>
+ * $ tornado --classpath app.jar uk.ac.manchester.tornado.runtime.replay.ExecutionReplay s0-1690000000000.tvmr [--device 0:1 | --jvm] [--warmup 10] [--iterations 100]
+ * </code>
+ * </p>
+ *
+ * The report includes the execution times, whether the TornadoVM bytecode and
+ * the generated kernels have changed, and whether the outputs match the
+ * recorded ones.
+ */
+public class ExecutionReplay {
+
+    private static final String PREFIX = "[REPLAY] ";
+
+    private final ExecutionRecording recording;
+    private final List<Object> objects;
+    private final List<Method> methods;
+    private int outputMismatches = -1;
+
+    public ExecutionReplay(ExecutionRecording recording) {
+        this.recording = recording;
+        this.objects = new ArrayList<>();
+        for (RecordedObject object : recording.objects) {
+            objects.add(object.restore());
+        }
+        this.methods = new ArrayList<>();
+        for (ExecutionRecording.RecordedTask task : recording.tasks) {
+            methods.add(resolveMethod(task));
+        }
+    }
+
+    private static Method resolveMethod(ExecutionRecording.RecordedTask task) {
+        try {
+            Class<?> klass = Class.forName(task.className, false, Thread.currentThread().getContextClassLoader());
+            for (Method method : klass.getDeclaredMethods()) {
+                if (method.getName().equals(task.methodName) && ExecutionRecorder.parameterTypes(method).equals(task.parameterTypes)) {
+                    method.setAccessible(true);
+                    return method;
+                }
+            }
+        } catch (ClassNotFoundException e) {
+            throw new TornadoRuntimeException("Class " + task.className + " of task " + task.id + " is not in the class path");
+        }
+        throw new TornadoRuntimeException("Method " + task.getMethod() + "(" + task.parameterTypes + ") of task " + task.id + " not found");
+    }
+
+    private Object[] getArguments(ExecutionRecording.RecordedTask task) {
+        return Arrays.stream(task.arguments).mapToObj(objects::get).toArray();
+    }
+
+    private GridScheduler createGridScheduler() {
+        GridScheduler gridScheduler = null;
+        for (ExecutionRecording.RecordedTask task : recording.tasks) {
+            if (task.globalWork == null) {
+                continue;
+            }
+            long[] global = task.globalWork;
+            WorkerGrid grid;
+            switch (global.length) {
+                case 1:
+                    grid = new WorkerGrid1D((int) global[0]);
+                    break;
+                case 2:
+                    grid = new WorkerGrid2D((int) global[0], (int) global[1]);
+                    break;
+                default:
+                    grid = new WorkerGrid3D((int) global[0], (int) global[1], (int) global[2]);
+                    break;
+            }
+            if (task.localWork != null) {
+                long[] local = Arrays.copyOf(task.localWork, 3);
+                grid.setLocalWork(Math.max(1, local[0]), Math.max(1, local[1]), Math.max(1, local[2]));
+            }
+            if (gridScheduler == null) {
+                gridScheduler = new GridScheduler();
+            }
+            gridScheduler.setWorkerGrid(task.id, grid);
+        }
+        return gridScheduler;
+    }
+
+    private TornadoTaskGraph createTaskGraph(TornadoDevice device) {
+        TornadoTaskGraph taskGraph = new TornadoTaskGraph(recording.taskGraphName);
+        for (Map.Entry<Integer, Integer> input : recording.inputs.entrySet()) {
+            taskGraph.transferToDevice(input.getValue(), objects.get(input.getKey()));
+        }
+        for (int i = 0; i < recording.tasks.size(); i++) {
+            ExecutionRecording.RecordedTask task = recording.tasks.get(i);
+            String id = task.id.substring(recording.taskGraphName.length() + 1);
+            taskGraph.addInner(new CompilableTask(taskGraph.meta(), id, methods.get(i), getArguments(task)));
+        }
+        for (Map.Entry<Integer, Integer> output : recording.outputs.entrySet()) {
+            taskGraph.transferToHost(output.getValue(), objects.get(output.getKey()));
+        }
+        if (device != null) {
+            taskGraph.setDevice(device);
+        }
+        return taskGraph;
+    }
+
+    /**
+     * Replays the recording on a device.
+     *
+     * @param device
+     *            device to use, or {@code null} for the default device.
+     * @return execution time of each iteration, in nanoseconds.
+     */
+    public long[] runOnDevice(TornadoDevice device, int warmup, int iterations) {
+        TornadoTaskGraph taskGraph = createTaskGraph(device);
+        GridScheduler gridScheduler = createGridScheduler();
+        long[] times = new long[iterations];
+        for (int i = 0; i < warmup + iterations; i++) {
+            long start = System.nanoTime();
+            if (gridScheduler != null) {
+                taskGraph.schedule(gridScheduler).waitOn();
+            } else {
+                taskGraph.schedule().waitOn();
+            }
+            long end = System.nanoTime();
+            if (i == 0) {
+                reportCode(taskGraph);
+                reportOutputs();
+            }
+            if (i >= warmup) {
+                times[i - warmup] = end - start;
+            }
+        }
+        if (taskGraph.getDeviceKernelTime() > 0) {
+            long recordedKernelTime = recording.tasks.stream().mapToLong(task -> task.kernelTime).sum();
+            System.out.printf(PREFIX + "kernel time: recorded %d ns, replay %d ns (last iteration)%n", recordedKernelTime, taskGraph.getDeviceKernelTime());
+        }
+        return times;
+    }
+
+    /**
+     * Replays the recording on the JVM, running the task methods sequentially.
+     *
+     * @return execution time of each iteration, in nanoseconds.
+     */
+    public long[] runOnJVM(int warmup, int iterations) {
+        long[] times = new long[iterations];
+        for (int i = 0; i < warmup + iterations; i++) {
+            long start = System.nanoTime();
+            for (int t = 0; t < recording.tasks.size(); t++) {
+                invoke(methods.get(t), getArguments(recording.tasks.get(t)));
+            }
+            long end = System.nanoTime();
+            if (i == 0) {
+                reportOutputs();
+            }
+            if (i >= warmup) {
+                times[i - warmup] = end - start;
+            }
+        }
+        return times;
+    }
+
+    private static void invoke(Method method, Object[] arguments) {
+        if (Arrays.stream(arguments).anyMatch(KernelContext.class::isInstance)) {
+            throw new TornadoRuntimeException("Method " + method.getName() + " uses a KernelContext and cannot run on the JVM");
+        }
+        try {
+            if (Modifier.isStatic(method.getModifiers())) {
+                method.invoke(null, arguments);
+            } else {
+                method.invoke(arguments[0], Arrays.copyOfRange(arguments, 1, arguments.length));
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new TornadoRuntimeException(e);
+        }
+    }
+
+    private void reportCode(TornadoTaskGraph taskGraph) {
+        TornadoVM vm = taskGraph.getTornadoVM();
+        if (vm == null) {
+            return;
+        }
+        System.out.println(PREFIX + "bytecode: " + (Arrays.equals(recording.bytecode, vm.getBytecode()) ? "identical" : "changed"));
+        for (int i = 0; i < recording.tasks.size(); i++) {
+            ExecutionRecording.RecordedTask task = recording.tasks.get(i);
+            String source = vm.getGeneratedSourceCode(i);
+            String status = task.kernelSource == null || source == null ? "not available" : (task.kernelSource.equals(source) ? "identical" : "changed");
+            System.out.println(PREFIX + "kernel of " + task.id + " (" + task.getMethod() + "): " + status);
+        }
+    }
+
+    private void reportOutputs() {
+        if (recording.checksums.isEmpty()) {
+            return;
+        }
+        if (recording.hasTruncatedInputs()) {
+            System.out.println(PREFIX + "outputs: not comparable, the inputs were truncated");
+            return;
+        }
+        int mismatches = 0;
+        for (Map.Entry<Integer, Long> checksum : recording.checksums.entrySet()) {
+            if (!Objects.equals(checksum.getValue(), RecordedObject.checksum(objects.get(checksum.getKey())))) {
+                mismatches++;
+            }
+        }
+        outputMismatches = mismatches;
+        System.out.println(PREFIX + "outputs: " + (mismatches == 0 ? "match the recording" : mismatches + " of " + recording.checksums.size() + " differ from the recording"));
+    }
+
+    /**
+     * @return number of checksummed outputs of the first replayed iteration that
+     *         differ from the recording, or -1 if they could not be compared.
+     */
+    public int getOutputMismatches() {
+        return outputMismatches;
+    }
+
+    /**
+     * Replays a recording once on the default device and compares its outputs.
+     *
+     * @param file
+     *            recording written by {@link ExecutionRecorder}.
+     * @return number of outputs that differ from the recording, or -1 if they
+     *         could not be compared.
+     */
+    public static int verify(Path file) throws IOException {
+        ExecutionReplay replay = new ExecutionReplay(ExecutionRecording.read(file));
+        replay.runOnDevice(null, 0, 1);
+        return replay.getOutputMismatches();
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: ExecutionReplay <recording.tvmr> [--device <driver>:<device> | --jvm] [--warmup <n>] [--iterations <n>]");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            printUsage();
+            return;
+        }
+        String file = args[0];
+        String device = null;
+        boolean jvm = false;
+        int warmup = 10;
+        int iterations = 100;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--device":
+                    device = args[++i];
+                    break;
+                case "--jvm":
+                    jvm = true;
+                    break;
+                case "--warmup":
+                    warmup = Integer.parseInt(args[++i]);
+                    break;
+                case "--iterations":
+                    iterations = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    printUsage();
+                    return;
+            }
+        }
+
+        ExecutionRecording recording = ExecutionRecording.read(Paths.get(file));
+        System.out.printf(PREFIX + "%s recorded on %s (%s, %s) with %d tasks%s%n", recording.taskGraphName, recording.deviceName, recording.backend, recording.platformName, recording.tasks.size(),
+                recording.hasTruncatedInputs() ? ", inputs truncated" : "");
+
+        ExecutionReplay replay = new ExecutionReplay(recording);
+        long[] times;
+        if (jvm) {
+            System.out.println(PREFIX + "replaying on the JVM");
+            times = replay.runOnJVM(warmup, iterations);
+        } else {
+            TornadoDevice tornadoDevice = null;
+            if (device != null) {
+                String[] indices = device.split(":");
+                tornadoDevice = TornadoCoreRuntime.getTornadoRuntime().getDriver(Integer.parseInt(indices[0])).getDevice(Integer.parseInt(indices[1]));
+            }
+            System.out.println(PREFIX + "replaying on " + (tornadoDevice != null ? tornadoDevice.getDeviceName() : "the default device"));
+            times = replay.runOnDevice(tornadoDevice, warmup, iterations);
+        }
+
+        if (times.length > 0) {
+            long min = Arrays.stream(times).min().getAsLong();
+            double mean = Arrays.stream(times).average().getAsDouble();
+            System.out.printf(PREFIX + "execution time: recorded %d ns, replay mean %.0f ns, min %d ns, ratio %.2fx%n", recording.executionTime, mean, min, mean / recording.executionTime);
+        }
+    }
+}
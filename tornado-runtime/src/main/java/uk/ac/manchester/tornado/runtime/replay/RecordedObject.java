@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.replay;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+
+/**
+ * Encodes the arguments of a task graph as bytes, and decodes them back into
+ * new objects. Primitive arrays are stored as raw little-endian data and can be
+ * truncated. Other {@link Serializable} objects, such as the TornadoVM vector
+ * and matrix types, are stored with Java serialization.
+ */
+final class RecordedObject {
+
+    static final byte NULL = 0;
+    static final byte BOXED = 1;
+    static final byte ARRAY = 2;
+    static final byte KERNEL_CONTEXT = 3;
+    static final byte SERIALIZED = 4;
+
+    final byte kind;
+    final char type;
+    final int length;
+    final byte[] data;
+
+    RecordedObject(byte kind, char type, int length, byte[] data) {
+        this.kind = kind;
+        this.type = type;
+        this.length = length;
+        this.data = data;
+    }
+
+    /**
+     * @return true if only a prefix of the array was recorded.
+     */
+    boolean isTruncated() {
+        return kind == ARRAY && data.length < length * sizeOf(type);
+    }
+
+    /**
+     * Takes a snapshot of an object.
+     *
+     * @param object
+     *            argument of a task.
+     * @param maxBytes
+     *            maximum number of bytes recorded for a primitive array, or a
+     *            negative value to record the whole array.
+     */
+    static RecordedObject snapshot(Object object, int maxBytes) {
+        if (object == null) {
+            return new RecordedObject(NULL, ' ', 0, new byte[0]);
+        }
+        Class<?> klass = object.getClass();
+        if (klass.isArray() && klass.getComponentType().isPrimitive()) {
+            char type = typeOf(klass.getComponentType());
+            int length = Array.getLength(object);
+            int numElements = maxBytes < 0 ? length : Math.min(length, maxBytes / sizeOf(type));
+            return new RecordedObject(ARRAY, type, length, toBytes(object, type, numElements));
+        } else if (isBoxed(klass)) {
+            char type = typeOf(unbox(klass));
+            Object array = Array.newInstance(unbox(klass), 1);
+            Array.set(array, 0, object);
+            return new RecordedObject(BOXED, type, 1, toBytes(array, type, 1));
+        } else if (object instanceof KernelContext) {
+            return new RecordedObject(KERNEL_CONTEXT, ' ', 0, new byte[0]);
+        } else if (object instanceof Serializable) {
+            return new RecordedObject(SERIALIZED, ' ', 0, serialize(object));
+        }
+        throw new TornadoRuntimeException("Objects of type " + klass.getName() + " cannot be recorded");
+    }
+
+    /**
+     * Creates a new object with the recorded contents. The elements beyond a
+     * truncated prefix repeat the prefix, so the object keeps its original size.
+     */
+    Object restore() {
+        switch (kind) {
+            case NULL:
+                return null;
+            case BOXED:
+                return Array.get(fromBytes(type, 1, data), 0);
+            case ARRAY:
+                return fromBytes(type, length, data);
+            case KERNEL_CONTEXT:
+                return new KernelContext();
+            case SERIALIZED:
+                return deserialize(data);
+            default:
+                throw new TornadoRuntimeException("Unknown kind of recorded object: " + kind);
+        }
+    }
+
+    /**
+     * @return CRC-32 of the whole contents of an object, used to compare the
+     *         outputs of a recording and its replay.
+     */
+    static long checksum(Object object) {
+        CRC32 crc = new CRC32();
+        crc.update(snapshot(object, -1).data);
+        return crc.getValue();
+    }
+
+    private static boolean isBoxed(Class<?> klass) {
+        return klass == Integer.class || klass == Long.class || klass == Float.class || klass == Double.class || klass == Short.class || klass == Byte.class || klass == Character.class
+                || klass == Boolean.class;
+    }
+
+    private static Class<?> unbox(Class<?> klass) {
+        try {
+            return (Class<?>) klass.getField("TYPE").get(null);
+        } catch (ReflectiveOperationException e) {
+            throw new TornadoRuntimeException(e);
+        }
+    }
+
+    private static char typeOf(Class<?> primitive) {
+        if (primitive == int.class) {
+            return 'I';
+        } else if (primitive == long.class) {
+            return 'J';
+        } else if (primitive == float.class) {
+            return 'F';
+        } else if (primitive == double.class) {
+            return 'D';
+        } else if (primitive == short.class) {
+            return 'S';
+        } else if (primitive == byte.class) {
+            return 'B';
+        } else if (primitive == char.class) {
+            return 'C';
+        } else if (primitive == boolean.class) {
+            return 'Z';
+        }
+        throw new TornadoRuntimeException("Unsupported primitive type: " + primitive);
+    }
+
+    private static int sizeOf(char type) {
+        switch (type) {
+            case 'J':
+            case 'D':
+                return 8;
+            case 'I':
+            case 'F':
+                return 4;
+            case 'S':
+            case 'C':
+                return 2;
+            default:
+                return 1;
+        }
+    }
+
+    private static byte[] toBytes(Object array, char type, int numElements) {
+        ByteBuffer buffer = ByteBuffer.allocate(numElements * sizeOf(type)).order(ByteOrder.LITTLE_ENDIAN);
+        switch (type) {
+            case 'I':
+                buffer.asIntBuffer().put((int[]) array, 0, numElements);
+                break;
+            case 'J':
+                buffer.asLongBuffer().put((long[]) array, 0, numElements);
+                break;
+            case 'F':
+                buffer.asFloatBuffer().put((float[]) array, 0, numElements);
+                break;
+            case 'D':
+                buffer.asDoubleBuffer().put((double[]) array, 0, numElements);
+                break;
+            case 'S':
+                buffer.asShortBuffer().put((short[]) array, 0, numElements);
+                break;
+            case 'C':
+                buffer.asCharBuffer().put((char[]) array, 0, numElements);
+                break;
+            case 'B':
+                buffer.put((byte[]) array, 0, numElements);
+                break;
+            case 'Z':
+                boolean[] booleans = (boolean[]) array;
+                for (int i = 0; i < numElements; i++) {
+                    buffer.put((byte) (booleans[i] ? 1 : 0));
+                }
+                break;
+            default:
+                throw new TornadoRuntimeException("Unsupported array type: " + type);
+        }
+        return buffer.array();
+    }
+
+    private static Object fromBytes(char type, int length, byte[] data) {
+        int numRecorded = data.length / sizeOf(type);
+        ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        Object array;
+        switch (type) {
+            case 'I':
+                array = new int[length];
+                buffer.asIntBuffer().get((int[]) array, 0, numRecorded);
+                break;
+            case 'J':
+                array = new long[length];
+                buffer.asLongBuffer().get((long[]) array, 0, numRecorded);
+                break;
+            case 'F':
+                array = new float[length];
+                buffer.asFloatBuffer().get((float[]) array, 0, numRecorded);
+                break;
+            case 'D':
+                array = new double[length];
+                buffer.asDoubleBuffer().get((double[]) array, 0, numRecorded);
+                break;
+            case 'S':
+                array = new short[length];
+                buffer.asShortBuffer().get((short[]) array, 0, numRecorded);
+                break;
+            case 'C':
+                array = new char[length];
+                buffer.asCharBuffer().get((char[]) array, 0, numRecorded);
+                break;
+            case 'B':
+                array = new byte[length];
+                buffer.get((byte[]) array, 0, numRecorded);
+                break;
+            case 'Z':
+                array = new boolean[length];
+                for (int i = 0; i < numRecorded; i++) {
+                    ((boolean[]) array)[i] = data[i] != 0;
+                }
+                break;
+            default:
+                throw new TornadoRuntimeException("Unsupported array type: " + type);
+        }
+        if (numRecorded > 0) {
+            for (int i = numRecorded; i < length; i += numRecorded) {
+                System.arraycopy(array, 0, array, i, Math.min(numRecorded, length - i));
+            }
+        }
+        return array;
+    }
+
+    private static byte[] serialize(Object object) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream stream = new ObjectOutputStream(bytes)) {
+            stream.writeObject(object);
+        } catch (IOException e) {
+            throw new TornadoRuntimeException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] data) {
+        try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return stream.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new TornadoRuntimeException(e);
+        }
+    }
+}
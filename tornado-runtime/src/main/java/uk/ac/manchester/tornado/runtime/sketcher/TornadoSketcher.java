@@ -73,6 +73,7 @@ import uk.ac.manchester.tornado.runtime.common.Tornado;
 import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoCompilerIdentifier;
 import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSketchTier;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoSketchTierContext;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.TornadoSketchEvent;
 
 public class TornadoSketcher {
 
@@ -182,10 +183,19 @@ public class TornadoSketcher {
 
         @Override
         public Sketch call() throws Exception {
+            TornadoSketchEvent sketchEvent = new TornadoSketchEvent();
+            sketchEvent.begin();
             try (DebugContext.Scope ignored = getDebugContext().scope("SketchCompiler")) {
                 return buildSketch(request.resolvedMethod, request.providers, request.graphBuilderSuite, request.sketchTier, request.driverIndex, request.deviceIndex);
             } catch (Throwable e) {
                 throw getDebugContext().handle(e);
+            } finally {
+                if (sketchEvent.shouldCommit()) {
+                    sketchEvent.methodName = request.resolvedMethod.format("%H.%n(%p)");
+                    sketchEvent.driverIndex = request.driverIndex;
+                    sketchEvent.deviceIndex = request.deviceIndex;
+                    sketchEvent.commit();
+                }
             }
         }
     }
@@ -27,6 +27,7 @@ package uk.ac.manchester.tornado.runtime.tasks;
 
 import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getTornadoRuntime;
 
+import uk.ac.manchester.tornado.api.common.ArraySlice;
 import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
 import uk.ac.manchester.tornado.runtime.common.DeviceObjectState;
@@ -36,6 +37,8 @@ public class LocalObjectState {
     private boolean streamIn;
     private boolean forceStreamIn;
     private boolean streamOut;
+    private ArraySlice inputSlice;
+    private ArraySlice outputSlice;
 
     private final GlobalObjectState global;
 
@@ -69,6 +72,30 @@ public class LocalObjectState {
         this.streamOut = streamOut;
     }
 
+    /**
+     * @return the range of the object that is copied in once the object is
+     *         present on the device, or null to copy the whole object.
+     */
+    public ArraySlice getInputSlice() {
+        return inputSlice;
+    }
+
+    public void setInputSlice(ArraySlice slice) {
+        this.inputSlice = slice;
+    }
+
+    /**
+     * @return the range of the object written by the tasks, which is the only
+     *         part copied out, or null to copy out the whole object.
+     */
+    public ArraySlice getOutputSlice() {
+        return outputSlice;
+    }
+
+    public void setOutputSlice(ArraySlice slice) {
+        this.outputSlice = slice;
+    }
+
     public GlobalObjectState getGlobalState() {
         return global;
     }
@@ -344,7 +344,7 @@ class ReduceTaskGraph {
 
             for (StreamingObject so : inputModeObjects) {
                 if (so.getMode() == DataTransferMode.FIRST_EXECUTION) {
-                    TornadoTaskGraph.performStreamInObject(rewrittenTaskGraph, so.getObject(), DataTransferMode.FIRST_EXECUTION);
+                    TornadoTaskGraph.performStreamInObject(rewrittenTaskGraph, so.getTransferObject(), DataTransferMode.FIRST_EXECUTION);
                 }
             }
 
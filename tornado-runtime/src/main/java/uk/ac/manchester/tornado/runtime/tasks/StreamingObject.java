@@ -1,12 +1,21 @@
 package uk.ac.manchester.tornado.runtime.tasks;
 
+import uk.ac.manchester.tornado.api.common.ArraySlice;
+
 public class StreamingObject {
     final int mode;
     Object object;
+    // Range of the array that is transferred, null for the whole object
+    final ArraySlice slice;
 
     public StreamingObject(final int mode, Object object) {
+        this(mode, object, null);
+    }
+
+    public StreamingObject(final int mode, Object object, ArraySlice slice) {
         this.mode = mode;
         this.object = object;
+        this.slice = slice;
     }
 
     public Object getObject() {
@@ -16,4 +25,17 @@ public class StreamingObject {
     public int getMode() {
         return mode;
     }
-}
\ No newline at end of file
+
+    public ArraySlice getSlice() {
+        return slice;
+    }
+
+    /**
+     * @return the parameter to pass to {@code transferToDevice} or
+     *         {@code transferToHost} to register this transfer again: the slice if
+     *         there is one, otherwise the object.
+     */
+    public Object getTransferObject() {
+        return (slice != null) ? slice : object;
+    }
+}
@@ -24,6 +24,9 @@
 package uk.ac.manchester.tornado.runtime.tasks;
 
 import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
@@ -35,6 +38,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -58,8 +62,11 @@ import uk.ac.manchester.tornado.api.TaskGraph;
 import uk.ac.manchester.tornado.api.TornadoDriver;
 import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
 import uk.ac.manchester.tornado.api.TornadoTaskGraphInterface;
+import uk.ac.manchester.tornado.api.collections.layout.StructOfArrays;
 import uk.ac.manchester.tornado.api.common.Access;
+import uk.ac.manchester.tornado.api.common.ArraySlice;
 import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.common.PackedIntArray;
 import uk.ac.manchester.tornado.api.common.SchedulableTask;
 import uk.ac.manchester.tornado.api.common.TaskPackage;
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
@@ -95,6 +102,7 @@ import uk.ac.manchester.tornado.runtime.TornadoVM;
 import uk.ac.manchester.tornado.runtime.analyzer.MetaReduceCodeAnalysis;
 import uk.ac.manchester.tornado.runtime.analyzer.ReduceCodeAnalysis;
 import uk.ac.manchester.tornado.runtime.analyzer.TaskUtils;
+import uk.ac.manchester.tornado.runtime.common.DeviceMemoryManager;
 import uk.ac.manchester.tornado.runtime.common.DeviceObjectState;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
@@ -108,8 +116,14 @@ import uk.ac.manchester.tornado.runtime.graph.TornadoGraphBuilder;
 import uk.ac.manchester.tornado.runtime.graph.TornadoVMGraphCompilationResult;
 import uk.ac.manchester.tornado.runtime.graph.TornadoVMGraphCompiler;
 import uk.ac.manchester.tornado.runtime.graph.nodes.ContextNode;
+import uk.ac.manchester.tornado.runtime.metrics.TornadoMetrics;
+import uk.ac.manchester.tornado.runtime.profiler.DevicePeaks;
 import uk.ac.manchester.tornado.runtime.profiler.EmptyProfiler;
+import uk.ac.manchester.tornado.runtime.profiler.RooflineReport;
 import uk.ac.manchester.tornado.runtime.profiler.TimeProfiler;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.TornadoFlightRecorder;
+import uk.ac.manchester.tornado.runtime.replay.ExecutionRecorder;
+import uk.ac.manchester.tornado.runtime.replay.ExecutionRecording;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
 import uk.ac.manchester.tornado.runtime.sketcher.SketchRequest;
 import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
@@ -165,11 +179,18 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     private List<StreamingObject> inputModesObjects; // List of objects with its data transfer mode (IN)
 
     private List<StreamingObject> outputModeObjects; // List of objects with its data transfer mode (OUT)
+
+    private List<StreamingObject> packedInputs; // Compressed inputs, encoded on the host before each execution
+    private List<StreamingObject> structOfArraysInputs; // Value objects transposed into columns before each transfer
+    private List<StreamingObject> structOfArraysOutputs; // Columns transposed back into value objects after each execution
     private ConcurrentHashMap<Policy, Integer> policyTimeTable = new ConcurrentHashMap<>();
     private ConcurrentHashMap<Integer, ArrayList<Object>> multiHeapManagerOutputs = new ConcurrentHashMap<>();
     private ConcurrentHashMap<Integer, ArrayList<Object>> multiHeapManagerInputs = new ConcurrentHashMap<>();
     private ConcurrentHashMap<Integer, TaskGraph> taskGraphIndex = new ConcurrentHashMap<>();
     private StringBuilder bufferLogProfiler = new StringBuilder();
+    private ExecutionRecording pendingRecording; // Recording whose outputs are checksummed after the next waitOn
+    private final Map<DeviceObjectState, BoundBuffer> boundBuffers = new IdentityHashMap<>(); // Device buffers of the bound objects
+    private final ReferenceQueue<Object> collectedBoundObjects = new ReferenceQueue<>();
     private CachedGraph<?> graph;
     /**
      * Options for new reductions - experimental
@@ -203,6 +224,9 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         streamInObjects = new ArrayList<>();
         inputModesObjects = new ArrayList<>();
         outputModeObjects = new ArrayList<>();
+        packedInputs = new ArrayList<>();
+        structOfArraysInputs = new ArrayList<>();
+        structOfArraysOutputs = new ArrayList<>();
     }
 
     static void performStreamInObject(TaskGraph task, Object inputObject, final int dataTransferMode) {
@@ -343,6 +367,14 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         }
     }
 
+    /**
+     * @return the TornadoVM instance used by the last execution, or {@code null}
+     *         if the task graph has not been executed.
+     */
+    public TornadoVM getTornadoVM() {
+        return vm;
+    }
+
     @Override
     public String getTaskGraphName() {
         return taskGraphName;
@@ -402,6 +434,11 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         executionContext.setDefaultThreadScheduler(use);
     }
 
+    @Override
+    public void useGraphCapture(boolean use) {
+        executionContext.setGraphCapture(use);
+    }
+
     @Override
     public boolean isFinished() {
         return this.isFinished;
@@ -419,6 +456,9 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         tornadoTaskGraph.inputModesObjects = Collections.unmodifiableList(this.inputModesObjects);
         tornadoTaskGraph.streamInObjects = Collections.unmodifiableList(this.streamInObjects);
         tornadoTaskGraph.outputModeObjects = Collections.unmodifiableList(this.outputModeObjects);
+        tornadoTaskGraph.packedInputs = Collections.unmodifiableList(this.packedInputs);
+        tornadoTaskGraph.structOfArraysInputs = Collections.unmodifiableList(this.structOfArraysInputs);
+        tornadoTaskGraph.structOfArraysOutputs = Collections.unmodifiableList(this.structOfArraysOutputs);
 
         tornadoTaskGraph.streamOutObjects = Collections.unmodifiableList(this.streamOutObjects);
         tornadoTaskGraph.hlBuffer = this.hlBuffer;
@@ -767,6 +807,10 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             String jsonFile = timeProfiler.createJson(new StringBuffer(), this.getId());
             RuntimeUtilities.profilerFileWriter(jsonFile);
         }
+
+        if (TornadoOptions.ROOFLINE_REPORT && !DevicePeaks.isMeasuring()) {
+            RooflineReport.report(executionContext.getTasks(), timeProfiler);
+        }
     }
 
     private void dumpDeoptReason(TornadoBailoutRuntimeException e) {
@@ -788,17 +832,36 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     @Override
     public void scheduleInner() {
+        final long startTime = System.nanoTime();
+        final ExecutionRecording recording = ExecutionRecorder.shouldRecord(getTaskGraphName())
+                ? ExecutionRecorder.begin(getTaskGraphName(), executionContext.getTasks(), inputModesObjects, outputModeObjects)
+                : null;
+        packInputs();
         boolean compile = compileToTornadoVMBytecode();
         TornadoAcceleratorDevice deviceForTask = executionContext.getDeviceForTask(0);
         if (compile && deviceForTask.getDeviceContext().isPlatformFPGA()) {
             preCompilationForFPGA();
         }
 
+        DeviceMemoryManager memoryManager = DeviceMemoryManager.getInstance();
+        memoryManager.beginExecution(this);
         try {
             event = vm.execute();
             timeProfiler.stop(ProfilerType.TOTAL_TASK_GRAPH_TIME);
             updateProfiler();
+            recordDeviceBuffersInUse(memoryManager);
+            if (recording != null) {
+                ExecutionRecorder.end(recording, vm, executionContext.getTasks(), timeProfiler, System.nanoTime() - startTime);
+                // The outputs are checksummed in waitOn, once they are on the host
+                pendingRecording = recording;
+            }
+            if (TornadoMetrics.isEnabled()) {
+                TornadoMetrics.recordExecution(getTaskGraphName(), deviceForTask.getDeviceName(), System.nanoTime() - startTime, timeProfiler);
+            }
         } catch (TornadoBailoutRuntimeException e) {
+            if (TornadoMetrics.isEnabled()) {
+                TornadoMetrics.incrementBailouts(getTaskGraphName(), deviceForTask.getDeviceName());
+            }
             if (TornadoOptions.RECOVER_BAILOUT) {
                 deoptimizeToSequentialJava(e);
             } else {
@@ -809,6 +872,201 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             }
         } catch (TornadoDeviceFP64NotSupported e) {
             throw e;
+        } finally {
+            memoryManager.endExecution(this);
+        }
+    }
+
+    @Override
+    public void executeConcurrent(GridScheduler gridScheduler, Map<Object, Object> userBindings) {
+        final Map<Object, Object> bindings = new IdentityHashMap<>(userBindings);
+        TornadoVM executor;
+        synchronized (this) {
+            if (vm == null || bailout) {
+                // The first execution compiles the task-graph with its own objects
+                TornadoTaskGraphInterface executionGraph = (gridScheduler == null) ? schedule() : schedule(gridScheduler);
+                executionGraph.waitOn();
+                if (bindings.isEmpty()) {
+                    return;
+                }
+                if (bailout) {
+                    throw new TornadoRuntimeException("Bound objects are not supported after a bailout of task-graph " + getTaskGraphName());
+                }
+            }
+            checkBindings(bindings);
+            packInputs();
+            executor = vm;
+        }
+
+        final long startTime = System.nanoTime();
+        final TornadoAcceleratorDevice device = meta().getLogicDevice();
+        // The recording refers to the objects of the task-graph, so invocations with bound objects are not recorded
+        final ExecutionRecording recording = bindings.isEmpty() && ExecutionRecorder.shouldRecord(getTaskGraphName())
+                ? ExecutionRecorder.begin(getTaskGraphName(), executionContext.getTasks(), inputModesObjects, outputModeObjects)
+                : null;
+        lockBoundObjects(bindings, device);
+        DeviceMemoryManager memoryManager = DeviceMemoryManager.getInstance();
+        memoryManager.beginExecution(this);
+        try {
+            executor.execute(bindings);
+            executor.sync();
+            synchronized (this) {
+                // The value objects are shared by all the executions of the task-graph
+                unpackOutputs();
+            }
+            recordDeviceBuffersInUse(memoryManager, bindings);
+            if (recording != null) {
+                ExecutionRecorder.end(recording, executor, executionContext.getTasks(), timeProfiler, System.nanoTime() - startTime);
+                ExecutionRecorder.complete(recording);
+            }
+            if (TornadoMetrics.isEnabled()) {
+                TornadoMetrics.recordExecution(getTaskGraphName(), device.getDeviceName(), System.nanoTime() - startTime, timeProfiler);
+            }
+        } catch (TornadoBailoutRuntimeException e) {
+            if (TornadoMetrics.isEnabled()) {
+                TornadoMetrics.incrementBailouts(getTaskGraphName(), device.getDeviceName());
+            }
+            if (!TornadoOptions.RECOVER_BAILOUT || !bindings.isEmpty()) {
+                throw new TornadoBailoutRuntimeException("Bailout is disabled. \nReason: " + e.getMessage());
+            }
+            synchronized (this) {
+                deoptimizeToSequentialJava(e);
+            }
+        } finally {
+            memoryManager.endExecution(this);
+        }
+    }
+
+    /**
+     * Checks that every bound object replaces an object of this task-graph with
+     * one of the same type and size.
+     */
+    private void checkBindings(Map<Object, Object> bindings) {
+        final Set<Object> graphObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+        graphObjects.addAll(executionContext.getObjects());
+        for (Map.Entry<Object, Object> binding : bindings.entrySet()) {
+            final Object object = binding.getKey();
+            final Object bound = binding.getValue();
+            if (!graphObjects.contains(object)) {
+                throw new TornadoRuntimeException("Object " + object + " is not used by task-graph " + getTaskGraphName());
+            }
+            if (bound == null || bound.getClass() != object.getClass()) {
+                throw new TornadoRuntimeException("Object " + object + " must be bound to an object of type " + object.getClass().getName());
+            }
+            if (object instanceof KernelContext || object instanceof PackedIntArray || object instanceof StructOfArrays) {
+                throw new TornadoRuntimeException("Objects of type " + object.getClass().getName() + " cannot be bound");
+            }
+            if (object.getClass().isArray() && Array.getLength(bound) != Array.getLength(object)) {
+                throw new TornadoRuntimeException("Object " + object + " must be bound to an array of length " + Array.getLength(object));
+            }
+        }
+    }
+
+    /**
+     * Device buffer kept for an object bound to a concurrent execution. The
+     * task-graph owns the buffer until the bound object is collected or the
+     * device memory of the task-graph is freed.
+     */
+    private static final class BoundBuffer extends WeakReference<Object> {
+        private final DeviceObjectState state;
+        private final TornadoAcceleratorDevice device;
+
+        private BoundBuffer(Object bound, DeviceObjectState state, TornadoAcceleratorDevice device, ReferenceQueue<Object> queue) {
+            super(bound, queue);
+            this.state = state;
+            this.device = device;
+        }
+    }
+
+    /**
+     * Keeps the buffers of the bound objects on the device when those of the
+     * objects they replace are kept, so their transfer modes behave the same.
+     */
+    private void lockBoundObjects(Map<Object, Object> bindings, TornadoAcceleratorDevice device) {
+        releaseCollectedBoundObjects();
+        for (Map.Entry<Object, Object> binding : bindings.entrySet()) {
+            final DeviceObjectState objectState = executionContext.getObjectState(binding.getKey()).getGlobalState().getDeviceState(device);
+            if (objectState.isLockedBuffer()) {
+                final Object bound = binding.getValue();
+                final DeviceObjectState boundState = TornadoCoreRuntime.getTornadoRuntime().resolveObject(bound).getDeviceState(device);
+                boundState.setLockBuffer(true);
+                synchronized (boundBuffers) {
+                    boundBuffers.computeIfAbsent(boundState, state -> new BoundBuffer(bound, state, device, collectedBoundObjects));
+                }
+            }
+        }
+    }
+
+    /**
+     * Releases the device buffers of the bound objects that have been collected.
+     */
+    private void releaseCollectedBoundObjects() {
+        Reference<?> reference;
+        while ((reference = collectedBoundObjects.poll()) != null) {
+            final BoundBuffer buffer = (BoundBuffer) reference;
+            synchronized (boundBuffers) {
+                if (boundBuffers.remove(buffer.state) != buffer) {
+                    continue;
+                }
+            }
+            releaseObjectFromDeviceMemory(buffer.state, buffer.device);
+        }
+    }
+
+    /**
+     * Encodes the compressed inputs and transposes the value objects that are
+     * transferred in this execution.
+     */
+    private void packInputs() {
+        for (StreamingObject streamingObject : packedInputs) {
+            PackedIntArray packedArray = (PackedIntArray) streamingObject.getObject();
+            if (streamingObject.getMode() == DataTransferMode.EVERY_EXECUTION || !packedArray.isPacked()) {
+                packedArray.pack();
+            }
+        }
+        // Bound structures-of-arrays are packed on creation, which covers FIRST_EXECUTION
+        for (StreamingObject streamingObject : structOfArraysInputs) {
+            if (streamingObject.getMode() == DataTransferMode.EVERY_EXECUTION) {
+                ((StructOfArrays<?>) streamingObject.getObject()).packSource();
+            }
+        }
+    }
+
+    /**
+     * Copies the columns transferred back to the host into their value objects.
+     * Columns in {@link DataTransferMode#USER_DEFINED} mode are only copied on
+     * demand, so they are left untouched.
+     */
+    private void unpackOutputs() {
+        for (StreamingObject streamingObject : structOfArraysOutputs) {
+            if (streamingObject.getMode() != DataTransferMode.USER_DEFINED) {
+                ((StructOfArrays<?>) streamingObject.getObject()).unpackSource();
+            }
+        }
+    }
+
+    /**
+     * Registers the buffers kept on the device after an execution, so they can be
+     * spilled to the host if another task graph runs out of device memory.
+     */
+    private void recordDeviceBuffersInUse(DeviceMemoryManager memoryManager) {
+        recordDeviceBuffersInUse(memoryManager, Collections.emptyMap());
+    }
+
+    private void recordDeviceBuffersInUse(DeviceMemoryManager memoryManager, Map<Object, Object> bindings) {
+        final TornadoAcceleratorDevice device = meta().getLogicDevice();
+        for (Object object : executionContext.getObjects()) {
+            if (object == null || object instanceof KernelContext) {
+                continue;
+            }
+            final Object bound = bindings.get(object);
+            final Object used = (bound != null) ? bound : object;
+            final DeviceObjectState deviceState = (bound != null) //
+                    ? TornadoCoreRuntime.getTornadoRuntime().resolveObject(bound).getDeviceState(device) //
+                    : executionContext.getObjectState(object).getGlobalState().getDeviceState(device);
+            if (deviceState.isLockedBuffer() && deviceState.hasObjectBuffer()) {
+                memoryManager.recordUse(this, device, used, deviceState);
+            }
         }
     }
 
@@ -842,6 +1100,16 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         vm.clearProfiles();
     }
 
+    @Override
+    public void resetDevice() {
+        // The reset releases every event of the device, including the deferred ones
+        if (timeProfiler != null) {
+            timeProfiler.discardEvents();
+        }
+        TornadoFlightRecorder.discard();
+        getDevice().reset();
+    }
+
     @Override
     public void waitOn() {
         if (Tornado.VM_USE_DEPS && event != null) {
@@ -849,15 +1117,35 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         } else {
             executionContext.getDevices().stream().filter(Objects::nonNull).forEach(TornadoDevice::sync);
         }
+        unpackOutputs();
+        if (pendingRecording != null) {
+            ExecutionRecorder.complete(pendingRecording);
+            pendingRecording = null;
+        }
     }
 
     @Override
     public void transferToDevice(final int mode, Object... objects) {
-        for (Object functionParameter : objects) {
-            if (functionParameter == null) {
+        for (Object parameter : objects) {
+            if (parameter == null) {
                 throw new TornadoRuntimeException("[ERROR] null object passed into streamIn() in schedule " + executionContext.getId());
             }
 
+            if (parameter instanceof PackedIntArray) {
+                transferPackedToDevice(mode, (PackedIntArray) parameter);
+                continue;
+            }
+
+            if (parameter instanceof StructOfArrays) {
+                structOfArraysInputs.add(new StreamingObject(mode, parameter));
+                transferToDevice(mode, ((StructOfArrays<?>) parameter).getColumns());
+                continue;
+            }
+
+            // Tasks receive the whole array of a slice
+            ArraySlice slice = (parameter instanceof ArraySlice) ? (ArraySlice) parameter : null;
+            Object functionParameter = (slice != null) ? slice.getArray() : parameter;
+
             if (functionParameter instanceof Number) {
                 continue;
             }
@@ -871,11 +1159,12 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             }
 
             executionContext.getObjectState(functionParameter).setStreamIn(isObjectForStreaming);
+            executionContext.getObjectState(functionParameter).setInputSlice(slice);
 
             argumentsLookUp.add(functionParameter);
 
             // List of input objects for the dynamic reconfiguration
-            inputModesObjects.add(new StreamingObject(mode, functionParameter));
+            inputModesObjects.add(new StreamingObject(mode, functionParameter, slice));
 
             if (TornadoOptions.isReusedBuffersEnabled()) {
                 lockObjectsInMemory(functionParameter);
@@ -883,6 +1172,16 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         }
     }
 
+    /**
+     * Only the used range of the packed buffer is copied. A decode task, added at
+     * this point of the graph, expands it into the array on the device.
+     */
+    private void transferPackedToDevice(final int mode, PackedIntArray packedArray) {
+        packedInputs.add(new StreamingObject(mode, packedArray));
+        transferToDevice(mode, packedArray.getPackedSlice());
+        addTask(TaskPackage.createPackage("unpack$" + packedInputs.size(), PackedIntArray::unpack, packedArray.getPackedBuffer(), packedArray.getArray()));
+    }
+
     private boolean isANumber(Object parameter) {
         return parameter instanceof Number;
     }
@@ -893,12 +1192,22 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     @Override
     public void transferToHost(final int mode, Object... objects) {
-        for (Object functionParameter : objects) {
-            if (functionParameter == null) {
+        for (Object parameter : objects) {
+            if (parameter == null) {
                 Tornado.warn("null object passed into streamIn() in schedule %s", executionContext.getId());
                 continue;
             }
 
+            if (parameter instanceof StructOfArrays) {
+                structOfArraysOutputs.add(new StreamingObject(mode, parameter));
+                transferToHost(mode, ((StructOfArrays<?>) parameter).getColumns());
+                continue;
+            }
+
+            // Only the range of a slice is copied out, into the whole array
+            ArraySlice slice = (parameter instanceof ArraySlice) ? (ArraySlice) parameter : null;
+            Object functionParameter = (slice != null) ? slice.getArray() : parameter;
+
             if (isANumber(functionParameter) && !isAtomic(functionParameter)) {
                 throw new TornadoRuntimeException("[ERROR] Scalar value used as output. Use an array or a vector-type instead");
             }
@@ -909,11 +1218,12 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
                 streamOutObjects.add(functionParameter);
                 executionContext.getObjectState(functionParameter).setStreamOut(true);
             }
+            executionContext.getObjectState(functionParameter).setOutputSlice(slice);
 
             argumentsLookUp.add(functionParameter);
 
             // List of output objects for the dynamic reconfiguration
-            outputModeObjects.add(new StreamingObject(mode, functionParameter));
+            outputModeObjects.add(new StreamingObject(mode, functionParameter, slice));
 
             if (TornadoOptions.isReusedBuffersEnabled()) {
                 lockObjectsInMemory(functionParameter);
@@ -984,6 +1294,16 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         }
         inputModesObjects.stream().forEach(streamingObject -> freeDeviceMemoryObject(streamingObject.getObject()));
         outputModeObjects.stream().forEach(streamingObject -> freeDeviceMemoryObject(streamingObject.getObject()));
+        releaseCollectedBoundObjects();
+        synchronized (boundBuffers) {
+            for (BoundBuffer buffer : boundBuffers.values()) {
+                // Cleared, so the collection of the object does not release the buffer again
+                buffer.clear();
+                releaseObjectFromDeviceMemory(buffer.state, buffer.device);
+            }
+            boundBuffers.clear();
+        }
+        DeviceMemoryManager.getInstance().releaseOwner(this);
     }
 
     private void freeDeviceMemoryObject(Object object) {
@@ -992,9 +1312,12 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
 
     private void releaseObjectFromDeviceMemory(final LocalObjectState localState, final TornadoDevice device) {
-        final GlobalObjectState globalState = localState.getGlobalState();
-        final DeviceObjectState deviceState = globalState.getDeviceState(device);
+        releaseObjectFromDeviceMemory(localState.getGlobalState().getDeviceState(device), device);
+    }
+
+    private void releaseObjectFromDeviceMemory(final DeviceObjectState deviceState, final TornadoDevice device) {
         deviceState.setLockBuffer(false);
+        DeviceMemoryManager.getInstance().release(deviceState);
         if (deviceState.hasObjectBuffer()) {
             device.deallocate(deviceState);
         }
@@ -1015,7 +1338,9 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         final GlobalObjectState globalState = localState.getGlobalState();
         final TornadoAcceleratorDevice device = meta().getLogicDevice();
         final DeviceObjectState deviceState = globalState.getDeviceState(device);
-        if (deviceState.isLockedBuffer()) {
+        // A locked buffer without device memory has been evicted and its
+        // contents are already on the host
+        if (deviceState.isLockedBuffer() && deviceState.hasObjectBuffer()) {
             return device.resolveEvent(device.streamOutBlocking(object, 0, deviceState, null));
         }
         return null;
@@ -1406,7 +1731,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
                 long start = timer.time();
 
                 for (StreamingObject streamingObject : inputModesObjects) {
-                    performStreamInObject(task, streamingObject.object, streamingObject.mode);
+                    performStreamInObject(task, streamingObject.getTransferObject(), streamingObject.mode);
                 }
 
                 for (TaskPackage taskPackage : taskPackages) {
@@ -1419,7 +1744,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
                 }
 
                 for (StreamingObject streamingObject : outputModeObjects) {
-                    performStreamOutThreads(streamingObject.mode, task, streamingObject.object);
+                    performStreamOutThreads(streamingObject.mode, task, streamingObject.getTransferObject());
                 }
                 // performStreamOutThreads(task, streamOutObjects);
 
@@ -1626,7 +1951,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
             long start = timer.time();
             for (StreamingObject streamingObject : inputModesObjects) {
-                performStreamInObject(task, streamingObject.object, streamingObject.mode);
+                performStreamInObject(task, streamingObject.getTransferObject(), streamingObject.mode);
             }
 
             boolean ignoreTask = false;
@@ -1653,7 +1978,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
                 continue;
             }
             for (StreamingObject modeObject : outputModeObjects) {
-                performStreamOutThreads(modeObject.mode, task, modeObject.object);
+                performStreamOutThreads(modeObject.mode, task, modeObject.getTransferObject());
             }
             // performStreamOutThreads(task, streamOutObjects);
 
@@ -43,6 +43,7 @@ import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.runtime.EventSet;
 import uk.ac.manchester.tornado.runtime.common.TornadoAcceleratorDevice;
 import uk.ac.manchester.tornado.runtime.domain.DomainTree;
+import uk.ac.manchester.tornado.runtime.profiler.KernelWorkEstimate;
 
 public class TaskMetaData extends AbstractMetaData {
 
@@ -58,6 +59,7 @@ public class TaskMetaData extends AbstractMetaData {
     private long[] localWork;
     private boolean localWorkDefined;
     private boolean globalWorkDefined;
+    private KernelWorkEstimate workEstimate;
 
     public TaskMetaData(ScheduleMetaData scheduleMetaData, String taskID, int numParameters) {
         super(scheduleMetaData.getId() + "." + taskID, scheduleMetaData);
@@ -215,6 +217,18 @@ public class TaskMetaData extends AbstractMetaData {
         return domain.getDepth();
     }
 
+    /**
+     * @return the per-thread work of the last kernel compiled for this task, or
+     *         null if the roofline report is disabled.
+     */
+    public KernelWorkEstimate getWorkEstimate() {
+        return workEstimate;
+    }
+
+    public void setWorkEstimate(KernelWorkEstimate workEstimate) {
+        this.workEstimate = workEstimate;
+    }
+
     public DomainTree getDomain() {
         return domain;
     }
@@ -1,6 +1,10 @@
 open module tornado.unittests {
     requires transitive junit;
     requires transitive tornado.api;
+    requires tornado.runtime;
+    requires tornado.drivers.common;
+    requires tornado.primitives;
+    requires tornado.matrices;
     requires lucene.core;
     requires java.desktop;
 
@@ -9,9 +13,12 @@ open module tornado.unittests {
     exports uk.ac.manchester.tornado.unittests.arrays;
     exports uk.ac.manchester.tornado.unittests.atomics;
     exports uk.ac.manchester.tornado.unittests.batches;
+    exports uk.ac.manchester.tornado.unittests.blas;
+    exports uk.ac.manchester.tornado.unittests.layout;
     exports uk.ac.manchester.tornado.unittests.bitsets;
     exports uk.ac.manchester.tornado.unittests.branching;
     exports uk.ac.manchester.tornado.unittests.common;
+    exports uk.ac.manchester.tornado.unittests.drivers;
     exports uk.ac.manchester.tornado.unittests.dynamic;
     exports uk.ac.manchester.tornado.unittests.fields;
     exports uk.ac.manchester.tornado.unittests.flatmap;
@@ -25,11 +32,14 @@ open module tornado.unittests {
     exports uk.ac.manchester.tornado.unittests.logic;
     exports uk.ac.manchester.tornado.unittests.loops;
     exports uk.ac.manchester.tornado.unittests.math;
+    exports uk.ac.manchester.tornado.unittests.metrics;
     exports uk.ac.manchester.tornado.unittests.matrices;
     exports uk.ac.manchester.tornado.unittests.prebuilt;
+    exports uk.ac.manchester.tornado.unittests.primitives;
     exports uk.ac.manchester.tornado.unittests.profiler;
     exports uk.ac.manchester.tornado.unittests.reductions;
     exports uk.ac.manchester.tornado.unittests.slam.graphics;
+    exports uk.ac.manchester.tornado.unittests.sparse;
     exports uk.ac.manchester.tornado.unittests.tasks;
     exports uk.ac.manchester.tornado.unittests.temporary.values;
     exports uk.ac.manchester.tornado.unittests.tools;
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.api;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Checks the eviction of device buffers kept by idle task-graphs. The test
+ * must run with a device memory budget that cannot hold the buffers of both
+ * task-graphs at the same time.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V --jvm="-Dtornado.device.memory=48MB" uk.ac.manchester.tornado.unittests.api.TestDeviceMemoryEviction
+ * </code>
+ */
+public class TestDeviceMemoryEviction extends TornadoTestBase {
+
+    // 16MB per array: the first task-graph keeps 32MB on the device
+    private static final int SIZE_FIRST = 4 * 1024 * 1024;
+    // 20MB per array: the second task-graph needs 40MB
+    private static final int SIZE_SECOND = 5 * 1024 * 1024;
+
+    public static void accumulate(float[] input, float[] accumulator) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            accumulator[i] = accumulator[i] + input[i];
+        }
+    }
+
+    public static void scale(float[] input, float[] output) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            output[i] = input[i] * 2.0f;
+        }
+    }
+
+    /**
+     * Both buffers are only up to date on the device, so their contents must
+     * survive the eviction without being copied over the host arrays, and the
+     * next execution must compute the same result as without the eviction.
+     */
+    @Test
+    public void testSpillOfIdleTaskGraph() {
+        float[] input = new float[SIZE_FIRST];
+        float[] accumulator = new float[SIZE_FIRST];
+        Arrays.fill(input, 1.0f);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input, accumulator) //
+                .task("t0", TestDeviceMemoryEviction::accumulate, input, accumulator) //
+                .transferToHost(DataTransferMode.USER_DEFINED, accumulator);
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        // The device copy of the input is still in use, the host copy changes
+        Arrays.fill(input, 3.0f);
+
+        float[] other = new float[SIZE_SECOND];
+        float[] otherOutput = new float[SIZE_SECOND];
+        Arrays.fill(other, 5.0f);
+        TaskGraph otherGraph = new TaskGraph("s1") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, other) //
+                .task("t0", TestDeviceMemoryEviction::scale, other, otherOutput) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, otherOutput);
+        TornadoExecutionPlan otherPlan = new TornadoExecutionPlan(otherGraph.snapshot());
+        otherPlan.execute();
+        otherPlan.freeDeviceMemory();
+
+        for (int i = 0; i < SIZE_SECOND; i++) {
+            assertEquals(10.0f, otherOutput[i], 0.0f);
+        }
+        // The evicted buffers were not copied over the host arrays
+        for (int i = 0; i < SIZE_FIRST; i++) {
+            assertEquals(3.0f, input[i], 0.0f);
+            assertEquals(0.0f, accumulator[i], 0.0f);
+        }
+
+        // Both buffers come back from the copies made on eviction, so the input is
+        // still 1 on the device
+        TornadoExecutionResult executionResult = executionPlan.execute();
+        executionResult.transferToHost(accumulator);
+        executionPlan.freeDeviceMemory();
+
+        for (int i = 0; i < SIZE_FIRST; i++) {
+            assertEquals(2.0f, accumulator[i], 0.0f);
+        }
+    }
+}
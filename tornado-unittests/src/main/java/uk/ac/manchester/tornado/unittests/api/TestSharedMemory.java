@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.ProfilerMode;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Runs a task-graph with its device buffers allocated in memory shared
+ * between the host and the device. The test is skipped on devices that do not
+ * support shared allocations.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V --jvm="-Dtornado.memory.shared=True" uk.ac.manchester.tornado.unittests.api.TestSharedMemory
+ * </code>
+ */
+public class TestSharedMemory extends TornadoTestBase {
+
+    private static final int SIZE = 1024 * 1024;
+
+    public static void saxpy(float alpha, float[] x, float[] y, float[] output) {
+        for (@Parallel int i = 0; i < output.length; i++) {
+            output[i] = alpha * x[i] + y[i];
+        }
+    }
+
+    private static boolean isSharedMemory() {
+        return TornadoRuntime.getTornadoRuntime().getDefaultDevice().getDeviceContext().getMemoryManager().isSharedMemory();
+    }
+
+    /**
+     * The first execution copies the inputs into the shared buffers. The next
+     * executions find them resident and only run the kernel, so they issue no
+     * copy in either direction until the output is requested.
+     */
+    @Test
+    public void testSharedMemory() {
+        assumeTrue("The device does not use shared allocations", isSharedMemory());
+
+        float[] x = new float[SIZE];
+        float[] y = new float[SIZE];
+        float[] output = new float[SIZE];
+        Arrays.fill(x, 2.0f);
+        Arrays.fill(y, 1.0f);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, x, y) //
+                .task("t0", TestSharedMemory::saxpy, 3.0f, x, y, output) //
+                .transferToHost(DataTransferMode.USER_DEFINED, output);
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.withProfiler(ProfilerMode.SILENT);
+
+        TornadoExecutionResult executionResult = executionPlan.execute();
+        assertTrue(executionResult.getProfilerResult().getDeviceWriteTime() > 0);
+
+        executionResult = executionPlan.execute();
+        assertEquals(0, executionResult.getProfilerResult().getDeviceWriteTime());
+        assertEquals(0, executionResult.getProfilerResult().getDeviceReadTime());
+
+        executionResult.transferToHost(output);
+        executionPlan.freeDeviceMemory();
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(7.0f, output[i], 0.0f);
+        }
+    }
+}
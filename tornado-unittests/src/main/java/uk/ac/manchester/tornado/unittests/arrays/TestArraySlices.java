@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.arrays;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.common.ArraySlice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * How to test?
+ *
+ * <code>
+ *     tornado-test -V --fast uk.ac.manchester.tornado.unittests.arrays.TestArraySlices
+ * </code>
+ */
+public class TestArraySlices extends TornadoTestBase {
+
+    private static final int N = 1024;
+
+    public static void addOne(int[] a, int[] b) {
+        for (@Parallel int i = 0; i < a.length; i++) {
+            b[i] = a[i] + 1;
+        }
+    }
+
+    @Test
+    public void testOnlySliceIsUpdated() {
+        int[] a = new int[N];
+        int[] b = new int[N];
+        IntStream.range(0, N).forEach(i -> a[i] = i);
+
+        ArraySlice slice = ArraySlice.of(a, 128, 256);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, slice) //
+                .task("t0", TestArraySlices::addOne, a, b) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+
+        // The first execution copies the whole array
+        executionPlan.execute();
+        for (int i = 0; i < N; i++) {
+            assertEquals(i + 1, b[i]);
+        }
+
+        // Later executions copy the slice only
+        IntStream.range(0, N).forEach(i -> a[i] = 2 * i);
+        executionPlan.execute();
+        for (int i = 0; i < N; i++) {
+            boolean inSlice = i >= 128 && i < 384;
+            assertEquals(inSlice ? 2 * i + 1 : i + 1, b[i]);
+        }
+    }
+
+    @Test
+    public void testSlidingWindow() {
+        int[] a = new int[N];
+        int[] b = new int[N];
+
+        final int window = 128;
+        ArraySlice slice = ArraySlice.of(a, 0, window);
+
+        TaskGraph taskGraph = new TaskGraph("s1") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, slice) //
+                .task("t0", TestArraySlices::addOne, a, b) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int start = 0; start < N; start += window) {
+            slice.setRange(start, window);
+            for (int i = start; i < start + window; i++) {
+                a[i] = i;
+            }
+            executionPlan.execute();
+        }
+
+        for (int i = 0; i < N; i++) {
+            assertEquals(i + 1, b[i]);
+        }
+    }
+
+    public static void addOneInRange(int[] a, int[] b, int from, int to) {
+        for (@Parallel int i = from; i < to; i++) {
+            b[i] = a[i] + 1;
+        }
+    }
+
+    @Test
+    public void testOnlyWrittenRangeIsCopiedOut() {
+        int[] a = new int[N];
+        int[] b = new int[N];
+        IntStream.range(0, N).forEach(i -> a[i] = i);
+
+        ArraySlice written = ArraySlice.of(b, 256, 512);
+
+        TaskGraph taskGraph = new TaskGraph("s2") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestArraySlices::addOneInRange, a, b, 256, 768) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, written);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+
+        // Host values outside the written range must not be overwritten
+        IntStream.range(0, N).forEach(i -> b[i] = -1);
+        executionPlan.execute();
+
+        for (int i = 0; i < N; i++) {
+            boolean inRange = i >= 256 && i < 768;
+            assertEquals(inRange ? i + 1 : -1, b[i]);
+        }
+    }
+
+    /**
+     * Freeing the device memory must release the buffer of the sliced array, so
+     * the next execution copies the whole array in again.
+     */
+    @Test
+    public void testFreeMemoryAfterSlicedExecution() {
+        int[] a = new int[N];
+        int[] b = new int[N];
+        IntStream.range(0, N).forEach(i -> a[i] = i);
+
+        ArraySlice slice = ArraySlice.of(a, 128, 256);
+
+        TaskGraph taskGraph = new TaskGraph("s3") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, slice) //
+                .task("t0", TestArraySlices::addOne, a, b) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+        executionPlan.freeDeviceMemory();
+
+        IntStream.range(0, N).forEach(i -> a[i] = 3 * i);
+        executionPlan.execute();
+        executionPlan.freeDeviceMemory();
+
+        for (int i = 0; i < N; i++) {
+            assertEquals(3 * i + 1, b[i]);
+        }
+    }
+
+    @Test(expected = TornadoRuntimeException.class)
+    public void testSliceOutOfBounds() {
+        ArraySlice.of(new float[N], N - 16, 32);
+    }
+
+    @Test(expected = TornadoRuntimeException.class)
+    public void testSliceOfNonPrimitiveArray() {
+        ArraySlice.of(new Integer[N], 0, 16);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.common.PackedIntArray;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * How to test?
+ *
+ * <code>
+ *     tornado-test -V --fast uk.ac.manchester.tornado.unittests.arrays.TestPackedArrays
+ * </code>
+ */
+public class TestPackedArrays extends TornadoTestBase {
+
+    private static final int N = 4096;
+
+    public static void scale(int[] a, int[] b) {
+        for (@Parallel int i = 0; i < a.length; i++) {
+            b[i] = a[i] * 2;
+        }
+    }
+
+    private static void runScale(int[] a, int bound, int base) {
+        int[] b = new int[N];
+        PackedIntArray packed = PackedIntArray.of(a);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, packed) //
+                .task("t0", TestPackedArrays::scale, a, b) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+
+        Random random = new Random(7);
+        for (int iteration = 0; iteration < 2; iteration++) {
+            for (int i = 0; i < N; i++) {
+                a[i] = base + random.nextInt(bound);
+            }
+            executionPlan.execute();
+            for (int i = 0; i < N; i++) {
+                assertEquals(a[i] * 2, b[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testMask() {
+        runScale(new int[N], 2, 0);
+    }
+
+    @Test
+    public void testSmallRangeWithOffset() {
+        runScale(new int[N], 1000, -123456);
+    }
+
+    @Test
+    public void testWideRangeIsNotPacked() {
+        runScale(new int[N], Integer.MAX_VALUE, Integer.MIN_VALUE);
+    }
+
+    @Test
+    public void testCompressionRatio() {
+        int[] a = new int[N];
+        for (int i = 0; i < N; i++) {
+            a[i] = i % 16;
+        }
+        PackedIntArray packed = PackedIntArray.of(a);
+        packed.pack();
+        assertEquals(4, packed.getBits());
+        assertTrue(packed.getCompressionRatio() > 7);
+
+        int[] decoded = new int[N];
+        PackedIntArray.unpack(packed.getPackedBuffer(), decoded);
+        for (int i = 0; i < N; i++) {
+            assertEquals(a[i], decoded[i]);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.blas;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.ejml.simple.SimpleMatrix;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.collections.types.Matrix2DDouble;
+import uk.ac.manchester.tornado.api.collections.types.Matrix2DFloat;
+import uk.ac.manchester.tornado.api.collections.types.VectorDouble;
+import uk.ac.manchester.tornado.api.collections.types.VectorFloat;
+import uk.ac.manchester.tornado.matrix.EjmlUtil;
+import uk.ac.manchester.tornado.matrix.blas.Blas;
+import uk.ac.manchester.tornado.matrix.blas.BlasProfile;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Validates the tiled BLAS kernels against EJML.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.blas.TestBlas
+ * </code>
+ */
+public class TestBlas extends TornadoTestBase {
+
+    // Sizes that are not multiples of any tile size
+    private static final int M = 203;
+    private static final int N = 157;
+    private static final int K = 131;
+
+    private static final float DELTA_FLOAT = 1e-3f;
+    private static final double DELTA_DOUBLE = 1e-9;
+
+    private final Random random = new Random(42);
+
+    private SimpleMatrix random(int rows, int columns) {
+        return SimpleMatrix.random_DDRM(rows, columns, -1.0, 1.0, random);
+    }
+
+    /**
+     * Well-conditioned triangular matrix.
+     */
+    private SimpleMatrix triangular(int size, boolean lower) {
+        SimpleMatrix matrix = new SimpleMatrix(size, size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (i == j) {
+                    matrix.set(i, j, 2.0 + random.nextDouble());
+                } else if ((lower && j < i) || (!lower && j > i)) {
+                    matrix.set(i, j, (random.nextDouble() - 0.5) / size);
+                }
+            }
+        }
+        return matrix;
+    }
+
+    private static void assertMatrix(SimpleMatrix expected, Matrix2DFloat actual) {
+        for (int i = 0; i < expected.numRows(); i++) {
+            for (int j = 0; j < expected.numCols(); j++) {
+                assertEquals(expected.get(i, j), actual.get(i, j), DELTA_FLOAT);
+            }
+        }
+    }
+
+    private static void assertMatrix(SimpleMatrix expected, Matrix2DDouble actual) {
+        for (int i = 0; i < expected.numRows(); i++) {
+            for (int j = 0; j < expected.numCols(); j++) {
+                assertEquals(expected.get(i, j), actual.get(i, j), DELTA_DOUBLE);
+            }
+        }
+    }
+
+    private void checkSgemm(BlasProfile profile, boolean transA, boolean transB) {
+        SimpleMatrix a = transA ? random(K, M) : random(M, K);
+        SimpleMatrix b = transB ? random(N, K) : random(K, N);
+        SimpleMatrix c = random(M, N);
+        Matrix2DFloat result = EjmlUtil.toMatrix2DFloat(c);
+
+        Blas.gemm(profile, transA, transB, 1.5f, EjmlUtil.toMatrix2DFloat(a), EjmlUtil.toMatrix2DFloat(b), 0.5f, result).execute();
+
+        SimpleMatrix opA = transA ? a.transpose() : a;
+        SimpleMatrix opB = transB ? b.transpose() : b;
+        assertMatrix(opA.mult(opB).scale(1.5).plus(0.5, c), result);
+    }
+
+    @Test
+    public void testSgemm() {
+        checkSgemm(BlasProfile.GPU, false, false);
+    }
+
+    @Test
+    public void testSgemmTransposed() {
+        checkSgemm(BlasProfile.GPU, true, false);
+        checkSgemm(BlasProfile.GPU, false, true);
+        checkSgemm(BlasProfile.GPU, true, true);
+    }
+
+    @Test
+    public void testSgemmCpuProfile() {
+        checkSgemm(BlasProfile.CPU, false, false);
+    }
+
+    @Test
+    public void testDgemm() {
+        SimpleMatrix a = random(M, K);
+        SimpleMatrix b = random(K, N);
+        Matrix2DDouble result = new Matrix2DDouble(M, N);
+
+        Blas.gemm(BlasProfile.GPU, false, false, 1.0, EjmlUtil.toMatrix2DDouble(a), EjmlUtil.toMatrix2DDouble(b), 0.0, result).execute();
+
+        assertMatrix(a.mult(b), result);
+    }
+
+    @Test
+    public void testBatchedSgemm() {
+        final int batchCount = 5;
+        final int m = 33;
+        final int n = 40;
+        final int k = 27;
+        SimpleMatrix a = random(batchCount * m, k);
+        SimpleMatrix b = random(batchCount * k, n);
+        Matrix2DFloat result = new Matrix2DFloat(batchCount * m, n);
+
+        Blas.batchedGemm(BlasProfile.GPU, batchCount, 1.0f, EjmlUtil.toMatrix2DFloat(a), EjmlUtil.toMatrix2DFloat(b), 0.0f, result).execute();
+
+        for (int batch = 0; batch < batchCount; batch++) {
+            SimpleMatrix expected = a.extractMatrix(batch * m, (batch + 1) * m, 0, k).mult(b.extractMatrix(batch * k, (batch + 1) * k, 0, n));
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < n; j++) {
+                    assertEquals(expected.get(i, j), result.get(batch * m + i, j), DELTA_FLOAT);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSgemv() {
+        SimpleMatrix a = random(M, N);
+        SimpleMatrix x = random(N, 1);
+        SimpleMatrix y = random(M, 1);
+        VectorFloat vectorX = new VectorFloat(N);
+        VectorFloat vectorY = new VectorFloat(M);
+        for (int i = 0; i < N; i++) {
+            vectorX.set(i, (float) x.get(i));
+        }
+        for (int i = 0; i < M; i++) {
+            vectorY.set(i, (float) y.get(i));
+        }
+
+        Blas.gemv(BlasProfile.GPU, false, 2.0f, EjmlUtil.toMatrix2DFloat(a), vectorX, 1.0f, vectorY).execute();
+
+        SimpleMatrix expected = a.mult(x).scale(2.0).plus(y);
+        for (int i = 0; i < M; i++) {
+            assertEquals(expected.get(i), vectorY.get(i), DELTA_FLOAT);
+        }
+    }
+
+    @Test
+    public void testDgemvTransposed() {
+        SimpleMatrix a = random(M, N);
+        SimpleMatrix x = random(M, 1);
+        VectorDouble vectorX = new VectorDouble(M);
+        VectorDouble vectorY = new VectorDouble(N);
+        for (int i = 0; i < M; i++) {
+            vectorX.set(i, x.get(i));
+        }
+
+        Blas.gemv(BlasProfile.GPU, true, 1.0, EjmlUtil.toMatrix2DDouble(a), vectorX, 0.0, vectorY).execute();
+
+        SimpleMatrix expected = a.transpose().mult(x);
+        for (int i = 0; i < N; i++) {
+            assertEquals(expected.get(i), vectorY.get(i), DELTA_DOUBLE);
+        }
+    }
+
+    @Test
+    public void testStrsmLower() {
+        SimpleMatrix a = triangular(M, true);
+        SimpleMatrix b = random(M, N);
+        Matrix2DFloat result = EjmlUtil.toMatrix2DFloat(b);
+
+        Blas.trsm(BlasProfile.GPU, true, false, false, 2.0f, EjmlUtil.toMatrix2DFloat(a), result).execute();
+
+        assertMatrix(a.solve(b.scale(2.0)), result);
+    }
+
+    @Test
+    public void testDtrsmUpperTransposed() {
+        SimpleMatrix a = triangular(M, false);
+        SimpleMatrix b = random(M, N);
+        Matrix2DDouble result = EjmlUtil.toMatrix2DDouble(b);
+
+        Blas.trsm(BlasProfile.GPU, false, true, false, 1.0, EjmlUtil.toMatrix2DDouble(a), result).execute();
+
+        assertMatrix(a.transpose().solve(b), result);
+    }
+
+    @Test
+    public void testSsyrk() {
+        SimpleMatrix a = random(N, K);
+        SimpleMatrix c = random(N, N);
+        Matrix2DFloat result = EjmlUtil.toMatrix2DFloat(c);
+
+        Blas.syrk(BlasProfile.GPU, true, false, 1.0f, EjmlUtil.toMatrix2DFloat(a), 1.0f, result).execute();
+
+        SimpleMatrix expected = a.mult(a.transpose()).plus(c);
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < N; j++) {
+                // The upper triangle is not written
+                double value = j <= i ? expected.get(i, j) : c.get(i, j);
+                assertEquals(value, result.get(i, j), DELTA_FLOAT);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.drivers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.drivers.common.EventRegistry;
+
+/**
+ * Checks the slot reuse, the reference counting and the growth of the event
+ * registry shared by the backends. Events are plain strings, so these tests do
+ * not need a device.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.drivers.TestEventRegistry
+ * </code>
+ */
+public class TestEventRegistry {
+
+    private final List<String> releasedEvents = new ArrayList<>();
+
+    private EventRegistry<String> createRegistry(int segmentSize, boolean circular) {
+        return new EventRegistry<>(segmentSize, circular, (localId, event) -> releasedEvents.add(localId + ":" + event));
+    }
+
+    @Test
+    public void testWrapAroundReleasesUnretainedSlots() {
+        EventRegistry<String> registry = createRegistry(4, true);
+        for (String event : new String[] { "a", "b", "c", "d" }) {
+            registry.register(event);
+        }
+        registry.retain(1);
+
+        // Slot 0 is reused, slot 1 is skipped because it is retained
+        assertEquals(0, registry.register("e"));
+        assertEquals(2, registry.register("f"));
+
+        assertEquals(Arrays.asList("0:a", "2:c"), releasedEvents);
+        assertEquals("b", registry.get(1));
+        assertEquals(4, registry.capacity());
+    }
+
+    @Test
+    public void testReferenceCounting() {
+        EventRegistry<String> registry = createRegistry(4, true);
+        int id = registry.register("a");
+        assertFalse(registry.isRetained(id));
+
+        registry.retain(id);
+        registry.retain(id);
+        registry.release(id);
+        assertTrue(registry.isRetained(id));
+        registry.release(id);
+        assertFalse(registry.isRetained(id));
+
+        // Extra releases do not leave a negative count behind
+        registry.release(id);
+        registry.retain(id);
+        assertTrue(registry.isRetained(id));
+        registry.release(id);
+        assertFalse(registry.isRetained(id));
+
+        int retainedId = registry.register("b", true);
+        assertTrue(registry.isRetained(retainedId));
+        assertEquals(1, registry.getNumRetained());
+    }
+
+    @Test
+    public void testGrowsWhenEverySlotIsRetained() {
+        EventRegistry<String> registry = createRegistry(2, true);
+        int first = registry.register("a", true);
+        int second = registry.register("b", true);
+
+        int third = registry.register("c");
+        assertEquals(4, registry.capacity());
+        assertEquals(2, third);
+        assertTrue(releasedEvents.isEmpty());
+        assertEquals("a", registry.get(first));
+        assertEquals("b", registry.get(second));
+        assertEquals("c", registry.get(third));
+
+        // Once released, the original slots are reused again
+        registry.release(first);
+        registry.release(second);
+        assertEquals(3, registry.register("d"));
+        assertEquals(0, registry.register("e"));
+        assertEquals(1, registry.register("f"));
+        assertEquals(4, registry.capacity());
+        assertEquals(Arrays.asList("0:a", "1:b"), releasedEvents);
+    }
+
+    @Test
+    public void testNonCircularGrowth() {
+        EventRegistry<String> registry = createRegistry(2, false);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, registry.register("e" + i));
+        }
+        assertEquals(6, registry.capacity());
+        assertTrue(releasedEvents.isEmpty());
+        assertEquals(Arrays.asList("e0", "e1", "e2", "e3", "e4"), registry.getEvents());
+    }
+
+    @Test
+    public void testReset() {
+        EventRegistry<String> registry = createRegistry(4, true);
+        registry.register("a", true);
+        registry.register("b");
+        registry.reset();
+
+        assertEquals(Arrays.asList("0:a", "1:b"), releasedEvents);
+        assertEquals(0, registry.getNumRetained());
+        assertNull(registry.get(0));
+        assertEquals(0, registry.register("c"));
+    }
+}
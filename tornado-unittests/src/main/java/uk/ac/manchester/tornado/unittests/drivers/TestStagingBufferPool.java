@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.drivers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.drivers.common.mm.StagingBufferPool;
+import uk.ac.manchester.tornado.drivers.common.mm.StagingBufferPool.StagingBuffer;
+
+/**
+ * Checks the size classes, the reuse and the size cap of the pool of staging
+ * buffers. The pinned memory is emulated with direct buffers, so these tests
+ * do not need a device.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.drivers.TestStagingBufferPool
+ * </code>
+ */
+public class TestStagingBufferPool {
+
+    private static final long MIN_TRANSFER_SIZE = 1024;
+
+    private static class FakeProvider implements StagingBufferPool.PinnedMemoryProvider {
+
+        private final List<StagingBuffer> allocated = new ArrayList<>();
+        private final List<StagingBuffer> freed = new ArrayList<>();
+        private final List<Integer> retainedEvents = new ArrayList<>();
+        private final List<Integer> releasedEvents = new ArrayList<>();
+        private final Set<Integer> completedEvents = new HashSet<>();
+
+        @Override
+        public synchronized StagingBuffer allocate(long bytes) {
+            StagingBuffer buffer = new StagingBuffer(allocated.size() + 1, 0, ByteBuffer.allocateDirect((int) bytes));
+            allocated.add(buffer);
+            return buffer;
+        }
+
+        @Override
+        public synchronized void free(StagingBuffer buffer) {
+            freed.add(buffer);
+        }
+
+        @Override
+        public synchronized void retainEvent(int event) {
+            retainedEvents.add(event);
+        }
+
+        @Override
+        public synchronized void releaseEvent(int event) {
+            releasedEvents.add(event);
+        }
+
+        @Override
+        public synchronized boolean isEventComplete(int event) {
+            return completedEvents.contains(event);
+        }
+
+        synchronized void complete(int event) {
+            completedEvents.add(event);
+        }
+    }
+
+    @Test
+    public void testSizeClassOf() {
+        assertEquals(1, StagingBufferPool.sizeClassOf(1));
+        assertEquals(2, StagingBufferPool.sizeClassOf(2));
+        assertEquals(4, StagingBufferPool.sizeClassOf(3));
+        assertEquals(4096, StagingBufferPool.sizeClassOf(4096));
+        assertEquals(8192, StagingBufferPool.sizeClassOf(4097));
+        assertEquals(8192, StagingBufferPool.sizeClassOf(6000));
+        assertEquals(1L << 41, StagingBufferPool.sizeClassOf((1L << 40) + 1));
+    }
+
+    @Test
+    public void testAcquireRoundsToSizeClass() {
+        FakeProvider provider = new FakeProvider();
+        StagingBufferPool pool = new StagingBufferPool(provider, MIN_TRANSFER_SIZE, 1 << 20);
+
+        StagingBuffer buffer = pool.acquire(3000);
+        assertNotNull(buffer);
+        assertEquals(4096, buffer.getCapacity());
+        assertEquals(4096, pool.getPooledBytes());
+
+        // Transfers below the threshold or above the cap are not staged
+        assertNull(pool.acquire(MIN_TRANSFER_SIZE - 1));
+        assertNull(pool.acquire((1 << 20) + 1));
+        assertEquals(1, provider.allocated.size());
+    }
+
+    @Test
+    public void testReuseAfterRetire() {
+        FakeProvider provider = new FakeProvider();
+        StagingBufferPool pool = new StagingBufferPool(provider, MIN_TRANSFER_SIZE, 1 << 20);
+
+        StagingBuffer first = pool.acquire(4096);
+        pool.retire(first, 7);
+        assertEquals(Collections.singletonList(7), provider.retainedEvents);
+
+        // The transfer is still in flight: the buffer must not be handed out
+        StagingBuffer second = pool.acquire(4096);
+        assertNotSame(first, second);
+        assertTrue(provider.releasedEvents.isEmpty());
+
+        provider.complete(7);
+        StagingBuffer third = pool.acquire(3000);
+        assertSame(first, third);
+        assertEquals(Collections.singletonList(7), provider.releasedEvents);
+
+        // Without an event the buffer is available straight away
+        pool.retire(second, -1);
+        assertSame(second, pool.acquire(4096));
+
+        assertEquals(2, provider.allocated.size());
+        assertEquals(8192, pool.getPooledBytes());
+    }
+
+    @Test
+    public void testRecycle() {
+        FakeProvider provider = new FakeProvider();
+        StagingBufferPool pool = new StagingBufferPool(provider, MIN_TRANSFER_SIZE, 1 << 20);
+
+        StagingBuffer buffer = pool.acquire(4096);
+        pool.retire(buffer, 3);
+        pool.recycle();
+        assertEquals(Collections.singletonList(3), provider.releasedEvents);
+        assertSame(buffer, pool.acquire(4096));
+    }
+
+    @Test
+    public void testShrinkFreesLargestIdleBuffersFirst() {
+        FakeProvider provider = new FakeProvider();
+        StagingBufferPool pool = new StagingBufferPool(provider, MIN_TRANSFER_SIZE, 6144);
+
+        StagingBuffer large = pool.acquire(4096);
+        StagingBuffer small = pool.acquire(1024);
+        pool.retire(large, -1);
+        pool.retire(small, -1);
+        assertEquals(5120, pool.getPooledBytes());
+
+        // 1024 bytes must be released to fit a new 2048-byte buffer; the largest
+        // idle buffer goes first and the small one is kept
+        StagingBuffer buffer = pool.acquire(2048);
+        assertNotNull(buffer);
+        assertEquals(Collections.singletonList(large), provider.freed);
+        assertEquals(3072, pool.getPooledBytes());
+        assertSame(small, pool.acquire(1024));
+    }
+
+    @Test
+    public void testSizeCap() {
+        FakeProvider provider = new FakeProvider();
+        StagingBufferPool pool = new StagingBufferPool(provider, MIN_TRANSFER_SIZE, 8192);
+
+        StagingBuffer buffer = pool.acquire(8192);
+        assertNotNull(buffer);
+
+        // Nothing idle can be freed while the only buffer is in use
+        assertNull(pool.acquire(4096));
+        assertEquals(8192, pool.getPooledBytes());
+        assertTrue(provider.freed.isEmpty());
+
+        // Once it is back, it is freed to make room
+        pool.retire(buffer, -1);
+        assertNotNull(pool.acquire(4096));
+        assertEquals(Collections.singletonList(buffer), provider.freed);
+        assertEquals(4096, pool.getPooledBytes());
+
+        pool.reset();
+        assertEquals(0, pool.getPooledBytes());
+        assertEquals(1, provider.freed.size());
+    }
+
+    @Test
+    public void testConcurrentAcquire() throws InterruptedException {
+        final int numThreads = 8;
+        final int iterations = 1000;
+        final long maxPooledBytes = numThreads * 4096L;
+        FakeProvider provider = new FakeProvider();
+        StagingBufferPool pool = new StagingBufferPool(provider, MIN_TRANSFER_SIZE, maxPooledBytes);
+
+        Set<StagingBuffer> inUse = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < iterations; j++) {
+                        StagingBuffer buffer = pool.acquire(4096);
+                        assertNotNull(buffer);
+                        assertTrue("Buffer handed out twice", inUse.add(buffer));
+                        assertTrue(inUse.remove(buffer));
+                        pool.retire(buffer, -1);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        assertTrue(provider.allocated.size() <= numThreads);
+        assertTrue(pool.getPooledBytes() <= maxPooledBytes);
+        assertFalse(provider.allocated.isEmpty());
+        assertTrue(provider.freed.isEmpty());
+    }
+}
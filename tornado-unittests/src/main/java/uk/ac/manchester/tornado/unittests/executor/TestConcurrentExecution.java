@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.executor;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * How to run?
+ * <p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.executor.TestConcurrentExecution
+ * </code>
+ * </p>
+ */
+public class TestConcurrentExecution extends TornadoTestBase {
+
+    private static final int SIZE = 1024;
+    private static final int NUM_THREADS = 4;
+    private static final int ITERATIONS = 50;
+
+    public static void vectorAdd(float[] a, float[] b, float[] c) {
+        for (@Parallel int i = 0; i < c.length; i++) {
+            c[i] = a[i] + b[i];
+        }
+    }
+
+    @Test
+    public void testSharedPlan() throws Exception {
+        float[] a = new float[SIZE];
+        float[] b = new float[SIZE];
+        float[] c = new float[SIZE];
+        IntStream.range(0, SIZE).forEach(i -> {
+            a[i] = i;
+            b[i] = 2 * i;
+        });
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a, b) //
+                .task("t0", TestConcurrentExecution::vectorAdd, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph).withConcurrentExecution();
+
+        ExecutorService threads = Executors.newFixedThreadPool(NUM_THREADS);
+        try {
+            List<Future<?>> invocations = new ArrayList<>();
+            for (int thread = 0; thread < NUM_THREADS; thread++) {
+                invocations.add(threads.submit(() -> {
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        executionPlan.execute();
+                    }
+                }));
+            }
+            for (Future<?> invocation : invocations) {
+                invocation.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdown();
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(3.0f * i, c[i], 0.001f);
+        }
+    }
+
+    /**
+     * Each thread binds its own input and output arrays, so the threads do not
+     * share data on the host nor on the device.
+     */
+    @Test
+    public void testBoundObjectsPerThread() throws Exception {
+        float[] a = new float[SIZE];
+        float[] b = new float[SIZE];
+        float[] c = new float[SIZE];
+
+        TaskGraph taskGraph = new TaskGraph("s1") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a, b) //
+                .task("t0", TestConcurrentExecution::vectorAdd, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph).withConcurrentExecution();
+
+        float[][] outputs = new float[NUM_THREADS][];
+        ExecutorService threads = Executors.newFixedThreadPool(NUM_THREADS);
+        try {
+            List<Future<?>> invocations = new ArrayList<>();
+            for (int thread = 0; thread < NUM_THREADS; thread++) {
+                final int id = thread;
+                invocations.add(threads.submit(() -> {
+                    float[] threadA = new float[SIZE];
+                    float[] threadB = new float[SIZE];
+                    float[] threadC = new float[SIZE];
+                    IntStream.range(0, SIZE).forEach(i -> {
+                        threadA[i] = i;
+                        threadB[i] = id * 1000;
+                    });
+                    Map<Object, Object> bindings = new IdentityHashMap<>();
+                    bindings.put(a, threadA);
+                    bindings.put(b, threadB);
+                    bindings.put(c, threadC);
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        executionPlan.execute(bindings);
+                    }
+                    outputs[id] = threadC;
+                }));
+            }
+            for (Future<?> invocation : invocations) {
+                invocation.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdown();
+        }
+
+        for (int thread = 0; thread < NUM_THREADS; thread++) {
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(i + thread * 1000.0f, outputs[thread][i], 0.001f);
+            }
+        }
+        // The arrays the task-graph was built with are left untouched
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(0.0f, c[i], 0.001f);
+        }
+        executionPlan.freeDeviceMemory();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.unittests.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Records the first execution of a task-graph and replays it. The task-graph
+ * has an output copied on demand that is never synchronised: it must not take
+ * part in the comparison of the outputs.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V -J"-Dtornado.replay.record=recordReplay" uk.ac.manchester.tornado.unittests.executor.TestExecutionReplay
+ * </code>
+ */
+public class TestExecutionReplay extends TornadoTestBase {
+
+    private static final String TASK_GRAPH = "recordReplay";
+    private static final String REPLAY_CLASS = "uk.ac.manchester.tornado.runtime.replay.ExecutionReplay";
+
+    private static void compute(int[] a, int[] b, int[] c, int[] d) {
+        for (@Parallel int i = 0; i < a.length; i++) {
+            c[i] = a[i] + b[i];
+            d[i] = a[i] * b[i];
+        }
+    }
+
+    private static Path findRecording() throws IOException {
+        Path directory = Paths.get(System.getProperty("tornado.replay.dir", "tornado-recordings"));
+        Path newest = null;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, TASK_GRAPH + "-*.tvmr")) {
+            for (Path file : files) {
+                if (newest == null || Files.getLastModifiedTime(file).compareTo(Files.getLastModifiedTime(newest)) > 0) {
+                    newest = file;
+                }
+            }
+        }
+        return newest;
+    }
+
+    @Test
+    public void testRecordAndReplay() throws Exception {
+        final int numElements = 4096;
+        int[] a = new int[numElements];
+        int[] b = new int[numElements];
+        int[] c = new int[numElements];
+        int[] d = new int[numElements];
+
+        Arrays.fill(a, 3);
+        Arrays.fill(b, 4);
+
+        TaskGraph taskGraph = new TaskGraph(TASK_GRAPH) //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a, b) //
+                .task("t0", TestExecutionReplay::compute, a, b, c, d) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c) //
+                .transferToHost(DataTransferMode.USER_DEFINED, d);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int i = 0; i < numElements; i++) {
+            assertEquals(7, c[i]);
+            // d is only copied on demand, so the host copy is untouched
+            assertEquals(0, d[i]);
+        }
+        executionPlan.freeDeviceMemory();
+
+        Path recording = findRecording();
+        assertNotNull("the execution of " + TASK_GRAPH + " was not recorded", recording);
+        try {
+            int mismatches = replay(recording);
+            assertEquals(0, mismatches);
+        } finally {
+            Files.deleteIfExists(recording);
+        }
+    }
+
+    /**
+     * The replay tool is part of the runtime, which the unit-tests do not depend
+     * on at compile time.
+     */
+    private static int replay(Path recording) throws Exception {
+        try {
+            return (int) Class.forName(REPLAY_CLASS).getMethod("verify", Path.class).invoke(null, recording);
+        } catch (InvocationTargetException e) {
+            throw (e.getCause() instanceof Exception) ? (Exception) e.getCause() : e;
+        }
+    }
+}
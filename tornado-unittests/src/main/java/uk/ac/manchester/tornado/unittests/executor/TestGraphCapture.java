@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.executor;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * How to run?
+ * <p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.executor.TestGraphCapture
+ * </code>
+ * </p>
+ */
+public class TestGraphCapture extends TornadoTestBase {
+
+    private static final int SIZE = 1024;
+    private static final int ITERATIONS = 10;
+
+    public static void vectorAdd(float[] a, float[] b, float[] c) {
+        for (@Parallel int i = 0; i < c.length; i++) {
+            c[i] = a[i] + b[i];
+        }
+    }
+
+    public static void vectorScale(float[] c, float[] d) {
+        for (@Parallel int i = 0; i < d.length; i++) {
+            d[i] = 2.0f * c[i];
+        }
+    }
+
+    public static void vectorAddContext(KernelContext context, float[] a, float[] b, float[] c) {
+        int i = context.globalIdx;
+        c[i] = a[i] + b[i];
+    }
+
+    @Test
+    public void testReplayWithNewInputs() {
+        float[] a = new float[SIZE];
+        float[] b = new float[SIZE];
+        float[] c = new float[SIZE];
+        Arrays.fill(b, 1.0f);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, b) //
+                .task("t0", TestGraphCapture::vectorAdd, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph).withGraphCapture();
+
+        // The first executions are interpreted, the following ones are replayed
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            final int value = iteration;
+            IntStream.range(0, SIZE).forEach(i -> a[i] = value * i);
+            executionPlan.execute();
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(value * i + 1.0f, c[i], 0.001f);
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidationOnGridChange() {
+        float[] a = new float[SIZE];
+        float[] b = new float[SIZE];
+        float[] c = new float[SIZE];
+        Arrays.fill(a, 1.0f);
+        Arrays.fill(b, 2.0f);
+
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, b) //
+                .task("t0", TestGraphCapture::vectorAddContext, context, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        WorkerGrid1D worker = new WorkerGrid1D(SIZE);
+        GridScheduler gridScheduler = new GridScheduler("s0.t0", worker);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph) //
+                .withGridScheduler(gridScheduler) //
+                .withGraphCapture();
+
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            executionPlan.execute();
+        }
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(3.0f, c[i], 0.001f);
+        }
+
+        // A new grid size discards the capture: only the first half is computed
+        worker.setGlobalWork(SIZE / 2, 1, 1);
+        Arrays.fill(a, 10.0f);
+        executionPlan.execute();
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i < SIZE / 2 ? 12.0f : 3.0f, c[i], 0.001f);
+        }
+    }
+
+    /**
+     * The two launches follow each other on the device, so backends with native
+     * graphs replay them with a single submission.
+     */
+    @Test
+    public void testReplayOfConsecutiveLaunches() {
+        float[] a = new float[SIZE];
+        float[] b = new float[SIZE];
+        float[] c = new float[SIZE];
+        float[] d = new float[SIZE];
+        Arrays.fill(b, 1.0f);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, b) //
+                .task("t0", TestGraphCapture::vectorAdd, a, b, c) //
+                .task("t1", TestGraphCapture::vectorScale, c, d) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, d);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph).withGraphCapture();
+
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            final int value = iteration;
+            IntStream.range(0, SIZE).forEach(i -> a[i] = value * i);
+            executionPlan.execute();
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(2.0f * (value * i + 1.0f), d[i], 0.001f);
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.BatchDefinition;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoMicroBatcher;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * How to run?
+ * <p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.executor.TestMicroBatcher
+ * </code>
+ * </p>
+ */
+public class TestMicroBatcher extends TornadoTestBase {
+
+    private static final int ITEM_SIZE = 64;
+    private static final int MAX_BATCH = 16;
+    private static final int NUM_REQUESTS = 128;
+
+    public static void scaleBatch(float[] input, float[] output) {
+        for (@Parallel int batch = 0; batch < MAX_BATCH; batch++) {
+            for (@Parallel int i = 0; i < ITEM_SIZE; i++) {
+                int index = batch * ITEM_SIZE + i;
+                output[index] = input[index] * 2.0f;
+            }
+        }
+    }
+
+    private static class ScaleBatch implements BatchDefinition<float[], float[]> {
+        private final float[] input = new float[MAX_BATCH * ITEM_SIZE];
+        private final float[] output = new float[MAX_BATCH * ITEM_SIZE];
+
+        @Override
+        public ImmutableTaskGraph getTaskGraph() {
+            TaskGraph taskGraph = new TaskGraph("batch") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                    .task("t0", TestMicroBatcher::scaleBatch, input, output) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+            return taskGraph.snapshot();
+        }
+
+        @Override
+        public void pack(int position, float[] item) {
+            System.arraycopy(item, 0, input, position * ITEM_SIZE, ITEM_SIZE);
+        }
+
+        @Override
+        public float[] unpack(int position) {
+            float[] result = new float[ITEM_SIZE];
+            System.arraycopy(output, position * ITEM_SIZE, result, 0, ITEM_SIZE);
+            return result;
+        }
+    }
+
+    private static class PackError extends Error {
+        PackError() {
+            super("pack failed");
+        }
+    }
+
+    private static class FailingBatch extends ScaleBatch {
+        @Override
+        public void pack(int position, float[] item) {
+            throw new PackError();
+        }
+    }
+
+    private static float[] createItem(int index) {
+        float[] item = new float[ITEM_SIZE];
+        for (int i = 0; i < ITEM_SIZE; i++) {
+            item[i] = index + i;
+        }
+        return item;
+    }
+
+    private static void checkResults(List<CompletableFuture<float[]>> futures) throws Exception {
+        for (int request = 0; request < futures.size(); request++) {
+            float[] result = futures.get(request).get(60, TimeUnit.SECONDS);
+            for (int i = 0; i < ITEM_SIZE; i++) {
+                assertEquals((request + i) * 2.0f, result[i], 0.001f);
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentRequests() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try (TornadoMicroBatcher<float[], float[]> batcher = TornadoExecutionPlan.microBatcher(new ScaleBatch(), MAX_BATCH, 2, TimeUnit.MILLISECONDS)) {
+            List<CompletableFuture<float[]>> futures = new ArrayList<>();
+            for (int i = 0; i < NUM_REQUESTS; i++) {
+                final int request = i;
+                futures.add(CompletableFuture.supplyAsync(() -> batcher.submit(createItem(request)), clients).thenCompose(future -> future));
+            }
+            checkResults(futures);
+            assertEquals(NUM_REQUESTS, batcher.getNumRequests());
+            assertTrue(batcher.getNumBatches() <= NUM_REQUESTS);
+            assertTrue(batcher.getAverageBatchSize() <= MAX_BATCH);
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    @Test
+    public void testBatchOfOne() throws Exception {
+        try (TornadoMicroBatcher<float[], float[]> batcher = TornadoExecutionPlan.microBatcher(new ScaleBatch(), 1, 2, TimeUnit.MILLISECONDS)) {
+            List<CompletableFuture<float[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(batcher.submit(createItem(i)));
+            }
+            checkResults(futures);
+            assertEquals(8, batcher.getNumBatches());
+        }
+    }
+
+    @Test
+    public void testCloseWhileGathering() throws Exception {
+        List<CompletableFuture<float[]>> futures = new ArrayList<>();
+        // A long latency budget keeps the dispatcher gathering the batch when it is closed
+        TornadoMicroBatcher<float[], float[]> batcher = TornadoExecutionPlan.microBatcher(new ScaleBatch(), MAX_BATCH, 10, TimeUnit.SECONDS);
+        for (int i = 0; i < 4; i++) {
+            futures.add(batcher.submit(createItem(i)));
+        }
+        Thread.sleep(100);
+        batcher.close();
+        futures.add(batcher.submit(createItem(4)));
+
+        for (CompletableFuture<float[]> future : futures) {
+            try {
+                future.get(60, TimeUnit.SECONDS);
+            } catch (ExecutionException | CancellationException e) {
+                // Requests that were not launched are cancelled
+            }
+            assertTrue(future.isDone());
+        }
+        assertEquals(0, batcher.getNumBatches());
+    }
+
+    @Test
+    public void testErrorFailsBatch() throws Exception {
+        List<CompletableFuture<float[]>> futures = new ArrayList<>();
+        // A long latency budget gathers every request in a single batch
+        TornadoMicroBatcher<float[], float[]> batcher = TornadoExecutionPlan.microBatcher(new FailingBatch(), 4, 10, TimeUnit.SECONDS);
+        for (int i = 0; i < 4; i++) {
+            futures.add(batcher.submit(createItem(i)));
+        }
+
+        for (CompletableFuture<float[]> future : futures) {
+            try {
+                future.get(60, TimeUnit.SECONDS);
+                fail("The request should have failed");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof PackError);
+            }
+        }
+
+        // The dispatcher stops after an Error: later requests are cancelled
+        CompletableFuture<float[]> future = batcher.submit(createItem(4));
+        try {
+            future.get(60, TimeUnit.SECONDS);
+            fail("The request should have been cancelled");
+        } catch (CancellationException | ExecutionException e) {
+            assertTrue(future.isCompletedExceptionally());
+        }
+        assertEquals(0, batcher.getNumBatches());
+        batcher.close();
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.StreamSlot;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoStream;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * How to run?
+ * <p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.executor.TestStreams
+ * </code>
+ * </p>
+ */
+public class TestStreams extends TornadoTestBase {
+
+    private static final int SIZE = 256;
+    private static final int NUM_ITEMS = 64;
+
+    public static void scale(float[] input, float[] output) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            output[i] = input[i] * 2.0f;
+        }
+    }
+
+    private static class ScaleSlot implements StreamSlot<float[], float[]> {
+        private final float[] input = new float[SIZE];
+        private final float[] output = new float[SIZE];
+        private final ImmutableTaskGraph taskGraph;
+
+        ScaleSlot(int index) {
+            TaskGraph graph = new TaskGraph("stream" + index) //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                    .task("t0", TestStreams::scale, input, output) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+            taskGraph = graph.snapshot();
+        }
+
+        @Override
+        public ImmutableTaskGraph getTaskGraph() {
+            return taskGraph;
+        }
+
+        @Override
+        public void load(float[] item) {
+            System.arraycopy(item, 0, input, 0, SIZE);
+        }
+
+        @Override
+        public float[] store() {
+            return output.clone();
+        }
+    }
+
+    private static float[] createItem(int index) {
+        float[] item = new float[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            item[i] = index + i;
+        }
+        return item;
+    }
+
+    @Test
+    public void testOrderedOutputs() throws InterruptedException {
+        TornadoStream<float[], float[]> stream = TornadoExecutionPlan.stream(4, ScaleSlot::new);
+
+        List<float[]> outputs = Collections.synchronizedList(new ArrayList<>());
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch completed = new CountDownLatch(1);
+
+        stream.subscribe(new Flow.Subscriber<float[]>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                // Request one item at a time to exercise the back-pressure
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(float[] item) {
+                outputs.add(item);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                error.set(throwable);
+                completed.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                completed.countDown();
+            }
+        });
+
+        try (SubmissionPublisher<float[]> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(stream);
+            for (int i = 0; i < NUM_ITEMS; i++) {
+                publisher.submit(createItem(i));
+            }
+        }
+
+        assertTrue(completed.await(60, TimeUnit.SECONDS));
+        assertNull(error.get());
+        assertEquals(NUM_ITEMS, outputs.size());
+        for (int item = 0; item < NUM_ITEMS; item++) {
+            float[] output = outputs.get(item);
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals((item + i) * 2.0f, output[i], 0.001f);
+            }
+        }
+    }
+
+    @Test
+    public void testCompletionBeforeSubscribe() throws InterruptedException {
+        TornadoStream<float[], float[]> stream = TornadoExecutionPlan.stream(2, ScaleSlot::new);
+
+        // The publisher completes without items before the stream has a subscriber
+        stream.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        stream.onComplete();
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        stream.subscribe(new Flow.Subscriber<float[]>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(float[] item) {
+                error.set(new AssertionError("unexpected item"));
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                error.set(throwable);
+                completed.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                completed.countDown();
+            }
+        });
+
+        assertTrue(completed.await(60, TimeUnit.SECONDS));
+        assertNull(error.get());
+    }
+}
@@ -18,6 +18,7 @@
 package uk.ac.manchester.tornado.unittests.fields;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import java.util.Arrays;
 import java.util.Random;
@@ -269,4 +270,78 @@ public class TestFields extends TornadoTestBase {
         assertEquals(-1, a.b.someField, 0.01f);
     }
 
+    private static class BaseKinds {
+        int inheritedField;
+    }
+
+    private static class AllKinds extends BaseKinds {
+        final int finalField;
+        byte byteField;
+        short shortField;
+        char charField;
+        int intField;
+        long longField;
+        float floatField;
+        double doubleField;
+        boolean booleanField;
+
+        AllKinds(int finalField) {
+            this.finalField = finalField;
+        }
+    }
+
+    public static void updateAllKinds(AllKinds o) {
+        o.byteField += 1;
+        o.shortField += 2;
+        o.charField += 3;
+        o.intField += o.finalField;
+        o.longField += 5;
+        o.floatField += 6;
+        o.doubleField += 7;
+        o.booleanField = !o.booleanField;
+        o.inheritedField += 8;
+    }
+
+    /**
+     * Round-trip of an object through the device: every primitive kind, a final
+     * field and a field declared by the super-class are copied in and out.
+     */
+    @Test
+    public void testAllPrimitiveKinds() {
+        // Object fields are deserialised before the SPIR-V command list is flushed.
+        // Check SPIRVObjectWrapper::deserialise and SPIRVTornadoDevice::flush.
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        AllKinds o = new AllKinds(4);
+        o.byteField = 10;
+        o.shortField = 20;
+        o.charField = 'a';
+        o.intField = 40;
+        o.longField = 50L + Integer.MAX_VALUE;
+        o.floatField = 60.5f;
+        o.doubleField = 70.25;
+        o.booleanField = true;
+        o.inheritedField = 80;
+
+        TaskGraph taskGraph = new TaskGraph("s0");
+        taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, o);
+        taskGraph.task("t0", TestFields::updateAllKinds, o);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, o);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        assertEquals(11, o.byteField);
+        assertEquals(22, o.shortField);
+        assertEquals('d', o.charField);
+        assertEquals(44, o.intField);
+        assertEquals(55L + Integer.MAX_VALUE, o.longField);
+        assertEquals(66.5f, o.floatField, 0.01f);
+        assertEquals(77.25, o.doubleField, 0.01);
+        assertFalse(o.booleanField);
+        assertEquals(88, o.inheritedField);
+        assertEquals(4, o.finalField);
+    }
+
 }
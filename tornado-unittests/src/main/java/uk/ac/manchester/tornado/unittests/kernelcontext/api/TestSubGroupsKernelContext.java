@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.kernelcontext.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * The unit-tests in this class check the sub-group (warp) primitives exposed
+ * by the {@link KernelContext}. The sub-group size is device dependent, so the
+ * expected values are computed from the sub-group size and the sub-group local
+ * identifiers reported by each work-item. Sub-groups are not lowered by the
+ * SPIR-V backend: there, the tests check that the kernels bail out instead of
+ * running the Java fallbacks.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V -J"-Dtornado.recover.bailout=False" uk.ac.manchester.tornado.unittests.kernelcontext.api.TestSubGroupsKernelContext
+ * </code>
+ */
+public class TestSubGroupsKernelContext extends TornadoTestBase {
+
+    private static final int SIZE = 1024;
+    private static final int LOCAL_SIZE = 256;
+
+    public static void subGroupIds(KernelContext context, int[] sizes, int[] localIds, int[] numSubGroups) {
+        int idx = context.globalIdx;
+        sizes[idx] = context.getSubGroupSize();
+        localIds[idx] = context.getSubGroupLocalId();
+        numSubGroups[idx] = context.getNumSubGroups();
+    }
+
+    public static void subGroupReduceAddInt(KernelContext context, int[] sizes, int[] output) {
+        int idx = context.globalIdx;
+        sizes[idx] = context.getSubGroupSize();
+        output[idx] = context.subGroupReduceAdd(1);
+    }
+
+    public static void subGroupReduceMaxFloat(KernelContext context, int[] sizes, float[] output) {
+        int idx = context.globalIdx;
+        sizes[idx] = context.getSubGroupSize();
+        output[idx] = context.subGroupReduceMax((float) context.getSubGroupLocalId());
+    }
+
+    public static void subGroupScans(KernelContext context, int[] localIds, int[] inclusive, int[] exclusive) {
+        int idx = context.globalIdx;
+        localIds[idx] = context.getSubGroupLocalId();
+        inclusive[idx] = context.subGroupScanInclusiveAdd(1);
+        exclusive[idx] = context.subGroupScanExclusiveAdd(1);
+    }
+
+    public static void subGroupExchange(KernelContext context, int[] sizes, int[] localIds, int[] shuffled, int[] broadcast) {
+        int idx = context.globalIdx;
+        int subGroupSize = context.getSubGroupSize();
+        int subGroupLocalId = context.getSubGroupLocalId();
+        sizes[idx] = subGroupSize;
+        localIds[idx] = subGroupLocalId;
+        shuffled[idx] = context.subGroupShuffle(subGroupLocalId, (subGroupLocalId + 1) % subGroupSize);
+        broadcast[idx] = context.subGroupBroadcast(idx, 0);
+    }
+
+    public static void workGroupReduceAddFloat(KernelContext context, float[] input, float[] output) {
+        int localIdx = context.localIdx;
+        int groupID = context.groupIdx;
+        float[] partials = context.allocateFloatLocalArray(LOCAL_SIZE);
+
+        float partial = context.subGroupReduceAdd(input[context.globalIdx]);
+        if (context.getSubGroupLocalId() == 0) {
+            partials[context.getSubGroupId()] = partial;
+        }
+        context.localBarrier();
+        if (localIdx == 0) {
+            float acc = 0;
+            for (int i = 0; i < context.getNumSubGroups(); i++) {
+                acc += partials[i];
+            }
+            output[groupID] = acc;
+        }
+    }
+
+    private static TornadoExecutionPlan build(String taskName, TaskGraph taskGraph) {
+        WorkerGrid worker = new WorkerGrid1D(SIZE);
+        worker.setLocalWork(LOCAL_SIZE, 1, 1);
+        GridScheduler gridScheduler = new GridScheduler("s0." + taskName, worker);
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.withGridScheduler(gridScheduler);
+        return executionPlan;
+    }
+
+    /**
+     * Executes the plan. On SPIR-V, it checks that the sub-group operations make
+     * the compilation bail out, and returns false.
+     */
+    private static boolean execute(TornadoExecutionPlan executionPlan) {
+        int driverIndex = TornadoRuntime.getTornadoRuntime().getDefaultDevice().getDriverIndex();
+        if (TornadoRuntime.getTornadoRuntime().getBackendType(driverIndex) == TornadoVMBackendType.SPIRV) {
+            assertThrows(TornadoBailoutRuntimeException.class, executionPlan::execute);
+            return false;
+        }
+        executionPlan.execute();
+        return true;
+    }
+
+    @Test
+    public void testSubGroupIds() {
+        int[] sizes = new int[SIZE];
+        int[] localIds = new int[SIZE];
+        int[] numSubGroups = new int[SIZE];
+        KernelContext context = new KernelContext();
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestSubGroupsKernelContext::subGroupIds, context, sizes, localIds, numSubGroups) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, sizes, localIds, numSubGroups);
+
+        if (!execute(build("t0", taskGraph))) {
+            return;
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            assertTrue(localIds[i] < sizes[i]);
+            assertEquals((LOCAL_SIZE + sizes[i] - 1) / sizes[i], numSubGroups[i]);
+        }
+    }
+
+    @Test
+    public void testSubGroupReduceAddInt() {
+        int[] sizes = new int[SIZE];
+        int[] output = new int[SIZE];
+        KernelContext context = new KernelContext();
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestSubGroupsKernelContext::subGroupReduceAddInt, context, sizes, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, sizes, output);
+
+        if (!execute(build("t0", taskGraph))) {
+            return;
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(sizes[i], output[i]);
+        }
+    }
+
+    @Test
+    public void testSubGroupReduceMaxFloat() {
+        int[] sizes = new int[SIZE];
+        float[] output = new float[SIZE];
+        KernelContext context = new KernelContext();
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestSubGroupsKernelContext::subGroupReduceMaxFloat, context, sizes, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, sizes, output);
+
+        if (!execute(build("t0", taskGraph))) {
+            return;
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(sizes[i] - 1, output[i], 0.0f);
+        }
+    }
+
+    @Test
+    public void testSubGroupScans() {
+        int[] localIds = new int[SIZE];
+        int[] inclusive = new int[SIZE];
+        int[] exclusive = new int[SIZE];
+        KernelContext context = new KernelContext();
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestSubGroupsKernelContext::subGroupScans, context, localIds, inclusive, exclusive) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, localIds, inclusive, exclusive);
+
+        if (!execute(build("t0", taskGraph))) {
+            return;
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(localIds[i] + 1, inclusive[i]);
+            assertEquals(localIds[i], exclusive[i]);
+        }
+    }
+
+    @Test
+    public void testSubGroupShuffleAndBroadcast() {
+        int[] sizes = new int[SIZE];
+        int[] localIds = new int[SIZE];
+        int[] shuffled = new int[SIZE];
+        int[] broadcast = new int[SIZE];
+        KernelContext context = new KernelContext();
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestSubGroupsKernelContext::subGroupExchange, context, sizes, localIds, shuffled, broadcast) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, sizes, localIds, shuffled, broadcast);
+
+        if (!execute(build("t0", taskGraph))) {
+            return;
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals((localIds[i] + 1) % sizes[i], shuffled[i]);
+            // Sub-groups of a 1D work-group are made of consecutive work-items
+            assertEquals(i - localIds[i], broadcast[i]);
+        }
+    }
+
+    @Test
+    public void testWorkGroupReduceWithSubGroups() {
+        float[] input = new float[SIZE];
+        float[] output = new float[SIZE / LOCAL_SIZE];
+        Random r = new Random();
+        IntStream.range(0, SIZE).forEach(i -> input[i] = r.nextInt(100));
+        KernelContext context = new KernelContext();
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestSubGroupsKernelContext::workGroupReduceAddFloat, context, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        if (!execute(build("t0", taskGraph))) {
+            return;
+        }
+
+        for (int group = 0; group < SIZE / LOCAL_SIZE; group++) {
+            float expected = 0;
+            for (int i = group * LOCAL_SIZE; i < (group + 1) * LOCAL_SIZE; i++) {
+                expected += input[i];
+            }
+            assertEquals(expected, output[group], 0.01f);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.layout;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.collections.layout.StructOfArrays;
+import uk.ac.manchester.tornado.api.collections.types.Float4;
+import uk.ac.manchester.tornado.api.collections.types.StorageFormats;
+import uk.ac.manchester.tornado.api.collections.types.VectorFloat4;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests the structure-of-arrays layouts of value classes and vector
+ * collections.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.layout.TestStructOfArrays
+ * </code>
+ */
+public class TestStructOfArrays extends TornadoTestBase {
+
+    private static final int N = 4096;
+    private static final float DELTA = 1e-5f;
+
+    private static class Particle {
+        float x;
+        float y;
+        float vx;
+        float vy;
+        int id;
+
+        Particle(float x, float y, float vx, float vy, int id) {
+            this.x = x;
+            this.y = y;
+            this.vx = vx;
+            this.vy = vy;
+            this.id = id;
+        }
+    }
+
+    private static class Body {
+        float position;
+        float velocity;
+
+        Body(float position, float velocity) {
+            this.position = position;
+            this.velocity = velocity;
+        }
+    }
+
+    private static class Node {
+        float value;
+        Node next;
+    }
+
+    private static Particle[] createParticles(int size) {
+        Random random = new Random(7);
+        Particle[] particles = new Particle[size];
+        for (int i = 0; i < size; i++) {
+            particles[i] = new Particle(random.nextFloat(), random.nextFloat(), random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, i);
+        }
+        return particles;
+    }
+
+    public static void move(float[] x, float[] y, float[] vx, float[] vy, float dt) {
+        for (@Parallel int i = 0; i < x.length; i++) {
+            x[i] = x[i] + vx[i] * dt;
+            y[i] = y[i] + vy[i] * dt;
+        }
+    }
+
+    public static void step(float[] position, float[] velocity, float dt) {
+        for (@Parallel int i = 0; i < position.length; i++) {
+            position[i] = position[i] + velocity[i] * dt;
+        }
+    }
+
+    public static void scaleComponent(float[] soa, int component, int numElements, float factor) {
+        for (@Parallel int i = 0; i < numElements; i++) {
+            int index = StorageFormats.toStructOfArrays(i, component, numElements);
+            soa[index] = soa[index] * factor;
+        }
+    }
+
+    @Test
+    public void testPackUnpack() {
+        Particle[] particles = createParticles(N);
+        StructOfArrays<Particle> soa = StructOfArrays.fromArray(Particle.class, particles);
+
+        assertArrayEquals(new String[] { "x", "y", "vx", "vy", "id" }, soa.getFieldNames());
+        assertEquals(5, soa.getColumns().length);
+        for (int i = 0; i < N; i++) {
+            assertEquals(particles[i].x, soa.getFloatColumn("x")[i], 0.0f);
+            assertEquals(particles[i].vy, soa.getFloatColumn("vy")[i], 0.0f);
+            assertEquals(i, soa.getIntColumn("id")[i]);
+        }
+
+        Particle[] copies = new Particle[N];
+        for (int i = 0; i < N; i++) {
+            copies[i] = new Particle(0, 0, 0, 0, -1);
+        }
+        soa.unpack(copies);
+        for (int i = 0; i < N; i++) {
+            assertEquals(particles[i].x, copies[i].x, 0.0f);
+            assertEquals(particles[i].y, copies[i].y, 0.0f);
+            assertEquals(particles[i].id, copies[i].id);
+        }
+    }
+
+    @Test(expected = TornadoRuntimeException.class)
+    public void testRejectsNonValueClass() {
+        StructOfArrays.create(Node.class, N);
+    }
+
+    @Test
+    public void testValueClassKernel() {
+        final float dt = 0.1f;
+        Particle[] particles = createParticles(N);
+        Particle[] expected = createParticles(N);
+        for (Particle p : expected) {
+            p.x += p.vx * dt;
+            p.y += p.vy * dt;
+        }
+
+        StructOfArrays<Particle> soa = StructOfArrays.fromArray(Particle.class, particles);
+        float[] x = soa.getFloatColumn("x");
+        float[] y = soa.getFloatColumn("y");
+        float[] vx = soa.getFloatColumn("vx");
+        float[] vy = soa.getFloatColumn("vy");
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, x, y, vx, vy) //
+                .task("t0", TestStructOfArrays::move, x, y, vx, vy, dt) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, x, y);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+        executionPlan.freeDeviceMemory();
+
+        soa.unpack(particles);
+        for (int i = 0; i < N; i++) {
+            assertEquals(expected[i].x, particles[i].x, DELTA);
+            assertEquals(expected[i].y, particles[i].y, DELTA);
+            assertEquals(i, particles[i].id);
+        }
+    }
+
+    /**
+     * The value objects are transposed on every transfer to the device and the
+     * columns copied back are transposed into the objects, without calling
+     * {@link StructOfArrays#pack} or {@link StructOfArrays#unpack}.
+     */
+    @Test
+    public void testBoundTransfers() {
+        final float dt = 0.5f;
+        Body[] bodies = new Body[N];
+        for (int i = 0; i < N; i++) {
+            bodies[i] = new Body(i, 1.0f);
+        }
+
+        StructOfArrays<Body> soa = StructOfArrays.bind(Body.class, bodies);
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, soa) //
+                .task("t0", TestStructOfArrays::step, soa.getFloatColumn("position"), soa.getFloatColumn("velocity"), dt) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, soa);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+        for (int i = 0; i < N; i++) {
+            assertEquals(i + dt, bodies[i].position, DELTA);
+        }
+
+        // Updates of the objects are picked up by the next execution
+        for (Body body : bodies) {
+            body.velocity = 2.0f;
+        }
+        executionPlan.execute();
+        executionPlan.freeDeviceMemory();
+        for (int i = 0; i < N; i++) {
+            assertEquals(i + dt + 2.0f * dt, bodies[i].position, DELTA);
+            assertEquals(2.0f, bodies[i].velocity, 0.0f);
+        }
+    }
+
+    @Test
+    public void testVectorFloat4Layout() {
+        VectorFloat4 vector = new VectorFloat4(N);
+        for (int i = 0; i < N; i++) {
+            vector.set(i, new Float4(i, 2 * i, 3 * i, 4 * i));
+        }
+
+        float[] soa = vector.toStructOfArrays();
+        for (int i = 0; i < N; i++) {
+            assertEquals(3 * i, soa[2 * N + i], 0.0f);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, soa) //
+                .task("t0", TestStructOfArrays::scaleComponent, soa, 1, N, 0.5f) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, soa);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+        executionPlan.freeDeviceMemory();
+
+        vector.loadFromStructOfArrays(soa);
+        for (int i = 0; i < N; i++) {
+            Float4 value = vector.get(i);
+            assertEquals(i, value.getX(), DELTA);
+            assertEquals(i, value.getY(), DELTA);
+            assertEquals(3 * i, value.getZ(), DELTA);
+            assertEquals(4 * i, value.getW(), DELTA);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.runtime.metrics.LatencyHistogram;
+
+/**
+ * Checks the buckets and the percentiles of the latency histogram. These tests
+ * do not run any task-graph.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.metrics.TestLatencyHistogram
+ * </code>
+ */
+public class TestLatencyHistogram {
+
+    private static final long LARGE = 1_000_000_000L;
+
+    /**
+     * @return the value reported for the median of {@code value} and a much
+     *         larger value, i.e. the highest value of the bucket of
+     *         {@code value}.
+     */
+    private static long bucketOf(long value) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(value);
+        histogram.record(LARGE);
+        return histogram.getValueAtPercentile(50);
+    }
+
+    @Test
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getSum());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0.0, histogram.getMean(), 0.0);
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testBucketBoundaries() {
+        // One bucket per value below 64
+        assertEquals(0, bucketOf(0));
+        assertEquals(31, bucketOf(31));
+        assertEquals(32, bucketOf(32));
+        assertEquals(63, bucketOf(63));
+        // Buckets of two values between 64 and 127, of four up to 255
+        assertEquals(65, bucketOf(64));
+        assertEquals(65, bucketOf(65));
+        assertEquals(67, bucketOf(66));
+        assertEquals(127, bucketOf(126));
+        assertEquals(131, bucketOf(128));
+        assertEquals(131, bucketOf(131));
+        assertEquals(135, bucketOf(132));
+        // Negative values are recorded as zero
+        assertEquals(0, bucketOf(-5));
+    }
+
+    @Test
+    public void testRelativeError() {
+        for (long value = 100; value < LARGE; value = value * 3 + 7) {
+            long reported = bucketOf(value);
+            assertTrue(reported >= value);
+            assertTrue(reported - value <= value / 32);
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(5050, histogram.getSum());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 0.0);
+
+        assertEquals(1, histogram.getValueAtPercentile(0));
+        assertEquals(50, histogram.getValueAtPercentile(50));
+        // 99 shares its bucket with 98
+        assertEquals(99, histogram.getValueAtPercentile(99));
+        assertEquals(99, histogram.getValueAtPercentile(98));
+        // The bucket of 100 ends at 101, the maximum bounds it
+        assertEquals(100, histogram.getValueAtPercentile(100));
+    }
+}
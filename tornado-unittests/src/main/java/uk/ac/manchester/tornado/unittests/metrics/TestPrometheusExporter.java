@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.runtime.metrics.LatencyHistogram;
+import uk.ac.manchester.tornado.runtime.metrics.MetricsRegistry;
+import uk.ac.manchester.tornado.runtime.metrics.PrometheusExporter;
+
+/**
+ * Checks the Prometheus text exposition format produced for a metrics
+ * registry. These tests do not run any task-graph.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.metrics.TestPrometheusExporter
+ * </code>
+ */
+public class TestPrometheusExporter {
+
+    @Test
+    public void testEmptyRegistry() {
+        assertEquals("", PrometheusExporter.format(new MetricsRegistry()));
+    }
+
+    @Test
+    public void testCounters() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.describe("tornado_bailouts_total", "Executions that fell back to Java");
+        registry.counter("tornado_bailouts_total", "task_graph", "s1", "device", "gpu").add(2);
+        registry.counter("tornado_bailouts_total", "task_graph", "s0", "device", "gpu").add(3);
+        // Families are sorted by name, and a counter without labels has no braces
+        registry.counter("tornado_allocations_total").increment();
+
+        String expected = "# TYPE tornado_allocations_total counter\n" //
+                + "tornado_allocations_total 1\n" //
+                + "# HELP tornado_bailouts_total Executions that fell back to Java\n" //
+                + "# TYPE tornado_bailouts_total counter\n" //
+                + "tornado_bailouts_total{task_graph=\"s0\",device=\"gpu\"} 3\n" //
+                + "tornado_bailouts_total{task_graph=\"s1\",device=\"gpu\"} 2\n";
+        assertEquals(expected, PrometheusExporter.format(registry));
+    }
+
+    @Test
+    public void testSummaries() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.describe("tornado_execution_latency", "Latency of the executions");
+        LatencyHistogram histogram = registry.histogram("tornado_execution_latency", "task_graph", "s0");
+        histogram.record(1_000_000);
+        histogram.record(1_000_000);
+
+        String expected = "# HELP tornado_execution_latency_seconds Latency of the executions\n" //
+                + "# TYPE tornado_execution_latency_seconds summary\n" //
+                + "tornado_execution_latency_seconds{task_graph=\"s0\",quantile=\"0.5\"} 0.001\n" //
+                + "tornado_execution_latency_seconds{task_graph=\"s0\",quantile=\"0.99\"} 0.001\n" //
+                + "tornado_execution_latency_seconds{task_graph=\"s0\",quantile=\"0.999\"} 0.001\n" //
+                + "tornado_execution_latency_seconds_sum{task_graph=\"s0\"} 0.002\n" //
+                + "tornado_execution_latency_seconds_count{task_graph=\"s0\"} 2\n";
+        assertEquals(expected, PrometheusExporter.format(registry));
+    }
+
+    @Test
+    public void testLabelEscaping() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("tornado_executions_total", "task_graph", "a\"b\\c\nd").increment();
+
+        String expected = "# TYPE tornado_executions_total counter\n" //
+                + "tornado_executions_total{task_graph=\"a\\\"b\\\\c\\nd\"} 1\n";
+        assertEquals(expected, PrometheusExporter.format(registry));
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.primitives;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.primitives.Histogram;
+import uk.ac.manchester.tornado.primitives.PrefixSum;
+import uk.ac.manchester.tornado.primitives.RadixSort;
+import uk.ac.manchester.tornado.primitives.SegmentedReduction;
+import uk.ac.manchester.tornado.primitives.StreamCompaction;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.primitives.TestPrimitives
+ * </code>
+ */
+public class TestPrimitives extends TornadoTestBase {
+
+    // Not a multiple of the block size and large enough to need two levels of partial sums
+    private static final int SIZE = 256 * 300 + 17;
+
+    @Test
+    public void testInclusivePrefixSumInt() {
+        int[] input = new int[SIZE];
+        int[] output = new int[SIZE];
+        Random random = new Random();
+        Arrays.setAll(input, i -> random.nextInt(10));
+
+        PrefixSum.inclusive(input, output).execute();
+
+        int acc = 0;
+        for (int i = 0; i < SIZE; i++) {
+            acc += input[i];
+            assertEquals(acc, output[i]);
+        }
+    }
+
+    @Test
+    public void testExclusivePrefixSumInt() {
+        int[] input = new int[SIZE];
+        int[] output = new int[SIZE];
+        Random random = new Random();
+        Arrays.setAll(input, i -> random.nextInt(10));
+
+        PrefixSum.exclusive(input, output).execute();
+
+        int acc = 0;
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(acc, output[i]);
+            acc += input[i];
+        }
+    }
+
+    @Test
+    public void testInclusivePrefixSumFloat() {
+        float[] input = new float[SIZE];
+        float[] output = new float[SIZE];
+        Arrays.fill(input, 1.0f);
+
+        PrefixSum.inclusive(input, output).execute();
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i + 1, output[i], 0.01f);
+        }
+    }
+
+    @Test
+    public void testRadixSortKeys() {
+        int[] keys = new int[SIZE];
+        Random random = new Random();
+        Arrays.setAll(keys, i -> random.nextInt());
+        int[] expected = keys.clone();
+        Arrays.sort(expected);
+
+        RadixSort.sort(keys).execute();
+
+        assertArrayEquals(expected, keys);
+    }
+
+    @Test
+    public void testRadixSortPairs() {
+        int[] keys = new int[SIZE];
+        int[] values = new int[SIZE];
+        Random random = new Random();
+        Arrays.setAll(keys, i -> random.nextInt(1000) - 500);
+        Arrays.setAll(values, i -> i);
+        int[] original = keys.clone();
+
+        RadixSort.sort(keys, values).execute();
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(original[values[i]], keys[i]);
+            if (i > 0) {
+                // Sorted and stable
+                boolean ordered = keys[i - 1] < keys[i] || (keys[i - 1] == keys[i] && values[i - 1] < values[i]);
+                assertTrue(ordered);
+            }
+        }
+    }
+
+    @Test
+    public void testStreamCompaction() {
+        float[] input = new float[SIZE];
+        int[] flags = new int[SIZE];
+        float[] output = new float[SIZE];
+        int[] count = new int[1];
+        Arrays.setAll(flags, i -> i % 3 == 0 ? 1 : 0);
+        for (int i = 0; i < SIZE; i++) {
+            input[i] = i;
+        }
+
+        StreamCompaction.compact(input, flags, output, count).execute();
+
+        int expectedCount = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (flags[i] != 0) {
+                assertEquals(input[i], output[expectedCount], 0.0f);
+                expectedCount++;
+            }
+        }
+        assertEquals(expectedCount, count[0]);
+    }
+
+    @Test
+    public void testSegmentedReduction() {
+        final int numSegments = 100;
+        int[] segmentOffsets = new int[numSegments + 1];
+        Random random = new Random();
+        for (int s = 1; s <= numSegments; s++) {
+            segmentOffsets[s] = segmentOffsets[s - 1] + random.nextInt(1000);
+        }
+        int[] values = new int[segmentOffsets[numSegments]];
+        Arrays.setAll(values, i -> random.nextInt(100));
+        int[] sums = new int[numSegments];
+        int[] maxs = new int[numSegments];
+
+        SegmentedReduction.reduce(values, segmentOffsets, sums, SegmentedReduction.Operation.ADD).execute();
+        SegmentedReduction.reduce(values, segmentOffsets, maxs, SegmentedReduction.Operation.MAX).execute();
+
+        for (int s = 0; s < numSegments; s++) {
+            int sum = 0;
+            int max = Integer.MIN_VALUE;
+            for (int i = segmentOffsets[s]; i < segmentOffsets[s + 1]; i++) {
+                sum += values[i];
+                max = Math.max(max, values[i]);
+            }
+            assertEquals(sum, sums[s]);
+            assertEquals(max, maxs[s]);
+        }
+    }
+
+    @Test
+    public void testHistogram() {
+        final int numBins = 64;
+        int[] values = new int[SIZE];
+        int[] histogram = new int[numBins];
+        Random random = new Random();
+        // Include values outside the bins, which must be ignored
+        Arrays.setAll(values, i -> random.nextInt(numBins + 10) - 5);
+
+        Histogram.compute(values, histogram).execute();
+
+        int[] expected = new int[numBins];
+        for (int value : values) {
+            if (value >= 0 && value < numBins) {
+                expected[value]++;
+            }
+        }
+        assertArrayEquals(expected, histogram);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.unittests.profiler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.ProfilerMode;
+import uk.ac.manchester.tornado.unittests.TestHello;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V -J"-Dtornado.counters=simulated" uk.ac.manchester.tornado.unittests.profiler.TestHardwareCounters
+ * </code>
+ */
+public class TestHardwareCounters extends TornadoTestBase {
+
+    private static final Pattern ACHIEVED_OCCUPANCY = Pattern.compile("\"ACHIEVED_OCCUPANCY\": \"([0-9.]+)\"");
+
+    @Test
+    public void testSimulatedCounters() {
+        final int numElements = 1024;
+        int[] a = new int[numElements];
+        int[] b = new int[numElements];
+        int[] c = new int[numElements];
+
+        Arrays.fill(a, 1);
+        Arrays.fill(b, 2);
+
+        TaskGraph taskGraph = new TaskGraph("counters") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a, b) //
+                .task("t0", TestHello::add, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot()).withProfiler(ProfilerMode.SILENT);
+
+        TornadoExecutionResult first = executionPlan.execute();
+        String firstLog = first.getProfilerResult().getProfileLog();
+        assertTrue(firstLog.contains("\"HARDWARE_COUNTERS\""));
+        assertTrue(firstLog.contains("\"PROVIDER\": \"simulated\""));
+        // Synthetic ratios are labelled as such, the kernel time is measured
+        assertTrue(firstLog.contains("\"ACHIEVED_OCCUPANCY\": \"simulated\""));
+        assertTrue(firstLog.contains("\"KERNEL_TIME_NS\": \"measured\""));
+
+        // The simulated ratios are seeded with the task name, so every execution
+        // reports the same occupancy
+        TornadoExecutionResult second = executionPlan.execute();
+        String secondLog = second.getProfilerResult().getProfileLog();
+        Matcher matcher = ACHIEVED_OCCUPANCY.matcher(secondLog);
+        assertTrue(matcher.find());
+        String occupancy = matcher.group(1);
+        while (matcher.find()) {
+            assertEquals(occupancy, matcher.group(1));
+        }
+        double value = Double.parseDouble(occupancy);
+        assertTrue(value >= 0.25 && value <= 1.0);
+
+        for (int i = 0; i < numElements; i++) {
+            assertEquals(3, c[i]);
+        }
+        executionPlan.freeDeviceMemory();
+    }
+}
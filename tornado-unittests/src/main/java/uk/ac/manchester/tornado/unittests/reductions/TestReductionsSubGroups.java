@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.reductions;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.annotations.Reduce;
+import uk.ac.manchester.tornado.api.collections.math.TornadoMath;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Reductions over input sizes that are not a multiple of the warp size. With
+ * {@code tornado.reductions.subgroups} enabled, these sizes leave partially
+ * filled sub-groups in the last work-group.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.reductions.TestReductionsSubGroups
+ * </code>
+ */
+public class TestReductionsSubGroups extends TornadoTestBase {
+
+    private static final int[] SIZES = { 33, 1000, 4100 };
+
+    private static void addInt(int[] input, @Reduce int[] result) {
+        result[0] = 0;
+        for (@Parallel int i = 0; i < input.length; i++) {
+            result[0] += input[i];
+        }
+    }
+
+    private static void maxInt(int[] input, @Reduce int[] result) {
+        result[0] = Integer.MIN_VALUE;
+        for (@Parallel int i = 0; i < input.length; i++) {
+            result[0] = TornadoMath.max(result[0], input[i]);
+        }
+    }
+
+    private static void minInt(int[] input, @Reduce int[] result) {
+        result[0] = Integer.MAX_VALUE;
+        for (@Parallel int i = 0; i < input.length; i++) {
+            result[0] = TornadoMath.min(result[0], input[i]);
+        }
+    }
+
+    private static void addFloat(float[] input, @Reduce float[] result) {
+        result[0] = 0.0f;
+        for (@Parallel int i = 0; i < input.length; i++) {
+            result[0] += input[i];
+        }
+    }
+
+    private static void maxFloat(float[] input, @Reduce float[] result) {
+        result[0] = Float.NEGATIVE_INFINITY;
+        for (@Parallel int i = 0; i < input.length; i++) {
+            result[0] = TornadoMath.max(result[0], input[i]);
+        }
+    }
+
+    private static void minFloat(float[] input, @Reduce float[] result) {
+        result[0] = Float.POSITIVE_INFINITY;
+        for (@Parallel int i = 0; i < input.length; i++) {
+            result[0] = TornadoMath.min(result[0], input[i]);
+        }
+    }
+
+    private static int[] randomInts(int size) {
+        Random r = new Random();
+        int[] input = new int[size];
+        IntStream.range(0, size).forEach(i -> input[i] = r.nextInt(10000) - 5000);
+        return input;
+    }
+
+    private static float[] randomFloats(int size) {
+        Random r = new Random();
+        float[] input = new float[size];
+        IntStream.range(0, size).forEach(i -> input[i] = r.nextFloat() - 0.5f);
+        return input;
+    }
+
+    private static void execute(TaskGraph taskGraph) {
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+    }
+
+    @Test
+    public void testAddInt() {
+        for (int size : SIZES) {
+            int[] input = randomInts(size);
+            int[] result = new int[1];
+
+            TaskGraph taskGraph = new TaskGraph("s0") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                    .task("t0", TestReductionsSubGroups::addInt, input, result) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+            execute(taskGraph);
+
+            int[] sequential = new int[1];
+            addInt(input, sequential);
+            assertEquals("size " + size, sequential[0], result[0]);
+        }
+    }
+
+    @Test
+    public void testMaxInt() {
+        for (int size : SIZES) {
+            int[] input = randomInts(size);
+            int[] result = new int[1];
+
+            TaskGraph taskGraph = new TaskGraph("s0") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                    .task("t0", TestReductionsSubGroups::maxInt, input, result) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+            execute(taskGraph);
+
+            int[] sequential = new int[1];
+            maxInt(input, sequential);
+            assertEquals("size " + size, sequential[0], result[0]);
+        }
+    }
+
+    @Test
+    public void testMinInt() {
+        for (int size : SIZES) {
+            int[] input = randomInts(size);
+            int[] result = new int[1];
+
+            TaskGraph taskGraph = new TaskGraph("s0") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                    .task("t0", TestReductionsSubGroups::minInt, input, result) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+            execute(taskGraph);
+
+            int[] sequential = new int[1];
+            minInt(input, sequential);
+            assertEquals("size " + size, sequential[0], result[0]);
+        }
+    }
+
+    @Test
+    public void testAddFloat() {
+        for (int size : SIZES) {
+            float[] input = randomFloats(size);
+            float[] result = new float[1];
+
+            TaskGraph taskGraph = new TaskGraph("s0") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                    .task("t0", TestReductionsSubGroups::addFloat, input, result) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+            execute(taskGraph);
+
+            float[] sequential = new float[1];
+            addFloat(input, sequential);
+            assertEquals("size " + size, sequential[0], result[0], 0.01f);
+        }
+    }
+
+    @Test
+    public void testMaxFloat() {
+        for (int size : SIZES) {
+            float[] input = randomFloats(size);
+            float[] result = new float[1];
+
+            TaskGraph taskGraph = new TaskGraph("s0") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                    .task("t0", TestReductionsSubGroups::maxFloat, input, result) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+            execute(taskGraph);
+
+            float[] sequential = new float[1];
+            maxFloat(input, sequential);
+            assertEquals("size " + size, sequential[0], result[0], 0.0f);
+        }
+    }
+
+    @Test
+    public void testMinFloat() {
+        for (int size : SIZES) {
+            float[] input = randomFloats(size);
+            float[] result = new float[1];
+
+            TaskGraph taskGraph = new TaskGraph("s0") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                    .task("t0", TestReductionsSubGroups::minFloat, input, result) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+            execute(taskGraph);
+
+            float[] sequential = new float[1];
+            minFloat(input, sequential);
+            assertEquals("size " + size, sequential[0], result[0], 0.0f);
+        }
+    }
+}
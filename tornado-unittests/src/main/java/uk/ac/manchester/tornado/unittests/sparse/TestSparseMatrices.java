@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.sparse;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+import uk.ac.manchester.tornado.matrix.sparse.BiCGSTAB;
+import uk.ac.manchester.tornado.matrix.sparse.COOMatrix;
+import uk.ac.manchester.tornado.matrix.sparse.ConjugateGradient;
+import uk.ac.manchester.tornado.matrix.sparse.ELLMatrix;
+import uk.ac.manchester.tornado.matrix.sparse.RowStatistics;
+import uk.ac.manchester.tornado.matrix.sparse.SELLMatrix;
+import uk.ac.manchester.tornado.matrix.sparse.SolverResult;
+import uk.ac.manchester.tornado.matrix.sparse.SpMM;
+import uk.ac.manchester.tornado.matrix.sparse.SpMV;
+import uk.ac.manchester.tornado.matrix.sparse.SpMVStrategy;
+import uk.ac.manchester.tornado.matrix.sparse.SparseFormats;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.sparse.TestSparseMatrices
+ * </code>
+ */
+public class TestSparseMatrices extends TornadoTestBase {
+
+    private static final int NUM_ROWS = 2048 + 13;
+    private static final float DELTA = 0.01f;
+
+    /**
+     * Random matrix with short rows and a few very long rows, so that every
+     * kernel deals with load imbalance.
+     */
+    private static CSRMatrix<float[]> createPowerLawMatrix(int numRows) {
+        Random random = new Random(7);
+        float[] dense = new float[numRows * numRows];
+        for (int row = 0; row < numRows; row++) {
+            int length = (row % 97 == 0) ? numRows / 2 : random.nextInt(8);
+            for (int k = 0; k < length; k++) {
+                dense[row * numRows + random.nextInt(numRows)] = random.nextFloat();
+            }
+        }
+        return SparseFormats.fromDense(dense, numRows, numRows);
+    }
+
+    /**
+     * Tridiagonal, strictly diagonally dominant matrix. Symmetric when
+     * {@code upper == lower}.
+     */
+    private static CSRMatrix<float[]> createTridiagonalMatrix(int numRows, float lower, float upper) {
+        int[] rowIndices = new int[3 * numRows - 2];
+        int[] columnIndices = new int[3 * numRows - 2];
+        float[] values = new float[3 * numRows - 2];
+        int index = 0;
+        for (int row = 0; row < numRows; row++) {
+            rowIndices[index] = row;
+            columnIndices[index] = row;
+            values[index++] = 4.0f;
+            if (row > 0) {
+                rowIndices[index] = row;
+                columnIndices[index] = row - 1;
+                values[index++] = lower;
+            }
+            if (row < numRows - 1) {
+                rowIndices[index] = row;
+                columnIndices[index] = row + 1;
+                values[index++] = upper;
+            }
+        }
+        return SparseFormats.toCSR(new COOMatrix(numRows, rowIndices, columnIndices, values));
+    }
+
+    private static float[] createVector(int size) {
+        Random random = new Random(11);
+        float[] vector = new float[size];
+        for (int i = 0; i < size; i++) {
+            vector[i] = random.nextFloat();
+        }
+        return vector;
+    }
+
+    private static void checkSpMV(SpMVStrategy strategy) {
+        CSRMatrix<float[]> matrix = createPowerLawMatrix(NUM_ROWS);
+        float[] x = createVector(NUM_ROWS);
+        float[] y = new float[NUM_ROWS];
+        float[] expected = new float[NUM_ROWS];
+
+        SpMV spmv = SpMV.create(matrix, x, y, strategy);
+        spmv.execute();
+
+        SparseFormats.multiply(matrix, x, expected);
+        assertEquals(strategy, spmv.getStrategy());
+        assertArrayEquals(expected, y, DELTA);
+    }
+
+    @Test
+    public void testFormatConversions() {
+        CSRMatrix<float[]> matrix = createPowerLawMatrix(NUM_ROWS);
+        CSRMatrix<float[]> roundTrip = SparseFormats.toCSR(SparseFormats.toCOO(matrix));
+        assertArrayEquals(matrix.rows, roundTrip.rows);
+        assertArrayEquals(matrix.cols, roundTrip.cols);
+        assertArrayEquals(matrix.vals, roundTrip.vals, 0.0f);
+
+        RowStatistics statistics = RowStatistics.of(matrix);
+        ELLMatrix ell = SparseFormats.toELL(matrix);
+        assertEquals(statistics.getMaxRowLength(), ell.getWidth());
+
+        SELLMatrix sell = SparseFormats.toSELL(matrix, 32, 256);
+        assertEquals(0, sell.getNumSlots() % 32);
+        assertTrue(sell.getValues().length <= ell.getValues().length);
+    }
+
+    @Test
+    public void testStrategySelection() {
+        assertEquals(SpMVStrategy.MERGE_PATH, SpMVStrategy.select(RowStatistics.of(createPowerLawMatrix(NUM_ROWS))));
+        assertEquals(SpMVStrategy.ELL, SpMVStrategy.select(RowStatistics.of(createTridiagonalMatrix(NUM_ROWS, -1.0f, -1.0f))));
+    }
+
+    @Test
+    public void testSpMVScalar() {
+        checkSpMV(SpMVStrategy.CSR_SCALAR);
+    }
+
+    @Test
+    public void testSpMVVector() {
+        checkSpMV(SpMVStrategy.CSR_VECTOR);
+    }
+
+    @Test
+    public void testSpMVMergePath() {
+        checkSpMV(SpMVStrategy.MERGE_PATH);
+    }
+
+    @Test
+    public void testSpMVEll() {
+        checkSpMV(SpMVStrategy.ELL);
+    }
+
+    @Test
+    public void testSpMVSell() {
+        checkSpMV(SpMVStrategy.SELL);
+    }
+
+    @Test
+    public void testSpMM() {
+        final int numVectors = 8;
+        CSRMatrix<float[]> matrix = createPowerLawMatrix(NUM_ROWS);
+        float[] b = createVector(NUM_ROWS * numVectors);
+        float[] c = new float[NUM_ROWS * numVectors];
+
+        SpMM.create(matrix, b, c, numVectors).execute();
+
+        float[] column = new float[NUM_ROWS];
+        float[] expected = new float[NUM_ROWS];
+        for (int j = 0; j < numVectors; j++) {
+            for (int i = 0; i < NUM_ROWS; i++) {
+                column[i] = b[i * numVectors + j];
+            }
+            SparseFormats.multiply(matrix, column, expected);
+            for (int i = 0; i < NUM_ROWS; i++) {
+                assertEquals(expected[i], c[i * numVectors + j], DELTA);
+            }
+        }
+    }
+
+    private static void checkSolution(CSRMatrix<float[]> matrix, float[] b, float[] x) {
+        float[] ax = new float[NUM_ROWS];
+        SparseFormats.multiply(matrix, x, ax);
+        assertArrayEquals(b, ax, 1e-3f);
+    }
+
+    @Test
+    public void testConjugateGradient() {
+        CSRMatrix<float[]> matrix = createTridiagonalMatrix(NUM_ROWS, -1.0f, -1.0f);
+        float[] b = createVector(NUM_ROWS);
+        float[] x = new float[NUM_ROWS];
+
+        SolverResult result = ConjugateGradient.create(matrix, b, x, 1e-6f).solve(500);
+
+        assertTrue(result.toString(), result.isConverged());
+        checkSolution(matrix, b, x);
+    }
+
+    @Test
+    public void testBiCGSTAB() {
+        CSRMatrix<float[]> matrix = createTridiagonalMatrix(NUM_ROWS, -1.5f, -0.5f);
+        float[] b = createVector(NUM_ROWS);
+        float[] x = new float[NUM_ROWS];
+
+        SolverResult result = BiCGSTAB.create(matrix, b, x, 1e-6f).solve(500);
+
+        assertTrue(result.toString(), result.isConverged());
+        checkSolution(matrix, b, x);
+    }
+}
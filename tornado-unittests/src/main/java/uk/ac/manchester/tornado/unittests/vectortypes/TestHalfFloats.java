@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.unittests.vectortypes;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.collections.types.BFloat16;
+import uk.ac.manchester.tornado.api.collections.types.HalfFloat;
+import uk.ac.manchester.tornado.api.collections.types.VectorFloat;
+import uk.ac.manchester.tornado.api.collections.types.VectorHalf;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.vectortypes.TestHalfFloats
+ * </code>
+ */
+public class TestHalfFloats extends TornadoTestBase {
+
+    private static final float HALF_DELTA = 0.01f;
+
+    private static void convertToFloat(short[] input, float[] output) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            output[i] = HalfFloat.toFloat(input[i]);
+        }
+    }
+
+    private static void convertToHalf(float[] input, short[] output) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            output[i] = HalfFloat.toHalf(input[i]);
+        }
+    }
+
+    private static void saxpyHalf(float alpha, short[] x, short[] y) {
+        for (@Parallel int i = 0; i < y.length; i++) {
+            y[i] = HalfFloat.toHalf(alpha * HalfFloat.toFloat(x[i]) + HalfFloat.toFloat(y[i]));
+        }
+    }
+
+    private static void addVectorHalf(VectorHalf a, VectorHalf b, VectorFloat output) {
+        for (@Parallel int i = 0; i < output.size(); i++) {
+            output.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    private static void convertBFloat16(short[] input, float[] output) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            output[i] = BFloat16.toFloat(input[i]);
+        }
+    }
+
+    @Test
+    public void testHostConversions() {
+        assertEquals(0x3C00, HalfFloat.toHalf(1.0f));
+        assertEquals((short) 0xC000, HalfFloat.toHalf(-2.0f));
+        assertEquals(0x7BFF, HalfFloat.toHalf(65504.0f));
+        assertEquals(0x7C00, HalfFloat.toHalf(1e6f));
+        assertEquals(0x0001, HalfFloat.toHalf(5.9604645e-8f));
+        assertEquals(1.0f, HalfFloat.toFloat((short) 0x3C00), 0.0f);
+        assertEquals(65504.0f, HalfFloat.toFloat((short) 0x7BFF), 0.0f);
+        assertEquals(5.9604645e-8f, HalfFloat.toFloat((short) 0x0001), 0.0f);
+        assertEquals(Float.POSITIVE_INFINITY, HalfFloat.toFloat((short) 0x7C00), 0.0f);
+
+        assertEquals(0x3F80, BFloat16.toBFloat16(1.0f));
+        assertEquals(1.0f, BFloat16.toFloat((short) 0x3F80), 0.0f);
+    }
+
+    @Test
+    public void testHalfToFloat() {
+        final int size = 1024;
+        short[] input = new short[size];
+        float[] output = new float[size];
+
+        Random r = new Random();
+        for (int i = 0; i < size; i++) {
+            input[i] = HalfFloat.toHalf(r.nextFloat() * 100);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input) //
+                .task("t0", TestHalfFloats::convertToFloat, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(HalfFloat.toFloat(input[i]), output[i], 0.0f);
+        }
+    }
+
+    @Test
+    public void testFloatToHalf() {
+        final int size = 1024;
+        float[] input = new float[size];
+        short[] output = new short[size];
+
+        Random r = new Random();
+        for (int i = 0; i < size; i++) {
+            input[i] = (r.nextFloat() - 0.5f) * 1000;
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input) //
+                .task("t0", TestHalfFloats::convertToHalf, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(HalfFloat.toHalf(input[i]), output[i]);
+        }
+    }
+
+    @Test
+    public void testSaxpyHalf() {
+        final int size = 2048;
+        final float alpha = 2f;
+        short[] x = new short[size];
+        short[] y = new short[size];
+        short[] expected = new short[size];
+
+        Random r = new Random();
+        for (int i = 0; i < size; i++) {
+            x[i] = HalfFloat.toHalf(r.nextFloat());
+            y[i] = HalfFloat.toHalf(r.nextFloat());
+            expected[i] = y[i];
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, x, y) //
+                .task("t0", TestHalfFloats::saxpyHalf, alpha, x, y) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        saxpyHalf(alpha, x, expected);
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(HalfFloat.toFloat(expected[i]), HalfFloat.toFloat(y[i]), HALF_DELTA);
+        }
+    }
+
+    @Test
+    public void testVectorHalf() {
+        final int size = 256;
+        VectorHalf a = new VectorHalf(size);
+        VectorHalf b = new VectorHalf(size);
+        VectorFloat output = new VectorFloat(size);
+
+        for (int i = 0; i < size; i++) {
+            a.set(i, i * 0.5f);
+            b.set(i, 1.25f);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a, b) //
+                .task("t0", TestHalfFloats::addVectorHalf, a, b, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(a.get(i) + b.get(i), output.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testBFloat16ToFloat() {
+        final int size = 1024;
+        short[] input = new short[size];
+        float[] output = new float[size];
+
+        Random r = new Random();
+        for (int i = 0; i < size; i++) {
+            input[i] = BFloat16.toBFloat16(r.nextFloat() * 100);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input) //
+                .task("t0", TestHalfFloats::convertBFloat16, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(BFloat16.toFloat(input[i]), output[i], 0.0f);
+        }
+    }
+}